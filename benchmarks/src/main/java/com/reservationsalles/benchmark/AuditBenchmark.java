@@ -0,0 +1,45 @@
+package com.reservationsalles.benchmark;
+
+import com.reservationsalles.dto.RapportAudit;
+import com.reservationsalles.service.AuditChevauchements;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AuditChevauchements.auditer : relecture de toutes les réservations du jeu de données
+ * (salles × jours × reservationsParJour lignes, aucun chevauchement)
+ *
+ * Débit en lignes par seconde : nombre de lignes / temps moyen. La base embarquée
+ * partage le processeur avec l'audit ; sur MySQL, les salles sont lues en parallèle
+ * par le serveur (reservation.audit.parallelisme connexions).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class AuditBenchmark {
+
+    private AuditChevauchements auditChevauchements;
+
+    @Setup
+    public void preparer(JeuDeDonnees donnees) {
+        auditChevauchements = donnees.bean(AuditChevauchements.class);
+    }
+
+    @Benchmark
+    public RapportAudit auditer() {
+        return auditChevauchements.auditer().orElseThrow();
+    }
+}
@@ -0,0 +1,58 @@
+package com.reservationsalles.benchmark;
+
+import com.reservationsalles.model.Reservation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test de chevauchement en mémoire (Reservation.chevauche), sans base
+ * Paires tirées une fois : même jour ou jour voisin, horaires aléatoires au quart d'heure
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ChevauchementBenchmark {
+
+    private static final int PAIRES = 1024;
+
+    private final Reservation[] reservations = new Reservation[PAIRES];
+    private final Reservation[] autres = new Reservation[PAIRES];
+    private int position;
+
+    @Setup
+    public void preparer() {
+        SplittableRandom aleatoire = new SplittableRandom(42);
+        LocalDate date = LocalDate.now().plusDays(1);
+        for (int i = 0; i < PAIRES; i++) {
+            reservations[i] = tirer(aleatoire, date);
+            autres[i] = tirer(aleatoire, aleatoire.nextInt(4) == 0 ? date.plusDays(1) : date);
+        }
+    }
+
+    @Benchmark
+    public boolean chevauche() {
+        position = (position + 1) & (PAIRES - 1);
+        return reservations[position].chevauche(autres[position]);
+    }
+
+    private static Reservation tirer(SplittableRandom aleatoire, LocalDate date) {
+        LocalTime debut = LocalTime.of(aleatoire.nextInt(8, 20), 15 * aleatoire.nextInt(4));
+        return new Reservation(date, debut, debut.plusMinutes(15L * aleatoire.nextInt(1, 12)), null, null);
+    }
+}
@@ -0,0 +1,77 @@
+package com.reservationsalles.benchmark;
+
+import com.reservationsalles.exception.ReservationConflictException;
+import com.reservationsalles.model.Reservation;
+import com.reservationsalles.model.Salle;
+import com.reservationsalles.model.Utilisateur;
+import com.reservationsalles.service.ReservationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ReservationService.save : validations, verrou (salle, jour) et détection de conflit
+ *
+ * - conflit : le créneau chevauche une réservation existante, la création est refusée
+ * - creneauLibre : le créneau est accepté puis la transaction annulée,
+ *   pour que le jeu de données reste identique d'une itération à l'autre
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ConflitReservationBenchmark {
+
+    private ReservationService reservationService;
+    private TransactionTemplate transactionTemplate;
+    private long sollicitation;
+
+    @Setup
+    public void preparer(JeuDeDonnees donnees) {
+        reservationService = donnees.bean(ReservationService.class);
+        transactionTemplate = donnees.bean(TransactionTemplate.class);
+    }
+
+    @Benchmark
+    public String conflit(JeuDeDonnees donnees) {
+        long k = sollicitation++;
+        try {
+            reservationService.save(demande(donnees, k, donnees.debutConflit(donnees.creneau(k))));
+            throw new IllegalStateException("Conflit non détecté");
+        } catch (ReservationConflictException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public Long creneauLibre(JeuDeDonnees donnees) {
+        long k = sollicitation++;
+        Reservation reservation = demande(donnees, k, donnees.debutLibre(donnees.creneau(k)));
+        return transactionTemplate.execute(status -> {
+            Reservation saved = reservationService.save(reservation);
+            status.setRollbackOnly();
+            return saved.getId();
+        });
+    }
+
+    private static Reservation demande(JeuDeDonnees donnees, long k, LocalTime debut) {
+        Utilisateur utilisateur = new Utilisateur();
+        utilisateur.setId(donnees.utilisateurId());
+        Salle salle = new Salle();
+        salle.setId(donnees.salleId(k));
+        return new Reservation(donnees.date(k), debut, debut.plusMinutes(donnees.dureeSondee()), utilisateur, salle);
+    }
+}
@@ -0,0 +1,81 @@
+package com.reservationsalles.benchmark;
+
+import com.reservationsalles.dto.ResultatReservation;
+import com.reservationsalles.model.Reservation;
+import com.reservationsalles.model.Salle;
+import com.reservationsalles.model.Utilisateur;
+import com.reservationsalles.service.ReservationService;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ReservationService.saveAll : insertion d'un lot de réservations (import, intégrations)
+ *
+ * Un lot couvre la partie libre de chaque créneau d'un jour, pour toutes les salles
+ * (salles × reservationsParJour réservations). Les insertions sont envoyées à la base
+ * (flush) puis la transaction annulée, pour que le jeu de données reste identique
+ * d'une itération à l'autre. Mesure le regroupement des insertions (JDBC batching),
+ * possible seulement si les identifiants ne sont pas attribués par la base.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class InsertionLotBenchmark {
+
+    private ReservationService reservationService;
+    private TransactionTemplate transactionTemplate;
+    private EntityManager entityManager;
+    private long sollicitation;
+
+    @Setup
+    public void preparer(JeuDeDonnees donnees) {
+        reservationService = donnees.bean(ReservationService.class);
+        transactionTemplate = donnees.bean(TransactionTemplate.class);
+        entityManager = donnees.bean(EntityManager.class);
+    }
+
+    @Benchmark
+    public List<ResultatReservation> lot(JeuDeDonnees donnees) {
+        List<Reservation> lot = lot(donnees, donnees.date(sollicitation++ * donnees.salles));
+        return transactionTemplate.execute(status -> {
+            List<ResultatReservation> resultats = reservationService.saveAll(lot);
+            entityManager.flush();
+            status.setRollbackOnly();
+            return resultats;
+        });
+    }
+
+    private static List<Reservation> lot(JeuDeDonnees donnees, LocalDate date) {
+        Utilisateur utilisateur = new Utilisateur();
+        utilisateur.setId(donnees.utilisateurId());
+        List<Reservation> lot = new ArrayList<>(donnees.salles * donnees.reservationsParJour);
+        for (int s = 0; s < donnees.salles; s++) {
+            Salle salle = new Salle();
+            salle.setId(donnees.salleId(s));
+            for (int c = 0; c < donnees.reservationsParJour; c++) {
+                LocalTime debut = donnees.debutLibre(c);
+                lot.add(new Reservation(date, debut, debut.plusMinutes(donnees.dureeSondee()), utilisateur, salle));
+            }
+        }
+        return lot;
+    }
+}
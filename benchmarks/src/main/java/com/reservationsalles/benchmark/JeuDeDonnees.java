@@ -0,0 +1,171 @@
+package com.reservationsalles.benchmark;
+
+import com.reservationsalles.ReservationSallesApplication;
+import com.reservationsalles.model.Reservation;
+import com.reservationsalles.model.Salle;
+import com.reservationsalles.model.Utilisateur;
+import com.reservationsalles.repository.ReservationRepository;
+import com.reservationsalles.repository.SalleRepository;
+import com.reservationsalles.repository.UtilisateurRepository;
+import com.reservationsalles.service.OccupationSalles;
+import com.reservationsalles.service.ReservationIndex;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Contexte Spring et jeu de données partagés par les benchmarks
+ *
+ * Base H2 embarquée en mode MySQL (profil "jmh"), alimentée une fois par essai :
+ * pour chaque salle et chaque jour, reservationsParJour créneaux répartis
+ * régulièrement sur la journée. Chaque créneau occupe la première moitié de sa
+ * période, la seconde moitié reste libre :
+ *
+ *   |--- réservé ---|---- libre ----|--- réservé ---|---- libre ----| ...
+ *   0            periode/2       periode
+ *
+ * Tailles réglables à l'exécution : -p salles=200 -p reservationsParJour=16 -p jours=90
+ * Index en mémoire désactivable (-p index=false) pour mesurer le chemin base seul.
+ * Profil de l'application réglable (-p profil=dev,bench) : mesure le coût
+ * de la journalisation SQL du profil dev face à la configuration de prod.
+ */
+@State(Scope.Benchmark)
+public class JeuDeDonnees {
+
+    private static final int MINUTES_PAR_JOUR = 24 * 60;
+
+    @Param("20")
+    public int salles;
+
+    @Param("8")
+    public int reservationsParJour;
+
+    @Param("30")
+    public int jours;
+
+    @Param("true")
+    public boolean index;
+
+    @Param("bench")
+    public String profil;
+
+    private ConfigurableApplicationContext contexte;
+    private Long utilisateurId;
+    private long[] salleIds;
+    private LocalDate premierJour;
+    private int periode;
+
+    @Setup(Level.Trial)
+    public void demarrer() {
+        if (reservationsParJour < 1 || reservationsParJour > 48) {
+            throw new IllegalArgumentException("reservationsParJour doit être compris entre 1 et 48");
+        }
+        periode = MINUTES_PAR_JOUR / reservationsParJour;
+        premierJour = LocalDate.now().plusDays(1);
+
+        contexte = new SpringApplicationBuilder(ReservationSallesApplication.class)
+                .profiles(profil, "jmh")
+                .run("--reservation.index.enabled=" + index);
+        alimenter();
+
+        // Index et masques préchauffés au démarrage, sur une base encore vide
+        contexte.getBean(ReservationIndex.class).prechauffer();
+        contexte.getBean(OccupationSalles.class).prechauffer();
+    }
+
+    @TearDown(Level.Trial)
+    public void arreter() {
+        contexte.close();
+    }
+
+    private void alimenter() {
+        UtilisateurRepository utilisateurRepository = contexte.getBean(UtilisateurRepository.class);
+        SalleRepository salleRepository = contexte.getBean(SalleRepository.class);
+        ReservationRepository reservationRepository = contexte.getBean(ReservationRepository.class);
+        TransactionTemplate transactionTemplate = contexte.getBean(TransactionTemplate.class);
+
+        Utilisateur utilisateur = utilisateurRepository.save(
+                new Utilisateur("Benchmark", "benchmark@reservation-salles.test", "ORGANISATEUR"));
+        List<Salle> lesSalles = salleRepository.saveAll(IntStream.range(0, salles)
+                .mapToObj(i -> new Salle("Salle " + i, 10 + 10 * (i % 50), "Bâtiment " + (i % 10), true))
+                .toList());
+        utilisateurId = utilisateur.getId();
+        salleIds = lesSalles.stream().mapToLong(Salle::getId).toArray();
+
+        // Une transaction par jour : inserts regroupés sans session démesurée
+        for (int j = 0; j < jours; j++) {
+            LocalDate date = premierJour.plusDays(j);
+            List<Reservation> reservations = new ArrayList<>(salles * reservationsParJour);
+            for (Salle salle : lesSalles) {
+                for (int c = 0; c < reservationsParJour; c++) {
+                    reservations.add(new Reservation(date, debutCreneau(c), debutCreneau(c).plusMinutes(periode / 2),
+                            utilisateur, salle));
+                }
+            }
+            transactionTemplate.executeWithoutResult(status -> reservationRepository.saveAll(reservations));
+        }
+    }
+
+    // ACCÈS POUR LES BENCHMARKS
+
+    public <T> T bean(Class<T> type) {
+        return contexte.getBean(type);
+    }
+
+    public Long utilisateurId() {
+        return utilisateurId;
+    }
+
+    /**
+     * Salle de la k-ième sollicitation : parcours cyclique de toutes les salles
+     */
+    public Long salleId(long k) {
+        return salleIds[(int) Math.floorMod(k, (long) salles)];
+    }
+
+    /**
+     * Jour de la k-ième sollicitation : change une fois toutes les salles parcourues
+     */
+    public LocalDate date(long k) {
+        return premierJour.plusDays(Math.floorMod(k / salles, (long) jours));
+    }
+
+    /**
+     * Créneau de la k-ième sollicitation : change une fois tous les jours parcourus
+     */
+    public int creneau(long k) {
+        return (int) Math.floorMod(k / ((long) salles * jours), (long) reservationsParJour);
+    }
+
+    /** Début du créneau réservé c */
+    public LocalTime debutCreneau(int c) {
+        return LocalTime.MIN.plusMinutes((long) c * periode);
+    }
+
+    /** Début d'un intervalle chevauchant la réservation du créneau c */
+    public LocalTime debutConflit(int c) {
+        return debutCreneau(c).plusMinutes(periode / 4);
+    }
+
+    /** Début de la partie libre du créneau c */
+    public LocalTime debutLibre(int c) {
+        return debutCreneau(c).plusMinutes(periode / 2);
+    }
+
+    /** Durée des intervalles sondés, en minutes (tient dans la partie libre, sans atteindre minuit) */
+    public int dureeSondee() {
+        return periode / 2 - 1;
+    }
+}
@@ -0,0 +1,77 @@
+package com.reservationsalles.benchmark;
+
+import com.reservationsalles.dto.FiltreReservation;
+import com.reservationsalles.model.Reservation;
+import com.reservationsalles.pagination.PageCurseur;
+import com.reservationsalles.service.ReservationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Liste des réservations (vue reservations/list) : lecture d'une page puis rendu des lignes
+ *
+ * Le rendu reproduit les cellules de la JSP (id, date, heures, nom de l'utilisateur,
+ * nom de la salle) dans une transaction en lecture, comme l'open-in-view d'une requête web :
+ * un retour du N+1 sur utilisateur ou salle se voit directement dans les temps.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ListeReservationsBenchmark {
+
+    @Param("20")
+    public int taille;
+
+    private ReservationService reservationService;
+    private TransactionTemplate lecture;
+    private long sollicitation;
+
+    @Setup
+    public void preparer(JeuDeDonnees donnees) {
+        reservationService = donnees.bean(ReservationService.class);
+        lecture = new TransactionTemplate(donnees.bean(TransactionTemplate.class).getTransactionManager());
+        lecture.setReadOnly(true);
+    }
+
+    @Benchmark
+    public String premierePage() {
+        return lecture.execute(status -> rendre(reservationService.findPage(
+                new FiltreReservation(null, null, null, null), "date", null, taille)));
+    }
+
+    @Benchmark
+    public String pageFiltreeParSalle(JeuDeDonnees donnees) {
+        Long salleId = donnees.salleId(sollicitation++);
+        return lecture.execute(status -> rendre(reservationService.findPage(
+                new FiltreReservation(salleId, null, null, null), "date", null, taille)));
+    }
+
+    private static String rendre(PageCurseur<Reservation> page) {
+        StringBuilder html = new StringBuilder(256 * page.elements().size());
+        for (Reservation reservation : page.elements()) {
+            html.append("<tr><td>").append(reservation.getId())
+                    .append("</td><td>").append(reservation.getDateReservation())
+                    .append("</td><td>").append(reservation.getHeureDebut())
+                    .append("</td><td>").append(reservation.getHeureFin())
+                    .append("</td><td>").append(reservation.getUtilisateur().getNom())
+                    .append("</td><td>").append(reservation.getSalle().getNom())
+                    .append("</td></tr>");
+        }
+        return html.toString();
+    }
+}
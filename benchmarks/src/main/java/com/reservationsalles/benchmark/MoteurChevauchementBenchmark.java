@@ -0,0 +1,119 @@
+package com.reservationsalles.benchmark;
+
+import com.reservationsalles.model.CreneauReservation;
+import com.reservationsalles.service.MoteurChevauchement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MoteurChevauchement sur une salle de `intervalles` réservations, sans base
+ *
+ * Quatre réservations par jour au plus, dont 1 % débordent sur la suivante.
+ * - sonde : premierChevauchement (recherche dichotomique, tableaux primitifs)
+ * - sondeListe : même créneau comparé un à un à une liste de CreneauReservation
+ * - ajouterRetirer : insertion puis retrait d'un créneau (maintien du tri : décalage
+ *   des intervalles suivants, coût proportionnel à `intervalles`)
+ * - balayage : toutes les paires chevauchantes de la salle (audit)
+ * Allocations par opération : -prof gc (gc.alloc.rate.norm)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoteurChevauchementBenchmark {
+
+    private static final int SONDES = 1024;
+    /** ID hors du cache de Long.valueOf (-128 à 127), déjà converti comme celui des entités */
+    private static final Long SALLE = 1_000L;
+    private static final int JOUR = (int) LocalDate.of(2026, 1, 1).toEpochDay();
+
+    @Param({"1000", "100000"})
+    public int intervalles;
+
+    private final MoteurChevauchement moteur = new MoteurChevauchement();
+    private final List<CreneauReservation> creneaux = new ArrayList<>();
+    private final int[] debutsSondes = new int[SONDES];
+    private final int[] finsSondes = new int[SONDES];
+    private long[] references;
+    private int[] debuts;
+    private int[] fins;
+    private int position;
+
+    @Setup
+    public void preparer() {
+        SplittableRandom aleatoire = new SplittableRandom(42);
+        references = new long[intervalles];
+        debuts = new int[intervalles];
+        fins = new int[intervalles];
+        LocalDate origine = LocalDate.ofEpochDay(JOUR);
+        for (int i = 0; i < intervalles; i++) {
+            int jour = i / 4;
+            int debut = (8 + 4 * (i % 4)) * 60 + 15 * aleatoire.nextInt(4);
+            int fin = debut + (aleatoire.nextInt(100) == 0 ? 8 * 60 : 3 * 60);
+            references[i] = i;
+            debuts[i] = MoteurChevauchement.minuteAbsolue(JOUR + jour, debut);
+            fins[i] = MoteurChevauchement.minuteAbsolue(JOUR + jour, fin);
+            moteur.ajouter(SALLE, i, debuts[i], fins[i]);
+            creneaux.add(new CreneauReservation((long) i, SALLE, origine.plusDays(jour),
+                    LocalTime.ofSecondOfDay(debut * 60L), LocalTime.ofSecondOfDay((fin % 1440) * 60L)));
+        }
+        int jours = intervalles / 4;
+        for (int k = 0; k < SONDES; k++) {
+            debutsSondes[k] = MoteurChevauchement.minuteAbsolue(JOUR + aleatoire.nextInt(jours),
+                    15 * aleatoire.nextInt(96));
+            finsSondes[k] = debutsSondes[k] + 15 * aleatoire.nextInt(1, 12);
+        }
+    }
+
+    @Benchmark
+    public long sonde() {
+        position = (position + 1) & (SONDES - 1);
+        return moteur.premierChevauchement(SALLE, debutsSondes[position], finsSondes[position],
+                MoteurChevauchement.AUCUN);
+    }
+
+    @Benchmark
+    public CreneauReservation sondeListe() {
+        position = (position + 1) & (SONDES - 1);
+        int jour = Math.floorDiv(debutsSondes[position], CreneauReservation.MINUTES_PAR_JOUR);
+        int debut = debutsSondes[position] - jour * CreneauReservation.MINUTES_PAR_JOUR;
+        int fin = debut + finsSondes[position] - debutsSondes[position];
+        for (CreneauReservation creneau : creneaux) {
+            if (creneau.chevauche(jour, debut, fin)) {
+                return creneau;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public boolean ajouterRetirer() {
+        position = (position + 1) & (SONDES - 1);
+        moteur.ajouter(SALLE, -1L, debutsSondes[position], finsSondes[position]);
+        return moteur.retirer(SALLE, -1L, debutsSondes[position]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long balayage() {
+        return MoteurChevauchement.balayer(references, debuts, fins, intervalles, (a, b) -> { });
+    }
+}
@@ -0,0 +1,66 @@
+package com.reservationsalles.benchmark;
+
+import com.reservationsalles.dto.RechercheDisponibilite;
+import com.reservationsalles.model.Salle;
+import com.reservationsalles.service.SalleService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SalleService.rechercherSallesLibres : anti-jointure sur toutes les salles du jeu de données
+ *
+ * - creneauLibre : la partie libre d'un créneau, toutes les salles conviennent
+ *   (la limite de 100 salles arrête la lecture)
+ * - creneauOccupe : le créneau chevauche une réservation dans chaque salle,
+ *   aucune ne convient (pire cas : toutes les salles sont examinées)
+ * Échantillonnage des temps (SampleTime) : percentiles p0.99 dans le rapport.
+ * Cible de la recherche : p0.99 inférieur à 200 ms pour chacune des deux mesures,
+ * sur 10 000 salles et deux ans de réservations (schéma et index des migrations Flyway),
+ *   -p salles=10000 -p jours=730 -p reservationsParJour=4
+ * Le tas du processus mesuré (-jvmArgs -Xmx...) doit contenir tout le jeu de données
+ * et l'index des réservations : sinon le p0.99 mesure les pauses du ramasse-miettes.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RechercheSallesLibresBenchmark {
+
+    private SalleService salleService;
+    private long sollicitation;
+
+    @Setup
+    public void preparer(JeuDeDonnees donnees) {
+        salleService = donnees.bean(SalleService.class);
+    }
+
+    @Benchmark
+    public List<Salle> creneauLibre(JeuDeDonnees donnees) {
+        long k = donnees.salles * sollicitation++;
+        LocalTime debut = donnees.debutLibre(donnees.creneau(k));
+        return salleService.rechercherSallesLibres(new RechercheDisponibilite(donnees.date(k), debut,
+                debut.plusMinutes(donnees.dureeSondee()), null, null, null));
+    }
+
+    @Benchmark
+    public List<Salle> creneauOccupe(JeuDeDonnees donnees) {
+        long k = donnees.salles * sollicitation++;
+        LocalTime debut = donnees.debutConflit(donnees.creneau(k));
+        return salleService.rechercherSallesLibres(new RechercheDisponibilite(donnees.date(k), debut,
+                debut.plusMinutes(donnees.dureeSondee()), null, null, null));
+    }
+}
@@ -0,0 +1,103 @@
+package com.reservationsalles.benchmark;
+
+import com.reservationsalles.model.CreneauReservation;
+import com.reservationsalles.model.Reservation;
+import com.reservationsalles.repository.ReservationRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requêtes de chevauchement contre la base embarquée, créneau en conflit ou libre
+ *
+ * - conflit, creneauLibre : findConflictingReservations (entités chargées)
+ * - sondeConflit, sondeCreneauLibre : findPremierConflit (projection, LIMIT 1),
+ *   la requête du chemin d'écriture
+ * - conflitJournee, sondeConflitJournee : créneau couvrant la journée entière,
+ *   en conflit avec les reservationsParJour réservations du jour (entités chargées
+ *   pour chacune, une seule ligne lue par la sonde)
+ * Allocations par opération : -prof gc (gc.alloc.rate.norm) ; la base embarquée
+ * s'exécute dans la JVM mesurée, ses allocations sont comptées avec celles du client
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RequeteChevauchementBenchmark {
+
+    private static final int MINUTES_PAR_JOUR = 24 * 60;
+
+    private ReservationRepository reservationRepository;
+    private long sollicitation;
+
+    @Setup
+    public void preparer(JeuDeDonnees donnees) {
+        reservationRepository = donnees.bean(ReservationRepository.class);
+    }
+
+    @Benchmark
+    public List<Reservation> conflit(JeuDeDonnees donnees) {
+        long k = sollicitation++;
+        return requete(donnees, k, donnees.debutConflit(donnees.creneau(k)));
+    }
+
+    @Benchmark
+    public List<Reservation> creneauLibre(JeuDeDonnees donnees) {
+        long k = sollicitation++;
+        return requete(donnees, k, donnees.debutLibre(donnees.creneau(k)));
+    }
+
+    @Benchmark
+    public Optional<CreneauReservation> sondeConflit(JeuDeDonnees donnees) {
+        long k = sollicitation++;
+        return sonde(donnees, k, donnees.debutConflit(donnees.creneau(k)));
+    }
+
+    @Benchmark
+    public Optional<CreneauReservation> sondeCreneauLibre(JeuDeDonnees donnees) {
+        long k = sollicitation++;
+        return sonde(donnees, k, donnees.debutLibre(donnees.creneau(k)));
+    }
+
+    @Benchmark
+    public List<Reservation> conflitJournee(JeuDeDonnees donnees) {
+        long k = sollicitation++;
+        return reservationRepository.findConflictingReservations(donnees.salleId(k),
+                (int) donnees.date(k).toEpochDay(), 0, MINUTES_PAR_JOUR, null);
+    }
+
+    @Benchmark
+    public Optional<CreneauReservation> sondeConflitJournee(JeuDeDonnees donnees) {
+        long k = sollicitation++;
+        return reservationRepository.findPremierConflit(donnees.salleId(k),
+                (int) donnees.date(k).toEpochDay(), 0, MINUTES_PAR_JOUR, null);
+    }
+
+    private List<Reservation> requete(JeuDeDonnees donnees, long k, LocalTime debut) {
+        LocalTime fin = debut.plusMinutes(donnees.dureeSondee());
+        return reservationRepository.findConflictingReservations(donnees.salleId(k),
+                (int) donnees.date(k).toEpochDay(), CreneauReservation.minuteDebut(debut),
+                CreneauReservation.minuteFin(debut, fin), null);
+    }
+
+    private Optional<CreneauReservation> sonde(JeuDeDonnees donnees, long k, LocalTime debut) {
+        LocalTime fin = debut.plusMinutes(donnees.dureeSondee());
+        return reservationRepository.findPremierConflit(donnees.salleId(k),
+                (int) donnees.date(k).toEpochDay(), CreneauReservation.minuteDebut(debut),
+                CreneauReservation.minuteFin(debut, fin), null);
+    }
+}
@@ -0,0 +1,100 @@
+package com.reservationsalles.benchmark;
+
+import com.reservationsalles.service.ReservationLocks;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contention des verrous (salle, jour) de ReservationLocks, sans base
+ *
+ * Chaque thread réserve une salle et un jour tirés au hasard : verrou pris,
+ * section critique simulée (travail CPU de `sectionCritique` jetons, à la place
+ * de la vérification de conflit et de l'insertion), puis libération comme à la
+ * fin d'une transaction.
+ * - verrous=1 : un verrou global, toutes les réservations sont sérialisées
+ * - verrous=1024 : verrous répartis (valeur par défaut de l'application)
+ * Débit total en opérations par milliseconde, nombre de threads modifiable par -t
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class VerrouillageBenchmark {
+
+    private static final LocalDate ORIGINE = LocalDate.of(2026, 1, 1);
+
+    @Param({"1", "1024"})
+    public int verrous;
+
+    @Param({"200"})
+    public int salles;
+
+    @Param({"30"})
+    public int jours;
+
+    @Param({"500"})
+    public int sectionCritique;
+
+    private ReservationLocks locks;
+
+    @Setup
+    public void preparer() {
+        locks = new ReservationLocks(null, verrous, 5000, false);
+    }
+
+    /**
+     * Tirage propre à chaque thread
+     */
+    @State(Scope.Thread)
+    public static class Tirage {
+
+        private final SplittableRandom aleatoire = new SplittableRandom();
+
+        @Setup(Level.Iteration)
+        public void ouvrir() {
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.initSynchronization();
+            }
+        }
+
+        @TearDown(Level.Iteration)
+        public void fermer() {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Benchmark
+    public void reserver(Tirage tirage) {
+        long salleId = 1 + tirage.aleatoire.nextInt(salles);
+        LocalDate date = ORIGINE.plusDays(tirage.aleatoire.nextInt(jours));
+        locks.verrouiller(salleId, date);
+        Blackhole.consumeCPU(sectionCritique);
+        for (TransactionSynchronization synchronisation : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronisation.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+    }
+}
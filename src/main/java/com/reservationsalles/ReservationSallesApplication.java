@@ -2,6 +2,7 @@ package com.reservationsalles;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Classe principale de l'application Spring Boot
@@ -9,6 +10,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  
  */
 @SpringBootApplication
+@EnableScheduling
 public class ReservationSallesApplication {
 
     public static void main(String[] args) {
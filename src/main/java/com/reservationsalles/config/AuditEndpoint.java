@@ -0,0 +1,36 @@
+package com.reservationsalles.config;
+
+import com.reservationsalles.dto.RapportAudit;
+import com.reservationsalles.service.AuditChevauchements;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Audit des doubles réservations (/actuator/audit)
+ *
+ * GET : dernier rapport (404 tant qu'aucun audit n'est terminé).
+ * POST : lance un audit sans attendre la planification et renvoie son rapport
+ * (404 si un audit est déjà en cours).
+ */
+@Component
+@Endpoint(id = "audit")
+public class AuditEndpoint {
+
+    private final AuditChevauchements auditChevauchements;
+
+    public AuditEndpoint(AuditChevauchements auditChevauchements) {
+        this.auditChevauchements = auditChevauchements;
+    }
+
+    @ReadOperation
+    public RapportAudit dernierRapport() {
+        return auditChevauchements.dernierRapport().orElse(null);
+    }
+
+    @WriteOperation
+    public RapportAudit lancer() {
+        return auditChevauchements.auditer().orElse(null);
+    }
+}
@@ -0,0 +1,43 @@
+package com.reservationsalles.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Compte les requêtes SQL préparées par Hibernate sur le thread courant
+ *
+ * Enregistré comme StatementInspector de la SessionFactory : chaque requête
+ * passe par inspect() avant d'être préparée. Le comptage n'est actif qu'entre
+ * demarrer() et terminer(), c'est-à-dire pendant une requête HTTP
+ * (voir MetriquesInterceptor) ; ailleurs, inspect() ne coûte qu'une lecture.
+ */
+public class CompteurRequetes implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COMPTEUR = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        long[] compteur = COMPTEUR.get();
+        if (compteur != null) {
+            compteur[0]++;
+        }
+        return sql;
+    }
+
+    /**
+     * Active le comptage sur le thread courant (remis à zéro)
+     */
+    public static void demarrer() {
+        COMPTEUR.set(new long[1]);
+    }
+
+    /**
+     * Désactive le comptage sur le thread courant
+     *
+     * @return Nombre de requêtes depuis demarrer(), -1 si le comptage n'était pas actif
+     */
+    public static long terminer() {
+        long[] compteur = COMPTEUR.get();
+        COMPTEUR.remove();
+        return compteur != null ? compteur[0] : -1;
+    }
+}
@@ -0,0 +1,81 @@
+package com.reservationsalles.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limite le nombre de requêtes HTTP traitées simultanément en mode threads virtuels
+ *
+ * Sur threads plateforme, le pool de Tomcat (200 threads) borne la concurrence.
+ * Sur threads virtuels, chaque requête a son thread : des milliers de requêtes
+ * attendraient une connexion Hikari (jusqu'à connection-timeout) et les appels
+ * JDBC dans des blocs synchronized épingleraient les threads porteurs.
+ * Les requêtes au-delà de la limite attendent ici, sans connexion ni thread porteur ;
+ * au-delà du délai d'attente, réponse 503 (Retry-After).
+ *
+ * Actif uniquement avec spring.threads.virtual.enabled=true (Java 21).
+ * Ressources statiques et actuator non limités.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class LimiteurRequetesFilter extends OncePerRequestFilter {
+
+    private final Semaphore places;
+    private final long attenteMs;
+    private final Counter refusees;
+
+    public LimiteurRequetesFilter(MeterRegistry meterRegistry,
+                                  @Value("${reservation.concurrence.max-requetes:${spring.datasource.hikari.maximum-pool-size:10}}") int maxRequetes,
+                                  @Value("${reservation.concurrence.attente-ms:2000}") long attenteMs) {
+        Assert.isTrue(maxRequetes > 0, "Le nombre de requêtes simultanées doit être positif");
+        this.places = new Semaphore(maxRequetes, true);
+        this.attenteMs = attenteMs;
+        this.refusees = meterRegistry.counter("http.requetes.refusees");
+        meterRegistry.gauge("http.requetes.en.attente", places, Semaphore::getQueueLength);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean obtenue;
+        try {
+            obtenue = places.tryAcquire(attenteMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            obtenue = false;
+        }
+        if (!obtenue) {
+            refusees.increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Serveur saturé, veuillez réessayer");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            places.release();
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String chemin = request.getRequestURI().substring(request.getContextPath().length());
+        return chemin.startsWith("/actuator/") || chemin.startsWith("/webjars/");
+    }
+}
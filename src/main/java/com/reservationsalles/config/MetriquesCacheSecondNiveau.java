@@ -0,0 +1,43 @@
+package com.reservationsalles.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Component;
+
+import javax.cache.CacheManager;
+
+/**
+ * Succès et échecs des régions JCache du cache de second niveau, par région
+ * (cache.gets{result=hit|miss, cache=salles}, cache.puts, cache.evictions, cache.removals)
+ *
+ * Lus sur les statistiques JCache de chaque région (monitoring.statistics, application.conf),
+ * indépendamment des statistiques Hibernate : publiés aussi en prod, où
+ * generate_statistics=false.
+ */
+@Component
+public class MetriquesCacheSecondNiveau implements MeterBinder {
+
+    private final RegionFactory regionFactory;
+
+    public MetriquesCacheSecondNiveau(EntityManagerFactory entityManagerFactory) {
+        this.regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache().getRegionFactory();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(regionFactory instanceof JCacheRegionFactory jcache) || jcache.getCacheManager() == null) {
+            return;
+        }
+        // Régions créées au démarrage de Hibernate (entités, requêtes, horodatages)
+        CacheManager cacheManager = jcache.getCacheManager();
+        for (String region : cacheManager.getCacheNames()) {
+            JCacheMetrics.monitor(registry, cacheManager.getCache(region), Tags.empty());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.reservationsalles.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Instrumentation Micrometer (exposée par /actuator/prometheus) :
+ * - @Timed des services (aspect)
+ * - nombre de requêtes SQL par requête HTTP et temps de rendu des JSP (intercepteur)
+ * Le temps d'attente d'une connexion (hikaricp.connections.acquire) est publié par Spring Boot.
+ */
+@Configuration
+public class MetriquesConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+
+    public MetriquesConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public TimedAspect timedAspect() {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer compteurRequetes() {
+        return proprietes -> proprietes.put(AvailableSettings.STATEMENT_INSPECTOR, new CompteurRequetes());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new MetriquesInterceptor(meterRegistry)).excludePathPatterns("/actuator/**", "/webjars/**");
+    }
+}
@@ -0,0 +1,77 @@
+package com.reservationsalles.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métriques par requête HTTP, en complément de http.server.requests (Spring Boot) :
+ * - http.requetes.sql : nombre de requêtes SQL exécutées (CompteurRequetes)
+ * - vue.rendu : temps de rendu de la vue (JSP), entre postHandle et afterCompletion
+ *
+ * Étiquetées par motif d'URI (/reservations/{id}) et non par URI réelle,
+ * pour garder un nombre de séries borné.
+ */
+public class MetriquesInterceptor implements HandlerInterceptor {
+
+    private static final String DEBUT_RENDU = MetriquesInterceptor.class.getName() + ".debutRendu";
+    private static final String VUE = MetriquesInterceptor.class.getName() + ".vue";
+
+    private final MeterRegistry meterRegistry;
+
+    public MetriquesInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        CompteurRequetes.demarrer();
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        if (modelAndView != null && modelAndView.getViewName() != null
+                && !modelAndView.getViewName().startsWith("redirect:")) {
+            request.setAttribute(VUE, modelAndView.getViewName());
+            request.setAttribute(DEBUT_RENDU, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        String uri = motifUri(request);
+        long requetes = CompteurRequetes.terminer();
+        if (requetes >= 0) {
+            DistributionSummary.builder("http.requetes.sql")
+                    .description("Requêtes SQL exécutées par requête HTTP")
+                    .tags("method", request.getMethod(), "uri", uri)
+                    .register(meterRegistry)
+                    .record(requetes);
+        }
+
+        Object debutRendu = request.getAttribute(DEBUT_RENDU);
+        if (debutRendu instanceof Long debut) {
+            Timer.builder("vue.rendu")
+                    .description("Temps de rendu de la vue")
+                    .tags("vue", (String) request.getAttribute(VUE),
+                            "exception", ex == null ? "none" : ex.getClass().getSimpleName())
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - debut, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static String motifUri(HttpServletRequest request) {
+        Object motif = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return motif != null ? motif.toString() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,28 @@
+package com.reservationsalles.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Gestion des connexions JDBC par Hibernate
+ */
+@Configuration
+public class PersistanceConfig {
+
+    /**
+     * Connexion rendue au pool à la fin de chaque transaction, et non à la fin de
+     * la requête HTTP (open-in-view) :
+     * - une réponse écrite au fil de l'eau (NDJSON, export) entre deux pages ne
+     *   retient aucune connexion pendant qu'un client lent lit
+     * - avec des répliques, une transaction d'écriture qui suit une lecture dans la
+     *   même requête reçoit sa propre connexion, sur la base principale
+     */
+    @Bean
+    public HibernatePropertiesCustomizer liberationConnexionApresTransaction() {
+        return proprietes -> proprietes.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -0,0 +1,58 @@
+package com.reservationsalles.config;
+
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.jcache.internal.JCacheAccessImpl;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import javax.cache.Cache;
+
+/**
+ * Régions JCache du cache de second niveau, alimentées par la seule base principale
+ * (hibernate.cache.region.factory_class)
+ *
+ * Une lecture servie par une réplique en retard ne doit pas entrer dans le cache
+ * partagé : plus récente que la dernière écriture sur la table, elle passerait pour
+ * fraîche et serait servie à toutes les sessions jusqu'à l'écriture suivante ou à
+ * l'expiration. Dans une transaction lue sur une réplique, les entités et les
+ * résultats de requêtes sont lus dans le cache mais n'y sont pas ajoutés.
+ * Les horodatages des tables (écrits par la base principale) sont inchangés.
+ */
+public class RegionsCachePrimaire extends JCacheRegionFactory {
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                    DomainDataRegionBuildingContext buildingContext) {
+        return new AccesHorsRepliques(getOrCreateCache(regionConfig.getRegionName(),
+                buildingContext.getSessionFactory()));
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+                                                                  SessionFactoryImplementor sessionFactory) {
+        JCacheAccessImpl acces = (JCacheAccessImpl) super.createQueryResultsRegionStorageAccess(regionName,
+                sessionFactory);
+        return new AccesHorsRepliques(acces.getUnderlyingCache());
+    }
+
+    /**
+     * Accès à une région qui ignore les ajouts faits depuis une réplique
+     */
+    private static final class AccesHorsRepliques extends JCacheAccessImpl {
+
+        AccesHorsRepliques(Cache<Object, Object> cache) {
+            super(cache);
+        }
+
+        @Override
+        public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            if (!RoutageDataSource.lectureSurReplique()) {
+                super.putIntoCache(key, value, session);
+            }
+        }
+    }
+}
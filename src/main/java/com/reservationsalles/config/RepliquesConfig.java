@@ -0,0 +1,89 @@
+package com.reservationsalles.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Répliques en lecture (reservation.replicas.urls renseignée)
+ *
+ * Remplace la DataSource de Spring Boot : pool de la base principale
+ * (spring.datasource.*, utilisé seul par Flyway), un pool par réplique
+ * (mêmes identifiants, connexions en lecture seule) et, exposée à JPA,
+ * la DataSource de routage derrière un LazyConnectionDataSourceProxy.
+ */
+@Configuration
+@ConditionalOnProperty(name = "reservation.replicas.urls")
+public class RepliquesConfig {
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimaire(DataSourceProperties properties) {
+        HikariDataSource primaire = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primaire.setPoolName(RoutageDataSource.PRIMAIRE);
+        return primaire;
+    }
+
+    @Bean
+    public RoutageDataSource routageDataSource(HikariDataSource dataSourcePrimaire,
+                                               DataSourceProperties properties,
+                                               MeterRegistry meterRegistry,
+                                               @Value("${reservation.replicas.urls}") List<String> urls,
+                                               @Value("${reservation.replicas.pool-size:10}") int taillePool,
+                                               @Value("${reservation.replicas.retard-max-ms:5000}") long retardMaxMs) {
+        List<DataSource> repliques = new ArrayList<>();
+        for (String url : urls) {
+            HikariDataSource replique = new HikariDataSource();
+            replique.setPoolName("replique-" + repliques.size());
+            replique.setJdbcUrl(url);
+            replique.setUsername(properties.determineUsername());
+            replique.setPassword(properties.determinePassword());
+            replique.setDriverClassName(properties.determineDriverClassName());
+            replique.setMaximumPoolSize(taillePool);
+            replique.setReadOnly(true);
+            repliques.add(replique);
+        }
+        return new RoutageDataSource(dataSourcePrimaire, repliques, retardMaxMs, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(RoutageDataSource routageDataSource) {
+        return new LazyConnectionDataSourceProxy(routageDataSource);
+    }
+
+    /**
+     * Écouteur des écritures, ajouté aux événements de Hibernate : seules les
+     * transactions qui ont modifié des données marquent la session HTTP
+     */
+    @Bean
+    public SuiviEcritures suiviEcritures(EntityManagerFactory entityManagerFactory) {
+        SuiviEcritures suivi = new SuiviEcritures();
+        EventListenerRegistry registre = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registre.appendListeners(EventType.POST_INSERT, suivi);
+        registre.appendListeners(EventType.POST_UPDATE, suivi);
+        registre.appendListeners(EventType.POST_DELETE, suivi);
+        registre.appendListeners(EventType.POST_COLLECTION_RECREATE, suivi);
+        registre.appendListeners(EventType.POST_COLLECTION_UPDATE, suivi);
+        registre.appendListeners(EventType.POST_COLLECTION_REMOVE, suivi);
+        return suivi;
+    }
+}
@@ -0,0 +1,252 @@
+package com.reservationsalles.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Routage des connexions entre la base principale et ses répliques en lecture
+ *
+ * Les transactions en lecture seule (@Transactional(readOnly = true)) sont
+ * réparties à tour de rôle sur les répliques à jour ; les écritures, les
+ * vérifications de conflit (dans la transaction d'écriture) et tout accès hors
+ * transaction vont à la base principale. A envelopper dans un
+ * LazyConnectionDataSourceProxy : la connexion n'est choisie qu'à la première
+ * requête, une fois le caractère lecture seule de la transaction connu.
+ *
+ * Retard des répliques : à chaque battement, l'horodatage de la table
+ * battement_replication est lu sur chaque réplique et comparé à celui de la base
+ * principale, puis un nouvel horodatage y est écrit. Une réplique dont le retard
+ * dépasse la tolérance, ou injoignable, est écartée jusqu'au battement suivant ;
+ * sans réplique à jour, les lectures vont à la base principale.
+ *
+ * Lecture de ses propres écritures : après le commit d'une transaction qui a
+ * réellement écrit pendant une requête HTTP (signalerEcriture, appelé par
+ * SuiviEcritures à chaque insertion, mise à jour ou suppression d'entité), les
+ * lectures de la même session restent sur la base principale pendant la tolérance
+ * de retard (redirection vers la page de l'objet créé). Une transaction en
+ * écriture qui n'a rien modifié ne marque pas la session.
+ *
+ * Cache de second niveau : une transaction lue sur une réplique est signalée
+ * (lectureSurReplique) et n'alimente pas le cache partagé (RegionsCachePrimaire).
+ */
+public class RoutageDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(RoutageDataSource.class);
+
+    static final String PRIMAIRE = "primaire";
+    static final String DERNIERE_ECRITURE = RoutageDataSource.class.getName() + ".derniereEcriture";
+    private static final String LECTURE_SUR_REPLIQUE = RoutageDataSource.class.getName() + ".lectureSurReplique";
+
+    private final DataSource primaire;
+    private final List<DataSource> repliques;
+    private final String[] cles;
+    private final long retardMaxMs;
+    /** Retard mesuré de chaque réplique (ms, -1 : injoignable), lu par les jauges sur un autre thread */
+    private final AtomicLongArray retards;
+    private final AtomicInteger tour = new AtomicInteger();
+    /** Positions des répliques à jour (tableau remplacé à chaque battement) */
+    private volatile int[] aJour = new int[0];
+
+    public RoutageDataSource(DataSource primaire, List<DataSource> repliques, long retardMaxMs,
+                             MeterRegistry meterRegistry) {
+        this.primaire = primaire;
+        this.repliques = List.copyOf(repliques);
+        this.retardMaxMs = retardMaxMs;
+        this.cles = IntStream.range(0, repliques.size()).mapToObj(i -> "replique-" + i).toArray(String[]::new);
+        this.retards = new AtomicLongArray(repliques.size());
+        Map<Object, Object> cibles = new HashMap<>();
+        cibles.put(PRIMAIRE, primaire);
+        for (int i = 0; i < cles.length; i++) {
+            cibles.put(cles[i], repliques.get(i));
+            retards.set(i, -1);
+            int position = i;
+            Gauge.builder("reservation.replicas.retard", () -> retards.get(position))
+                    .tag("replique", cles[i])
+                    .description("Retard de réplication mesuré (ms, -1 : injoignable)")
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+        }
+        setTargetDataSources(cibles);
+        setDefaultTargetDataSource(primaire);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMAIRE;
+        }
+        int[] disponibles = aJour;
+        if (disponibles.length == 0 || ecritureRecente()) {
+            return PRIMAIRE;
+        }
+        marquerLectureSurReplique();
+        return cles[disponibles[Math.floorMod(tour.getAndIncrement(), disponibles.length)]];
+    }
+
+    /**
+     * Indique si la transaction en cours lit sur une réplique
+     * (au moins une connexion de la transaction lui a été attribuée)
+     */
+    static boolean lectureSurReplique() {
+        return TransactionSynchronizationManager.hasResource(LECTURE_SUR_REPLIQUE);
+    }
+
+    /**
+     * Mesure le retard de chaque réplique puis écrit un nouveau battement
+     * sur la base principale
+     */
+    @Scheduled(fixedDelayString = "${reservation.replicas.battement-ms:1000}")
+    public void mesurerRetards() {
+        long reference;
+        try {
+            reference = lireBattement(primaire);
+        } catch (SQLException e) {
+            log.warn("Battement illisible sur la base principale, lectures sur la base principale", e);
+            aJour = new int[0];
+            return;
+        }
+        int[] disponibles = IntStream.range(0, repliques.size()).filter(i -> {
+            boolean etaitAJour = estAJour(i);
+            long retard;
+            try {
+                retard = Math.max(0, reference - lireBattement(repliques.get(i)));
+            } catch (SQLException e) {
+                retard = -1;
+            }
+            retards.set(i, retard);
+            boolean disponible = retard >= 0 && retard <= retardMaxMs;
+            if (etaitAJour && !disponible) {
+                log.warn("Réplique {} écartée (retard : {} ms)", cles[i], retard);
+            } else if (!etaitAJour && disponible) {
+                log.info("Réplique {} à jour (retard : {} ms)", cles[i], retard);
+            }
+            return disponible;
+        }).toArray();
+        aJour = disponibles;
+        try {
+            ecrireBattement(System.currentTimeMillis());
+        } catch (SQLException e) {
+            log.warn("Battement non écrit sur la base principale", e);
+        }
+    }
+
+    /**
+     * Ferme les pools des répliques (celui de la base principale est un bean à part)
+     */
+    @Override
+    public void close() throws Exception {
+        for (DataSource replique : repliques) {
+            if (replique instanceof AutoCloseable fermable) {
+                fermable.close();
+            }
+        }
+    }
+
+    /**
+     * Signale une écriture dans la transaction en cours, pendant une requête HTTP :
+     * la session est marquée après le commit (une seule fois par transaction)
+     */
+    static void signalerEcriture() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || RequestContextHolder.getRequestAttributes() == null) {
+            return;
+        }
+        for (TransactionSynchronization synchronisation : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronisation instanceof MarquageEcriture) {
+                return;
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(new MarquageEcriture());
+    }
+
+    /**
+     * Marque la session au commit de la transaction qui a écrit
+     */
+    private static final class MarquageEcriture implements TransactionSynchronization {
+
+        @Override
+        public void afterCommit() {
+            marquerEcriture();
+        }
+    }
+
+    /**
+     * Signale la lecture sur une réplique jusqu'à la fin de la transaction
+     */
+    private static void marquerLectureSurReplique() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive() || lectureSurReplique()) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(LECTURE_SUR_REPLIQUE, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(LECTURE_SUR_REPLIQUE);
+            }
+        });
+    }
+
+    private static void marquerEcriture() {
+        RequestAttributes requete = RequestContextHolder.getRequestAttributes();
+        if (requete != null) {
+            requete.setAttribute(DERNIERE_ECRITURE, System.currentTimeMillis(), RequestAttributes.SCOPE_SESSION);
+        }
+    }
+
+    private boolean ecritureRecente() {
+        RequestAttributes requete = RequestContextHolder.getRequestAttributes();
+        return requete != null
+                && requete.getAttribute(DERNIERE_ECRITURE, RequestAttributes.SCOPE_SESSION) instanceof Long ecriture
+                && System.currentTimeMillis() - ecriture <= retardMaxMs;
+    }
+
+    private boolean estAJour(int position) {
+        for (int i : aJour) {
+            if (i == position) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long lireBattement(DataSource source) throws SQLException {
+        try (Connection connexion = source.getConnection();
+             PreparedStatement lecture = connexion.prepareStatement(
+                     "SELECT horodatage FROM battement_replication WHERE id = 1");
+             ResultSet resultat = lecture.executeQuery()) {
+            if (!resultat.next()) {
+                throw new SQLException("Battement de réplication absent");
+            }
+            return resultat.getLong(1);
+        }
+    }
+
+    private void ecrireBattement(long horodatage) throws SQLException {
+        try (Connection connexion = primaire.getConnection();
+             PreparedStatement ecriture = connexion.prepareStatement(
+                     "UPDATE battement_replication SET horodatage = ? WHERE id = 1")) {
+            ecriture.setLong(1, horodatage);
+            ecriture.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.reservationsalles.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Statistiques Hibernate à la demande (/actuator/hibernate)
+ *
+ * Désactivées en prod (generate_statistics=false) : leur collecte coûte
+ * sur chaque requête. Activées le temps d'un diagnostic :
+ * POST /actuator/hibernate {"actif": true}, puis GET, puis {"actif": false}.
+ */
+@Component
+@Endpoint(id = "hibernate")
+public class StatistiquesHibernateEndpoint {
+
+    private final Statistics statistiques;
+
+    public StatistiquesHibernateEndpoint(EntityManagerFactory entityManagerFactory) {
+        this.statistiques = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Résumé des statistiques depuis leur dernière activation
+     */
+    @ReadOperation
+    public Map<String, Object> statistiques() {
+        Map<String, Object> resume = new LinkedHashMap<>();
+        resume.put("actif", statistiques.isStatisticsEnabled());
+        resume.put("depuis", statistiques.getStart());
+        resume.put("transactions", statistiques.getTransactionCount());
+        resume.put("instructionsPreparees", statistiques.getPrepareStatementCount());
+        resume.put("requetes", statistiques.getQueryExecutionCount());
+        resume.put("requeteLaPlusLente", statistiques.getQueryExecutionMaxTimeQueryString());
+        resume.put("dureeMaxRequeteMs", statistiques.getQueryExecutionMaxTime());
+        resume.put("entitesChargees", statistiques.getEntityLoadCount());
+        resume.put("collectionsChargees", statistiques.getCollectionLoadCount());
+        resume.put("cacheSecondNiveauSucces", statistiques.getSecondLevelCacheHitCount());
+        resume.put("cacheSecondNiveauEchecs", statistiques.getSecondLevelCacheMissCount());
+        return resume;
+    }
+
+    /**
+     * Active ou désactive la collecte ; les compteurs repartent de zéro à l'activation
+     *
+     * @param actif true pour activer la collecte
+     * @return Le résumé après changement
+     */
+    @WriteOperation
+    public Map<String, Object> activer(boolean actif) {
+        if (actif && !statistiques.isStatisticsEnabled()) {
+            statistiques.clear();
+        }
+        statistiques.setStatisticsEnabled(actif);
+        return statistiques();
+    }
+}
@@ -0,0 +1,62 @@
+package com.reservationsalles.config;
+
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Écouteur Hibernate des écritures réellement envoyées à la base (flush) :
+ * insertion, mise à jour, suppression d'une entité ou d'une collection
+ *
+ * Signale chacune à RoutageDataSource (lecture de ses propres écritures) ;
+ * les suppressions en masse (@Modifying) accompagnent toujours la suppression
+ * d'une entité dans la même transaction.
+ */
+public class SuiviEcritures implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener,
+        PostCollectionRecreateEventListener, PostCollectionUpdateEventListener, PostCollectionRemoveEventListener {
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        RoutageDataSource.signalerEcriture();
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        RoutageDataSource.signalerEcriture();
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        RoutageDataSource.signalerEcriture();
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        RoutageDataSource.signalerEcriture();
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        RoutageDataSource.signalerEcriture();
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        RoutageDataSource.signalerEcriture();
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+}
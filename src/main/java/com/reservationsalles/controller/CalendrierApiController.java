@@ -0,0 +1,87 @@
+package com.reservationsalles.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reservationsalles.dto.RechercheDisponibilite;
+import com.reservationsalles.dto.ReservationInfo;
+import com.reservationsalles.dto.SalleInfo;
+import com.reservationsalles.exception.ResourceNotFoundException;
+import com.reservationsalles.service.ReservationService;
+import com.reservationsalles.service.SalleService;
+import com.reservationsalles.service.UtilisateurService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Controller REST de consultation des calendriers et disponibilités (clients mobiles)
+ *
+ * Réponses en flux NDJSON (application/x-ndjson) : les résultats sont lus en base
+ * par paquets et écrits au fur et à mesure, hors du thread de requête, sans
+ * construire de liste ni charger d'entités. Les erreurs (404, 400) sont détectées
+ * avant le début du flux.
+ */
+@RestController
+@RequestMapping("/api/calendrier")
+public class CalendrierApiController {
+
+    private final ReservationService reservationService;
+    private final SalleService salleService;
+    private final UtilisateurService utilisateurService;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public CalendrierApiController(ReservationService reservationService,
+                                   SalleService salleService,
+                                   UtilisateurService utilisateurService,
+                                   ObjectMapper objectMapper) {
+        this.reservationService = reservationService;
+        this.salleService = salleService;
+        this.utilisateurService = utilisateurService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Réservations à venir d'une salle, dans l'ordre chronologique
+     * GET /api/calendrier/salles/{id}/reservations
+     */
+    @GetMapping("/salles/{id}/reservations")
+    public ResponseEntity<StreamingResponseBody> reservationsSalle(@PathVariable Long id) {
+        salleService.findById(id);
+        return FluxNdjson.<ReservationInfo>of(objectMapper,
+                action -> reservationService.parcourirFutureReservationsBySalle(id, action));
+    }
+
+    /**
+     * Réservations à venir d'un utilisateur, dans l'ordre chronologique
+     * GET /api/calendrier/utilisateurs/{id}/reservations
+     */
+    @GetMapping("/utilisateurs/{id}/reservations")
+    public ResponseEntity<StreamingResponseBody> reservationsUtilisateur(@PathVariable Long id) {
+        utilisateurService.findById(id);
+        return FluxNdjson.<ReservationInfo>of(objectMapper,
+                action -> reservationService.parcourirFutureReservationsByUtilisateur(id, action));
+    }
+
+    /**
+     * Salles libres sur un créneau, de la plus petite capacité suffisante à la plus grande
+     * GET /api/calendrier/salles/libres?date=...&heureDebut=...&heureFin=...&capaciteMin=...&localisation=...&limite=...
+     */
+    @GetMapping("/salles/libres")
+    public ResponseEntity<StreamingResponseBody> sallesLibres(@ModelAttribute RechercheDisponibilite recherche) {
+        recherche.verifierCreneau();
+        return FluxNdjson.<SalleInfo>of(objectMapper,
+                action -> salleService.parcourirSallesLibres(recherche, action));
+    }
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<String> handleNotFound(ResourceNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
@@ -0,0 +1,101 @@
+package com.reservationsalles.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reservationsalles.dto.ReservationInfo;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Écriture de l'export des réservations directement dans la réponse (CSV ou JSON)
+ *
+ * Chaque réservation lue en base est écrite aussitôt dans un tampon de taille fixe,
+ * vidé vers le client dès qu'il est plein : la mémoire ne dépend pas du nombre de lignes.
+ * Les réservations sont lues par pages, chacune dans une transaction courte : un
+ * client lent ne retient aucune connexion du pool pendant l'écriture.
+ */
+final class ExportReservations {
+
+    static final String EN_TETE_CSV = "id;date;heureDebut;heureFin;salleId;salle;utilisateurId;utilisateur";
+
+    private ExportReservations() {
+    }
+
+    /**
+     * CSV (séparateur ';', comme l'import par lot), une ligne d'en-tête
+     *
+     * @param source Parcours des réservations, appelé avec le traitement d'écriture de chacune
+     */
+    static StreamingResponseBody csv(Consumer<Consumer<ReservationInfo>> source) {
+        return sortie -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(sortie, StandardCharsets.UTF_8));
+            writer.write(EN_TETE_CSV);
+            writer.write('\n');
+            ecrire(source, reservation -> {
+                writer.write(ligneCsv(reservation));
+                writer.write('\n');
+            });
+            writer.flush();
+        };
+    }
+
+    /**
+     * Tableau JSON, un objet par réservation
+     *
+     * @param objectMapper Sérialiseur JSON de l'application
+     * @param source Parcours des réservations, appelé avec le traitement d'écriture de chacune
+     */
+    static StreamingResponseBody json(ObjectMapper objectMapper, Consumer<Consumer<ReservationInfo>> source) {
+        return sortie -> {
+            JsonGenerator generateur = objectMapper.getFactory().createGenerator(sortie)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generateur.writeStartArray();
+            ecrire(source, generateur::writeObject);
+            generateur.writeEndArray();
+            generateur.close();
+        };
+    }
+
+    static String ligneCsv(ReservationInfo reservation) {
+        return reservation.id() + ";" + reservation.dateReservation() + ";" + reservation.heureDebut() + ";"
+                + reservation.heureFin() + ";" + reservation.salleId() + ";" + champCsv(reservation.salleNom()) + ";"
+                + reservation.utilisateurId() + ";" + champCsv(reservation.utilisateurNom());
+    }
+
+    /**
+     * Champ texte entre guillemets s'il contient un séparateur, un guillemet ou un saut de ligne
+     */
+    private static String champCsv(String valeur) {
+        if (valeur.indexOf(';') < 0 && valeur.indexOf('"') < 0 && valeur.indexOf('\n') < 0) {
+            return valeur;
+        }
+        return '"' + valeur.replace("\"", "\"\"") + '"';
+    }
+
+    private static void ecrire(Consumer<Consumer<ReservationInfo>> source, Ecriture ecriture) throws IOException {
+        try {
+            source.accept(reservation -> {
+                try {
+                    ecriture.ecrire(reservation);
+                } catch (IOException e) {
+                    // Client déconnecté : interrompt le parcours (aucune page suivante lue)
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Ecriture {
+        void ecrire(ReservationInfo reservation) throws IOException;
+    }
+}
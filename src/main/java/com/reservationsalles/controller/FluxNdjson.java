@@ -0,0 +1,69 @@
+package com.reservationsalles.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Réponse en flux NDJSON (un objet JSON par ligne)
+ *
+ * Le corps est écrit hors du thread de requête (traitement asynchrone de Spring MVC),
+ * au fil de la lecture en base : chaque élément est sérialisé puis écrit aussitôt,
+ * un envoi au client toutes les LIGNES_PAR_ENVOI lignes. Tant qu'un client lent
+ * ne lit pas, l'écriture bloque et la page suivante n'est pas lue (contre-pression) :
+ * la mémoire reste bornée par la taille des pages. Les sources lisent chaque page
+ * dans une transaction courte : l'écriture ne retient aucune connexion du pool.
+ */
+final class FluxNdjson {
+
+    private static final int LIGNES_PAR_ENVOI = 100;
+    private static final byte FIN_DE_LIGNE = '\n';
+
+    private FluxNdjson() {
+    }
+
+    /**
+     * @param objectMapper Sérialiseur JSON de l'application
+     * @param source Parcours des éléments, appelé avec le traitement d'écriture de chaque élément
+     */
+    static <T> ResponseEntity<StreamingResponseBody> of(ObjectMapper objectMapper, Consumer<Consumer<T>> source) {
+        return of(objectMapper, source, LIGNES_PAR_ENVOI);
+    }
+
+    /**
+     * @param objectMapper Sérialiseur JSON de l'application
+     * @param source Parcours des éléments, appelé avec le traitement d'écriture de chaque élément
+     * @param lignesParEnvoi Lignes écrites entre deux envois au client (1 : chaque élément aussitôt)
+     */
+    static <T> ResponseEntity<StreamingResponseBody> of(ObjectMapper objectMapper, Consumer<Consumer<T>> source,
+                                                        int lignesParEnvoi) {
+        ObjectWriter writer = objectMapper.writer();
+        StreamingResponseBody corps = sortie -> {
+            int[] lignes = {0};
+            try {
+                source.accept(element -> {
+                    try {
+                        sortie.write(writer.writeValueAsBytes(element));
+                        sortie.write(FIN_DE_LIGNE);
+                        if (++lignes[0] % lignesParEnvoi == 0) {
+                            sortie.flush();
+                        }
+                    } catch (IOException e) {
+                        // Client déconnecté : interrompt le parcours (aucune page suivante lue)
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            sortie.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(corps);
+    }
+}
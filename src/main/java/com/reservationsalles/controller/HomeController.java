@@ -1,8 +1,7 @@
 package com.reservationsalles.controller;
 
-import com.reservationsalles.service.ReservationService;
-import com.reservationsalles.service.SalleService;
-import com.reservationsalles.service.UtilisateurService;
+import com.reservationsalles.dto.TableauDeBord;
+import com.reservationsalles.service.StatistiquesService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -15,28 +14,23 @@ import org.springframework.web.bind.annotation.GetMapping;
 @Controller
 public class HomeController {
 
-    private final UtilisateurService utilisateurService;
-    private final SalleService salleService;
-    private final ReservationService reservationService;
+    private final StatistiquesService statistiquesService;
 
     @Autowired
-    public HomeController(UtilisateurService utilisateurService,
-                          SalleService salleService,
-                          ReservationService reservationService) {
-        this.utilisateurService = utilisateurService;
-        this.salleService = salleService;
-        this.reservationService = reservationService;
+    public HomeController(StatistiquesService statistiquesService) {
+        this.statistiquesService = statistiquesService;
     }
 
     /**
-     * Page d'accueil avec statistiques
+     * Page d'accueil avec statistiques (compteurs tenus en mémoire)
      */
     @GetMapping("/")
     public String home(Model model) {
-        model.addAttribute("totalUtilisateurs", utilisateurService.count());
-        model.addAttribute("totalSalles", salleService.count());
-        model.addAttribute("totalReservations", reservationService.count());
-        model.addAttribute("sallesDisponibles", salleService.findSallesDisponibles().size());
+        TableauDeBord tableau = statistiquesService.tableauDeBord();
+        model.addAttribute("totalUtilisateurs", tableau.utilisateurs());
+        model.addAttribute("totalSalles", tableau.salles());
+        model.addAttribute("totalReservations", tableau.reservations());
+        model.addAttribute("sallesDisponibles", tableau.sallesDisponibles());
         
         return "index";
     }
@@ -0,0 +1,58 @@
+package com.reservationsalles.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reservationsalles.dto.ProgressionImport;
+import com.reservationsalles.service.ImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Controller REST d'import en masse des Salles et des Utilisateurs (fichiers CSV, UTF-8)
+ *
+ * Le corps de la requête est lu au fil de l'import, hors du thread de requête,
+ * sans être chargé en entier ; l'avancement est renvoyé en flux NDJSON,
+ * un ProgressionImport par lot, envoyé dès la fin du lot, puis un dernier avec termine=true.
+ * Les lignes invalides sont rejetées une à une sans interrompre l'import.
+ */
+@RestController
+@RequestMapping("/api/import")
+public class ImportApiController {
+
+    private final ImportService importService;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public ImportApiController(ImportService importService, ObjectMapper objectMapper) {
+        this.importService = importService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Importe des salles : nom;capacite;localisation[;disponible]
+     * POST /api/import/salles
+     */
+    @PostMapping(value = "/salles", consumes = "text/csv")
+    public ResponseEntity<StreamingResponseBody> importerSalles(InputStream corps) {
+        Reader source = new InputStreamReader(corps, StandardCharsets.UTF_8);
+        return FluxNdjson.<ProgressionImport>of(objectMapper,
+                action -> importService.importerSalles(source, action), 1);
+    }
+
+    /**
+     * Importe des utilisateurs : nom;email;role
+     * POST /api/import/utilisateurs
+     */
+    @PostMapping(value = "/utilisateurs", consumes = "text/csv")
+    public ResponseEntity<StreamingResponseBody> importerUtilisateurs(InputStream corps) {
+        Reader source = new InputStreamReader(corps, StandardCharsets.UTF_8);
+        return FluxNdjson.<ProgressionImport>of(objectMapper,
+                action -> importService.importerUtilisateurs(source, action), 1);
+    }
+}
@@ -0,0 +1,234 @@
+package com.reservationsalles.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reservationsalles.dto.DemandeReservation;
+import com.reservationsalles.dto.DemandeSerie;
+import com.reservationsalles.dto.RapportLot;
+import com.reservationsalles.dto.ReservationInfo;
+import com.reservationsalles.dto.ResultatReservation;
+import com.reservationsalles.dto.SerieInfo;
+import com.reservationsalles.exception.ReservationConflictException;
+import com.reservationsalles.exception.ResourceNotFoundException;
+import com.reservationsalles.model.Reservation;
+import com.reservationsalles.service.ReservationSerieService;
+import com.reservationsalles.service.ReservationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Controller REST pour les opérations de masse sur les Réservations
+ * Complète ReservationController (vues JSP) pour les imports et intégrations
+ */
+@RestController
+@RequestMapping("/api/reservations")
+public class ReservationApiController {
+
+    private final ReservationService reservationService;
+    private final ReservationSerieService reservationSerieService;
+    private final ObjectMapper objectMapper;
+    private final int tailleMaxLot;
+
+    @Autowired
+    public ReservationApiController(ReservationService reservationService,
+                                    ReservationSerieService reservationSerieService,
+                                    ObjectMapper objectMapper,
+                                    @Value("${reservation.lot.taille-max:1000}") int tailleMaxLot) {
+        this.reservationService = reservationService;
+        this.reservationSerieService = reservationSerieService;
+        this.objectMapper = objectMapper;
+        this.tailleMaxLot = tailleMaxLot;
+    }
+
+    /**
+     * Crée un lot de réservations (JSON)
+     * POST /api/reservations/lot
+     * Au plus reservation.lot.taille-max demandes (400 au-delà) ; un élément null
+     * est rejeté à sa position, les autres sont traités
+     */
+    @PostMapping(value = "/lot", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public RapportLot createLot(@RequestBody List<DemandeReservation> demandes) {
+        verifierTailleLot(demandes.size());
+
+        ResultatReservation[] resultats = new ResultatReservation[demandes.size()];
+        List<Reservation> reservations = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < demandes.size(); i++) {
+            if (demandes.get(i) == null) {
+                resultats[i] = ResultatReservation.rejetee(i, "Demande absente (null)");
+            } else {
+                reservations.add(demandes.get(i).toReservation());
+                positions.add(i);
+            }
+        }
+        return enregistrer(reservations, positions, resultats);
+    }
+
+    /**
+     * Crée un lot de réservations (CSV)
+     * POST /api/reservations/lot
+     * Une réservation par ligne : utilisateurId;salleId;date;heureDebut;heureFin
+     * (séparateur ';' ou ',', ligne d'en-tête facultative, BOM UTF-8 ignoré)
+     * Au plus reservation.lot.taille-max lignes de données (400 au-delà)
+     * Les positions du rapport correspondent aux lignes de données, à partir de 0
+     */
+    @PostMapping(value = "/lot", consumes = "text/csv")
+    public RapportLot createLotCsv(@RequestBody String csv) {
+        // BOM laissé par certains tableurs : sans quoi la première ligne passerait pour un en-tête
+        String contenu = csv.startsWith("\uFEFF") ? csv.substring(1) : csv;
+        List<String> lignes = contenu.lines().filter(ligne -> !ligne.isBlank()).toList();
+        if (!lignes.isEmpty() && estEnTete(lignes.get(0))) {
+            lignes = lignes.subList(1, lignes.size());
+        }
+        verifierTailleLot(lignes.size());
+
+        ResultatReservation[] resultats = new ResultatReservation[lignes.size()];
+        List<Reservation> reservations = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < lignes.size(); i++) {
+            try {
+                reservations.add(parseLigne(lignes.get(i)).toReservation());
+                positions.add(i);
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                resultats[i] = ResultatReservation.rejetee(i, "Ligne invalide : " + e.getMessage());
+            }
+        }
+        return enregistrer(reservations, positions, resultats);
+    }
+
+    /**
+     * Exporte les réservations d'une période, en flux (comptabilité)
+     * GET /api/reservations/export?format=csv|json&du=...&au=...
+     * Période facultative ; colonnes CSV : voir ExportReservations.EN_TETE_CSV
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate du,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate au) {
+        // Vérifié avant le début du flux : l'erreur ne peut plus être renvoyée ensuite
+        if (du != null && au != null && au.isBefore(du)) {
+            throw new IllegalArgumentException("La fin de la période doit être après son début");
+        }
+        Consumer<Consumer<ReservationInfo>> source = action -> reservationService.parcourirReservations(du, au, action);
+        return switch (format) {
+            case "csv" -> ResponseEntity.ok()
+                    .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"reservations.csv\"")
+                    .body(ExportReservations.csv(source));
+            case "json" -> ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"reservations.json\"")
+                    .body(ExportReservations.json(objectMapper, source));
+            default -> throw new IllegalArgumentException("Format d'export inconnu : " + format + " (csv ou json)");
+        };
+    }
+
+    /**
+     * Crée une série de réservations récurrentes
+     * POST /api/reservations/series
+     */
+    @PostMapping("/series")
+    @ResponseStatus(HttpStatus.CREATED)
+    public SerieInfo createSerie(@RequestBody DemandeSerie demande) {
+        return SerieInfo.of(reservationSerieService.save(demande.toSerie()));
+    }
+
+    /**
+     * Affiche une série
+     * GET /api/reservations/series/{id}
+     */
+    @GetMapping("/series/{id}")
+    public SerieInfo getSerie(@PathVariable Long id) {
+        return SerieInfo.of(reservationSerieService.findById(id));
+    }
+
+    /**
+     * Calcule les occurrences d'une série sur une période
+     * GET /api/reservations/series/{id}/occurrences?du=...&au=...
+     */
+    @GetMapping("/series/{id}/occurrences")
+    public List<LocalDate> getOccurrences(@PathVariable Long id,
+                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate du,
+                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate au) {
+        return reservationSerieService.findOccurrences(id, du, au);
+    }
+
+    /**
+     * Supprime une série et ses occurrences à venir
+     * DELETE /api/reservations/series/{id}
+     */
+    @DeleteMapping("/series/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteSerie(@PathVariable Long id) {
+        reservationSerieService.delete(id);
+    }
+
+    @ExceptionHandler(ReservationConflictException.class)
+    public ResponseEntity<String> handleConflict(ReservationConflictException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<String> handleNotFound(ResourceNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    private void verifierTailleLot(int taille) {
+        if (taille > tailleMaxLot) {
+            throw new IllegalArgumentException("Lot trop volumineux : " + taille + " réservations, "
+                    + tailleMaxLot + " au plus");
+        }
+    }
+
+    /**
+     * Enregistre les réservations valides du lot et place leurs résultats à leur
+     * position d'origine, à côté des éléments déjà rejetés
+     */
+    private RapportLot enregistrer(List<Reservation> reservations, List<Integer> positions,
+                                   ResultatReservation[] resultats) {
+        List<ResultatReservation> resultatsService = reservationService.saveAll(reservations);
+        for (int k = 0; k < resultatsService.size(); k++) {
+            int position = positions.get(k);
+            resultats[position] = resultatsService.get(k).aLaPosition(position);
+        }
+        return RapportLot.of(List.of(resultats));
+    }
+
+    private static boolean estEnTete(String ligne) {
+        return !Character.isDigit(ligne.strip().charAt(0));
+    }
+
+    private static DemandeReservation parseLigne(String ligne) {
+        String[] champs = ligne.split("[;,]");
+        if (champs.length != 5) {
+            throw new IllegalArgumentException("5 champs attendus, " + champs.length + " trouvés");
+        }
+        return new DemandeReservation(
+                Long.valueOf(champs[0].strip()),
+                Long.valueOf(champs[1].strip()),
+                LocalDate.parse(champs[2].strip()),
+                LocalTime.parse(champs[3].strip()),
+                LocalTime.parse(champs[4].strip())
+        );
+    }
+}
@@ -1,8 +1,10 @@
 package com.reservationsalles.controller;
 
+import com.reservationsalles.dto.FiltreReservation;
 import com.reservationsalles.exception.ReservationConflictException;
 import com.reservationsalles.exception.ResourceNotFoundException;
 import com.reservationsalles.model.Reservation;
+import com.reservationsalles.pagination.PageCurseur;
 import com.reservationsalles.service.ReservationService;
 import com.reservationsalles.service.SalleService;
 import com.reservationsalles.service.UtilisateurService;
@@ -36,12 +38,20 @@ public class ReservationController {
     }
 
     /**
-     * Liste toutes les réservations
-     * GET /reservations
+     * Liste les reservations par pages, avec filtres et tri
+     * GET /reservations?tri=...&curseur=...&taille=...
      */
     @GetMapping
-    public String listReservations(Model model) {
-        model.addAttribute("reservations", reservationService.findAll());
+    public String listReservations(@ModelAttribute("filtre") FiltreReservation filtre,
+                                   @RequestParam(defaultValue = "date") String tri,
+                                   @RequestParam(required = false) String curseur,
+                                   @RequestParam(defaultValue = "" + PageCurseur.TAILLE_DEFAUT) int taille,
+                                   Model model) {
+        PageCurseur<Reservation> page = reservationService.findPage(filtre, tri, curseur, taille);
+        model.addAttribute("reservations", page.elements());
+        model.addAttribute("page", page);
+        model.addAttribute("tri", tri);
+        model.addAttribute("taille", PageCurseur.borner(taille));
         return "reservations/list";
     }
 
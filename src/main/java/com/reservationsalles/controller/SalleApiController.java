@@ -0,0 +1,51 @@
+package com.reservationsalles.controller;
+
+import com.reservationsalles.dto.GrilleOccupation;
+import com.reservationsalles.dto.RechercheDisponibilite;
+import com.reservationsalles.dto.SalleInfo;
+import com.reservationsalles.service.SalleService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Controller REST pour la consultation des Salles
+ * Complète SalleController (vues JSP) pour les intégrations
+ */
+@RestController
+@RequestMapping("/api/salles")
+public class SalleApiController {
+
+    private final SalleService salleService;
+
+    @Autowired
+    public SalleApiController(SalleService salleService) {
+        this.salleService = salleService;
+    }
+
+    /**
+     * Salles libres sur un créneau
+     * GET /api/salles/libres?date=...&heureDebut=...&heureFin=...&capaciteMin=...&localisation=...&limite=...
+     */
+    @GetMapping("/libres")
+    public List<SalleInfo> sallesLibres(@ModelAttribute RechercheDisponibilite recherche) {
+        return salleService.rechercherSallesLibres(recherche).stream().map(SalleInfo::of).toList();
+    }
+
+    /**
+     * Grilles d'occupation d'un mois (tranches de 15 minutes) pour plusieurs salles
+     * GET /api/salles/occupation?salleIds=1,2,3&mois=2025-06
+     */
+    @GetMapping("/occupation")
+    public List<GrilleOccupation> occupation(@RequestParam List<Long> salleIds, @RequestParam YearMonth mois) {
+        return salleService.findGrillesOccupation(salleIds, mois);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
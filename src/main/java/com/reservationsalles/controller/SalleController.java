@@ -1,7 +1,10 @@
 package com.reservationsalles.controller;
 
+import com.reservationsalles.dto.FiltreSalle;
+import com.reservationsalles.dto.RechercheDisponibilite;
 import com.reservationsalles.exception.ResourceNotFoundException;
 import com.reservationsalles.model.Salle;
+import com.reservationsalles.pagination.PageCurseur;
 import com.reservationsalles.service.SalleService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,15 +31,39 @@ public class SalleController {
     }
 
     /**
-     * Liste toutes les salles
-     * GET /salles
+     * Liste les salles par pages, avec filtres et tri
+     * GET /salles?tri=...&curseur=...&taille=...
      */
     @GetMapping
-    public String listSalles(Model model) {
-        model.addAttribute("salles", salleService.findAll());
+    public String listSalles(@ModelAttribute("filtre") FiltreSalle filtre,
+                             @RequestParam(defaultValue = "nom") String tri,
+                             @RequestParam(required = false) String curseur,
+                             @RequestParam(defaultValue = "" + PageCurseur.TAILLE_DEFAUT) int taille,
+                             Model model) {
+        PageCurseur<Salle> page = salleService.findPage(filtre, tri, curseur, taille);
+        model.addAttribute("salles", page.elements());
+        model.addAttribute("page", page);
+        model.addAttribute("tri", tri);
+        model.addAttribute("taille", PageCurseur.borner(taille));
         return "salles/list";
     }
 
+    /**
+     * Recherche de salles libres sur un créneau
+     * GET /salles/libres?date=...&heureDebut=...&heureFin=...&capaciteMin=...&localisation=...
+     */
+    @GetMapping("/libres")
+    public String sallesLibres(@ModelAttribute("recherche") RechercheDisponibilite recherche, Model model) {
+        if (recherche.date() != null) {
+            try {
+                model.addAttribute("salles", salleService.rechercherSallesLibres(recherche));
+            } catch (IllegalArgumentException e) {
+                model.addAttribute("errorMessage", e.getMessage());
+            }
+        }
+        return "salles/libres";
+    }
+
     /**
      * Affiche le formulaire de création
      * GET /salles/create
@@ -169,9 +196,9 @@ public class SalleController {
      */
     @GetMapping("/search")
     public String searchSalles(@RequestParam(required = false) String nom,
-                               @RequestParam(required = false) String localisation,
-                               @RequestParam(required = false) Integer capacite,
-                               Model model) {
+                             @RequestParam(required = false) String localisation,
+                             @RequestParam(required = false) Integer capacite,
+                             Model model) {
         if (nom != null && !nom.trim().isEmpty()) {
             model.addAttribute("salles", salleService.searchByNom(nom));
             model.addAttribute("searchQuery", nom);
@@ -1,7 +1,9 @@
 package com.reservationsalles.controller;
 
+import com.reservationsalles.dto.FiltreUtilisateur;
 import com.reservationsalles.exception.ResourceNotFoundException;
 import com.reservationsalles.model.Utilisateur;
+import com.reservationsalles.pagination.PageCurseur;
 import com.reservationsalles.service.UtilisateurService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,12 +30,20 @@ public class UtilisateurController {
     }
 
     /**
-     * Liste tous les utilisateurs
-     * GET /utilisateurs
+     * Liste les utilisateurs par pages, avec filtres et tri
+     * GET /utilisateurs?tri=...&curseur=...&taille=...
      */
     @GetMapping
-    public String listUtilisateurs(Model model) {
-        model.addAttribute("utilisateurs", utilisateurService.findAll());
+    public String listUtilisateurs(@ModelAttribute("filtre") FiltreUtilisateur filtre,
+                                   @RequestParam(defaultValue = "nom") String tri,
+                                   @RequestParam(required = false) String curseur,
+                                   @RequestParam(defaultValue = "" + PageCurseur.TAILLE_DEFAUT) int taille,
+                                   Model model) {
+        PageCurseur<Utilisateur> page = utilisateurService.findPage(filtre, tri, curseur, taille);
+        model.addAttribute("utilisateurs", page.elements());
+        model.addAttribute("page", page);
+        model.addAttribute("tri", tri);
+        model.addAttribute("taille", PageCurseur.borner(taille));
         return "utilisateurs/list";
     }
 
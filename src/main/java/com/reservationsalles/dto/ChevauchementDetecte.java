@@ -0,0 +1,12 @@
+package com.reservationsalles.dto;
+
+/**
+ * Double réservation trouvée par l'audit : deux réservations d'une salle
+ * dont les créneaux se chevauchent
+ *
+ * @param salleId ID de la salle
+ * @param reservationId ID de la réservation commençant la première
+ * @param autreReservationId ID de la réservation qui la chevauche
+ */
+public record ChevauchementDetecte(long salleId, long reservationId, long autreReservationId) {
+}
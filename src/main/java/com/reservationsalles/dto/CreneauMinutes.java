@@ -0,0 +1,13 @@
+package com.reservationsalles.dto;
+
+/**
+ * Créneau d'une réservation sous sa forme encodée (colonnes jour_epoch,
+ * minute_debut, minute_fin), lu en flux par l'audit des chevauchements
+ *
+ * @param reservationId ID de la réservation
+ * @param jourEpoch Jour de début (jours depuis l'epoch)
+ * @param minuteDebut Minute de début depuis minuit
+ * @param minuteFin Minute de fin depuis minuit du jour de début (au-delà de 1440 le lendemain)
+ */
+public record CreneauMinutes(long reservationId, int jourEpoch, short minuteDebut, short minuteFin) {
+}
@@ -0,0 +1,42 @@
+package com.reservationsalles.dto;
+
+import com.reservationsalles.model.Reservation;
+import com.reservationsalles.model.Salle;
+import com.reservationsalles.model.Utilisateur;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Demande de réservation reçue par l'API (une ligne d'un lot JSON ou CSV)
+ *
+ * @param utilisateurId ID de l'utilisateur
+ * @param salleId ID de la salle
+ * @param dateReservation Date de réservation
+ * @param heureDebut Heure de début
+ * @param heureFin Heure de fin
+ */
+public record DemandeReservation(Long utilisateurId,
+                                 Long salleId,
+                                 LocalDate dateReservation,
+                                 LocalTime heureDebut,
+                                 LocalTime heureFin) {
+
+    /**
+     * Convertit la demande en réservation non persistée
+     * (utilisateur et salle ne portent que leur ID, comme depuis le formulaire)
+     */
+    public Reservation toReservation() {
+        Utilisateur utilisateur = null;
+        if (utilisateurId != null) {
+            utilisateur = new Utilisateur();
+            utilisateur.setId(utilisateurId);
+        }
+        Salle salle = null;
+        if (salleId != null) {
+            salle = new Salle();
+            salle.setId(salleId);
+        }
+        return new Reservation(dateReservation, heureDebut, heureFin, utilisateur, salle);
+    }
+}
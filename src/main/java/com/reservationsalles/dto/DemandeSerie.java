@@ -0,0 +1,55 @@
+package com.reservationsalles.dto;
+
+import com.reservationsalles.model.ReservationSerie;
+import com.reservationsalles.model.Salle;
+import com.reservationsalles.model.Utilisateur;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Demande de série de réservations récurrentes reçue par l'API
+ *
+ * @param utilisateurId ID de l'utilisateur
+ * @param salleId ID de la salle
+ * @param dateDebut Première occurrence (fixe le jour de la semaine)
+ * @param dateFin Dernière date possible (incluse)
+ * @param heureDebut Heure de début
+ * @param heureFin Heure de fin
+ * @param intervalleSemaines Nombre de semaines entre deux occurrences (1 si absent)
+ * @param exceptions Dates exclues (facultatif)
+ */
+public record DemandeSerie(Long utilisateurId,
+                           Long salleId,
+                           LocalDate dateDebut,
+                           LocalDate dateFin,
+                           LocalTime heureDebut,
+                           LocalTime heureFin,
+                           Integer intervalleSemaines,
+                           Set<LocalDate> exceptions) {
+
+    /**
+     * Convertit la demande en série non persistée
+     */
+    public ReservationSerie toSerie() {
+        Utilisateur utilisateur = new Utilisateur();
+        utilisateur.setId(utilisateurId);
+        Salle salle = new Salle();
+        salle.setId(salleId);
+
+        ReservationSerie serie = new ReservationSerie();
+        serie.setDateDebut(dateDebut);
+        serie.setDateFin(dateFin);
+        serie.setHeureDebut(heureDebut);
+        serie.setHeureFin(heureFin);
+        serie.setIntervalleSemaines(intervalleSemaines != null ? intervalleSemaines : 1);
+        serie.setUtilisateur(utilisateurId != null ? utilisateur : null);
+        serie.setSalle(salleId != null ? salle : null);
+        if (exceptions != null) {
+            serie.setExceptions(new HashSet<>(exceptions));
+        }
+        return serie;
+    }
+}
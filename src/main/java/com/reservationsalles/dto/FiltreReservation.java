@@ -0,0 +1,14 @@
+package com.reservationsalles.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Filtres de la liste des réservations (tous facultatifs)
+ *
+ * @param salleId ID de la salle
+ * @param utilisateurId ID de l'utilisateur
+ * @param du Date minimale (incluse)
+ * @param au Date maximale (incluse)
+ */
+public record FiltreReservation(Long salleId, Long utilisateurId, LocalDate du, LocalDate au) {
+}
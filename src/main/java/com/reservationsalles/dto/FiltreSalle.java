@@ -0,0 +1,12 @@
+package com.reservationsalles.dto;
+
+/**
+ * Filtres de la liste des salles (tous facultatifs)
+ *
+ * @param nom Partie du nom (insensible à la casse)
+ * @param localisation Partie de la localisation (insensible à la casse)
+ * @param capaciteMin Capacité minimale
+ * @param disponible Statut de disponibilité
+ */
+public record FiltreSalle(String nom, String localisation, Integer capaciteMin, Boolean disponible) {
+}
@@ -0,0 +1,10 @@
+package com.reservationsalles.dto;
+
+/**
+ * Filtres de la liste des utilisateurs (tous facultatifs)
+ *
+ * @param nom Partie du nom (insensible à la casse)
+ * @param role Rôle exact
+ */
+public record FiltreUtilisateur(String nom, String role) {
+}
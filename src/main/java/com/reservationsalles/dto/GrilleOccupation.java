@@ -0,0 +1,41 @@
+package com.reservationsalles.dto;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Grille d'occupation mensuelle d'une salle renvoyée par l'API
+ *
+ * Chaque jour est une chaîne de 24 chiffres hexadécimaux (96 tranches de 15 minutes) :
+ * le chiffre k couvre les tranches 4k à 4k+3, de poids 8, 4, 2 et 1 ;
+ * un bit à 1 indique une tranche occupée.
+ *
+ * @param salleId ID de la salle
+ * @param mois Mois de la grille
+ * @param jours Masque de chaque jour du mois, du 1er au dernier
+ */
+public record GrilleOccupation(Long salleId, YearMonth mois, List<String> jours) {
+
+    /**
+     * @param masques Deux long par jour : tranches 0 à 63 puis 64 à 95
+     */
+    public static GrilleOccupation of(Long salleId, YearMonth mois, long[] masques) {
+        List<String> jours = new ArrayList<>(masques.length / 2);
+        for (int j = 0; j < masques.length / 2; j++) {
+            char[] hex = new char[24];
+            for (int k = 0; k < hex.length; k++) {
+                int valeur = 0;
+                for (int b = 0; b < 4; b++) {
+                    int tranche = 4 * k + b;
+                    if ((masques[2 * j + tranche / 64] >>> (tranche % 64) & 1L) != 0) {
+                        valeur |= 8 >> b;
+                    }
+                }
+                hex[k] = Character.forDigit(valeur, 16);
+            }
+            jours.add(new String(hex));
+        }
+        return new GrilleOccupation(salleId, mois, jours);
+    }
+}
@@ -0,0 +1,10 @@
+package com.reservationsalles.dto;
+
+/**
+ * Ligne d'un fichier d'import non importée
+ *
+ * @param ligne Numéro de la ligne dans le fichier (à partir de 1, en-tête compris)
+ * @param message Motif du rejet
+ */
+public record LigneRejetee(long ligne, String message) {
+}
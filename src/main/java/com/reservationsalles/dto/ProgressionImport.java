@@ -0,0 +1,21 @@
+package com.reservationsalles.dto;
+
+import java.util.List;
+
+/**
+ * Avancement d'un import CSV, renvoyé après chaque lot puis à la fin
+ *
+ * @param lot Numéro du lot traité (à partir de 1)
+ * @param lignes Lignes de données lues depuis le début du fichier
+ * @param importees Lignes importées depuis le début du fichier
+ * @param rejetees Lignes rejetées depuis le début du fichier
+ * @param rejets Lignes rejetées de ce lot
+ * @param termine true pour le dernier message de l'import
+ */
+public record ProgressionImport(int lot,
+                                long lignes,
+                                long importees,
+                                long rejetees,
+                                List<LigneRejetee> rejets,
+                                boolean termine) {
+}
@@ -0,0 +1,22 @@
+package com.reservationsalles.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Rapport d'un audit des chevauchements de réservations
+ *
+ * @param debut Date et heure de lancement
+ * @param dureeMs Durée de l'audit (ms)
+ * @param salles Nombre de salles parcourues
+ * @param reservations Nombre de réservations lues
+ * @param chevauchements Nombre de paires de réservations qui se chevauchent
+ * @param details Premières paires trouvées (nombre borné, voir reservation.audit.max-details)
+ */
+public record RapportAudit(LocalDateTime debut,
+                           long dureeMs,
+                           int salles,
+                           long reservations,
+                           long chevauchements,
+                           List<ChevauchementDetecte> details) {
+}
@@ -0,0 +1,19 @@
+package com.reservationsalles.dto;
+
+import java.util.List;
+
+/**
+ * Rapport de traitement d'un lot de réservations
+ *
+ * @param total Nombre de réservations soumises
+ * @param acceptees Nombre de réservations créées
+ * @param rejetees Nombre de réservations rejetées
+ * @param resultats Résultat de chaque réservation, dans l'ordre du lot
+ */
+public record RapportLot(int total, int acceptees, int rejetees, List<ResultatReservation> resultats) {
+
+    public static RapportLot of(List<ResultatReservation> resultats) {
+        int acceptees = (int) resultats.stream().filter(ResultatReservation::acceptee).count();
+        return new RapportLot(resultats.size(), acceptees, resultats.size() - acceptees, resultats);
+    }
+}
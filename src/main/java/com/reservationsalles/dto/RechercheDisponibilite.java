@@ -0,0 +1,42 @@
+package com.reservationsalles.dto;
+
+import com.reservationsalles.model.CreneauReservation;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Critères de recherche de salles libres
+ *
+ * @param date Date souhaitée
+ * @param heureDebut Heure de début souhaitée
+ * @param heureFin Heure de fin souhaitée
+ * @param capaciteMin Capacité minimale (facultative)
+ * @param localisation Partie de la localisation (facultative)
+ * @param limite Nombre maximal de salles renvoyées (facultatif)
+ */
+public record RechercheDisponibilite(LocalDate date,
+                                     LocalTime heureDebut,
+                                     LocalTime heureFin,
+                                     Integer capaciteMin,
+                                     String localisation,
+                                     Integer limite) {
+
+    /**
+     * Vérifie que le créneau recherché est complet et cohérent
+     *
+     * @throws IllegalArgumentException si la date ou une heure manque, si la date dépasse
+     *         CreneauReservation.DATE_MAX, ou si la fin précède le début
+     */
+    public void verifierCreneau() {
+        if (date == null || heureDebut == null || heureFin == null) {
+            throw new IllegalArgumentException("La date et les heures de début et de fin sont obligatoires");
+        }
+        if (date.isAfter(CreneauReservation.DATE_MAX)) {
+            throw new IllegalArgumentException("La date ne peut pas dépasser le " + CreneauReservation.DATE_MAX);
+        }
+        if (!heureFin.isAfter(heureDebut)) {
+            throw new IllegalArgumentException("L'heure de fin doit être après l'heure de début");
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.reservationsalles.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Vue d'une réservation renvoyée par l'API de consultation (flux NDJSON)
+ * Construite directement par la requête JPQL : aucune entité chargée ni gérée
+ *
+ * @param id ID de la réservation
+ * @param dateReservation Date de la réservation
+ * @param heureDebut Heure de début
+ * @param heureFin Heure de fin
+ * @param salleId ID de la salle
+ * @param salleNom Nom de la salle
+ * @param utilisateurId ID de l'utilisateur
+ * @param utilisateurNom Nom de l'utilisateur
+ */
+public record ReservationInfo(Long id,
+                              LocalDate dateReservation,
+                              LocalTime heureDebut,
+                              LocalTime heureFin,
+                              Long salleId,
+                              String salleNom,
+                              Long utilisateurId,
+                              String utilisateurNom) {
+}
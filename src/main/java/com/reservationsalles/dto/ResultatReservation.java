@@ -0,0 +1,27 @@
+package com.reservationsalles.dto;
+
+/**
+ * Résultat du traitement d'une réservation au sein d'un lot
+ *
+ * @param position Position de la réservation dans le lot (à partir de 0)
+ * @param acceptee true si la réservation a été créée
+ * @param reservationId ID de la réservation créée (null si rejetée)
+ * @param message Motif du rejet (null si acceptée)
+ */
+public record ResultatReservation(int position, boolean acceptee, Long reservationId, String message) {
+
+    public static ResultatReservation acceptee(int position, Long reservationId) {
+        return new ResultatReservation(position, true, reservationId, null);
+    }
+
+    public static ResultatReservation rejetee(int position, String message) {
+        return new ResultatReservation(position, false, null, message);
+    }
+
+    /**
+     * Même résultat, replacé à une autre position du lot
+     */
+    public ResultatReservation aLaPosition(int nouvellePosition) {
+        return new ResultatReservation(nouvellePosition, acceptee, reservationId, message);
+    }
+}
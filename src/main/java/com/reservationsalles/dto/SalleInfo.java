@@ -0,0 +1,18 @@
+package com.reservationsalles.dto;
+
+import com.reservationsalles.model.Salle;
+
+/**
+ * Vue d'une salle renvoyée par l'API (sans ses réservations)
+ *
+ * @param id ID de la salle
+ * @param nom Nom de la salle
+ * @param capacite Capacité
+ * @param localisation Localisation
+ */
+public record SalleInfo(Long id, String nom, int capacite, String localisation) {
+
+    public static SalleInfo of(Salle salle) {
+        return new SalleInfo(salle.getId(), salle.getNom(), salle.getCapacite(), salle.getLocalisation());
+    }
+}
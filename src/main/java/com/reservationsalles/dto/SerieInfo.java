@@ -0,0 +1,44 @@
+package com.reservationsalles.dto;
+
+import com.reservationsalles.model.ReservationSerie;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Vue d'une série de réservations renvoyée par l'API
+ *
+ * @param id ID de la série
+ * @param salleId ID de la salle
+ * @param utilisateurId ID de l'utilisateur
+ * @param dateDebut Première occurrence
+ * @param dateFin Dernière date possible
+ * @param heureDebut Heure de début
+ * @param heureFin Heure de fin
+ * @param intervalleSemaines Nombre de semaines entre deux occurrences
+ * @param materialiseeJusqua Date jusqu'à laquelle les occurrences existent en réservations
+ */
+public record SerieInfo(Long id,
+                        Long salleId,
+                        Long utilisateurId,
+                        LocalDate dateDebut,
+                        LocalDate dateFin,
+                        LocalTime heureDebut,
+                        LocalTime heureFin,
+                        int intervalleSemaines,
+                        LocalDate materialiseeJusqua) {
+
+    public static SerieInfo of(ReservationSerie serie) {
+        return new SerieInfo(
+                serie.getId(),
+                serie.getSalle().getId(),
+                serie.getUtilisateur().getId(),
+                serie.getDateDebut(),
+                serie.getDateFin(),
+                serie.getHeureDebut(),
+                serie.getHeureFin(),
+                serie.getIntervalleSemaines(),
+                serie.getMaterialiseeJusqua()
+        );
+    }
+}
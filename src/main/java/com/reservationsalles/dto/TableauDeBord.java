@@ -0,0 +1,12 @@
+package com.reservationsalles.dto;
+
+/**
+ * Compteurs affichés sur la page d'accueil
+ *
+ * @param utilisateurs Nombre d'utilisateurs
+ * @param salles Nombre de salles
+ * @param sallesDisponibles Nombre de salles disponibles
+ * @param reservations Nombre de réservations
+ */
+public record TableauDeBord(long utilisateurs, long salles, long sallesDisponibles, long reservations) {
+}
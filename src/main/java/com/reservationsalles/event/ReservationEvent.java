@@ -0,0 +1,25 @@
+package com.reservationsalles.event;
+
+import com.reservationsalles.model.CreneauReservation;
+
+/**
+ * Événement publié par ReservationService à chaque écriture de réservation
+ * Les écouteurs le reçoivent après le commit de la transaction
+ *
+ * @param avant Créneau avant l'opération (null pour une création)
+ * @param apres Créneau après l'opération (null pour une suppression)
+ */
+public record ReservationEvent(CreneauReservation avant, CreneauReservation apres) {
+
+    public static ReservationEvent creation(CreneauReservation creneau) {
+        return new ReservationEvent(null, creneau);
+    }
+
+    public static ReservationEvent modification(CreneauReservation avant, CreneauReservation apres) {
+        return new ReservationEvent(avant, apres);
+    }
+
+    public static ReservationEvent suppression(CreneauReservation creneau) {
+        return new ReservationEvent(creneau, null);
+    }
+}
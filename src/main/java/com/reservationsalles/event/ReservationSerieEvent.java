@@ -0,0 +1,21 @@
+package com.reservationsalles.event;
+
+import com.reservationsalles.model.ReservationSerie;
+
+/**
+ * Événement publié par ReservationSerieService à la création et à la suppression d'une série
+ * Les écouteurs le reçoivent après le commit de la transaction
+ *
+ * @param serie Série concernée (règle de récurrence, salle)
+ * @param creation true pour une création, false pour une suppression
+ */
+public record ReservationSerieEvent(ReservationSerie serie, boolean creation) {
+
+    public static ReservationSerieEvent creation(ReservationSerie serie) {
+        return new ReservationSerieEvent(serie, true);
+    }
+
+    public static ReservationSerieEvent suppression(ReservationSerie serie) {
+        return new ReservationSerieEvent(serie, false);
+    }
+}
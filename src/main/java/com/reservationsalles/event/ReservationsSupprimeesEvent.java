@@ -0,0 +1,25 @@
+package com.reservationsalles.event;
+
+import com.reservationsalles.model.CreneauReservation;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Événement publié à la suppression d'une salle ou d'un utilisateur, pour ses
+ * réservations supprimées en masse (sans ReservationEvent une par une)
+ * Les écouteurs le reçoivent après le commit de la transaction
+ *
+ * @param creneaux Créneaux supprimés encore suivis en mémoire (voir debutSuivi)
+ */
+public record ReservationsSupprimeesEvent(List<CreneauReservation> creneaux) {
+
+    /**
+     * Premier jour des créneaux suivis en mémoire : veille du premier jour du mois
+     * en cours (grilles d'occupation, et index qui démarre la veille d'aujourd'hui)
+     */
+    public static LocalDate debutSuivi() {
+        return YearMonth.now().atDay(1).minusDays(1);
+    }
+}
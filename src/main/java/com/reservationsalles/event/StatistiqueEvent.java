@@ -0,0 +1,19 @@
+package com.reservationsalles.event;
+
+/**
+ * Événement publié par les services lorsqu'une écriture fait varier un compteur
+ * du tableau de bord (les réservations sont suivies par ReservationEvent)
+ * Les écouteurs le reçoivent après le commit de la transaction
+ *
+ * @param compteur Compteur concerné
+ * @param variation Variation à appliquer (négative pour une suppression)
+ */
+public record StatistiqueEvent(Compteur compteur, long variation) {
+
+    public enum Compteur {
+        UTILISATEURS,
+        SALLES,
+        SALLES_DISPONIBLES,
+        RESERVATIONS
+    }
+}
@@ -0,0 +1,88 @@
+package com.reservationsalles.model;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Vue légère (non gérée par JPA) du créneau occupé par une réservation
+ * Utilisée par les index en mémoire et les événements de réservation
+ *
+ * Encodage compact d'un créneau (voir Reservation) : jour depuis l'epoch et
+ * minutes depuis minuit de ce jour, début arrondi à la minute inférieure,
+ * fin à la supérieure. Une heure de fin antérieure ou égale à l'heure de début
+ * désigne le lendemain : la minute de fin dépasse alors MINUTES_PAR_JOUR.
+ *
+ * @param reservationId ID de la réservation
+ * @param salleId ID de la salle réservée
+ * @param dateReservation Date de la réservation
+ * @param heureDebut Heure de début du créneau
+ * @param heureFin Heure de fin du créneau
+ */
+public record CreneauReservation(Long reservationId,
+                                 Long salleId,
+                                 LocalDate dateReservation,
+                                 LocalTime heureDebut,
+                                 LocalTime heureFin) {
+
+    public static final int MINUTES_PAR_JOUR = 24 * 60;
+
+    /**
+     * Dernière date acceptée pour une réservation, une série ou une recherche :
+     * les minutes absolues (jour depuis l'epoch × 1440 + minute, voir
+     * MoteurChevauchement) en restent loin de la capacité d'un int
+     */
+    public static final LocalDate DATE_MAX = LocalDate.of(2999, 12, 31);
+
+    /**
+     * Construit le créneau d'une réservation (la salle doit être renseignée)
+     */
+    public static CreneauReservation of(Reservation reservation) {
+        return new CreneauReservation(
+                reservation.getId(),
+                reservation.getSalle().getId(),
+                reservation.getDateReservation(),
+                reservation.getHeureDebut(),
+                reservation.getHeureFin()
+        );
+    }
+
+    /** Minute de début depuis minuit, arrondie à l'inférieure */
+    public static int minuteDebut(LocalTime heureDebut) {
+        return heureDebut.toSecondOfDay() / 60;
+    }
+
+    /** Minute de fin depuis minuit du jour de début, arrondie à la supérieure (lendemain : + 1440) */
+    public static int minuteFin(LocalTime heureDebut, LocalTime heureFin) {
+        int minute = (heureFin.toSecondOfDay() + 59) / 60;
+        return heureFin.isAfter(heureDebut) ? minute : minute + MINUTES_PAR_JOUR;
+    }
+
+    public int jourEpoch() {
+        return (int) dateReservation.toEpochDay();
+    }
+
+    public int minuteDebut() {
+        return minuteDebut(heureDebut);
+    }
+
+    public int minuteFin() {
+        return minuteFin(heureDebut, heureFin);
+    }
+
+    /**
+     * Indique si le créneau se termine le lendemain de sa date
+     */
+    public boolean finitLeLendemain() {
+        return minuteFin() > MINUTES_PAR_JOUR;
+    }
+
+    /**
+     * Teste le chevauchement avec un intervalle [minuteDebut, minuteFin[ exprimé
+     * en minutes depuis minuit du jour jourEpoch (comparaison d'entiers, y compris
+     * d'un jour sur l'autre)
+     */
+    public boolean chevauche(int jourEpoch, int minuteDebut, int minuteFin) {
+        int decalage = (jourEpoch() - jourEpoch) * MINUTES_PAR_JOUR;
+        return decalage + minuteDebut() < minuteFin && decalage + minuteFin() > minuteDebut;
+    }
+}
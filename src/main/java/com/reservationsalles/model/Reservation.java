@@ -12,13 +12,20 @@ import java.util.Objects;
  * Relations: 
  * - ManyToOne vers Utilisateur
  * - ManyToOne vers Salle
+ * - ManyToOne vers ReservationSerie (occurrence matérialisée, facultatif)
  */
 @Entity
 @Table(name = "reservations")
 public class Reservation {
 
+    /**
+     * Identifiants réservés par blocs de 50 (optimiseur pooled) : les réservations
+     * d'un lot et les occurrences d'une série sont insérées en lots JDBC, ce
+     * qu'IDENTITY interdit. Sous MySQL, la séquence est émulée par la table reservations_seq.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservations_seq")
+    @SequenceGenerator(name = "reservations_seq", sequenceName = "reservations_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "La date de réservation est obligatoire")
@@ -33,6 +40,22 @@ public class Reservation {
     @Column(nullable = false)
     private LocalTime heureFin;
 
+    /**
+     * Encodage compact du créneau, dénormalisé à côté de la date et des heures
+     * et recalculé par leurs setters : jour depuis l'epoch, minutes depuis minuit
+     * de ce jour (voir CreneauReservation). La minute de fin dépasse 1440 quand
+     * la réservation finit le lendemain. Les tests de chevauchement (en base,
+     * index idx_reservation_creneau, et en mémoire) comparent ces entiers.
+     */
+    @Column(name = "jour_epoch", nullable = false)
+    private int jourEpoch;
+
+    @Column(name = "minute_debut", nullable = false)
+    private short minuteDebut;
+
+    @Column(name = "minute_fin", nullable = false)
+    private short minuteFin;
+
     /**
      * Relation ManyToOne vers Utilisateur
      * fetch = FetchType.LAZY pour optimisation (chargement à la demande)
@@ -53,6 +76,13 @@ public class Reservation {
     @NotNull(message = "La salle est obligatoire")
     private Salle salle;
 
+    /**
+     * Série d'origine si la réservation est une occurrence matérialisée (facultatif)
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "serie_id")
+    private ReservationSerie serie;
+
     
     // CONSTRUCTEURS
     
@@ -67,6 +97,7 @@ public class Reservation {
         this.heureFin = heureFin;
         this.utilisateur = utilisateur;
         this.salle = salle;
+        encoderCreneau();
     }
 
     
@@ -74,32 +105,57 @@ public class Reservation {
     
 
     /**
-     * Vérifie si l'heure de fin est après l'heure de début
+     * Vérifie que les horaires sont renseignés et distincts
+     * Une heure de fin antérieure à l'heure de début désigne le lendemain
+     * (réservation passant minuit)
      * Utilisé pour la validation côté métier
      */
-    public boolean isHeureFinApresHeureDebut() {
+    public boolean isHorairesValides() {
         if (heureDebut == null || heureFin == null) {
             return false;
         }
-        return heureFin.isAfter(heureDebut);
+        return !heureFin.equals(heureDebut);
+    }
+
+    /**
+     * Indique si la réservation se termine le lendemain de sa date
+     */
+    public boolean isFinLendemain() {
+        return minuteFin > CreneauReservation.MINUTES_PAR_JOUR;
     }
 
     /**
      * Vérifie si cette réservation chevauche une autre réservation
+     * Compare les créneaux encodés, y compris d'un jour sur l'autre
+     * (réservation de la veille passant minuit)
      * 
      * @param autre L'autre réservation à comparer
      * @return true si les créneaux se chevauchent, false sinon
      */
     public boolean chevauche(Reservation autre) {
-        if (autre == null || !this.dateReservation.equals(autre.dateReservation)) {
+        if (autre == null) {
             return false;
         }
         
         // Chevauchement si :
-        // - heureDebut de this est avant heureFin de autre ET
-        // - heureFin de this est après heureDebut de autre
-        return this.heureDebut.isBefore(autre.heureFin) && 
-               this.heureFin.isAfter(autre.heureDebut);
+        // - le début de this est avant la fin de autre ET
+        // - la fin de this est après le début de autre
+        // (minutes ramenées au jour de this)
+        int decalage = (autre.jourEpoch - this.jourEpoch) * CreneauReservation.MINUTES_PAR_JOUR;
+        return this.minuteDebut < decalage + autre.minuteFin &&
+               this.minuteFin > decalage + autre.minuteDebut;
+    }
+
+    /**
+     * Recalcule l'encodage compact une fois la date et les heures renseignées
+     */
+    private void encoderCreneau() {
+        if (dateReservation == null || heureDebut == null || heureFin == null) {
+            return;
+        }
+        jourEpoch = (int) dateReservation.toEpochDay();
+        minuteDebut = (short) CreneauReservation.minuteDebut(heureDebut);
+        minuteFin = (short) CreneauReservation.minuteFin(heureDebut, heureFin);
     }
 
     
@@ -120,6 +176,7 @@ public class Reservation {
 
     public void setDateReservation(LocalDate dateReservation) {
         this.dateReservation = dateReservation;
+        encoderCreneau();
     }
 
     public LocalTime getHeureDebut() {
@@ -128,6 +185,7 @@ public class Reservation {
 
     public void setHeureDebut(LocalTime heureDebut) {
         this.heureDebut = heureDebut;
+        encoderCreneau();
     }
 
     public LocalTime getHeureFin() {
@@ -136,6 +194,19 @@ public class Reservation {
 
     public void setHeureFin(LocalTime heureFin) {
         this.heureFin = heureFin;
+        encoderCreneau();
+    }
+
+    public int getJourEpoch() {
+        return jourEpoch;
+    }
+
+    public int getMinuteDebut() {
+        return minuteDebut;
+    }
+
+    public int getMinuteFin() {
+        return minuteFin;
     }
 
     public Utilisateur getUtilisateur() {
@@ -154,6 +225,14 @@ public class Reservation {
         this.salle = salle;
     }
 
+    public ReservationSerie getSerie() {
+        return serie;
+    }
+
+    public void setSerie(ReservationSerie serie) {
+        this.serie = serie;
+    }
+
     
     // EQUALS, HASHCODE, TOSTRING
     
@@ -0,0 +1,314 @@
+package com.reservationsalles.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Entité JPA représentant une Série de réservations récurrentes
+ * Règle : même créneau horaire toutes les N semaines, de dateDebut à dateFin,
+ * sauf aux dates d'exception
+ *
+ * Les occurrences ne sont pas stockées : elles sont calculées à la demande
+ * et matérialisées en Reservation uniquement sur un horizon glissant.
+ * Relations:
+ * - ManyToOne vers Utilisateur
+ * - ManyToOne vers Salle
+ */
+@Entity
+@Table(name = "reservation_series")
+public class ReservationSerie {
+
+    /**
+     * Identifiants réservés par blocs de 50 (optimiseur pooled), comme pour Reservation.
+     * Sous MySQL, la séquence est émulée par la table reservation_series_seq.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservation_series_seq")
+    @SequenceGenerator(name = "reservation_series_seq", sequenceName = "reservation_series_seq", allocationSize = 50)
+    private Long id;
+
+    /**
+     * Première occurrence : fixe aussi le jour de la semaine de la série
+     */
+    @NotNull(message = "La date de début est obligatoire")
+    @Column(nullable = false)
+    private LocalDate dateDebut;
+
+    /**
+     * Dernière date possible (incluse)
+     */
+    @NotNull(message = "La date de fin est obligatoire")
+    @Column(nullable = false)
+    private LocalDate dateFin;
+
+    @NotNull(message = "L'heure de début est obligatoire")
+    @Column(nullable = false)
+    private LocalTime heureDebut;
+
+    @NotNull(message = "L'heure de fin est obligatoire")
+    @Column(nullable = false)
+    private LocalTime heureFin;
+
+    @Min(value = 1, message = "L'intervalle doit être d'au moins 1 semaine")
+    @Column(nullable = false)
+    private int intervalleSemaines = 1;
+
+    /**
+     * Dates annulées de la série
+     */
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "reservation_serie_exceptions", joinColumns = @JoinColumn(name = "serie_id"))
+    @Column(name = "date_exception", nullable = false)
+    private Set<LocalDate> exceptions = new HashSet<>();
+
+    /**
+     * Date jusqu'à laquelle les occurrences ont été créées en Reservation
+     */
+    @Column(nullable = false)
+    private LocalDate materialiseeJusqua;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "utilisateur_id", nullable = false)
+    @NotNull(message = "L'utilisateur est obligatoire")
+    private Utilisateur utilisateur;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "salle_id", nullable = false)
+    @NotNull(message = "La salle est obligatoire")
+    private Salle salle;
+
+
+    // CONSTRUCTEURS
+
+
+    public ReservationSerie() {
+    }
+
+    public ReservationSerie(LocalDate dateDebut, LocalDate dateFin, LocalTime heureDebut, LocalTime heureFin,
+                            int intervalleSemaines, Utilisateur utilisateur, Salle salle) {
+        this.dateDebut = dateDebut;
+        this.dateFin = dateFin;
+        this.heureDebut = heureDebut;
+        this.heureFin = heureFin;
+        this.intervalleSemaines = intervalleSemaines;
+        this.utilisateur = utilisateur;
+        this.salle = salle;
+        this.materialiseeJusqua = dateDebut.minusDays(1);
+    }
+
+
+    // RÈGLE DE RÉCURRENCE
+
+
+    /**
+     * Période de la série en jours
+     */
+    public int getPeriodeJours() {
+        return 7 * intervalleSemaines;
+    }
+
+    /**
+     * Vérifie, par calcul, si la série a une occurrence à cette date
+     */
+    public boolean seProduitLe(LocalDate date) {
+        if (date.isBefore(dateDebut) || date.isAfter(dateFin)) {
+            return false;
+        }
+        long ecart = ChronoUnit.DAYS.between(dateDebut, date);
+        return ecart % getPeriodeJours() == 0 && !exceptions.contains(date);
+    }
+
+    /**
+     * Occurrences de la série entre deux dates (incluses), calculées à la demande
+     */
+    public Stream<LocalDate> occurrences(LocalDate du, LocalDate au) {
+        LocalDate debut = premiereOccurrenceAPartirDu(du);
+        LocalDate fin = au.isBefore(dateFin) ? au : dateFin;
+        return Stream.iterate(debut, date -> !date.isAfter(fin), date -> date.plusDays(getPeriodeJours()))
+                .filter(date -> !exceptions.contains(date));
+    }
+
+    /**
+     * Vérifie si les horaires de la série chevauchent un créneau
+     */
+    public boolean chevaucheHoraire(LocalTime debut, LocalTime fin) {
+        return heureDebut.isBefore(fin) && heureFin.isAfter(debut);
+    }
+
+    /**
+     * Première date où les deux séries ont une occurrence commune
+     *
+     * Arithmétique sur les périodes : les dates candidates sont les occurrences
+     * de cette série à partir de la plus tardive des deux dates de début ;
+     * la première compatible avec la période de l'autre série se répète ensuite
+     * tous les ppcm(périodes) jours. Seules les exceptions obligent à avancer.
+     *
+     * @param autre Autre série
+     * @return La première date commune, ou Optional.empty() si aucune
+     */
+    public Optional<LocalDate> premiereOccurrenceCommune(ReservationSerie autre) {
+        LocalDate borneMin = dateDebut.isAfter(autre.dateDebut) ? dateDebut : autre.dateDebut;
+        LocalDate borneMax = dateFin.isBefore(autre.dateFin) ? dateFin : autre.dateFin;
+        long p = getPeriodeJours();
+        long q = autre.getPeriodeJours();
+
+        // Au plus q / pgcd(p, q) candidats avant de retomber sur le même résidu modulo q
+        LocalDate candidat = premiereOccurrenceAPartirDu(borneMin);
+        LocalDate commune = null;
+        for (long k = 0; k < q / pgcd(p, q) && !candidat.isAfter(borneMax); k++) {
+            if (Math.floorMod(ChronoUnit.DAYS.between(autre.dateDebut, candidat), q) == 0) {
+                commune = candidat;
+                break;
+            }
+            candidat = candidat.plusDays(p);
+        }
+        if (commune == null) {
+            return Optional.empty();
+        }
+
+        long ppcm = p / pgcd(p, q) * q;
+        for (LocalDate date = commune; !date.isAfter(borneMax); date = date.plusDays(ppcm)) {
+            if (!exceptions.contains(date) && !autre.exceptions.contains(date)) {
+                return Optional.of(date);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private LocalDate premiereOccurrenceAPartirDu(LocalDate date) {
+        if (!date.isAfter(dateDebut)) {
+            return dateDebut;
+        }
+        long ecart = ChronoUnit.DAYS.between(dateDebut, date);
+        long periodes = (ecart + getPeriodeJours() - 1) / getPeriodeJours();
+        return dateDebut.plusDays(periodes * getPeriodeJours());
+    }
+
+    private static long pgcd(long a, long b) {
+        return b == 0 ? a : pgcd(b, a % b);
+    }
+
+
+    // GETTERS ET SETTERS
+
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getDateDebut() {
+        return dateDebut;
+    }
+
+    public void setDateDebut(LocalDate dateDebut) {
+        this.dateDebut = dateDebut;
+    }
+
+    public LocalDate getDateFin() {
+        return dateFin;
+    }
+
+    public void setDateFin(LocalDate dateFin) {
+        this.dateFin = dateFin;
+    }
+
+    public LocalTime getHeureDebut() {
+        return heureDebut;
+    }
+
+    public void setHeureDebut(LocalTime heureDebut) {
+        this.heureDebut = heureDebut;
+    }
+
+    public LocalTime getHeureFin() {
+        return heureFin;
+    }
+
+    public void setHeureFin(LocalTime heureFin) {
+        this.heureFin = heureFin;
+    }
+
+    public int getIntervalleSemaines() {
+        return intervalleSemaines;
+    }
+
+    public void setIntervalleSemaines(int intervalleSemaines) {
+        this.intervalleSemaines = intervalleSemaines;
+    }
+
+    public Set<LocalDate> getExceptions() {
+        return exceptions;
+    }
+
+    public void setExceptions(Set<LocalDate> exceptions) {
+        this.exceptions = exceptions;
+    }
+
+    public LocalDate getMaterialiseeJusqua() {
+        return materialiseeJusqua;
+    }
+
+    public void setMaterialiseeJusqua(LocalDate materialiseeJusqua) {
+        this.materialiseeJusqua = materialiseeJusqua;
+    }
+
+    public Utilisateur getUtilisateur() {
+        return utilisateur;
+    }
+
+    public void setUtilisateur(Utilisateur utilisateur) {
+        this.utilisateur = utilisateur;
+    }
+
+    public Salle getSalle() {
+        return salle;
+    }
+
+    public void setSalle(Salle salle) {
+        this.salle = salle;
+    }
+
+
+    // EQUALS, HASHCODE, TOSTRING
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ReservationSerie that = (ReservationSerie) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "ReservationSerie{" +
+                "id=" + id +
+                ", dateDebut=" + dateDebut +
+                ", dateFin=" + dateFin +
+                ", heureDebut=" + heureDebut +
+                ", heureFin=" + heureFin +
+                ", intervalleSemaines=" + intervalleSemaines +
+                ", salle=" + (salle != null ? salle.getNom() : "null") +
+                '}';
+    }
+}
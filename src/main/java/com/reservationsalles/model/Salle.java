@@ -5,6 +5,8 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -13,14 +15,23 @@ import java.util.Objects;
 /**
  * Entité JPA représentant une Salle de fête
  * Relations: 1 Salle possède 0..* Reservations
+ * Mise en cache de second niveau (table peu modifiée, lue à chaque réservation)
  
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "salles")
 @Table(name = "salles")
 public class Salle {
 
+    /**
+     * Identifiants réservés par blocs de 50 (optimiseur pooled) : les insertions
+     * d'un import sont regroupées en lots JDBC, ce qu'IDENTITY interdit.
+     * Sous MySQL, la séquence est émulée par la table salles_seq.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "salles_seq")
+    @SequenceGenerator(name = "salles_seq", sequenceName = "salles_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Le nom de la salle est obligatoire")
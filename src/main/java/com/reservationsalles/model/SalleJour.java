@@ -0,0 +1,12 @@
+package com.reservationsalles.model;
+
+import java.time.LocalDate;
+
+/**
+ * Couple (salle, jour) : unité de verrouillage et de regroupement des réservations
+ *
+ * @param salleId ID de la salle
+ * @param date Jour concerné
+ */
+public record SalleJour(Long salleId, LocalDate date) {
+}
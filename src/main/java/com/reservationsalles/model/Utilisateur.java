@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -12,14 +14,23 @@ import java.util.Objects;
 /**
  * Entité JPA représentant un Utilisateur du système
  * Relations: 1 Utilisateur possède 0..* Reservations
+ * Mise en cache de second niveau (table peu modifiée, lue à chaque réservation)
  
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "utilisateurs")
 @Table(name = "utilisateurs")
 public class Utilisateur {
 
+    /**
+     * Identifiants réservés par blocs de 50 (optimiseur pooled) : les insertions
+     * d'un import sont regroupées en lots JDBC, ce qu'IDENTITY interdit.
+     * Sous MySQL, la séquence est émulée par la table utilisateurs_seq.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "utilisateurs_seq")
+    @SequenceGenerator(name = "utilisateurs_seq", sequenceName = "utilisateurs_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Le nom est obligatoire")
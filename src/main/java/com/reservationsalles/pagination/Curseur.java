@@ -0,0 +1,113 @@
+package com.reservationsalles.pagination;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Encodage d'une position de pagination par clé (keyset) en jeton opaque pour l'URL
+ *
+ * La position contient les valeurs des colonnes de tri de la dernière ligne affichée ;
+ * la page suivante est lue par "WHERE (tri) > (valeurs)" au lieu d'un OFFSET,
+ * ce qui garde un coût constant quelle que soit la profondeur de la page.
+ * Format avant encodage Base64 : nom=type:valeur séparés par '&' (nom et valeur encodés URL)
+ */
+public final class Curseur {
+
+    private Curseur() {
+    }
+
+    /**
+     * Encode une position keyset en jeton
+     *
+     * @param position Position de la dernière ligne de la page
+     * @return Jeton à passer en paramètre "curseur"
+     */
+    public static String encoder(ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keyset) || keyset.isInitial()) {
+            return null;
+        }
+        StringBuilder texte = new StringBuilder();
+        for (Map.Entry<String, Object> cle : keyset.getKeys().entrySet()) {
+            if (!texte.isEmpty()) {
+                texte.append('&');
+            }
+            texte.append(URLEncoder.encode(cle.getKey(), StandardCharsets.UTF_8)).append('=')
+                    .append(type(cle.getValue())).append(':')
+                    .append(URLEncoder.encode(cle.getValue().toString(), StandardCharsets.UTF_8));
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texte.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Décode un jeton ; un jeton absent ou invalide renvoie la première page,
+     * de même qu'un jeton dont les clés ne sont pas les colonnes du tri demandé
+     * (jeton d'un autre tri, ou fabriqué)
+     *
+     * @param jeton Jeton reçu en paramètre "curseur"
+     * @param tri Tri de la page demandée
+     * @return Position keyset correspondante
+     */
+    public static KeysetScrollPosition decoder(String jeton, Sort tri) {
+        // Clés comparées sans ordre : Spring Data les range dans une table non ordonnée
+        KeysetScrollPosition position = decoder(jeton);
+        Set<String> colonnes = tri.stream().map(Sort.Order::getProperty).collect(Collectors.toSet());
+        if (!position.isInitial() && !position.getKeys().keySet().equals(colonnes)) {
+            return ScrollPosition.keyset();
+        }
+        return position;
+    }
+
+    private static KeysetScrollPosition decoder(String jeton) {
+        if (jeton == null || jeton.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String texte = new String(Base64.getUrlDecoder().decode(jeton), StandardCharsets.UTF_8);
+            Map<String, Object> cles = new LinkedHashMap<>();
+            for (String paire : texte.split("&")) {
+                int egal = paire.indexOf('=');
+                int deuxPoints = paire.indexOf(':', egal);
+                cles.put(URLDecoder.decode(paire.substring(0, egal), StandardCharsets.UTF_8),
+                        valeur(paire.charAt(egal + 1),
+                                URLDecoder.decode(paire.substring(deuxPoints + 1), StandardCharsets.UTF_8)));
+            }
+            return ScrollPosition.forward(cles);
+        } catch (RuntimeException e) {
+            return ScrollPosition.keyset();
+        }
+    }
+
+    private static char type(Object valeur) {
+        if (valeur instanceof Long) return 'L';
+        if (valeur instanceof Integer) return 'I';
+        if (valeur instanceof Boolean) return 'B';
+        if (valeur instanceof LocalDate) return 'D';
+        if (valeur instanceof LocalTime) return 'T';
+        if (valeur instanceof String) return 'S';
+        throw new IllegalArgumentException("Type de clé non supporté : " + valeur.getClass());
+    }
+
+    private static Object valeur(char type, String texte) {
+        return switch (type) {
+            case 'L' -> Long.valueOf(texte);
+            case 'I' -> Integer.valueOf(texte);
+            case 'B' -> Boolean.valueOf(texte);
+            case 'D' -> LocalDate.parse(texte);
+            case 'T' -> LocalTime.parse(texte);
+            case 'S' -> texte;
+            default -> throw new IllegalArgumentException("Type de clé inconnu : " + type);
+        };
+    }
+}
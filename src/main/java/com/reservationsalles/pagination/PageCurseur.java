@@ -0,0 +1,36 @@
+package com.reservationsalles.pagination;
+
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+
+/**
+ * Page d'une liste paginée par clé
+ *
+ * @param elements Éléments de la page
+ * @param curseurSuivant Jeton de la page suivante (null s'il n'y en a pas)
+ * @param <T> Type des éléments
+ */
+public record PageCurseur<T>(List<T> elements, String curseurSuivant) {
+
+    public static final int TAILLE_DEFAUT = 20;
+    public static final int TAILLE_MAX = 100;
+
+    public static <T> PageCurseur<T> of(Window<T> window) {
+        String suivant = window.hasNext() && !window.isEmpty()
+                ? Curseur.encoder(window.positionAt(window.size() - 1))
+                : null;
+        return new PageCurseur<>(window.getContent(), suivant);
+    }
+
+    /**
+     * Ramène une taille demandée dans [1, TAILLE_MAX]
+     */
+    public static int borner(int taille) {
+        return Math.max(1, Math.min(taille, TAILLE_MAX));
+    }
+
+    public boolean hasSuivante() {
+        return curseurSuivant != null;
+    }
+}
@@ -1,16 +1,30 @@
 package com.reservationsalles.repository;
 
+import com.reservationsalles.dto.CreneauMinutes;
+import com.reservationsalles.dto.ReservationInfo;
+import com.reservationsalles.model.CreneauReservation;
 import com.reservationsalles.model.Reservation;
+import com.reservationsalles.model.ReservationSerie;
 import com.reservationsalles.model.Salle;
 import com.reservationsalles.model.Utilisateur;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository pour l'entité Reservation
@@ -18,22 +32,35 @@ import java.util.List;
  
  */
 @Repository
-public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+public interface ReservationRepository extends JpaRepository<Reservation, Long>, JpaSpecificationExecutor<Reservation> {
 
     /**
-     * Recherche les réservations d'un utilisateur
+     * Récupère toutes les réservations avec leur utilisateur et leur salle
+     * Les méthodes de liste chargent ces deux associations par jointure :
+     * une seule requête, au lieu d'une par ligne lors de l'affichage
+     * 
+     * @return Liste de toutes les réservations
+     */
+    @Override
+    @EntityGraph(attributePaths = {"utilisateur", "salle"})
+    List<Reservation> findAll();
+
+    /**
+     * Recherche les réservations d'un utilisateur (salle chargée par jointure)
      * 
      * @param utilisateur Utilisateur concerné
      * @return Liste des réservations de cet utilisateur
      */
+    @EntityGraph(attributePaths = {"utilisateur", "salle"})
     List<Reservation> findByUtilisateur(Utilisateur utilisateur);
 
     /**
-     * Recherche les réservations d'une salle
+     * Recherche les réservations d'une salle (utilisateur chargé par jointure)
      * 
      * @param salle Salle concernée
      * @return Liste des réservations de cette salle
      */
+    @EntityGraph(attributePaths = {"utilisateur", "salle"})
     List<Reservation> findBySalle(Salle salle);
 
     /**
@@ -58,27 +85,62 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
      * 
      * Un conflit existe si une réservation existante chevauche le créneau demandé :
      * - Même salle
-     * - Même date
-     * - Chevauchement horaire : (heureDebut < heureFin_existante) ET (heureFin > heureDebut_existante)
+     * - Même jour, la veille (réservation passant minuit) ou le lendemain
+     *   (créneau demandé passant minuit)
+     * - Chevauchement des minutes ramenées au jour demandé :
+     *   (minuteDebut < minuteFin_existante) ET (minuteFin > minuteDebut_existante)
      * - Exclut la réservation en cours d'édition (si reservationId est fourni)
+     * Charge les entités : la vérification avant écriture utilise findPremierConflit
      * 
      * @param salleId ID de la salle
-     * @param dateReservation Date de réservation
-     * @param heureDebut Heure de début du créneau
-     * @param heureFin Heure de fin du créneau
+     * @param jourEpoch Jour du créneau (jours depuis l'epoch)
+     * @param minuteDebut Minute de début depuis minuit
+     * @param minuteFin Minute de fin depuis minuit (au-delà de 1440 le lendemain)
      * @param reservationId ID de la réservation en cours d'édition (null pour création)
      * @return Liste des réservations en conflit
      */
     @Query("SELECT r FROM Reservation r WHERE r.salle.id = :salleId " +
-           "AND r.dateReservation = :dateReservation " +
-           "AND r.heureDebut < :heureFin " +
-           "AND r.heureFin > :heureDebut " +
+           "AND r.jourEpoch BETWEEN :jourEpoch - 1 AND :jourEpoch + 1 " +
+           "AND (r.jourEpoch - :jourEpoch) * 1440 + r.minuteDebut < :minuteFin " +
+           "AND (r.jourEpoch - :jourEpoch) * 1440 + r.minuteFin > :minuteDebut " +
            "AND (:reservationId IS NULL OR r.id <> :reservationId)")
     List<Reservation> findConflictingReservations(
             @Param("salleId") Long salleId,
-            @Param("dateReservation") LocalDate dateReservation,
-            @Param("heureDebut") LocalTime heureDebut,
-            @Param("heureFin") LocalTime heureFin,
+            @Param("jourEpoch") int jourEpoch,
+            @Param("minuteDebut") int minuteDebut,
+            @Param("minuteFin") int minuteFin,
+            @Param("reservationId") Long reservationId
+    );
+
+    /**
+     * Sonde de conflit du chemin d'écriture : premier créneau en conflit
+     *
+     * Mêmes critères que findConflictingReservations, mais seul le premier conflit
+     * (par jour et minute de début) est lu, en projection (LIMIT 1) : aucune entité
+     * n'est chargée ni ajoutée au contexte de persistance de la transaction d'écriture.
+     * Le filtre ne compare que des entiers de l'index idx_reservation_creneau ;
+     * seule la ligne en conflit est lue, pour ses heures.
+     *
+     * @param salleId ID de la salle
+     * @param jourEpoch Jour du créneau (jours depuis l'epoch)
+     * @param minuteDebut Minute de début depuis minuit
+     * @param minuteFin Minute de fin depuis minuit (au-delà de 1440 le lendemain)
+     * @param reservationId ID de la réservation en cours d'édition (null pour création)
+     * @return Le premier créneau en conflit, ou Optional.empty() si le créneau est libre
+     */
+    @Query("SELECT new com.reservationsalles.model.CreneauReservation(" +
+           "r.id, r.salle.id, r.dateReservation, r.heureDebut, r.heureFin) " +
+           "FROM Reservation r WHERE r.salle.id = :salleId " +
+           "AND r.jourEpoch BETWEEN :jourEpoch - 1 AND :jourEpoch + 1 " +
+           "AND (r.jourEpoch - :jourEpoch) * 1440 + r.minuteDebut < :minuteFin " +
+           "AND (r.jourEpoch - :jourEpoch) * 1440 + r.minuteFin > :minuteDebut " +
+           "AND (:reservationId IS NULL OR r.id <> :reservationId) " +
+           "ORDER BY r.jourEpoch ASC, r.minuteDebut ASC LIMIT 1")
+    Optional<CreneauReservation> findPremierConflit(
+            @Param("salleId") Long salleId,
+            @Param("jourEpoch") int jourEpoch,
+            @Param("minuteDebut") int minuteDebut,
+            @Param("minuteFin") int minuteFin,
             @Param("reservationId") Long reservationId
     );
 
@@ -89,6 +151,7 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
      * @param dateActuelle Date actuelle
      * @return Liste des réservations futures
      */
+    @EntityGraph(attributePaths = {"utilisateur", "salle"})
     @Query("SELECT r FROM Reservation r WHERE r.utilisateur = :utilisateur " +
            "AND r.dateReservation >= :dateActuelle " +
            "ORDER BY r.dateReservation ASC, r.heureDebut ASC")
@@ -104,6 +167,7 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
      * @param dateActuelle Date actuelle
      * @return Liste des réservations futures
      */
+    @EntityGraph(attributePaths = {"utilisateur", "salle"})
     @Query("SELECT r FROM Reservation r WHERE r.salle = :salle " +
            "AND r.dateReservation >= :dateActuelle " +
            "ORDER BY r.dateReservation ASC, r.heureDebut ASC")
@@ -112,6 +176,247 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
             @Param("dateActuelle") LocalDate dateActuelle
     );
 
+    String PROJECTION_RESERVATION_INFO = "SELECT new com.reservationsalles.dto.ReservationInfo(" +
+           "r.id, r.dateReservation, r.heureDebut, r.heureFin, s.id, s.nom, u.id, u.nom) " +
+           "FROM Reservation r JOIN r.salle s JOIN r.utilisateur u ";
+
+    /**
+     * Reprise après la dernière réservation de la page précédente (pagination par clé
+     * sur date, heure de début puis ID ; apresId null pour la première page)
+     */
+    String APRES_RESERVATION = "AND (:apresId IS NULL OR r.dateReservation > :apresDate " +
+           "OR (r.dateReservation = :apresDate AND (r.heureDebut > :apresHeure " +
+           "OR (r.heureDebut = :apresHeure AND r.id > :apresId)))) ";
+
+    String TRI_RESERVATION_INFO = "ORDER BY r.dateReservation ASC, r.heureDebut ASC, r.id ASC";
+
+    /**
+     * Page de réservations futures d'une salle (projection, triées par date)
+     * Sans entité dans le contexte de persistance ; la page suivante reprend
+     * après la dernière réservation lue
+     *
+     * @param salleId ID de la salle
+     * @param dateActuelle Date actuelle
+     * @param apresDate Date de la dernière réservation lue (null pour la première page)
+     * @param apresHeure Heure de début de la dernière réservation lue
+     * @param apresId ID de la dernière réservation lue
+     * @param limite Taille de la page
+     * @return Réservations futures suivantes
+     */
+    @Query(PROJECTION_RESERVATION_INFO +
+           "WHERE s.id = :salleId AND r.dateReservation >= :dateActuelle " +
+           APRES_RESERVATION + TRI_RESERVATION_INFO)
+    List<ReservationInfo> findPageFutureReservationsBySalle(
+            @Param("salleId") Long salleId,
+            @Param("dateActuelle") LocalDate dateActuelle,
+            @Param("apresDate") LocalDate apresDate,
+            @Param("apresHeure") LocalTime apresHeure,
+            @Param("apresId") Long apresId,
+            Limit limite
+    );
+
+    /**
+     * Page de réservations d'une période (projection, triées par date puis heure)
+     * Utilisé par l'export comptable, page par page : mémoire constante quel que soit le volume
+     *
+     * @param du Début de la période (inclus, null pour aucune borne)
+     * @param au Fin de la période (incluse, null pour aucune borne)
+     * @param apresDate Date de la dernière réservation lue (null pour la première page)
+     * @param apresHeure Heure de début de la dernière réservation lue
+     * @param apresId ID de la dernière réservation lue
+     * @param limite Taille de la page
+     * @return Réservations suivantes
+     */
+    @Query(PROJECTION_RESERVATION_INFO +
+           "WHERE (:du IS NULL OR r.dateReservation >= :du) " +
+           "AND (:au IS NULL OR r.dateReservation <= :au) " +
+           APRES_RESERVATION + TRI_RESERVATION_INFO)
+    List<ReservationInfo> findPageReservations(
+            @Param("du") LocalDate du,
+            @Param("au") LocalDate au,
+            @Param("apresDate") LocalDate apresDate,
+            @Param("apresHeure") LocalTime apresHeure,
+            @Param("apresId") Long apresId,
+            Limit limite
+    );
+
+    /**
+     * Page de réservations futures d'un utilisateur (projection, triées par date)
+     *
+     * @param utilisateurId ID de l'utilisateur
+     * @param dateActuelle Date actuelle
+     * @param apresDate Date de la dernière réservation lue (null pour la première page)
+     * @param apresHeure Heure de début de la dernière réservation lue
+     * @param apresId ID de la dernière réservation lue
+     * @param limite Taille de la page
+     * @return Réservations futures suivantes
+     */
+    @Query(PROJECTION_RESERVATION_INFO +
+           "WHERE u.id = :utilisateurId AND r.dateReservation >= :dateActuelle " +
+           APRES_RESERVATION + TRI_RESERVATION_INFO)
+    List<ReservationInfo> findPageFutureReservationsByUtilisateur(
+            @Param("utilisateurId") Long utilisateurId,
+            @Param("dateActuelle") LocalDate dateActuelle,
+            @Param("apresDate") LocalDate apresDate,
+            @Param("apresHeure") LocalTime apresHeure,
+            @Param("apresId") Long apresId,
+            Limit limite
+    );
+
+    /**
+     * Créneaux encodés de toutes les réservations d'une salle en flux, triés par début
+     * Lecture de l'index idx_reservation_creneau seul (colonnes et clé primaire) ;
+     * utilisé par l'audit des chevauchements, à fermer après usage
+     *
+     * @param salleId ID de la salle
+     * @return Flux des créneaux
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.reservationsalles.dto.CreneauMinutes(r.id, r.jourEpoch, r.minuteDebut, r.minuteFin) " +
+           "FROM Reservation r WHERE r.salle.id = :salleId " +
+           "ORDER BY r.jourEpoch ASC, r.minuteDebut ASC")
+    Stream<CreneauMinutes> streamCreneauxMinutesBySalle(@Param("salleId") Long salleId);
+
+    /**
+     * Charge les créneaux (projection légère, sans entités gérées) à partir d'une date
+     * Utilisé pour préchauffer l'index des réservations en mémoire
+     *
+     * @param dateDebut Date à partir de laquelle charger les créneaux
+     * @return Liste des créneaux
+     */
+    @Query("SELECT new com.reservationsalles.model.CreneauReservation(" +
+           "r.id, r.salle.id, r.dateReservation, r.heureDebut, r.heureFin) " +
+           "FROM Reservation r WHERE r.dateReservation >= :dateDebut")
+    List<CreneauReservation> findCreneauxAPartirDu(@Param("dateDebut") LocalDate dateDebut);
+
+    /**
+     * Créneaux d'une salle à partir d'une date (projection légère)
+     * Utilisé pour retirer de la mémoire les réservations supprimées avec la salle
+     *
+     * @param salleId ID de la salle
+     * @param dateDebut Date à partir de laquelle charger les créneaux
+     * @return Liste des créneaux
+     */
+    @Query("SELECT new com.reservationsalles.model.CreneauReservation(" +
+           "r.id, r.salle.id, r.dateReservation, r.heureDebut, r.heureFin) " +
+           "FROM Reservation r WHERE r.salle.id = :salleId AND r.dateReservation >= :dateDebut")
+    List<CreneauReservation> findCreneauxBySalleAPartirDu(
+            @Param("salleId") Long salleId,
+            @Param("dateDebut") LocalDate dateDebut
+    );
+
+    /**
+     * Créneaux d'un utilisateur à partir d'une date (projection légère)
+     * Utilisé pour retirer de la mémoire les réservations supprimées avec l'utilisateur
+     *
+     * @param utilisateurId ID de l'utilisateur
+     * @param dateDebut Date à partir de laquelle charger les créneaux
+     * @return Liste des créneaux
+     */
+    @Query("SELECT new com.reservationsalles.model.CreneauReservation(" +
+           "r.id, r.salle.id, r.dateReservation, r.heureDebut, r.heureFin) " +
+           "FROM Reservation r WHERE r.utilisateur.id = :utilisateurId AND r.dateReservation >= :dateDebut")
+    List<CreneauReservation> findCreneauxByUtilisateurAPartirDu(
+            @Param("utilisateurId") Long utilisateurId,
+            @Param("dateDebut") LocalDate dateDebut
+    );
+
+    /**
+     * Charge les créneaux d'une salle de la veille au lendemain d'un jour (projection légère)
+     * Couvre les réservations passant minuit qui touchent ce jour ou le créneau
+     * d'une demande le passant ; utilisé par le traitement par lot (une requête
+     * par couple (salle, jour)) et pour recalculer l'occupation d'un jour
+     *
+     * @param salleId ID de la salle
+     * @param jourEpoch Jour (jours depuis l'epoch)
+     * @return Liste des créneaux occupés
+     */
+    @Query("SELECT new com.reservationsalles.model.CreneauReservation(" +
+           "r.id, r.salle.id, r.dateReservation, r.heureDebut, r.heureFin) " +
+           "FROM Reservation r WHERE r.salle.id = :salleId " +
+           "AND r.jourEpoch BETWEEN :jourEpoch - 1 AND :jourEpoch + 1")
+    List<CreneauReservation> findCreneauxAutourDu(
+            @Param("salleId") Long salleId,
+            @Param("jourEpoch") int jourEpoch
+    );
+
+    /**
+     * Créneaux d'une salle sur une période dont les horaires chevauchent un créneau donné
+     * Utilisé pour vérifier une série récurrente en une seule requête
+     * Candidats : chevauchement le jour même de la réservation, ou le lendemain
+     * pour une réservation passant minuit (veille de la période comprise)
+     *
+     * @param salleId ID de la salle
+     * @param jourDu Début de la période (inclus, jours depuis l'epoch)
+     * @param jourAu Fin de la période (incluse, jours depuis l'epoch)
+     * @param minuteDebut Minute de début du créneau depuis minuit
+     * @param minuteFin Minute de fin du créneau depuis minuit (même jour)
+     * @return Liste des créneaux candidats (triés par date)
+     */
+    @Query("SELECT new com.reservationsalles.model.CreneauReservation(" +
+           "r.id, r.salle.id, r.dateReservation, r.heureDebut, r.heureFin) " +
+           "FROM Reservation r WHERE r.salle.id = :salleId " +
+           "AND r.jourEpoch BETWEEN :jourDu - 1 AND :jourAu " +
+           "AND ((r.jourEpoch >= :jourDu AND r.minuteDebut < :minuteFin AND r.minuteFin > :minuteDebut) " +
+           "OR (r.jourEpoch < :jourAu AND r.minuteFin - 1440 > :minuteDebut)) " +
+           "ORDER BY r.jourEpoch ASC")
+    List<CreneauReservation> findCreneauxChevauchantsSurPeriode(
+            @Param("salleId") Long salleId,
+            @Param("jourDu") int jourDu,
+            @Param("jourAu") int jourAu,
+            @Param("minuteDebut") int minuteDebut,
+            @Param("minuteFin") int minuteFin
+    );
+
+    /**
+     * Créneaux de plusieurs salles sur une période (projection légère)
+     * Utilisé pour construire les grilles d'occupation hors de la mémoire
+     *
+     * @param salleIds ID des salles
+     * @param du Début de la période (inclus)
+     * @param au Fin de la période (incluse)
+     * @return Liste des créneaux occupés
+     */
+    @Query("SELECT new com.reservationsalles.model.CreneauReservation(" +
+           "r.id, r.salle.id, r.dateReservation, r.heureDebut, r.heureFin) " +
+           "FROM Reservation r WHERE r.salle.id IN :salleIds " +
+           "AND r.dateReservation BETWEEN :du AND :au")
+    List<CreneauReservation> findCreneauxSurPeriode(
+            @Param("salleIds") Collection<Long> salleIds,
+            @Param("du") LocalDate du,
+            @Param("au") LocalDate au
+    );
+
+    /**
+     * Réservations matérialisées d'une série
+     *
+     * @param serie Série concernée
+     * @return Liste des réservations de la série
+     */
+    List<Reservation> findBySerie(ReservationSerie serie);
+
+    /**
+     * Supprime en une requête toutes les réservations d'une salle
+     * (sans charger les entités ; à appeler avant la suppression de la salle)
+     *
+     * @param salleId ID de la salle
+     * @return Nombre de réservations supprimées
+     */
+    @Modifying
+    @Query("DELETE FROM Reservation r WHERE r.salle.id = :salleId")
+    int deleteBySalleId(@Param("salleId") Long salleId);
+
+    /**
+     * Supprime en une requête toutes les réservations d'un utilisateur
+     * (sans charger les entités ; à appeler avant la suppression de l'utilisateur)
+     *
+     * @param utilisateurId ID de l'utilisateur
+     * @return Nombre de réservations supprimées
+     */
+    @Modifying
+    @Query("DELETE FROM Reservation r WHERE r.utilisateur.id = :utilisateurId")
+    int deleteByUtilisateurId(@Param("utilisateurId") Long utilisateurId);
+
     /**
      * Compte le nombre de réservations d'un utilisateur
      * 
@@ -0,0 +1,107 @@
+package com.reservationsalles.repository;
+
+import com.reservationsalles.model.ReservationSerie;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository pour l'entité ReservationSerie
+ * Les requêtes présélectionnent les séries par période et horaires ;
+ * la règle de récurrence est ensuite évaluée en mémoire
+ */
+@Repository
+public interface ReservationSerieRepository extends JpaRepository<ReservationSerie, Long> {
+
+    /**
+     * Séries d'une salle actives sur une période et dont les horaires chevauchent un créneau
+     *
+     * @param salleId ID de la salle
+     * @param du Début de la période (inclus)
+     * @param au Fin de la période (incluse)
+     * @param heureDebut Heure de début du créneau
+     * @param heureFin Heure de fin du créneau
+     * @return Liste des séries candidates (exceptions chargées)
+     */
+    @Query("SELECT DISTINCT s FROM ReservationSerie s LEFT JOIN FETCH s.exceptions " +
+           "WHERE s.salle.id = :salleId " +
+           "AND s.dateDebut <= :au AND s.dateFin >= :du " +
+           "AND s.heureDebut < :heureFin AND s.heureFin > :heureDebut")
+    List<ReservationSerie> findSeriesChevauchantes(
+            @Param("salleId") Long salleId,
+            @Param("du") LocalDate du,
+            @Param("au") LocalDate au,
+            @Param("heureDebut") LocalTime heureDebut,
+            @Param("heureFin") LocalTime heureFin
+    );
+
+    /**
+     * Séries d'une salle actives à une date (tous horaires)
+     *
+     * @param salleId ID de la salle
+     * @param date Date concernée
+     * @return Liste des séries candidates (exceptions chargées)
+     */
+    @Query("SELECT DISTINCT s FROM ReservationSerie s LEFT JOIN FETCH s.exceptions " +
+           "WHERE s.salle.id = :salleId AND s.dateDebut <= :date AND s.dateFin >= :date")
+    List<ReservationSerie> findSeriesActivesLe(@Param("salleId") Long salleId, @Param("date") LocalDate date);
+
+    /**
+     * Séries de toutes les salles actives à une date et dont les horaires chevauchent un créneau
+     * Utilisé par la recherche de salles libres (occurrences non matérialisées)
+     *
+     * @param date Date concernée
+     * @param heureDebut Heure de début du créneau
+     * @param heureFin Heure de fin du créneau
+     * @return Liste des séries candidates (exceptions chargées)
+     */
+    @Query("SELECT DISTINCT s FROM ReservationSerie s LEFT JOIN FETCH s.exceptions " +
+           "WHERE s.dateDebut <= :date AND s.dateFin >= :date " +
+           "AND s.heureDebut < :heureFin AND s.heureFin > :heureDebut")
+    List<ReservationSerie> findSeriesChevauchantesLe(
+            @Param("date") LocalDate date,
+            @Param("heureDebut") LocalTime heureDebut,
+            @Param("heureFin") LocalTime heureFin
+    );
+
+    /**
+     * Séries de plusieurs salles actives sur une période (tous horaires)
+     *
+     * @param salleIds ID des salles
+     * @param du Début de la période (inclus)
+     * @param au Fin de la période (incluse)
+     * @return Liste des séries candidates (exceptions chargées)
+     */
+    @Query("SELECT DISTINCT s FROM ReservationSerie s LEFT JOIN FETCH s.exceptions " +
+           "WHERE s.salle.id IN :salleIds AND s.dateDebut <= :au AND s.dateFin >= :du")
+    List<ReservationSerie> findSeriesSurPeriode(
+            @Param("salleIds") Collection<Long> salleIds,
+            @Param("du") LocalDate du,
+            @Param("au") LocalDate au
+    );
+
+    /**
+     * Séries se terminant à une date ou après (préchauffage de l'index en mémoire)
+     *
+     * @param date Date de début du suivi
+     * @return Liste des séries en cours ou à venir (exceptions non chargées)
+     */
+    @Query("SELECT s FROM ReservationSerie s WHERE s.dateFin >= :date")
+    List<ReservationSerie> findEnCoursAPartirDu(@Param("date") LocalDate date);
+
+    /**
+     * Séries dont les occurrences ne sont pas encore matérialisées jusqu'à l'horizon
+     *
+     * @param horizon Date limite de matérialisation
+     * @return Liste des séries à compléter
+     */
+    @Query("SELECT s FROM ReservationSerie s " +
+           "WHERE s.materialiseeJusqua < :horizon AND s.materialiseeJusqua < s.dateFin")
+    List<ReservationSerie> findAMaterialiser(@Param("horizon") LocalDate horizon);
+}
@@ -0,0 +1,59 @@
+package com.reservationsalles.repository;
+
+import com.reservationsalles.dto.FiltreReservation;
+import com.reservationsalles.model.Reservation;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Critères dynamiques (Specification) pour les listes de réservations
+ */
+public final class ReservationSpecifications {
+
+    private ReservationSpecifications() {
+    }
+
+    /**
+     * Combine les filtres renseignés (ET logique)
+     *
+     * @param filtre Filtres de la liste
+     * @return Specification correspondante
+     */
+    public static Specification<Reservation> filtre(FiltreReservation filtre) {
+        return (root, query, cb) -> {
+            List<Predicate> predicats = new ArrayList<>();
+            if (filtre.salleId() != null) {
+                predicats.add(cb.equal(root.get("salle").get("id"), filtre.salleId()));
+            }
+            if (filtre.utilisateurId() != null) {
+                predicats.add(cb.equal(root.get("utilisateur").get("id"), filtre.utilisateurId()));
+            }
+            if (filtre.du() != null) {
+                predicats.add(cb.greaterThanOrEqualTo(root.get("dateReservation"), filtre.du()));
+            }
+            if (filtre.au() != null) {
+                predicats.add(cb.lessThanOrEqualTo(root.get("dateReservation"), filtre.au()));
+            }
+            return cb.and(predicats.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Charge utilisateur et salle par jointure dans la requête principale
+     * (ignoré pour les requêtes de comptage, où une jointure "fetch" est interdite)
+     *
+     * @return Specification sans critère, ajoutant les jointures
+     */
+    public static Specification<Reservation> avecUtilisateurEtSalle() {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("utilisateur");
+                root.fetch("salle");
+            }
+            return null;
+        };
+    }
+}
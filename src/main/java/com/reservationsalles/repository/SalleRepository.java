@@ -1,11 +1,22 @@
 package com.reservationsalles.repository;
 
+import com.reservationsalles.dto.SalleInfo;
 import com.reservationsalles.model.Salle;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository pour l'entité Salle
@@ -13,16 +24,43 @@ import java.util.List;
  
  */
 @Repository
-public interface SalleRepository extends JpaRepository<Salle, Long> {
+public interface SalleRepository extends JpaRepository<Salle, Long>, JpaSpecificationExecutor<Salle> {
 
     /**
-     * Recherche des salles disponibles
+     * Récupère toutes les salles (résultat en cache de requêtes,
+     * invalidé à chaque écriture sur la table)
+     * 
+     * @return Liste de toutes les salles
+     */
+    @Override
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<Salle> findAll();
+
+    /**
+     * Recherche des salles disponibles (résultat en cache de requêtes)
      * 
      * @param disponible Statut de disponibilité
      * @return Liste des salles disponibles
      */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<Salle> findByDisponible(boolean disponible);
 
+    /**
+     * IDs de toutes les salles, sans charger les entités
+     *
+     * @return Liste des IDs, triés
+     */
+    @Query("SELECT s.id FROM Salle s ORDER BY s.id")
+    List<Long> findAllIds();
+
+    /**
+     * Compte les salles selon leur disponibilité (COUNT en base, sans charger les entités)
+     * 
+     * @param disponible Statut de disponibilité
+     * @return Nombre de salles
+     */
+    long countByDisponible(boolean disponible);
+
     /**
      * Recherche des salles par localisation
      * 
@@ -57,4 +95,131 @@ public interface SalleRepository extends JpaRepository<Salle, Long> {
      * @return Liste des salles correspondantes
      */
     List<Salle> findByNomContainingIgnoreCase(String nom);
+
+    /**
+     * Filtre commun des recherches de salles libres : salles disponibles, de capacité
+     * suffisante, sans réservation chevauchant le créneau ce jour-là ou débordant de la veille
+     * (NOT EXISTS appuyé sur l'index idx_reservation_creneau, comparaison d'entiers)
+     */
+    String FILTRE_SALLES_LIBRES = "WHERE s.disponible = true " +
+           "AND s.capacite >= :capaciteMin " +
+           "AND (:localisation IS NULL OR LOWER(s.localisation) LIKE LOWER(CONCAT('%', :localisation, '%'))) " +
+           "AND NOT EXISTS (SELECT 1 FROM Reservation r WHERE r.salle = s " +
+           "AND r.jourEpoch BETWEEN :jourEpoch - 1 AND :jourEpoch " +
+           "AND (r.jourEpoch - :jourEpoch) * 1440 + r.minuteDebut < :minuteFin " +
+           "AND (r.jourEpoch - :jourEpoch) * 1440 + r.minuteFin > :minuteDebut) ";
+
+    /** Exclusion des salles occupées par une série (liste non vide : NOT IN () est invalide en SQL) */
+    String HORS_SALLES_EXCLUES = "AND s.id NOT IN :exclues ";
+
+    String TRI_SALLES_LIBRES = "ORDER BY s.capacite ASC, s.nom ASC, s.id ASC";
+
+    String PROJECTION_SALLE_INFO = "SELECT new com.reservationsalles.dto.SalleInfo(s.id, s.nom, s.capacite, s.localisation) ";
+
+    /**
+     * Recherche des salles libres sur un créneau (anti-jointure)
+     * Une seule requête, voir FILTRE_SALLES_LIBRES
+     * 
+     * @param jourEpoch Jour du créneau (jours depuis l'epoch)
+     * @param minuteDebut Minute de début depuis minuit
+     * @param minuteFin Minute de fin depuis minuit
+     * @param capaciteMin Capacité minimale
+     * @param localisation Partie de la localisation (null pour toutes)
+     * @param limite Nombre maximal de salles renvoyées
+     * @return Salles libres, de la plus petite capacité suffisante à la plus grande
+     */
+    @Query("SELECT s FROM Salle s " + FILTRE_SALLES_LIBRES + TRI_SALLES_LIBRES)
+    List<Salle> findSallesLibres(
+            @Param("jourEpoch") int jourEpoch,
+            @Param("minuteDebut") int minuteDebut,
+            @Param("minuteFin") int minuteFin,
+            @Param("capaciteMin") int capaciteMin,
+            @Param("localisation") String localisation,
+            Limit limite
+    );
+
+    /**
+     * Recherche des salles libres sur un créneau, certaines salles écartées
+     * 
+     * @param exclues ID de salles à écarter (occupées par une série récurrente, non vide)
+     * @see #findSallesLibres(int, int, int, int, String, Limit)
+     */
+    @Query("SELECT s FROM Salle s " + FILTRE_SALLES_LIBRES + HORS_SALLES_EXCLUES + TRI_SALLES_LIBRES)
+    List<Salle> findSallesLibresHors(
+            @Param("jourEpoch") int jourEpoch,
+            @Param("minuteDebut") int minuteDebut,
+            @Param("minuteFin") int minuteFin,
+            @Param("capaciteMin") int capaciteMin,
+            @Param("localisation") String localisation,
+            @Param("exclues") Collection<Long> exclues,
+            Limit limite
+    );
+
+    /**
+     * Reprise après la dernière salle de la page précédente (pagination par clé
+     * sur capacité, nom puis ID ; apresId null pour la première page)
+     */
+    String APRES_SALLE = "AND (:apresId IS NULL OR s.capacite > :apresCapacite " +
+           "OR (s.capacite = :apresCapacite AND (s.nom > :apresNom " +
+           "OR (s.nom = :apresNom AND s.id > :apresId)))) ";
+
+    /**
+     * Page de salles libres sur un créneau (projection, même filtre que findSallesLibres)
+     * La page suivante reprend après la dernière salle lue
+     *
+     * @param jourEpoch Jour du créneau (jours depuis l'epoch)
+     * @param minuteDebut Minute de début depuis minuit
+     * @param minuteFin Minute de fin depuis minuit
+     * @param capaciteMin Capacité minimale
+     * @param localisation Partie de la localisation (null pour toutes)
+     * @param apresCapacite Capacité de la dernière salle lue (null pour la première page)
+     * @param apresNom Nom de la dernière salle lue
+     * @param apresId ID de la dernière salle lue
+     * @param limite Taille de la page
+     * @return Salles libres suivantes, de la plus petite capacité suffisante à la plus grande
+     */
+    @Query(PROJECTION_SALLE_INFO + "FROM Salle s " + FILTRE_SALLES_LIBRES + APRES_SALLE + TRI_SALLES_LIBRES)
+    List<SalleInfo> findPageSallesLibres(
+            @Param("jourEpoch") int jourEpoch,
+            @Param("minuteDebut") int minuteDebut,
+            @Param("minuteFin") int minuteFin,
+            @Param("capaciteMin") int capaciteMin,
+            @Param("localisation") String localisation,
+            @Param("apresCapacite") Integer apresCapacite,
+            @Param("apresNom") String apresNom,
+            @Param("apresId") Long apresId,
+            Limit limite
+    );
+
+    /**
+     * Page de salles libres sur un créneau, certaines salles écartées
+     *
+     * @param exclues ID de salles à écarter (occupées par une série récurrente, non vide)
+     * @see #findPageSallesLibres(int, int, int, int, String, Integer, String, Long, Limit)
+     */
+    @Query(PROJECTION_SALLE_INFO + "FROM Salle s " + FILTRE_SALLES_LIBRES + HORS_SALLES_EXCLUES +
+           APRES_SALLE + TRI_SALLES_LIBRES)
+    List<SalleInfo> findPageSallesLibresHors(
+            @Param("jourEpoch") int jourEpoch,
+            @Param("minuteDebut") int minuteDebut,
+            @Param("minuteFin") int minuteFin,
+            @Param("capaciteMin") int capaciteMin,
+            @Param("localisation") String localisation,
+            @Param("exclues") Collection<Long> exclues,
+            @Param("apresCapacite") Integer apresCapacite,
+            @Param("apresNom") String apresNom,
+            @Param("apresId") Long apresId,
+            Limit limite
+    );
+
+    /**
+     * Verrouille la ligne de la salle (SELECT ... FOR UPDATE) jusqu'à la fin de la transaction
+     * Sérialise les réservations d'une même salle entre plusieurs instances de l'application
+     *
+     * @param id ID de la salle
+     * @return Optional contenant la salle verrouillée
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Salle s WHERE s.id = :id")
+    Optional<Salle> findByIdForUpdate(@Param("id") Long id);
 }
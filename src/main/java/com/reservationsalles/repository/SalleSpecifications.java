@@ -0,0 +1,44 @@
+package com.reservationsalles.repository;
+
+import com.reservationsalles.dto.FiltreSalle;
+import com.reservationsalles.model.Salle;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Critères dynamiques (Specification) pour les listes de salles
+ */
+public final class SalleSpecifications {
+
+    private SalleSpecifications() {
+    }
+
+    /**
+     * Combine les filtres renseignés (ET logique)
+     *
+     * @param filtre Filtres de la liste
+     * @return Specification correspondante
+     */
+    public static Specification<Salle> filtre(FiltreSalle filtre) {
+        return (root, query, cb) -> {
+            List<Predicate> predicats = new ArrayList<>();
+            if (filtre.nom() != null && !filtre.nom().isBlank()) {
+                predicats.add(cb.like(cb.lower(root.get("nom")), "%" + filtre.nom().trim().toLowerCase() + "%"));
+            }
+            if (filtre.localisation() != null && !filtre.localisation().isBlank()) {
+                predicats.add(cb.like(cb.lower(root.get("localisation")),
+                        "%" + filtre.localisation().trim().toLowerCase() + "%"));
+            }
+            if (filtre.capaciteMin() != null) {
+                predicats.add(cb.greaterThanOrEqualTo(root.get("capacite"), filtre.capaciteMin()));
+            }
+            if (filtre.disponible() != null) {
+                predicats.add(cb.equal(root.get("disponible"), filtre.disponible()));
+            }
+            return cb.and(predicats.toArray(new Predicate[0]));
+        };
+    }
+}
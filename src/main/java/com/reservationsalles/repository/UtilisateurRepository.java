@@ -1,9 +1,16 @@
 package com.reservationsalles.repository;
 
 import com.reservationsalles.model.Utilisateur;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,7 +20,17 @@ import java.util.Optional;
  
  */
 @Repository
-public interface UtilisateurRepository extends JpaRepository<Utilisateur, Long> {
+public interface UtilisateurRepository extends JpaRepository<Utilisateur, Long>, JpaSpecificationExecutor<Utilisateur> {
+
+    /**
+     * Récupère tous les utilisateurs (résultat en cache de requêtes,
+     * invalidé à chaque écriture sur la table)
+     * 
+     * @return Liste de tous les utilisateurs
+     */
+    @Override
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<Utilisateur> findAll();
 
     /**
      * Recherche un utilisateur par email (unique)
@@ -46,4 +63,13 @@ public interface UtilisateurRepository extends JpaRepository<Utilisateur, Long>
      * @return true si l'email existe, false sinon
      */
     boolean existsByEmail(String email);
+
+    /**
+     * Emails déjà utilisés parmi une liste (une requête pour tout un lot d'import)
+     * 
+     * @param emails Emails à vérifier
+     * @return Emails existants, tels qu'enregistrés en base
+     */
+    @Query("SELECT u.email FROM Utilisateur u WHERE u.email IN :emails")
+    List<String> findEmailsExistants(@Param("emails") Collection<String> emails);
 }
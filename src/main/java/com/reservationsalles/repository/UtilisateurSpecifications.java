@@ -0,0 +1,37 @@
+package com.reservationsalles.repository;
+
+import com.reservationsalles.dto.FiltreUtilisateur;
+import com.reservationsalles.model.Utilisateur;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Critères dynamiques (Specification) pour les listes d'utilisateurs
+ */
+public final class UtilisateurSpecifications {
+
+    private UtilisateurSpecifications() {
+    }
+
+    /**
+     * Combine les filtres renseignés (ET logique)
+     *
+     * @param filtre Filtres de la liste
+     * @return Specification correspondante
+     */
+    public static Specification<Utilisateur> filtre(FiltreUtilisateur filtre) {
+        return (root, query, cb) -> {
+            List<Predicate> predicats = new ArrayList<>();
+            if (filtre.nom() != null && !filtre.nom().isBlank()) {
+                predicats.add(cb.like(cb.lower(root.get("nom")), "%" + filtre.nom().trim().toLowerCase() + "%"));
+            }
+            if (filtre.role() != null && !filtre.role().isBlank()) {
+                predicats.add(cb.equal(root.get("role"), filtre.role().trim()));
+            }
+            return cb.and(predicats.toArray(new Predicate[0]));
+        };
+    }
+}
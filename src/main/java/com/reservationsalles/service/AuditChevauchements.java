@@ -0,0 +1,198 @@
+package com.reservationsalles.service;
+
+import com.reservationsalles.dto.ChevauchementDetecte;
+import com.reservationsalles.dto.CreneauMinutes;
+import com.reservationsalles.dto.RapportAudit;
+import com.reservationsalles.repository.ReservationRepository;
+import com.reservationsalles.repository.SalleRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Audit des doubles réservations déjà en base
+ *
+ * La vérification des conflits protège les écritures des services, pas les
+ * lignes insérées directement en SQL ni celles d'instances sans verrou partagé.
+ * L'audit relit donc périodiquement toutes les réservations, salle par salle :
+ * créneaux encodés en flux, triés par début (index idx_reservation_creneau seul),
+ * chevauchements trouvés en un seul balayage (MoteurChevauchement.Balayage),
+ * mémoire constante quel que soit le volume.
+ * Les salles sont réparties entre les threads d'un ForkJoinPool, chacun sur sa
+ * propre connexion (parallélisme à garder sous la taille du pool Hikari).
+ *
+ * Le dernier rapport est consultable sur /actuator/audit, le nombre de paires
+ * publié en métrique (reservation.audit.chevauchements).
+ */
+@Service
+public class AuditChevauchements {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditChevauchements.class);
+
+    private final ReservationRepository reservationRepository;
+    private final SalleRepository salleRepository;
+    private final TransactionTemplate lecture;
+    private final int parallelisme;
+    private final int maxDetails;
+    private final AtomicBoolean enCours = new AtomicBoolean();
+    private final AtomicLong chevauchements = new AtomicLong();
+    private volatile RapportAudit dernierRapport;
+
+    @Autowired
+    public AuditChevauchements(ReservationRepository reservationRepository,
+                               SalleRepository salleRepository,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${reservation.audit.parallelisme:4}") int parallelisme,
+                               @Value("${reservation.audit.max-details:1000}") int maxDetails) {
+        this.reservationRepository = reservationRepository;
+        this.salleRepository = salleRepository;
+        this.lecture = new TransactionTemplate(transactionManager);
+        this.lecture.setReadOnly(true);
+        this.parallelisme = parallelisme;
+        this.maxDetails = maxDetails;
+        meterRegistry.gauge("reservation.audit.chevauchements", chevauchements);
+    }
+
+    /**
+     * Dernier rapport d'audit (vide tant qu'aucun audit n'est terminé)
+     */
+    public Optional<RapportAudit> dernierRapport() {
+        return Optional.ofNullable(dernierRapport);
+    }
+
+    /**
+     * Audit planifié (par défaut chaque dimanche à 4h)
+     */
+    @Scheduled(cron = "${reservation.audit.cron:0 0 4 * * SUN}")
+    public void auditerPlanifie() {
+        auditer();
+    }
+
+    /**
+     * Parcourt toutes les salles et relève les réservations qui se chevauchent
+     *
+     * @return Le rapport, ou vide si un audit est déjà en cours
+     */
+    public Optional<RapportAudit> auditer() {
+        if (!enCours.compareAndSet(false, true)) {
+            log.info("Audit des chevauchements déjà en cours, demande ignorée");
+            return Optional.empty();
+        }
+        try {
+            LocalDateTime debut = LocalDateTime.now();
+            long depart = System.nanoTime();
+            List<Long> salleIds = salleRepository.findAllIds();
+            ForkJoinPool pool = new ForkJoinPool(parallelisme);
+            Resultat resultat;
+            try {
+                resultat = pool.invoke(new AuditSalles(salleIds, 0, salleIds.size()));
+            } finally {
+                pool.shutdown();
+            }
+            RapportAudit rapport = new RapportAudit(debut, (System.nanoTime() - depart) / 1_000_000,
+                    salleIds.size(), resultat.reservations, resultat.paires, List.copyOf(resultat.details));
+            dernierRapport = rapport;
+            chevauchements.set(rapport.chevauchements());
+            if (rapport.chevauchements() > 0) {
+                log.warn("Audit : {} chevauchements sur {} réservations ({} salles, {} ms)",
+                        rapport.chevauchements(), rapport.reservations(), rapport.salles(), rapport.dureeMs());
+            } else {
+                log.info("Audit : aucun chevauchement sur {} réservations ({} salles, {} ms)",
+                        rapport.reservations(), rapport.salles(), rapport.dureeMs());
+            }
+            return Optional.of(rapport);
+        } finally {
+            enCours.set(false);
+        }
+    }
+
+    /**
+     * Balaye les réservations d'une salle (une transaction en lecture seule)
+     */
+    private Resultat auditerSalle(long salleId) {
+        Resultat resultat = new Resultat();
+        MoteurChevauchement.Balayage balayage = new MoteurChevauchement.Balayage();
+        MoteurChevauchement.PaireChevauchante signaler = (reservationId, autreReservationId) -> {
+            if (resultat.details.size() < maxDetails) {
+                resultat.details.add(new ChevauchementDetecte(salleId, reservationId, autreReservationId));
+            }
+        };
+        lecture.executeWithoutResult(status -> {
+            try (Stream<CreneauMinutes> creneaux = reservationRepository.streamCreneauxMinutesBySalle(salleId)) {
+                creneaux.forEach(creneau -> balayage.suivant(creneau.reservationId(),
+                        MoteurChevauchement.minuteAbsolue(creneau.jourEpoch(), creneau.minuteDebut()),
+                        MoteurChevauchement.minuteAbsolue(creneau.jourEpoch(), creneau.minuteFin()),
+                        signaler));
+            }
+        });
+        resultat.reservations = balayage.intervalles();
+        resultat.paires = balayage.paires();
+        return resultat;
+    }
+
+    /**
+     * Résultat partiel d'une ou plusieurs salles
+     */
+    private static final class Resultat {
+
+        private long reservations;
+        private long paires;
+        private final List<ChevauchementDetecte> details = new ArrayList<>();
+
+        Resultat fusionner(Resultat autre, int maxDetails) {
+            reservations += autre.reservations;
+            paires += autre.paires;
+            autre.details.stream().limit(Math.max(0, maxDetails - details.size())).forEach(details::add);
+            return this;
+        }
+    }
+
+    /**
+     * Découpe la liste des salles en deux jusqu'à une salle par tâche
+     * (durées par salle très inégales : le vol de tâches équilibre les threads)
+     */
+    private final class AuditSalles extends RecursiveTask<Resultat> {
+
+        private final List<Long> salleIds;
+        private final int du;
+        private final int au;
+
+        AuditSalles(List<Long> salleIds, int du, int au) {
+            this.salleIds = salleIds;
+            this.du = du;
+            this.au = au;
+        }
+
+        @Override
+        protected Resultat compute() {
+            if (au - du == 0) {
+                return new Resultat();
+            }
+            if (au - du == 1) {
+                return auditerSalle(salleIds.get(du));
+            }
+            int milieu = (du + au) >>> 1;
+            AuditSalles droite = new AuditSalles(salleIds, milieu, au);
+            droite.fork();
+            Resultat gauche = new AuditSalles(salleIds, du, milieu).compute();
+            return gauche.fusionner(droite.join(), maxDetails);
+        }
+    }
+}
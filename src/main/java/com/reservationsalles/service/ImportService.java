@@ -0,0 +1,289 @@
+package com.reservationsalles.service;
+
+import com.reservationsalles.dto.LigneRejetee;
+import com.reservationsalles.dto.ProgressionImport;
+import com.reservationsalles.event.StatistiqueEvent;
+import com.reservationsalles.event.StatistiqueEvent.Compteur;
+import com.reservationsalles.model.Salle;
+import com.reservationsalles.model.Utilisateur;
+import com.reservationsalles.repository.SalleRepository;
+import com.reservationsalles.repository.UtilisateurRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service d'import en masse des Salles et des Utilisateurs (fichiers CSV)
+ *
+ * Le fichier est lu ligne à ligne et traité par lots de import.taille-lot lignes :
+ * 1. Lignes analysées et validées (contraintes des entités) en mémoire
+ * 2. Utilisateurs : emails déjà utilisés recherchés en une seule requête par lot
+ * 3. Lignes valides insérées ensemble (batching JDBC, identifiants par séquence),
+ *    une transaction par lot : un lot refusé par la base n'annule pas les précédents
+ * Un message d'avancement est transmis après chaque lot, puis à la fin de l'import.
+ * Seul le lot en cours est en mémoire, quelle que soit la taille du fichier.
+ */
+@Service
+@Timed(value = "service.import", description = "Appels du service (méthode, exception)")
+public class ImportService {
+
+    private final SalleRepository salleRepository;
+    private final UtilisateurRepository utilisateurRepository;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int tailleLot;
+
+    @Autowired
+    public ImportService(SalleRepository salleRepository,
+                         UtilisateurRepository utilisateurRepository,
+                         Validator validator,
+                         TransactionTemplate transactionTemplate,
+                         EntityManager entityManager,
+                         ApplicationEventPublisher eventPublisher,
+                         @Value("${import.taille-lot:500}") int tailleLot) {
+        Assert.isTrue(tailleLot > 0, "La taille des lots d'import doit être positive");
+        this.salleRepository = salleRepository;
+        this.utilisateurRepository = utilisateurRepository;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.tailleLot = tailleLot;
+    }
+
+    /**
+     * Importe des salles, une par ligne : nom;capacite;localisation[;disponible]
+     * (séparateur ';' ou ',', ligne d'en-tête facultative, disponible par défaut)
+     *
+     * @param source Contenu CSV, lu au fur et à mesure
+     * @param progression Reçoit l'avancement après chaque lot, puis le bilan final
+     * @throws UncheckedIOException si la lecture du fichier échoue
+     */
+    public void importerSalles(Reader source, Consumer<ProgressionImport> progression) {
+        importer(source, ImportService::analyserSalle, this::enregistrerSalles, progression);
+    }
+
+    /**
+     * Importe des utilisateurs, un par ligne : nom;email;role
+     * (séparateur ';' ou ',', ligne d'en-tête facultative)
+     * Les emails déjà utilisés, en base ou plus haut dans le fichier, sont rejetés
+     *
+     * @param source Contenu CSV, lu au fur et à mesure
+     * @param progression Reçoit l'avancement après chaque lot, puis le bilan final
+     * @throws UncheckedIOException si la lecture du fichier échoue
+     */
+    public void importerUtilisateurs(Reader source, Consumer<ProgressionImport> progression) {
+        importer(source, ImportService::analyserUtilisateur, this::enregistrerUtilisateurs, progression);
+    }
+
+    private <T> void importer(Reader source, Function<String[], T> analyse, Enregistrement<T> enregistrement,
+                              Consumer<ProgressionImport> progression) {
+        Avancement avancement = new Avancement();
+        List<LigneImport<T>> lot = new ArrayList<>(tailleLot);
+        List<LigneRejetee> rejets = new ArrayList<>();
+        String separateur = null;
+        long numero = 0;
+
+        try {
+            BufferedReader lecteur = new BufferedReader(source);
+            String ligne;
+            while ((ligne = lecteur.readLine()) != null) {
+                numero++;
+                if (ligne.isBlank()) {
+                    continue;
+                }
+                if (separateur == null) {
+                    separateur = ligne.indexOf(';') >= 0 ? ";" : ",";
+                    if (ligne.strip().toLowerCase(Locale.ROOT).startsWith("nom" + separateur)) {
+                        continue;
+                    }
+                }
+
+                avancement.lignes++;
+                try {
+                    T entite = analyse.apply(Arrays.stream(ligne.split(separateur, -1))
+                            .map(String::strip)
+                            .toArray(String[]::new));
+                    String violations = violations(entite);
+                    if (violations == null) {
+                        lot.add(new LigneImport<>(numero, entite));
+                    } else {
+                        rejets.add(new LigneRejetee(numero, violations));
+                    }
+                } catch (IllegalArgumentException e) {
+                    rejets.add(new LigneRejetee(numero, e.getMessage()));
+                }
+
+                if (lot.size() + rejets.size() == tailleLot) {
+                    progression.accept(terminerLot(lot, rejets, enregistrement, avancement));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (!lot.isEmpty() || !rejets.isEmpty()) {
+            progression.accept(terminerLot(lot, rejets, enregistrement, avancement));
+        }
+        progression.accept(new ProgressionImport(avancement.lots, avancement.lignes, avancement.importees,
+                avancement.rejetees, List.of(), true));
+    }
+
+    /**
+     * Enregistre le lot, libère le contexte de persistance (partagé avec la requête
+     * en open-in-view) et vide le lot pour la suite du fichier
+     */
+    private <T> ProgressionImport terminerLot(List<LigneImport<T>> lot, List<LigneRejetee> rejets,
+                                              Enregistrement<T> enregistrement, Avancement avancement) {
+        if (!lot.isEmpty()) {
+            try {
+                avancement.importees += enregistrement.enregistrer(lot, rejets);
+            } catch (DataAccessException e) {
+                String motif = "Lot refusé par la base : " + e.getMostSpecificCause().getMessage();
+                lot.forEach(ligne -> rejets.add(new LigneRejetee(ligne.numero(), motif)));
+            }
+            entityManager.clear();
+        }
+
+        avancement.lots++;
+        avancement.rejetees += rejets.size();
+        rejets.sort(Comparator.comparingLong(LigneRejetee::ligne));
+        ProgressionImport progression = new ProgressionImport(avancement.lots, avancement.lignes,
+                avancement.importees, avancement.rejetees, List.copyOf(rejets), false);
+        lot.clear();
+        rejets.clear();
+        return progression;
+    }
+
+    private int enregistrerSalles(List<LigneImport<Salle>> lot, List<LigneRejetee> rejets) {
+        List<Salle> salles = lot.stream().map(LigneImport::entite).toList();
+        long disponibles = salles.stream().filter(Salle::isDisponible).count();
+        transactionTemplate.executeWithoutResult(status -> {
+            salleRepository.saveAll(salles);
+            eventPublisher.publishEvent(new StatistiqueEvent(Compteur.SALLES, salles.size()));
+            eventPublisher.publishEvent(new StatistiqueEvent(Compteur.SALLES_DISPONIBLES, disponibles));
+        });
+        return salles.size();
+    }
+
+    /**
+     * Une requête pour les emails du lot déjà en base ; les doublons internes
+     * au lot sont écartés en mémoire (ceux des lots précédents sont alors en base)
+     */
+    private int enregistrerUtilisateurs(List<LigneImport<Utilisateur>> lot, List<LigneRejetee> rejets) {
+        Set<String> existants = utilisateurRepository.findEmailsExistants(
+                        lot.stream().map(ligne -> ligne.entite().getEmail()).toList())
+                .stream()
+                .map(ImportService::cleEmail)
+                .collect(Collectors.toSet());
+
+        Set<String> dejaVus = new HashSet<>();
+        List<Utilisateur> utilisateurs = new ArrayList<>(lot.size());
+        for (LigneImport<Utilisateur> ligne : lot) {
+            String email = ligne.entite().getEmail();
+            if (existants.contains(cleEmail(email))) {
+                rejets.add(new LigneRejetee(ligne.numero(), "Un utilisateur avec cet email existe déjà : " + email));
+            } else if (!dejaVus.add(cleEmail(email))) {
+                rejets.add(new LigneRejetee(ligne.numero(), "Email en double dans le fichier : " + email));
+            } else {
+                utilisateurs.add(ligne.entite());
+            }
+        }
+
+        if (!utilisateurs.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                utilisateurRepository.saveAll(utilisateurs);
+                eventPublisher.publishEvent(new StatistiqueEvent(Compteur.UTILISATEURS, utilisateurs.size()));
+            });
+        }
+        return utilisateurs.size();
+    }
+
+    /**
+     * Messages des contraintes non respectées par l'entité, ou null si elle est valide
+     */
+    private <T> String violations(T entite) {
+        Set<ConstraintViolation<T>> violations = validator.validate(entite);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(", "));
+    }
+
+    private static Salle analyserSalle(String[] champs) {
+        if (champs.length != 3 && champs.length != 4) {
+            throw new IllegalArgumentException(
+                    "3 ou 4 champs attendus (nom;capacite;localisation[;disponible]), " + champs.length + " trouvés");
+        }
+        int capacite;
+        try {
+            capacite = Integer.parseInt(champs[1]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Capacité invalide : " + champs[1]);
+        }
+        boolean disponible = champs.length == 3 || champs[3].isEmpty() || switch (champs[3].toLowerCase(Locale.ROOT)) {
+            case "true", "oui", "1" -> true;
+            case "false", "non", "0" -> false;
+            default -> throw new IllegalArgumentException("Disponibilité invalide : " + champs[3] + " (oui ou non)");
+        };
+        return new Salle(champs[0], capacite, champs[2], disponible);
+    }
+
+    private static Utilisateur analyserUtilisateur(String[] champs) {
+        if (champs.length != 3) {
+            throw new IllegalArgumentException("3 champs attendus (nom;email;role), " + champs.length + " trouvés");
+        }
+        return new Utilisateur(champs[0], champs[1], champs[2]);
+    }
+
+    /** Emails comparés sans tenir compte de la casse, comme la collation de la base */
+    private static String cleEmail(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    @FunctionalInterface
+    private interface Enregistrement<T> {
+        /**
+         * Insère les lignes valides du lot et ajoute aux rejets celles écartées
+         *
+         * @return Nombre de lignes insérées
+         */
+        int enregistrer(List<LigneImport<T>> lot, List<LigneRejetee> rejets);
+    }
+
+    private record LigneImport<T>(long numero, T entite) {
+    }
+
+    /** Totaux depuis le début du fichier */
+    private static final class Avancement {
+        private int lots;
+        private long lignes;
+        private long importees;
+        private long rejetees;
+    }
+}
@@ -0,0 +1,305 @@
+package com.reservationsalles.service;
+
+import com.reservationsalles.model.CreneauReservation;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Moteur de détection de chevauchement sur tableaux primitifs, par salle
+ *
+ * Chaque salle possède des tableaux parallèles (référence, début, fin) triés
+ * par début. Les bornes sont des minutes absolues (jour depuis l'epoch × 1440
+ * + minute depuis minuit, voir minuteAbsolue) : une réservation passant minuit
+ * n'est qu'un intervalle comme un autre, sans découpage par jour.
+ * La référence est un long opaque choisi par l'appelant (ID de réservation,
+ * position dans un lot...).
+ *
+ * - Sonde (premierChevauchement) : recherche dichotomique de la fenêtre des
+ *   débuts candidats ]début - durée max, fin[, sans allocation ; l'ID de salle est
+ *   reçu en Long, tel que le portent les entités, pour ne pas être converti à
+ *   chaque recherche de la salle
+ * - Insertion, retrait : O(n) pour n intervalles de la salle. La position est
+ *   trouvée par dichotomie, puis les intervalles suivants sont décalés d'un cran
+ *   (System.arraycopy). Compromis accepté : l'index ne garde que les réservations
+ *   à venir de chaque salle (quelques milliers au plus, quelques microsecondes de
+ *   décalage), les sondes sont bien plus fréquentes que les écritures, et des
+ *   tableaux contigus évitent l'allocation d'un nœud par intervalle et les
+ *   déréférencements d'un arbre à chaque sonde
+ * - Audit (balayer, Balayage) : toutes les paires en un seul parcours, O(n + paires),
+ *   sur des tableaux triés ou sur un flux trié par début
+ *
+ * Sûr entre threads : chaque salle est verrouillée le temps d'une opération.
+ */
+public final class MoteurChevauchement {
+
+    /** Référence renvoyée par premierChevauchement quand aucun intervalle ne chevauche */
+    public static final long AUCUN = Long.MIN_VALUE;
+
+    private final Map<Long, Intervalles> salles = new ConcurrentHashMap<>();
+
+    /**
+     * Paire d'intervalles qui se chevauchent (références de l'appelant)
+     */
+    @FunctionalInterface
+    public interface PaireChevauchante {
+        void accepter(long referenceA, long referenceB);
+    }
+
+    /**
+     * Minute absolue d'un instant exprimé en jour et minute depuis minuit de ce jour
+     * (minute au-delà de 1440 pour le lendemain)
+     *
+     * Tient dans un int jusqu'à l'an 6000 environ ; les dates sont bornées bien avant
+     * (CreneauReservation.DATE_MAX). Au-delà, exception plutôt que débordement silencieux.
+     *
+     * @throws ArithmeticException si la minute absolue dépasse la capacité d'un int
+     */
+    public static int minuteAbsolue(int jourEpoch, int minute) {
+        return Math.addExact(Math.multiplyExact(jourEpoch, CreneauReservation.MINUTES_PAR_JOUR), minute);
+    }
+
+    /**
+     * Ajoute un intervalle [debut, fin[ à une salle ; un intervalle de même
+     * référence et de même début est remplacé
+     *
+     * @throws IllegalArgumentException si la référence est AUCUN (réservée au résultat
+     *         de premierChevauchement)
+     */
+    public void ajouter(Long salleId, long reference, int debut, int fin) {
+        if (reference == AUCUN) {
+            throw new IllegalArgumentException("Référence réservée : AUCUN");
+        }
+        salles.computeIfAbsent(salleId, id -> new Intervalles()).ajouter(reference, debut, fin);
+    }
+
+    /**
+     * Retire l'intervalle de cette référence commençant à debut
+     *
+     * @return true si l'intervalle était présent
+     */
+    public boolean retirer(Long salleId, long reference, int debut) {
+        Intervalles intervalles = salles.get(salleId);
+        return intervalles != null && intervalles.retirer(reference, debut);
+    }
+
+    /**
+     * Premier intervalle de la salle (par début décroissant) chevauchant [debut, fin[
+     *
+     * @param referenceExclue Référence ignorée (réservation en cours d'édition), AUCUN pour n'en ignorer aucune
+     * @return Référence de l'intervalle trouvé, ou AUCUN
+     */
+    public long premierChevauchement(Long salleId, int debut, int fin, long referenceExclue) {
+        Intervalles intervalles = salles.get(salleId);
+        return intervalles != null ? intervalles.premierChevauchement(debut, fin, referenceExclue) : AUCUN;
+    }
+
+    /**
+     * Retire les intervalles terminés au plus tard à la minute donnée, toutes salles confondues
+     */
+    public void retirerTerminesAvant(int minute) {
+        salles.values().forEach(intervalles -> intervalles.retirerTerminesAvant(minute));
+    }
+
+    /**
+     * Signale toutes les paires chevauchantes d'une salle
+     *
+     * @return Nombre de paires
+     */
+    public long paires(Long salleId, PaireChevauchante paires) {
+        Intervalles intervalles = salles.get(salleId);
+        return intervalles != null ? intervalles.paires(paires) : 0;
+    }
+
+    /**
+     * Nombre d'intervalles, toutes salles confondues
+     */
+    public int taille() {
+        return salles.values().stream().mapToInt(Intervalles::taille).sum();
+    }
+
+    /**
+     * Nombre de salles ayant au moins un intervalle
+     */
+    public int nombreSalles() {
+        return (int) salles.values().stream().filter(intervalles -> intervalles.taille() > 0).count();
+    }
+
+    /**
+     * Balayage : signale toutes les paires chevauchantes de tableaux triés par début
+     *
+     * Triés par début, les intervalles chevauchant l'intervalle i et commençant
+     * après lui sont exactement les suivants dont le début précède sa fin :
+     * chaque pas de la boucle interne produit une paire, sauf le dernier.
+     *
+     * @param taille Nombre d'éléments utilisés dans les tableaux
+     * @return Nombre de paires
+     * @throws IllegalArgumentException si les débuts ne sont pas triés
+     */
+    public static long balayer(long[] references, int[] debuts, int[] fins, int taille, PaireChevauchante paires) {
+        long nombre = 0;
+        for (int i = 0; i < taille; i++) {
+            if (i > 0 && debuts[i] < debuts[i - 1]) {
+                throw new IllegalArgumentException("Intervalles non triés par début (position " + i + ")");
+            }
+            for (int j = i + 1; j < taille && debuts[j] < fins[i]; j++) {
+                paires.accepter(references[i], references[j]);
+                nombre++;
+            }
+        }
+        return nombre;
+    }
+
+    /**
+     * Balayage d'un flux d'intervalles triés par début (audit d'une salle en base)
+     *
+     * Ne garde que les intervalles encore ouverts au début courant : la mémoire
+     * suit le nombre de réservations simultanées, pas la taille du flux.
+     * Non sûr entre threads : un balayage par flux.
+     */
+    public static final class Balayage {
+
+        private long[] references = new long[8];
+        private int[] fins = new int[8];
+        private int ouverts;
+        private int dernierDebut = Integer.MIN_VALUE;
+        private long intervalles;
+        private long paires;
+
+        /**
+         * Ajoute l'intervalle suivant du flux et signale ses chevauchements
+         * avec les intervalles précédents
+         *
+         * @throws IllegalArgumentException si le flux n'est pas trié par début
+         */
+        public void suivant(long reference, int debut, int fin, PaireChevauchante chevauchements) {
+            if (debut < dernierDebut) {
+                throw new IllegalArgumentException("Intervalles non triés par début (référence " + reference + ")");
+            }
+            dernierDebut = debut;
+            intervalles++;
+            int conserves = 0;
+            for (int i = 0; i < ouverts; i++) {
+                if (fins[i] > debut) {
+                    chevauchements.accepter(references[i], reference);
+                    paires++;
+                    references[conserves] = references[i];
+                    fins[conserves] = fins[i];
+                    conserves++;
+                }
+            }
+            if (conserves == references.length) {
+                references = Arrays.copyOf(references, conserves * 2);
+                fins = Arrays.copyOf(fins, conserves * 2);
+            }
+            references[conserves] = reference;
+            fins[conserves] = fin;
+            ouverts = conserves + 1;
+        }
+
+        public long intervalles() {
+            return intervalles;
+        }
+
+        public long paires() {
+            return paires;
+        }
+    }
+
+    /**
+     * Intervalles d'une salle, tableaux parallèles triés par début
+     */
+    private static final class Intervalles {
+
+        private long[] references = new long[8];
+        private int[] debuts = new int[8];
+        private int[] fins = new int[8];
+        private int taille;
+        /** Plus grande durée ajoutée : borne la fenêtre des débuts candidats (jamais réduite) */
+        private int dureeMax;
+
+        synchronized void ajouter(long reference, int debut, int fin) {
+            retirer(reference, debut);
+            if (taille == references.length) {
+                references = Arrays.copyOf(references, taille * 2);
+                debuts = Arrays.copyOf(debuts, taille * 2);
+                fins = Arrays.copyOf(fins, taille * 2);
+            }
+            int position = premierDebutSuperieurOuEgal(debut);
+            System.arraycopy(references, position, references, position + 1, taille - position);
+            System.arraycopy(debuts, position, debuts, position + 1, taille - position);
+            System.arraycopy(fins, position, fins, position + 1, taille - position);
+            references[position] = reference;
+            debuts[position] = debut;
+            fins[position] = fin;
+            taille++;
+            dureeMax = Math.max(dureeMax, fin - debut);
+        }
+
+        synchronized boolean retirer(long reference, int debut) {
+            for (int i = premierDebutSuperieurOuEgal(debut); i < taille && debuts[i] == debut; i++) {
+                if (references[i] == reference) {
+                    System.arraycopy(references, i + 1, references, i, taille - i - 1);
+                    System.arraycopy(debuts, i + 1, debuts, i, taille - i - 1);
+                    System.arraycopy(fins, i + 1, fins, i, taille - i - 1);
+                    taille--;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Seuls les intervalles commençant avant la fin demandée, et moins de
+         * dureeMax minutes avant le début demandé, peuvent chevaucher
+         */
+        synchronized long premierChevauchement(int debut, int fin, long referenceExclue) {
+            int limite = debut - dureeMax;
+            for (int i = premierDebutSuperieurOuEgal(fin) - 1; i >= 0 && debuts[i] > limite; i--) {
+                if (fins[i] > debut && (references[i] != referenceExclue || referenceExclue == AUCUN)) {
+                    return references[i];
+                }
+            }
+            return AUCUN;
+        }
+
+        synchronized void retirerTerminesAvant(int minute) {
+            int conserves = 0;
+            for (int i = 0; i < taille; i++) {
+                if (fins[i] > minute) {
+                    references[conserves] = references[i];
+                    debuts[conserves] = debuts[i];
+                    fins[conserves] = fins[i];
+                    conserves++;
+                }
+            }
+            taille = conserves;
+            if (taille == 0) {
+                dureeMax = 0;
+            }
+        }
+
+        synchronized long paires(PaireChevauchante paires) {
+            return balayer(references, debuts, fins, taille, paires);
+        }
+
+        synchronized int taille() {
+            return taille;
+        }
+
+        private int premierDebutSuperieurOuEgal(int minute) {
+            int bas = 0;
+            int haut = taille;
+            while (bas < haut) {
+                int milieu = (bas + haut) >>> 1;
+                if (debuts[milieu] < minute) {
+                    bas = milieu + 1;
+                } else {
+                    haut = milieu;
+                }
+            }
+            return bas;
+        }
+    }
+}
@@ -0,0 +1,395 @@
+package com.reservationsalles.service;
+
+import com.reservationsalles.event.ReservationEvent;
+import com.reservationsalles.event.ReservationsSupprimeesEvent;
+import com.reservationsalles.model.CreneauReservation;
+import com.reservationsalles.model.ReservationSerie;
+import com.reservationsalles.repository.ReservationRepository;
+import com.reservationsalles.repository.ReservationSerieRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Occupation des salles par tranches de 15 minutes, pour les grilles du calendrier
+ *
+ * Chaque jour d'une salle est un masque de 96 bits (un bit par quart d'heure),
+ * rangé dans deux long consécutifs d'un tableau primitif par salle :
+ * - long pair : tranches 0 à 63 (00h00 à 15h59)
+ * - long impair : tranches 64 à 95 (16h00 à 23h59)
+ * Un mois de grille pour une salle se lit donc par une simple copie de tableau.
+ *
+ * Comme ReservationIndex, le masque est alimenté au démarrage (depuis le premier
+ * jour du mois en cours, pour servir la grille du mois entier) puis mis à jour
+ * après chaque commit. Une tranche peut être partagée par deux réservations
+ * (10h00-10h05 et 10h10-10h15) : un retrait recalcule donc le jour depuis la base.
+ * Le recalcul n'écrase le jour que si aucune autre mise à jour de la salle n'a eu
+ * lieu pendant la lecture ; sinon il relit la base (la réservation concurrente,
+ * déjà validée, y est alors visible).
+ * Les occurrences de séries non matérialisées sont ajoutées à la lecture.
+ * Une réservation passant minuit est marquée sur ses deux jours.
+ * En déploiement multi-instance, désactiver (reservation.occupation.enabled=false) :
+ * les grilles sont alors calculées depuis la base à chaque appel.
+ */
+@Component
+public class OccupationSalles {
+
+    public static final int MINUTES_PAR_TRANCHE = 15;
+    public static final int TRANCHES_PAR_JOUR = 24 * 60 / MINUTES_PAR_TRANCHE;
+
+    private static final Logger log = LoggerFactory.getLogger(OccupationSalles.class);
+
+    private final ReservationRepository reservationRepository;
+    private final ReservationSerieRepository reservationSerieRepository;
+    private final TransactionTemplate lectureSeparee;
+    private final boolean enabled;
+    private final Map<Long, JoursSalle> salles = new ConcurrentHashMap<>();
+    private volatile long premierJourCouvert = Long.MAX_VALUE;
+    private volatile boolean pret;
+
+    @Autowired
+    public OccupationSalles(ReservationRepository reservationRepository,
+                            ReservationSerieRepository reservationSerieRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${reservation.occupation.enabled:true}") boolean enabled) {
+        this.reservationRepository = reservationRepository;
+        this.reservationSerieRepository = reservationSerieRepository;
+        this.lectureSeparee = new TransactionTemplate(transactionManager);
+        // Pas en lecture seule : relue juste après un commit, une réplique peut être en retard
+        this.lectureSeparee.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+    }
+
+    /**
+     * Indique si les masques en mémoire peuvent être consultés (activés et préchauffés)
+     */
+    public boolean isActif() {
+        return enabled && pret;
+    }
+
+    /**
+     * Charge les créneaux du mois en cours et à venir au démarrage de l'application
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void prechauffer() {
+        if (!enabled) {
+            return;
+        }
+        LocalDate debutMois = YearMonth.now().atDay(1);
+        premierJourCouvert = debutMois.toEpochDay();
+        List<CreneauReservation> creneaux = reservationRepository.findCreneauxAPartirDu(debutMois.minusDays(1));
+        creneaux.forEach(this::ajouter);
+        pret = true;
+        log.info("Occupation des salles préchauffée : {} créneaux sur {} salles", creneaux.size(), salles.size());
+    }
+
+    /**
+     * Met à jour les masques une fois la transaction validée
+     * (fallbackExecution : appliqué immédiatement hors transaction),
+     * avant la libération des verrous de ReservationLocks
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onReservationEvent(ReservationEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (event.avant() != null) {
+            recalculer(event.avant().salleId(), event.avant().dateReservation());
+            if (event.avant().finitLeLendemain()) {
+                recalculer(event.avant().salleId(), event.avant().dateReservation().plusDays(1));
+            }
+        }
+        if (event.apres() != null) {
+            ajouter(event.apres());
+        }
+    }
+
+    /**
+     * Recalcule les jours touchés par des réservations supprimées avec leur salle
+     * ou leur utilisateur (une lecture par salle, sur la période concernée)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onReservationsSupprimees(ReservationsSupprimeesEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Map<Long, TreeSet<Integer>> joursParSalle = event.creneaux().stream()
+                .collect(Collectors.groupingBy(CreneauReservation::salleId,
+                        Collectors.flatMapping(creneau -> IntStream
+                                        .rangeClosed(creneau.jourEpoch(), dernierJour(creneau)).boxed(),
+                                Collectors.toCollection(TreeSet::new))));
+        joursParSalle.forEach((salleId, jours) -> {
+            jours.removeIf(jour -> jour < premierJourCouvert);
+            if (!jours.isEmpty()) {
+                recalculer(salleId, jours.stream().mapToInt(Integer::intValue).toArray());
+            }
+        });
+    }
+
+    /**
+     * Construit les grilles d'occupation de plusieurs salles sur une période
+     *
+     * @param salleIds ID des salles
+     * @param du Premier jour (inclus)
+     * @param au Dernier jour (inclus)
+     * @return Pour chaque salle, deux long par jour (voir la description de la classe)
+     */
+    public Map<Long, long[]> grilles(Collection<Long> salleIds, LocalDate du, LocalDate au) {
+        int nbJours = (int) (au.toEpochDay() - du.toEpochDay()) + 1;
+        Map<Long, long[]> grilles = new LinkedHashMap<>();
+        salleIds.forEach(id -> grilles.put(id, new long[2 * nbJours]));
+        if (grilles.isEmpty()) {
+            return grilles;
+        }
+
+        if (isActif() && du.toEpochDay() >= premierJourCouvert) {
+            grilles.forEach((id, grille) -> {
+                JoursSalle jours = salles.get(id);
+                if (jours != null) {
+                    jours.copier(du.toEpochDay(), nbJours, grille);
+                }
+            });
+        } else {
+            // Dès la veille : ses réservations passant minuit débordent sur le premier jour
+            for (CreneauReservation creneau : reservationRepository.findCreneauxSurPeriode(
+                    grilles.keySet(), du.minusDays(1), au)) {
+                long[] grille = grilles.get(creneau.salleId());
+                for (int jour = creneau.jourEpoch(); jour <= dernierJour(creneau); jour++) {
+                    int index = (int) (jour - du.toEpochDay());
+                    if (index >= 0 && index < nbJours) {
+                        marquer(grille, index, creneau, jour);
+                    }
+                }
+            }
+        }
+
+        for (ReservationSerie serie : reservationSerieRepository.findSeriesSurPeriode(grilles.keySet(), du, au)) {
+            long[] grille = grilles.get(serie.getSalle().getId());
+            serie.occurrences(du, au).forEach(date ->
+                    marquer(grille, indexJour(du, date), serie.getHeureDebut(), serie.getHeureFin()));
+        }
+        return grilles;
+    }
+
+    /**
+     * Retire des masques les jours des mois passés (chaque nuit)
+     */
+    @Scheduled(cron = "${reservation.occupation.purge-cron:0 5 3 * * *}")
+    public void purgerJoursPasses() {
+        long debutMois = YearMonth.now().atDay(1).toEpochDay();
+        premierJourCouvert = debutMois;
+        salles.values().forEach(jours -> jours.purgerAvant(debutMois));
+        salles.values().removeIf(JoursSalle::estVide);
+    }
+
+    void ajouter(CreneauReservation creneau) {
+        for (int jour = creneau.jourEpoch(); jour <= dernierJour(creneau); jour++) {
+            if (jour < premierJourCouvert) {
+                continue;
+            }
+            long[] masque = new long[2];
+            marquer(masque, 0, creneau, jour);
+            salles.computeIfAbsent(creneau.salleId(), id -> new JoursSalle()).ajouter(jour, masque[0], masque[1]);
+        }
+    }
+
+    /**
+     * Recalcule le masque d'un jour depuis la base (transaction de lecture séparée :
+     * appelé après le commit de la transaction qui a modifié ce jour)
+     * Relit la base si la salle a été modifiée entre la lecture et l'écriture du masque
+     */
+    private void recalculer(Long salleId, LocalDate date) {
+        if (date.toEpochDay() < premierJourCouvert) {
+            return;
+        }
+        int jour = (int) date.toEpochDay();
+        JoursSalle jours = salles.computeIfAbsent(salleId, id -> new JoursSalle());
+        long version;
+        long[] masque;
+        do {
+            version = jours.version();
+            List<CreneauReservation> creneaux = lectureSeparee.execute(status ->
+                    reservationRepository.findCreneauxAutourDu(salleId, jour));
+            masque = new long[2];
+            for (CreneauReservation creneau : creneaux) {
+                marquer(masque, 0, creneau, jour);
+            }
+        } while (!jours.remplacerSi(version, new int[] {jour}, masque));
+    }
+
+    /**
+     * Recalcule plusieurs jours d'une salle (triés) en une lecture de la période qui les couvre
+     */
+    private void recalculer(Long salleId, int[] jours) {
+        LocalDate du = LocalDate.ofEpochDay(jours[0]);
+        LocalDate au = LocalDate.ofEpochDay(jours[jours.length - 1]);
+        JoursSalle joursSalle = salles.computeIfAbsent(salleId, id -> new JoursSalle());
+        long version;
+        long[] masques;
+        do {
+            version = joursSalle.version();
+            // Dès la veille : ses réservations passant minuit débordent sur le premier jour
+            List<CreneauReservation> creneaux = lectureSeparee.execute(status ->
+                    reservationRepository.findCreneauxSurPeriode(List.of(salleId), du.minusDays(1), au));
+            masques = new long[2 * jours.length];
+            for (CreneauReservation creneau : creneaux) {
+                for (int i = 0; i < jours.length; i++) {
+                    marquer(masques, i, creneau, jours[i]);
+                }
+            }
+        } while (!joursSalle.remplacerSi(version, jours, masques));
+    }
+
+    private static int indexJour(LocalDate du, LocalDate date) {
+        return (int) (date.toEpochDay() - du.toEpochDay());
+    }
+
+    /** Dernier jour occupé par un créneau (lendemain s'il passe minuit) */
+    private static int dernierJour(CreneauReservation creneau) {
+        return creneau.finitLeLendemain() ? creneau.jourEpoch() + 1 : creneau.jourEpoch();
+    }
+
+    /**
+     * Marque la partie d'un créneau comprise dans le jour donné
+     * (rien si le créneau ne touche pas ce jour)
+     */
+    private static void marquer(long[] grille, int indexJour, CreneauReservation creneau, int jour) {
+        int decalage = (creneau.jourEpoch() - jour) * CreneauReservation.MINUTES_PAR_JOUR;
+        marquer(grille, indexJour, Math.max(decalage + creneau.minuteDebut(), 0),
+                Math.min(decalage + creneau.minuteFin(), CreneauReservation.MINUTES_PAR_JOUR));
+    }
+
+    static void marquer(long[] grille, int indexJour, LocalTime debut, LocalTime fin) {
+        marquer(grille, indexJour, CreneauReservation.minuteDebut(debut), CreneauReservation.minuteFin(debut, fin));
+    }
+
+    /**
+     * Marque les tranches couvertes par [minuteDebut, minuteFin[ (minutes du jour) :
+     * tranche de début arrondie à l'inférieur, tranche de fin à la supérieure
+     * (une tranche entamée est occupée)
+     */
+    static void marquer(long[] grille, int indexJour, int minuteDebut, int minuteFin) {
+        int premiere = minuteDebut / MINUTES_PAR_TRANCHE;
+        int derniere = (minuteFin + MINUTES_PAR_TRANCHE - 1) / MINUTES_PAR_TRANCHE;
+        grille[2 * indexJour] |= bits(premiere, Math.min(derniere, 64));
+        grille[2 * indexJour + 1] |= bits(Math.max(premiere, 64) - 64, Math.max(derniere, 64) - 64);
+    }
+
+    /** Bits [de, a[ d'un long */
+    private static long bits(int de, int a) {
+        if (a <= de) {
+            return 0L;
+        }
+        long haut = a == 64 ? -1L : (1L << a) - 1;
+        return haut & -(1L << de);
+    }
+
+    /**
+     * Masques d'une salle : deux long par jour à partir de premierJour
+     */
+    private static final class JoursSalle {
+
+        private long premierJour;
+        private long[] masques = new long[0];
+        /** Incrémentée à chaque modification des masques */
+        private long version;
+
+        synchronized void ajouter(long jour, long bas, long haut) {
+            int i = position(jour);
+            masques[i] |= bas;
+            masques[i + 1] |= haut;
+            version++;
+        }
+
+        synchronized long version() {
+            return version;
+        }
+
+        /**
+         * Remplace les masques de plusieurs jours s'il n'y a pas eu de modification
+         * depuis versionLue (deux long par jour dans nouveaux, dans l'ordre des jours)
+         *
+         * @return false si les masques ont changé entre-temps (rien n'est remplacé)
+         */
+        synchronized boolean remplacerSi(long versionLue, int[] jours, long[] nouveaux) {
+            if (version != versionLue) {
+                return false;
+            }
+            for (int j = 0; j < jours.length; j++) {
+                int i = position(jours[j]);
+                masques[i] = nouveaux[2 * j];
+                masques[i + 1] = nouveaux[2 * j + 1];
+            }
+            version++;
+            return true;
+        }
+
+        synchronized void copier(long du, int nbJours, long[] cible) {
+            long debut = Math.max(du, premierJour);
+            long fin = Math.min(du + nbJours, premierJour + masques.length / 2);
+            if (debut < fin) {
+                System.arraycopy(masques, (int) (2 * (debut - premierJour)),
+                        cible, (int) (2 * (debut - du)), (int) (2 * (fin - debut)));
+            }
+        }
+
+        synchronized void purgerAvant(long jour) {
+            if (jour <= premierJour) {
+                return;
+            }
+            int decalage = (int) Math.min(2 * (jour - premierJour), masques.length);
+            masques = Arrays.copyOfRange(masques, decalage, masques.length);
+            premierJour = jour;
+        }
+
+        synchronized boolean estVide() {
+            return masques.length == 0;
+        }
+
+        /**
+         * Position du jour dans le tableau, agrandi si nécessaire
+         */
+        private int position(long jour) {
+            if (masques.length == 0) {
+                premierJour = jour;
+                masques = new long[2 * 32];
+            } else if (jour < premierJour) {
+                long[] agrandi = new long[masques.length + (int) (2 * (premierJour - jour))];
+                System.arraycopy(masques, 0, agrandi, agrandi.length - masques.length, masques.length);
+                masques = agrandi;
+                premierJour = jour;
+            }
+            int i = (int) (2 * (jour - premierJour));
+            if (i + 1 >= masques.length) {
+                masques = Arrays.copyOf(masques, Math.max(i + 2, masques.length * 2));
+            }
+            return i;
+        }
+    }
+}
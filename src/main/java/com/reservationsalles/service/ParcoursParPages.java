@@ -0,0 +1,46 @@
+package com.reservationsalles.service;
+
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Parcours d'un résultat par pages, chacune lue dans sa propre transaction courte
+ *
+ * Les éléments d'une page sont traités hors transaction : un traitement lent
+ * (écriture vers un client qui lit lentement) ne retient ni transaction ni
+ * connexion du pool. Pagination par clé : chaque page reprend après le dernier
+ * élément de la précédente.
+ */
+final class ParcoursParPages {
+
+    static final int TAILLE_PAGE = 500;
+
+    private ParcoursParPages() {
+    }
+
+    /**
+     * @param lecture Transaction ouverte pour la lecture de chaque page
+     * @param page Page suivant un élément (null pour la première), d'au plus la taille donnée
+     * @param maximum Nombre maximal d'éléments traités (Long.MAX_VALUE pour tous)
+     * @param action Traitement de chaque élément, hors transaction
+     */
+    static <T> void parcourir(TransactionTemplate lecture, BiFunction<T, Integer, List<T>> page,
+                              long maximum, Consumer<T> action) {
+        T dernier = null;
+        long restant = maximum;
+        while (restant > 0) {
+            int taille = (int) Math.min(TAILLE_PAGE, restant);
+            T apres = dernier;
+            List<T> elements = lecture.execute(status -> page.apply(apres, taille));
+            elements.forEach(action);
+            if (elements.size() < taille) {
+                return;
+            }
+            dernier = elements.get(elements.size() - 1);
+            restant -= elements.size();
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.reservationsalles.service;
+
+import com.reservationsalles.event.ReservationEvent;
+import com.reservationsalles.event.ReservationSerieEvent;
+import com.reservationsalles.event.ReservationsSupprimeesEvent;
+import com.reservationsalles.model.CreneauReservation;
+import com.reservationsalles.model.ReservationSerie;
+import com.reservationsalles.repository.ReservationRepository;
+import com.reservationsalles.repository.ReservationSerieRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Index en mémoire des créneaux réservés, par salle
+ *
+ * Les créneaux sont rangés dans un MoteurChevauchement, en minutes absolues
+ * (une réservation passant minuit est un intervalle comme un autre). Le test
+ * de chevauchement ne coûte donc qu'une recherche dichotomique, sans aller-retour
+ * vers la base ni allocation.
+ *
+ * Les séries récurrentes en cours y figurent aussi, par leur règle (période,
+ * horaires, sans les dates d'exception) : leurs occurrences au-delà de l'horizon
+ * de matérialisation ne sont pas des réservations.
+ *
+ * L'index est conservateur : il peut signaler un chevauchement qui n'existe
+ * plus (la base confirme alors), mais ne doit jamais en ignorer un.
+ * Il est alimenté au démarrage puis mis à jour après chaque commit.
+ * En déploiement multi-instance, le désactiver (reservation.index.enabled=false) :
+ * les réservations créées par les autres instances ne lui sont pas notifiées.
+ */
+@Component
+public class ReservationIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationIndex.class);
+
+    private final ReservationRepository reservationRepository;
+    private final ReservationSerieRepository reservationSerieRepository;
+    private final boolean enabled;
+    private final MoteurChevauchement moteur = new MoteurChevauchement();
+    /** Règles des séries par salle, liste remplacée (jamais modifiée) à chaque mise à jour */
+    private final Map<Long, List<RegleSerie>> series = new ConcurrentHashMap<>();
+    private volatile boolean pret;
+
+    @Autowired
+    public ReservationIndex(ReservationRepository reservationRepository,
+                            ReservationSerieRepository reservationSerieRepository,
+                            @Value("${reservation.index.enabled:true}") boolean enabled) {
+        this.reservationRepository = reservationRepository;
+        this.reservationSerieRepository = reservationSerieRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Indique si l'index peut être consulté (activé et préchauffé)
+     */
+    public boolean isActif() {
+        return enabled && pret;
+    }
+
+    /**
+     * Charge les créneaux à venir au démarrage de l'application
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void prechauffer() {
+        if (!enabled) {
+            return;
+        }
+        // Dès la veille : ses réservations passant minuit débordent sur aujourd'hui
+        List<CreneauReservation> creneaux = reservationRepository.findCreneauxAPartirDu(LocalDate.now().minusDays(1));
+        creneaux.forEach(this::ajouter);
+        List<ReservationSerie> enCours = reservationSerieRepository.findEnCoursAPartirDu(LocalDate.now().minusDays(1));
+        enCours.forEach(this::ajouterSerie);
+        pret = true;
+        log.info("Index des réservations préchauffé : {} créneaux et {} séries sur {} salles",
+                creneaux.size(), enCours.size(), moteur.nombreSalles());
+    }
+
+    /**
+     * Met à jour l'index une fois la transaction validée
+     * (fallbackExecution : appliqué immédiatement hors transaction),
+     * avant la libération des verrous de ReservationLocks
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onReservationEvent(ReservationEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (event.avant() != null) {
+            retirer(event.avant());
+        }
+        if (event.apres() != null) {
+            ajouter(event.apres());
+        }
+    }
+
+    /**
+     * Retire de l'index les réservations supprimées avec leur salle ou leur utilisateur
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onReservationsSupprimees(ReservationsSupprimeesEvent event) {
+        if (!enabled) {
+            return;
+        }
+        event.creneaux().forEach(this::retirer);
+    }
+
+    /**
+     * Ajoute ou retire la règle d'une série une fois la transaction validée
+     * (une série supprimée reste signalée jusqu'au commit, la base confirme)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onReservationSerieEvent(ReservationSerieEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (event.creation()) {
+            ajouterSerie(event.serie());
+        } else {
+            series.computeIfPresent(event.serie().getSalle().getId(), (salleId, regles) -> {
+                List<RegleSerie> restantes = regles.stream()
+                        .filter(regle -> regle.serieId() != event.serie().getId())
+                        .toList();
+                return restantes.isEmpty() ? null : restantes;
+            });
+        }
+    }
+
+    /**
+     * Teste si un créneau peut chevaucher une réservation indexée
+     * (y compris d'un jour sur l'autre)
+     *
+     * @param salleId ID de la salle
+     * @param jourEpoch Jour du créneau (jours depuis l'epoch)
+     * @param minuteDebut Minute de début depuis minuit
+     * @param minuteFin Minute de fin depuis minuit (au-delà de 1440 le lendemain)
+     * @param reservationIdExclue ID de la réservation en cours d'édition (null pour création)
+     * @return true si un chevauchement est possible (à confirmer en base)
+     */
+    public boolean chevauchementPossible(Long salleId, int jourEpoch, int minuteDebut,
+                                         int minuteFin, Long reservationIdExclue) {
+        long exclue = reservationIdExclue != null ? reservationIdExclue : MoteurChevauchement.AUCUN;
+        return moteur.premierChevauchement(salleId,
+                MoteurChevauchement.minuteAbsolue(jourEpoch, minuteDebut),
+                MoteurChevauchement.minuteAbsolue(jourEpoch, minuteFin), exclue) != MoteurChevauchement.AUCUN;
+    }
+
+    /**
+     * Teste si un créneau peut chevaucher une occurrence d'une série de la salle
+     * (matérialisée ou non ; les dates d'exception ne sont pas prises en compte)
+     *
+     * @param salleId ID de la salle
+     * @param jourEpoch Jour du créneau (jours depuis l'epoch)
+     * @param minuteDebut Minute de début depuis minuit
+     * @param minuteFin Minute de fin depuis minuit (au-delà de 1440 le lendemain)
+     * @param serieIdExclue ID de la série de la réservation en cours d'édition (null si aucune)
+     * @return true si un chevauchement est possible (à confirmer en base)
+     */
+    public boolean chevauchementSeriePossible(Long salleId, int jourEpoch, int minuteDebut,
+                                              int minuteFin, Long serieIdExclue) {
+        for (RegleSerie regle : series.getOrDefault(salleId, List.of())) {
+            if (serieIdExclue != null && regle.serieId() == serieIdExclue) {
+                continue;
+            }
+            // Jour du créneau, puis lendemain s'il passe minuit (minutes ramenées à ce jour)
+            for (int decalage = 0; decalage * CreneauReservation.MINUTES_PAR_JOUR < minuteFin; decalage++) {
+                int minutesAvant = decalage * CreneauReservation.MINUTES_PAR_JOUR;
+                if (regle.seProduitLe(jourEpoch + decalage)
+                        && regle.minuteDebut() < minuteFin - minutesAvant
+                        && regle.minuteFin() > minuteDebut - minutesAvant) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Retire les créneaux et séries terminés de l'index (chaque nuit)
+     */
+    @Scheduled(cron = "${reservation.index.purge-cron:0 0 3 * * *}")
+    public void purgerJoursPasses() {
+        // Les réservations de la veille passant minuit occupent encore aujourd'hui
+        int aujourdhui = (int) LocalDate.now().toEpochDay();
+        moteur.retirerTerminesAvant(MoteurChevauchement.minuteAbsolue(aujourdhui, 0));
+        for (Long salleId : series.keySet()) {
+            series.computeIfPresent(salleId, (id, regles) -> {
+                List<RegleSerie> enCours = regles.stream().filter(regle -> regle.jourFin() >= aujourdhui).toList();
+                return enCours.isEmpty() ? null : enCours;
+            });
+        }
+    }
+
+    void ajouter(CreneauReservation creneau) {
+        // Créneau sans ID : jamais enregistré en base, rien à indexer
+        if (creneau.reservationId() != null) {
+            moteur.ajouter(creneau.salleId(), creneau.reservationId(), debut(creneau),
+                    MoteurChevauchement.minuteAbsolue(creneau.jourEpoch(), creneau.minuteFin()));
+        }
+    }
+
+    void retirer(CreneauReservation creneau) {
+        if (creneau.reservationId() != null) {
+            moteur.retirer(creneau.salleId(), creneau.reservationId(), debut(creneau));
+        }
+    }
+
+    void ajouterSerie(ReservationSerie serie) {
+        RegleSerie regle = new RegleSerie(serie.getId(),
+                (int) serie.getDateDebut().toEpochDay(), (int) serie.getDateFin().toEpochDay(),
+                serie.getPeriodeJours(),
+                CreneauReservation.minuteDebut(serie.getHeureDebut()),
+                CreneauReservation.minuteFin(serie.getHeureDebut(), serie.getHeureFin()));
+        series.merge(serie.getSalle().getId(), List.of(regle), (regles, nouvelle) ->
+                Stream.concat(regles.stream(), nouvelle.stream()).toList());
+    }
+
+    private static int debut(CreneauReservation creneau) {
+        return MoteurChevauchement.minuteAbsolue(creneau.jourEpoch(), creneau.minuteDebut());
+    }
+
+    /**
+     * Règle d'une série en jours depuis l'epoch et minutes depuis minuit
+     */
+    private record RegleSerie(long serieId, int jourDebut, int jourFin, int periodeJours,
+                              int minuteDebut, int minuteFin) {
+
+        boolean seProduitLe(int jourEpoch) {
+            return jourEpoch >= jourDebut && jourEpoch <= jourFin && (jourEpoch - jourDebut) % periodeJours == 0;
+        }
+    }
+}
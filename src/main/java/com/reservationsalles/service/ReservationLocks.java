@@ -0,0 +1,118 @@
+package com.reservationsalles.service;
+
+import com.reservationsalles.exception.ReservationConflictException;
+import com.reservationsalles.model.SalleJour;
+import com.reservationsalles.repository.SalleRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Verrous d'écriture des réservations, par salle et par jour
+ *
+ * Ferme la fenêtre "vérification puis insertion" de ReservationService :
+ * deux réservations concurrentes sur la même salle et le même jour sont
+ * sérialisées, celles de salles différentes restent parallèles.
+ *
+ * - En mémoire : verrous répartis (striped) indexés par (salleId, date),
+ *   tenus jusqu'à la fin de la transaction courante (commit ou rollback)
+ * - Optionnellement en base (reservation.verrouillage.base=true) :
+ *   SELECT ... FOR UPDATE sur la ligne de la salle, pour les déploiements multi-instance
+ */
+@Component
+public class ReservationLocks {
+
+    private final SalleRepository salleRepository;
+    private final ReentrantLock[] verrous;
+    private final long timeoutMs;
+    private final boolean verrouBase;
+
+    @Autowired
+    public ReservationLocks(SalleRepository salleRepository,
+                            @Value("${reservation.verrouillage.stripes:1024}") int stripes,
+                            @Value("${reservation.verrouillage.timeout-ms:5000}") long timeoutMs,
+                            @Value("${reservation.verrouillage.base:false}") boolean verrouBase) {
+        Assert.isTrue(stripes > 0 && Integer.bitCount(stripes) == 1, "Le nombre de verrous doit être une puissance de 2");
+        this.salleRepository = salleRepository;
+        this.verrous = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            verrous[i] = new ReentrantLock();
+        }
+        this.timeoutMs = timeoutMs;
+        this.verrouBase = verrouBase;
+    }
+
+    /**
+     * Acquiert le verrou de (salle, date) jusqu'à la fin de la transaction courante
+     *
+     * @param salleId ID de la salle
+     * @param date Date de la réservation
+     * @throws ReservationConflictException si le verrou n'est pas obtenu dans le délai imparti
+     */
+    public void verrouiller(Long salleId, LocalDate date) {
+        Assert.state(TransactionSynchronizationManager.isSynchronizationActive(),
+                "Le verrouillage d'une réservation exige une transaction active");
+
+        ReentrantLock verrou = verrous[stripe(salleId, date)];
+        try {
+            if (!verrou.tryLock(timeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new ReservationConflictException(
+                        "La salle est en cours de réservation par un autre utilisateur, veuillez réessayer");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReservationConflictException("Réservation interrompue, veuillez réessayer");
+        }
+
+        // Libéré en dernier : l'index en mémoire (ReservationIndex) est mis à jour
+        // lui aussi en fin de transaction et doit l'être avant qu'un autre
+        // thread ne le consulte sous ce verrou
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                verrou.unlock();
+            }
+
+            @Override
+            public int getOrder() {
+                return Ordered.LOWEST_PRECEDENCE;
+            }
+        });
+
+        if (verrouBase) {
+            salleRepository.findByIdForUpdate(salleId);
+        }
+    }
+
+    /**
+     * Acquiert les verrous de plusieurs couples (salle, jour) pour un traitement par lot
+     * Les verrous sont pris dans l'ordre de leur indice : deux lots concurrents
+     * ne peuvent pas s'interbloquer
+     *
+     * @param cles Couples (salle, jour) à verrouiller
+     * @throws ReservationConflictException si un verrou n'est pas obtenu dans le délai imparti
+     */
+    public void verrouillerTous(Collection<SalleJour> cles) {
+        cles.stream()
+                .sorted(Comparator.comparingInt((SalleJour cle) -> stripe(cle.salleId(), cle.date()))
+                        .thenComparing(SalleJour::salleId))
+                .forEach(cle -> verrouiller(cle.salleId(), cle.date()));
+    }
+
+    int stripe(Long salleId, LocalDate date) {
+        long h = salleId * 0x9E3779B97F4A7C15L + date.toEpochDay();
+        h ^= (h >>> 32);
+        h ^= (h >>> 16);
+        return (int) h & (verrous.length - 1);
+    }
+}
@@ -0,0 +1,261 @@
+package com.reservationsalles.service;
+
+import com.reservationsalles.event.ReservationEvent;
+import com.reservationsalles.event.ReservationSerieEvent;
+import com.reservationsalles.exception.ReservationConflictException;
+import com.reservationsalles.exception.ResourceNotFoundException;
+import com.reservationsalles.model.CreneauReservation;
+import com.reservationsalles.model.Reservation;
+import com.reservationsalles.model.ReservationSerie;
+import com.reservationsalles.model.Salle;
+import com.reservationsalles.model.SalleJour;
+import com.reservationsalles.model.Utilisateur;
+import com.reservationsalles.repository.ReservationRepository;
+import com.reservationsalles.repository.ReservationSerieRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Service métier pour la gestion des Séries de réservations récurrentes
+ *
+ * Une série est vérifiée une seule fois, par calcul sur sa règle :
+ * - contre les réservations existantes de la salle (une requête sur la période)
+ * - contre les autres séries de la salle (arithmétique sur les périodes)
+ * Ses occurrences ne sont créées en Reservation que sur un horizon glissant.
+ */
+@Service
+@Transactional
+public class ReservationSerieService {
+
+    private final ReservationSerieRepository reservationSerieRepository;
+    private final ReservationRepository reservationRepository;
+    private final UtilisateurService utilisateurService;
+    private final SalleService salleService;
+    private final ReservationLocks reservationLocks;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int horizonJours;
+    private final int dureeMaxJours;
+
+    @Autowired
+    public ReservationSerieService(ReservationSerieRepository reservationSerieRepository,
+                                   ReservationRepository reservationRepository,
+                                   UtilisateurService utilisateurService,
+                                   SalleService salleService,
+                                   ReservationLocks reservationLocks,
+                                   ApplicationEventPublisher eventPublisher,
+                                   TransactionTemplate transactionTemplate,
+                                   @Value("${reservation.serie.horizon-jours:28}") int horizonJours,
+                                   @Value("${reservation.serie.duree-max-jours:731}") int dureeMaxJours) {
+        this.reservationSerieRepository = reservationSerieRepository;
+        this.reservationRepository = reservationRepository;
+        this.utilisateurService = utilisateurService;
+        this.salleService = salleService;
+        this.reservationLocks = reservationLocks;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.horizonJours = horizonJours;
+        this.dureeMaxJours = dureeMaxJours;
+    }
+
+    /**
+     * Récupère une série par son ID
+     *
+     * @param id ID de la série
+     * @return La série trouvée
+     * @throws ResourceNotFoundException si la série n'existe pas
+     */
+    @Transactional(readOnly = true)
+    public ReservationSerie findById(Long id) {
+        return reservationSerieRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Série", "id", id));
+    }
+
+    /**
+     * Calcule les occurrences d'une série sur une période (sans les matérialiser)
+     *
+     * @param id ID de la série
+     * @param du Début de la période (inclus)
+     * @param au Fin de la période (incluse)
+     * @return Liste des dates d'occurrence
+     */
+    @Transactional(readOnly = true)
+    public List<LocalDate> findOccurrences(Long id, LocalDate du, LocalDate au) {
+        return findById(id).occurrences(du, au).toList();
+    }
+
+    /**
+     * Crée une série après validation et vérification des conflits sur toute sa durée
+     *
+     * @param serie Série à créer (utilisateur et salle portant leur ID)
+     * @return La série créée, occurrences de l'horizon matérialisées
+     * @throws ReservationConflictException si une occurrence entre en conflit
+     * @throws IllegalArgumentException si les données sont invalides
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public ReservationSerie save(ReservationSerie serie) {
+        if (serie.getUtilisateur() == null || serie.getUtilisateur().getId() == null) {
+            throw new IllegalArgumentException("L'utilisateur est obligatoire");
+        }
+        if (serie.getSalle() == null || serie.getSalle().getId() == null) {
+            throw new IllegalArgumentException("La salle est obligatoire");
+        }
+
+        Utilisateur utilisateur = utilisateurService.findById(serie.getUtilisateur().getId());
+        Salle salle = salleService.findById(serie.getSalle().getId());
+        serie.setUtilisateur(utilisateur);
+        serie.setSalle(salle);
+
+        valider(serie, salle);
+
+        // Toutes les occurrences sont verrouillées : une réservation ponctuelle
+        // concurrente sur l'un de ces jours attend la fin de la création
+        reservationLocks.verrouillerTous(serie.occurrences(serie.getDateDebut(), serie.getDateFin())
+                .map(date -> new SalleJour(salle.getId(), date))
+                .toList());
+        checkForConflicts(serie);
+
+        serie.setMaterialiseeJusqua(serie.getDateDebut().minusDays(1));
+        ReservationSerie saved = reservationSerieRepository.save(serie);
+        materialiser(saved, LocalDate.now().plusDays(horizonJours));
+        eventPublisher.publishEvent(ReservationSerieEvent.creation(saved));
+        return saved;
+    }
+
+    /**
+     * Supprime une série : ses occurrences à venir sont supprimées,
+     * les occurrences passées sont conservées comme réservations indépendantes
+     *
+     * @param id ID de la série à supprimer
+     * @throws ResourceNotFoundException si la série n'existe pas
+     */
+    public void delete(Long id) {
+        ReservationSerie serie = findById(id);
+        LocalDate aujourdhui = LocalDate.now();
+        for (Reservation reservation : reservationRepository.findBySerie(serie)) {
+            if (reservation.getDateReservation().isBefore(aujourdhui)) {
+                reservation.setSerie(null);
+            } else {
+                CreneauReservation creneau = CreneauReservation.of(reservation);
+                reservationRepository.delete(reservation);
+                eventPublisher.publishEvent(ReservationEvent.suppression(creneau));
+            }
+        }
+        reservationSerieRepository.delete(serie);
+        eventPublisher.publishEvent(ReservationSerieEvent.suppression(serie));
+    }
+
+    /**
+     * Matérialise chaque nuit les occurrences entrant dans l'horizon glissant
+     * Une transaction par série : une série en échec ne bloque pas les autres
+     */
+    @Scheduled(cron = "${reservation.serie.materialisation-cron:0 30 2 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void materialiserHorizon() {
+        LocalDate horizon = LocalDate.now().plusDays(horizonJours);
+        for (ReservationSerie serie : reservationSerieRepository.findAMaterialiser(horizon)) {
+            transactionTemplate.executeWithoutResult(status ->
+                    materialiser(reservationSerieRepository.findById(serie.getId()).orElseThrow(), horizon));
+        }
+    }
+
+    /**
+     * Crée les Reservation des occurrences comprises entre la dernière date
+     * matérialisée et l'horizon (pas de vérification de conflit : la règle
+     * a été vérifiée à la création et les réservations ponctuelles en tiennent compte)
+     */
+    private void materialiser(ReservationSerie serie, LocalDate horizon) {
+        LocalDate du = serie.getMaterialiseeJusqua().plusDays(1);
+        LocalDate au = horizon.isBefore(serie.getDateFin()) ? horizon : serie.getDateFin();
+        if (au.isBefore(du)) {
+            return;
+        }
+
+        List<Reservation> occurrences = serie.occurrences(du, au)
+                .map(date -> {
+                    Reservation reservation = new Reservation(date, serie.getHeureDebut(), serie.getHeureFin(),
+                            serie.getUtilisateur(), serie.getSalle());
+                    reservation.setSerie(serie);
+                    return reservation;
+                })
+                .toList();
+        reservationRepository.saveAll(occurrences);
+        occurrences.forEach(reservation ->
+                eventPublisher.publishEvent(ReservationEvent.creation(CreneauReservation.of(reservation))));
+        serie.setMaterialiseeJusqua(au);
+    }
+
+    private void valider(ReservationSerie serie, Salle salle) {
+        if (!salle.isDisponible()) {
+            throw new IllegalArgumentException("La salle '" + salle.getNom() + "' n'est pas disponible");
+        }
+        if (serie.getDateDebut() == null || serie.getDateFin() == null) {
+            throw new IllegalArgumentException("Les dates de début et de fin sont obligatoires");
+        }
+        if (serie.getDateDebut().isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("La date de début ne peut pas être dans le passé");
+        }
+        if (serie.getDateFin().isAfter(CreneauReservation.DATE_MAX)) {
+            throw new IllegalArgumentException("La date de fin ne peut pas dépasser le " + CreneauReservation.DATE_MAX);
+        }
+        if (serie.getDateFin().isBefore(serie.getDateDebut())) {
+            throw new IllegalArgumentException("La date de fin doit être après la date de début");
+        }
+        if (serie.getDateFin().isAfter(serie.getDateDebut().plusDays(dureeMaxJours))) {
+            throw new IllegalArgumentException("Une série ne peut pas dépasser " + dureeMaxJours + " jours");
+        }
+        if (serie.getIntervalleSemaines() < 1) {
+            throw new IllegalArgumentException("L'intervalle doit être d'au moins 1 semaine");
+        }
+        if (serie.getHeureDebut() == null || serie.getHeureFin() == null
+                || !serie.getHeureFin().isAfter(serie.getHeureDebut())) {
+            throw new IllegalArgumentException("L'heure de fin doit être après l'heure de début");
+        }
+    }
+
+    /**
+     * Vérifie la série contre l'existant, sans développer ses occurrences en base :
+     * 1. Réservations de la salle sur la période aux horaires chevauchants,
+     *    y compris celles de la veille passant minuit (une requête),
+     *    filtrées par la règle de récurrence
+     * 2. Séries de la salle aux horaires chevauchants : première date commune
+     *    calculée par arithmétique sur les périodes
+     */
+    private void checkForConflicts(ReservationSerie serie) {
+        Long salleId = serie.getSalle().getId();
+
+        int minuteDebut = CreneauReservation.minuteDebut(serie.getHeureDebut());
+        int minuteFin = CreneauReservation.minuteFin(serie.getHeureDebut(), serie.getHeureFin());
+        for (CreneauReservation creneau : reservationRepository.findCreneauxChevauchantsSurPeriode(salleId,
+                (int) serie.getDateDebut().toEpochDay(), (int) serie.getDateFin().toEpochDay(), minuteDebut, minuteFin)) {
+            // Occurrence le jour de la réservation, ou le lendemain si elle passe minuit
+            for (LocalDate date : List.of(creneau.dateReservation(), creneau.dateReservation().plusDays(1))) {
+                if (creneau.chevauche((int) date.toEpochDay(), minuteDebut, minuteFin) && serie.seProduitLe(date)) {
+                    throw conflit(serie, date, creneau.heureDebut().toString(), creneau.heureFin().toString());
+                }
+            }
+        }
+
+        for (ReservationSerie autre : reservationSerieRepository.findSeriesChevauchantes(
+                salleId, serie.getDateDebut(), serie.getDateFin(), serie.getHeureDebut(), serie.getHeureFin())) {
+            serie.premiereOccurrenceCommune(autre).ifPresent(date -> {
+                throw conflit(serie, date, autre.getHeureDebut().toString(), autre.getHeureFin().toString());
+            });
+        }
+    }
+
+    private static ReservationConflictException conflit(ReservationSerie serie, LocalDate date,
+                                                        String heureDebut, String heureFin) {
+        return new ReservationConflictException(serie.getSalle().getNom(), date.toString(), heureDebut, heureFin);
+    }
+}
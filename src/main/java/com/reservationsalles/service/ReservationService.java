@@ -1,17 +1,51 @@
 package com.reservationsalles.service;
 
+import com.reservationsalles.dto.FiltreReservation;
+import com.reservationsalles.dto.ReservationInfo;
+import com.reservationsalles.dto.ResultatReservation;
+import com.reservationsalles.event.ReservationEvent;
 import com.reservationsalles.exception.ReservationConflictException;
 import com.reservationsalles.exception.ResourceNotFoundException;
+import com.reservationsalles.model.CreneauReservation;
 import com.reservationsalles.model.Reservation;
+import com.reservationsalles.model.ReservationSerie;
 import com.reservationsalles.model.Salle;
+import com.reservationsalles.model.SalleJour;
 import com.reservationsalles.model.Utilisateur;
+import com.reservationsalles.pagination.Curseur;
+import com.reservationsalles.pagination.PageCurseur;
 import com.reservationsalles.repository.ReservationRepository;
+import com.reservationsalles.repository.ReservationSerieRepository;
+import com.reservationsalles.repository.ReservationSpecifications;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service métier pour la gestion des Réservations
@@ -20,19 +54,48 @@ import java.util.List;
  */
 @Service
 @Transactional
+@Timed(value = "service.reservations", description = "Appels du service (méthode, exception)")
 public class ReservationService {
 
+    /**
+     * Tris proposés par la liste ; l'ID termine chaque tri pour rendre la clé unique
+     */
+    private static final Map<String, Sort> TRIS = Map.of(
+            "date", Sort.by("dateReservation", "heureDebut", "id"),
+            "date_desc", Sort.by(Sort.Direction.DESC, "dateReservation", "heureDebut", "id"),
+            "id", Sort.by("id")
+    );
+
     private final ReservationRepository reservationRepository;
+    private final ReservationSerieRepository reservationSerieRepository;
     private final UtilisateurService utilisateurService;
     private final SalleService salleService;
+    private final ReservationIndex reservationIndex;
+    private final ReservationLocks reservationLocks;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate lecturePages;
 
     @Autowired
     public ReservationService(ReservationRepository reservationRepository,
+                              ReservationSerieRepository reservationSerieRepository,
                               UtilisateurService utilisateurService,
-                              SalleService salleService) {
+                              SalleService salleService,
+                              ReservationIndex reservationIndex,
+                              ReservationLocks reservationLocks,
+                              ApplicationEventPublisher eventPublisher,
+                              MeterRegistry meterRegistry,
+                              PlatformTransactionManager transactionManager) {
         this.reservationRepository = reservationRepository;
+        this.reservationSerieRepository = reservationSerieRepository;
         this.utilisateurService = utilisateurService;
         this.salleService = salleService;
+        this.reservationIndex = reservationIndex;
+        this.reservationLocks = reservationLocks;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.lecturePages = new TransactionTemplate(transactionManager);
+        this.lecturePages.setReadOnly(true);
     }
 
     /**
@@ -45,6 +108,28 @@ public class ReservationService {
         return reservationRepository.findAll();
     }
 
+    /**
+     * Récupère une page de réservations, paginée par clé (keyset)
+     * Chaque page est lue par "WHERE (colonnes de tri) > (dernière ligne)" :
+     * le coût ne dépend pas de la profondeur, contrairement à un OFFSET
+     * Utilisateur et salle sont chargés dans la même requête (affichés par la liste)
+     * 
+     * @param filtre Filtres facultatifs
+     * @param tri Clé de tri (date, date_desc, id), "date" si inconnue
+     * @param curseur Jeton de la page précédente (null pour la première page)
+     * @param taille Nombre d'éléments par page (borné entre 1 et {@value PageCurseur#TAILLE_MAX})
+     * @return La page et le jeton de la suivante
+     */
+    @Transactional(readOnly = true)
+    public PageCurseur<Reservation> findPage(FiltreReservation filtre, String tri, String curseur, int taille) {
+        Sort sort = TRIS.getOrDefault(tri, TRIS.get("date"));
+        return PageCurseur.of(reservationRepository.findBy(ReservationSpecifications.filtre(filtre)
+                        .and(ReservationSpecifications.avecUtilisateurEtSalle()),
+                requete -> requete.sortBy(sort)
+                        .limit(PageCurseur.borner(taille))
+                        .scroll(Curseur.decoder(curseur, sort))));
+    }
+
     /**
      * Récupère une réservation par son ID
      * 
@@ -106,48 +191,218 @@ public class ReservationService {
         return reservationRepository.findFutureReservationsBySalle(salle, LocalDate.now());
     }
 
+    /**
+     * Parcourt les réservations d'une période page par page (export : projection,
+     * aucune entité gérée), chaque page lue dans une transaction courte
+     * Le traitement s'exécute entre les pages, sans transaction ni connexion retenue
+     *
+     * @param du Début de la période (inclus, null pour aucune borne)
+     * @param au Fin de la période (incluse, null pour aucune borne)
+     * @param action Traitement de chaque réservation, dans l'ordre chronologique
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void parcourirReservations(LocalDate du, LocalDate au, Consumer<ReservationInfo> action) {
+        ParcoursParPages.parcourir(lecturePages, (apres, taille) -> apres == null
+                ? reservationRepository.findPageReservations(du, au, null, null, null, Limit.of(taille))
+                : reservationRepository.findPageReservations(du, au, apres.dateReservation(),
+                        apres.heureDebut(), apres.id(), Limit.of(taille)), Long.MAX_VALUE, action);
+    }
+
+    /**
+     * Parcourt les réservations futures d'une salle page par page (projection) :
+     * aucune liste complète en mémoire, aucune transaction ouverte pendant le traitement
+     *
+     * @param salleId ID d'une salle existante
+     * @param action Traitement de chaque réservation, dans l'ordre chronologique
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void parcourirFutureReservationsBySalle(Long salleId, Consumer<ReservationInfo> action) {
+        LocalDate dateActuelle = LocalDate.now();
+        ParcoursParPages.parcourir(lecturePages, (apres, taille) -> apres == null
+                ? reservationRepository.findPageFutureReservationsBySalle(salleId, dateActuelle,
+                        null, null, null, Limit.of(taille))
+                : reservationRepository.findPageFutureReservationsBySalle(salleId, dateActuelle,
+                        apres.dateReservation(), apres.heureDebut(), apres.id(), Limit.of(taille)),
+                Long.MAX_VALUE, action);
+    }
+
+    /**
+     * Parcourt les réservations futures d'un utilisateur page par page
+     *
+     * @param utilisateurId ID d'un utilisateur existant
+     * @param action Traitement de chaque réservation, dans l'ordre chronologique
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void parcourirFutureReservationsByUtilisateur(Long utilisateurId, Consumer<ReservationInfo> action) {
+        LocalDate dateActuelle = LocalDate.now();
+        ParcoursParPages.parcourir(lecturePages, (apres, taille) -> apres == null
+                ? reservationRepository.findPageFutureReservationsByUtilisateur(utilisateurId, dateActuelle,
+                        null, null, null, Limit.of(taille))
+                : reservationRepository.findPageFutureReservationsByUtilisateur(utilisateurId, dateActuelle,
+                        apres.dateReservation(), apres.heureDebut(), apres.id(), Limit.of(taille)),
+                Long.MAX_VALUE, action);
+    }
+
     /**
      * Crée une nouvelle réservation après validation des règles métier
+     * La vérification de conflit et l'insertion se font sous le verrou (salle, date),
+     * en READ_COMMITTED pour voir les réservations validées pendant l'attente du verrou
      * 
      * @param reservation Réservation à créer
      * @return La réservation créée
      * @throws ReservationConflictException si un conflit est détecté
      * @throws IllegalArgumentException si les données sont invalides
      */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public Reservation save(Reservation reservation) {
-        // Validation 1 : Vérifier que l'utilisateur et la salle existent
-        if (reservation.getUtilisateur() == null || reservation.getUtilisateur().getId() == null) {
-            throw new IllegalArgumentException("L'utilisateur est obligatoire");
-        }
-        if (reservation.getSalle() == null || reservation.getSalle().getId() == null) {
-            throw new IllegalArgumentException("La salle est obligatoire");
+        try {
+            // Validation 1 : Vérifier que l'utilisateur et la salle existent
+            if (reservation.getUtilisateur() == null || reservation.getUtilisateur().getId() == null) {
+                throw new IllegalArgumentException("L'utilisateur est obligatoire");
+            }
+            if (reservation.getSalle() == null || reservation.getSalle().getId() == null) {
+                throw new IllegalArgumentException("La salle est obligatoire");
+            }
+
+            // Charger les entités complètes
+            Utilisateur utilisateur = utilisateurService.findById(reservation.getUtilisateur().getId());
+            Salle salle = salleService.findById(reservation.getSalle().getId());
+            reservation.setUtilisateur(utilisateur);
+            reservation.setSalle(salle);
+
+            // Validations 2 à 4 : salle disponible, date future, créneau cohérent
+            validerCreneau(reservation, salle);
+
+            // Validation 5 : CRITIQUE - Vérifier qu'il n'y a pas de conflit (sous verrou)
+            verrouillerJours(reservation);
+            checkForConflicts(reservation);
+
+            Reservation saved = reservationRepository.save(reservation);
+            eventPublisher.publishEvent(ReservationEvent.creation(CreneauReservation.of(saved)));
+            return saved;
+        } catch (ReservationConflictException | IllegalArgumentException e) {
+            throw rejet("creation", e);
         }
+    }
 
-        // Charger les entités complètes
-        Utilisateur utilisateur = utilisateurService.findById(reservation.getUtilisateur().getId());
-        Salle salle = salleService.findById(reservation.getSalle().getId());
-        reservation.setUtilisateur(utilisateur);
-        reservation.setSalle(salle);
-
-        // Validation 2 : Vérifier que la salle est disponible
-        if (!salle.isDisponible()) {
-            throw new IllegalArgumentException("La salle '" + salle.getNom() + "' n'est pas disponible");
+    /**
+     * Crée un lot de réservations (import de réservations récurrentes, saisons...)
+     * 
+     * Chaque réservation est acceptée ou rejetée individuellement, sans exception :
+     * 1. Utilisateurs et salles du lot chargés en deux requêtes
+     * 2. Réservations valides regroupées par (salle, jour), groupes verrouillés
+     * 3. Une seule requête de créneaux par groupe ; les chevauchements avec
+     *    l'existant et à l'intérieur du lot sont détectés en mémoire
+     * 4. Réservations acceptées insérées ensemble (batching JDBC)
+     * 
+     * @param reservations Réservations à créer (utilisateur et salle portant leur ID)
+     * @return Résultat de chaque réservation, dans l'ordre du lot
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public List<ResultatReservation> saveAll(List<Reservation> reservations) {
+        ResultatReservation[] resultats = new ResultatReservation[reservations.size()];
+
+        Set<Long> utilisateurIds = reservations.stream()
+                .map(Reservation::getUtilisateur).filter(Objects::nonNull)
+                .map(Utilisateur::getId).filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> salleIds = reservations.stream()
+                .map(Reservation::getSalle).filter(Objects::nonNull)
+                .map(Salle::getId).filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Utilisateur> utilisateurs = utilisateurService.findAllById(utilisateurIds).stream()
+                .collect(Collectors.toMap(Utilisateur::getId, Function.identity()));
+        Map<Long, Salle> salles = salleService.findAllById(salleIds).stream()
+                .collect(Collectors.toMap(Salle::getId, Function.identity()));
+
+        // Validations unitaires et regroupement par (salle, jour)
+        Map<SalleJour, List<Integer>> groupes = new LinkedHashMap<>();
+        for (int i = 0; i < reservations.size(); i++) {
+            Reservation reservation = reservations.get(i);
+            try {
+                Utilisateur utilisateur = reservation.getUtilisateur() != null
+                        ? utilisateurs.get(reservation.getUtilisateur().getId()) : null;
+                Salle salle = reservation.getSalle() != null
+                        ? salles.get(reservation.getSalle().getId()) : null;
+                if (utilisateur == null) {
+                    throw new IllegalArgumentException("Utilisateur inconnu ou non renseigné");
+                }
+                if (salle == null) {
+                    throw new IllegalArgumentException("Salle inconnue ou non renseignée");
+                }
+                reservation.setUtilisateur(utilisateur);
+                reservation.setSalle(salle);
+                validerCreneau(reservation, salle);
+                groupes.computeIfAbsent(new SalleJour(salle.getId(), reservation.getDateReservation()),
+                        cle -> new ArrayList<>()).add(i);
+            } catch (IllegalArgumentException e) {
+                resultats[i] = ResultatReservation.rejetee(i, rejet("lot", e).getMessage());
+            }
         }
 
-        // Validation 3 : Vérifier que la date n'est pas dans le passé
-        if (reservation.getDateReservation().isBefore(LocalDate.now())) {
-            throw new IllegalArgumentException("La date de réservation ne peut pas être dans le passé");
+        // Détection des conflits : une requête par groupe, le reste en mémoire
+        // (lendemain verrouillé et lu pour les groupes ayant une réservation passant minuit)
+        Set<SalleJour> verrous = new LinkedHashSet<>(groupes.keySet());
+        Set<SalleJour> debordants = new HashSet<>();
+        groupes.forEach((cle, positions) -> {
+            if (positions.stream().anyMatch(position -> reservations.get(position).isFinLendemain())) {
+                debordants.add(cle);
+                verrous.add(new SalleJour(cle.salleId(), cle.date().plusDays(1)));
+            }
+        });
+        reservationLocks.verrouillerTous(verrous);
+        List<Integer> positionsAcceptees = new ArrayList<>();
+        // Créneaux occupés (base, séries) et acceptés du lot, tous jours confondus ;
+        // référence dans le moteur = position dans connus
+        MoteurChevauchement moteur = new MoteurChevauchement();
+        List<CreneauReservation> connus = new ArrayList<>();
+        for (Map.Entry<SalleJour, List<Integer>> groupe : groupes.entrySet()) {
+            Long salleId = groupe.getKey().salleId();
+            LocalDate date = groupe.getKey().date();
+            reservationRepository.findCreneauxAutourDu(salleId, (int) date.toEpochDay())
+                    .forEach(creneau -> occuper(moteur, connus, creneau));
+            List<LocalDate> joursSeries = debordants.contains(groupe.getKey())
+                    ? List.of(date, date.plusDays(1)) : List.of(date);
+            for (LocalDate jour : joursSeries) {
+                for (ReservationSerie serie : reservationSerieRepository.findSeriesActivesLe(salleId, jour)) {
+                    if (serie.seProduitLe(jour)) {
+                        occuper(moteur, connus, new CreneauReservation(null, salleId, jour,
+                                serie.getHeureDebut(), serie.getHeureFin()));
+                    }
+                }
+            }
+            for (int position : groupe.getValue()) {
+                Reservation reservation = reservations.get(position);
+                long conflit = moteur.premierChevauchement(salleId,
+                        MoteurChevauchement.minuteAbsolue(reservation.getJourEpoch(), reservation.getMinuteDebut()),
+                        MoteurChevauchement.minuteAbsolue(reservation.getJourEpoch(), reservation.getMinuteFin()),
+                        MoteurChevauchement.AUCUN);
+                if (conflit != MoteurChevauchement.AUCUN) {
+                    CreneauReservation occupe = connus.get((int) conflit);
+                    resultats[position] = ResultatReservation.rejetee(position, rejet("lot",
+                            new ReservationConflictException(
+                                    reservation.getSalle().getNom(),
+                                    occupe.dateReservation().toString(),
+                                    occupe.heureDebut().toString(),
+                                    occupe.heureFin().toString()
+                            )).getMessage());
+                } else {
+                    occuper(moteur, connus, CreneauReservation.of(reservation));
+                    positionsAcceptees.add(position);
+                }
+            }
         }
 
-        // Validation 4 : Vérifier que l'heure de fin est après l'heure de début
-        if (!reservation.isHeureFinApresHeureDebut()) {
-            throw new IllegalArgumentException("L'heure de fin doit être après l'heure de début");
+        // Insertion groupée des réservations acceptées
+        List<Reservation> acceptees = positionsAcceptees.stream().map(reservations::get).toList();
+        reservationRepository.saveAll(acceptees);
+        for (int position : positionsAcceptees) {
+            Reservation saved = reservations.get(position);
+            resultats[position] = ResultatReservation.acceptee(position, saved.getId());
+            eventPublisher.publishEvent(ReservationEvent.creation(CreneauReservation.of(saved)));
         }
 
-        // Validation 5 : CRITIQUE - Vérifier qu'il n'y a pas de conflit
-        checkForConflicts(reservation);
-
-        return reservationRepository.save(reservation);
+        return Arrays.asList(resultats);
     }
 
     /**
@@ -159,39 +414,41 @@ public class ReservationService {
      * @throws ResourceNotFoundException si la réservation n'existe pas
      * @throws ReservationConflictException si un conflit est détecté
      */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public Reservation update(Long id, Reservation reservationDetails) {
-        Reservation reservation = findById(id);
-
-        // Charger les entités complètes
-        Utilisateur utilisateur = utilisateurService.findById(reservationDetails.getUtilisateur().getId());
-        Salle salle = salleService.findById(reservationDetails.getSalle().getId());
-
-        // Validation : Vérifier que la salle est disponible
-        if (!salle.isDisponible()) {
-            throw new IllegalArgumentException("La salle '" + salle.getNom() + "' n'est pas disponible");
-        }
-
-        // Validation : Vérifier que la date n'est pas dans le passé
-        if (reservationDetails.getDateReservation().isBefore(LocalDate.now())) {
-            throw new IllegalArgumentException("La date de réservation ne peut pas être dans le passé");
-        }
-
-        // Validation : Vérifier que l'heure de fin est après l'heure de début
-        if (!reservationDetails.isHeureFinApresHeureDebut()) {
-            throw new IllegalArgumentException("L'heure de fin doit être après l'heure de début");
+        try {
+            Reservation reservation = findById(id);
+
+            // Charger les entités complètes
+            Utilisateur utilisateur = utilisateurService.findById(reservationDetails.getUtilisateur().getId());
+            Salle salle = salleService.findById(reservationDetails.getSalle().getId());
+
+            // Validation : salle disponible, date future, créneau cohérent
+            validerCreneau(reservationDetails, salle);
+
+            // Créneau d'origine, pour la mise à jour de l'index après commit
+            CreneauReservation avant = CreneauReservation.of(reservation);
+
+            // Une occurrence de série modifiée devient une réservation indépendante
+            detacherDeSaSerie(reservation);
+
+            // Mise à jour des champs
+            reservation.setDateReservation(reservationDetails.getDateReservation());
+            reservation.setHeureDebut(reservationDetails.getHeureDebut());
+            reservation.setHeureFin(reservationDetails.getHeureFin());
+            reservation.setUtilisateur(utilisateur);
+            reservation.setSalle(salle);
+
+            // Validation : CRITIQUE - Vérifier qu'il n'y a pas de conflit (sous verrou)
+            verrouillerJours(reservation);
+            checkForConflicts(reservation);
+
+            Reservation saved = reservationRepository.save(reservation);
+            eventPublisher.publishEvent(ReservationEvent.modification(avant, CreneauReservation.of(saved)));
+            return saved;
+        } catch (ReservationConflictException | IllegalArgumentException e) {
+            throw rejet("modification", e);
         }
-
-        // Mise à jour des champs
-        reservation.setDateReservation(reservationDetails.getDateReservation());
-        reservation.setHeureDebut(reservationDetails.getHeureDebut());
-        reservation.setHeureFin(reservationDetails.getHeureFin());
-        reservation.setUtilisateur(utilisateur);
-        reservation.setSalle(salle);
-
-        // Validation : CRITIQUE - Vérifier qu'il n'y a pas de conflit
-        checkForConflicts(reservation);
-
-        return reservationRepository.save(reservation);
     }
 
     /**
@@ -202,44 +459,186 @@ public class ReservationService {
      */
     public void delete(Long id) {
         Reservation reservation = findById(id);
+        CreneauReservation creneau = CreneauReservation.of(reservation);
+        detacherDeSaSerie(reservation);
         reservationRepository.delete(reservation);
+        eventPublisher.publishEvent(ReservationEvent.suppression(creneau));
+    }
+
+    /**
+     * Règles métier communes à la création et à la modification :
+     * salle disponible, date non passée, heures de début et de fin distinctes
+     * 
+     * @param reservation Réservation (ou nouvelles données) à valider
+     * @param salle Salle chargée
+     * @throws IllegalArgumentException si une règle n'est pas respectée
+     */
+    private void validerCreneau(Reservation reservation, Salle salle) {
+        // Vérifier que la salle est disponible
+        if (!salle.isDisponible()) {
+            throw new IllegalArgumentException("La salle '" + salle.getNom() + "' n'est pas disponible");
+        }
+
+        // Vérifier que la date n'est pas dans le passé
+        if (reservation.getDateReservation() == null) {
+            throw new IllegalArgumentException("La date de réservation est obligatoire");
+        }
+        if (reservation.getDateReservation().isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("La date de réservation ne peut pas être dans le passé");
+        }
+        if (reservation.getDateReservation().isAfter(CreneauReservation.DATE_MAX)) {
+            throw new IllegalArgumentException("La date de réservation ne peut pas dépasser le "
+                    + CreneauReservation.DATE_MAX);
+        }
+
+        // Vérifier que les heures sont distinctes (une fin plus tôt finit le lendemain)
+        if (!reservation.isHorairesValides()) {
+            throw new IllegalArgumentException("L'heure de fin doit être différente de l'heure de début");
+        }
     }
 
     /**
      * MÉTHODE CRITIQUE : Vérifie les conflits de réservation
      * 
      * Algorithme :
-     * 1. Récupère toutes les réservations de la même salle à la même date
-     * 2. Exclut la réservation en cours d'édition (si applicable)
-     * 3. Vérifie si les créneaux horaires se chevauchent
+     * 1. Consulte l'index en mémoire (réservations et règles des séries) :
+     *    s'il ne trouve aucun chevauchement, le créneau est libre et la base
+     *    n'est pas interrogée
+     * 2. Sinon (ou si l'index est inactif), confirme en base ce que l'index signale :
+     *    - séries récurrentes de la salle (règle évaluée par calcul,
+     *      occurrences pas forcément matérialisées)
+     *    - premier créneau en conflit de la même salle, du même jour ou d'un jour
+     *      voisin pour les réservations passant minuit (projection, sans entité)
+     * 3. Exclut la réservation en cours d'édition (si applicable)
+     * 4. Vérifie si les créneaux horaires se chevauchent
      * 
-     * Condition de chevauchement :
-     * - heureDebut_nouvelle < heureFin_existante ET
-     * - heureFin_nouvelle > heureDebut_existante
+     * Condition de chevauchement (créneaux encodés, minutes ramenées au même jour) :
+     * - minuteDebut_nouvelle < minuteFin_existante ET
+     * - minuteFin_nouvelle > minuteDebut_existante
      * 
      * @param reservation Réservation à vérifier
      * @throws ReservationConflictException si un conflit est détecté
      */
     private void checkForConflicts(Reservation reservation) {
-        List<Reservation> conflits = reservationRepository.findConflictingReservations(
-                reservation.getSalle().getId(),
-                reservation.getDateReservation(),
-                reservation.getHeureDebut(),
-                reservation.getHeureFin(),
-                reservation.getId()  // null lors de la création, ID lors de la modification
-        );
-
-        if (!conflits.isEmpty()) {
-            Reservation premierConflit = conflits.get(0);
-            throw new ReservationConflictException(
-                    reservation.getSalle().getNom(),
-                    reservation.getDateReservation().toString(),
-                    premierConflit.getHeureDebut().toString(),
-                    premierConflit.getHeureFin().toString()
-            );
+        Timer.Sample verification = Timer.start(meterRegistry);
+        String etape = "index";
+        String issue = "conflit";
+        try {
+            Long salleId = reservation.getSalle().getId();
+            boolean indexActif = reservationIndex.isActif();
+            boolean seriesPossibles = !indexActif || reservationIndex.chevauchementSeriePossible(salleId,
+                    reservation.getJourEpoch(), reservation.getMinuteDebut(), reservation.getMinuteFin(),
+                    reservation.getSerie() != null ? reservation.getSerie().getId() : null);
+            boolean reservationsPossibles = !indexActif || reservationIndex.chevauchementPossible(salleId,
+                    reservation.getJourEpoch(), reservation.getMinuteDebut(), reservation.getMinuteFin(),
+                    reservation.getId());
+
+            if (seriesPossibles) {
+                // Jour de la réservation, puis lendemain si elle passe minuit
+                etape = "series";
+                boolean memeJour = reservation.getHeureFin().isAfter(reservation.getHeureDebut());
+                verifierSeries(reservation, reservation.getDateReservation(), reservation.getHeureDebut(),
+                        memeJour ? reservation.getHeureFin() : LocalTime.MAX);
+                if (reservation.isFinLendemain()) {
+                    verifierSeries(reservation, reservation.getDateReservation().plusDays(1),
+                            LocalTime.MIN, reservation.getHeureFin());
+                }
+            }
+
+            if (reservationsPossibles) {
+                etape = "base";
+                Optional<CreneauReservation> conflit = reservationRepository.findPremierConflit(
+                        salleId,
+                        reservation.getJourEpoch(),
+                        reservation.getMinuteDebut(),
+                        reservation.getMinuteFin(),
+                        reservation.getId()  // null lors de la création, ID lors de la modification
+                );
+
+                if (conflit.isPresent()) {
+                    throw new ReservationConflictException(
+                            reservation.getSalle().getNom(),
+                            conflit.get().dateReservation().toString(),
+                            conflit.get().heureDebut().toString(),
+                            conflit.get().heureFin().toString()
+                    );
+                }
+            }
+            issue = "libre";
+        } finally {
+            // Dernière étape consultée (index seul, séries en base ou réservations en base)
+            // et issue de la vérification
+            verification.stop(meterRegistry.timer("reservation.conflits.verification",
+                    "etape", etape, "issue", issue));
+        }
+    }
+
+    /**
+     * Vérifie les séries récurrentes de la salle sur une partie de la réservation
+     * (un jour, horaires de ce jour)
+     */
+    private void verifierSeries(Reservation reservation, LocalDate date, LocalTime heureDebut, LocalTime heureFin) {
+        List<ReservationSerie> series = reservationSerieRepository.findSeriesChevauchantes(
+                reservation.getSalle().getId(), date, date, heureDebut, heureFin);
+        for (ReservationSerie serie : series) {
+            if (!serie.equals(reservation.getSerie()) && serie.seProduitLe(date)) {
+                throw new ReservationConflictException(
+                        reservation.getSalle().getNom(),
+                        date.toString(),
+                        serie.getHeureDebut().toString(),
+                        serie.getHeureFin().toString()
+                );
+            }
         }
     }
 
+    /**
+     * Verrouille les jours occupés par la réservation : le sien, et le lendemain
+     * si elle passe minuit (toute réservation de ce lendemain prend le même verrou)
+     */
+    private void verrouillerJours(Reservation reservation) {
+        Long salleId = reservation.getSalle().getId();
+        if (reservation.isFinLendemain()) {
+            reservationLocks.verrouillerTous(List.of(new SalleJour(salleId, reservation.getDateReservation()),
+                    new SalleJour(salleId, reservation.getDateReservation().plusDays(1))));
+        } else {
+            reservationLocks.verrouiller(salleId, reservation.getDateReservation());
+        }
+    }
+
+    /**
+     * Compte une demande rejetée, par opération et par cause
+     * (conflit de créneau ou données invalides), et renvoie l'exception
+     */
+    private RuntimeException rejet(String operation, RuntimeException e) {
+        meterRegistry.counter("reservation.rejets", "operation", operation,
+                "cause", e instanceof ReservationConflictException ? "conflit" : "validation").increment();
+        return e;
+    }
+
+    /**
+     * Retire une occurrence matérialisée de sa série : la date devient une exception
+     * de la série, pour que la règle ne la considère plus comme occupée
+     */
+    private void detacherDeSaSerie(Reservation reservation) {
+        ReservationSerie serie = reservation.getSerie();
+        if (serie != null) {
+            serie.getExceptions().add(reservation.getDateReservation());
+            reservation.setSerie(null);
+        }
+    }
+
+    /**
+     * Ajoute un créneau occupé au moteur d'un lot (référence : sa position dans connus)
+     */
+    private static void occuper(MoteurChevauchement moteur, List<CreneauReservation> connus,
+                                CreneauReservation creneau) {
+        moteur.ajouter(creneau.salleId(), connus.size(),
+                MoteurChevauchement.minuteAbsolue(creneau.jourEpoch(), creneau.minuteDebut()),
+                MoteurChevauchement.minuteAbsolue(creneau.jourEpoch(), creneau.minuteFin()));
+        connus.add(creneau);
+    }
+
     /**
      * Compte le nombre total de réservations
      * 
@@ -1,13 +1,39 @@
 package com.reservationsalles.service;
 
+import com.reservationsalles.dto.FiltreSalle;
+import com.reservationsalles.dto.GrilleOccupation;
+import com.reservationsalles.dto.RechercheDisponibilite;
+import com.reservationsalles.dto.SalleInfo;
+import com.reservationsalles.event.ReservationsSupprimeesEvent;
+import com.reservationsalles.event.StatistiqueEvent;
+import com.reservationsalles.event.StatistiqueEvent.Compteur;
 import com.reservationsalles.exception.ResourceNotFoundException;
+import com.reservationsalles.model.CreneauReservation;
 import com.reservationsalles.model.Salle;
+import com.reservationsalles.pagination.Curseur;
+import com.reservationsalles.pagination.PageCurseur;
+import com.reservationsalles.repository.ReservationRepository;
+import com.reservationsalles.repository.ReservationSerieRepository;
 import com.reservationsalles.repository.SalleRepository;
+import com.reservationsalles.repository.SalleSpecifications;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.YearMonth;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * Service métier pour la gestion des Salles
@@ -16,13 +42,42 @@ import java.util.List;
  */
 @Service
 @Transactional
+@Timed(value = "service.salles", description = "Appels du service (méthode, exception)")
 public class SalleService {
 
+    /**
+     * Tris proposés par la liste ; l'ID termine chaque tri pour rendre la clé unique
+     */
+    private static final Map<String, Sort> TRIS = Map.of(
+            "nom", Sort.by("nom", "id"),
+            "capacite", Sort.by("capacite", "id"),
+            "capacite_desc", Sort.by(Sort.Direction.DESC, "capacite", "id"),
+            "id", Sort.by("id")
+    );
+
+    private static final int SALLES_MAX_PAR_GRILLE = 200;
+
     private final SalleRepository salleRepository;
+    private final ReservationRepository reservationRepository;
+    private final ReservationSerieRepository reservationSerieRepository;
+    private final OccupationSalles occupationSalles;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate lecturePages;
 
     @Autowired
-    public SalleService(SalleRepository salleRepository) {
+    public SalleService(SalleRepository salleRepository,
+                        ReservationRepository reservationRepository,
+                        ReservationSerieRepository reservationSerieRepository,
+                        OccupationSalles occupationSalles,
+                        ApplicationEventPublisher eventPublisher,
+                        PlatformTransactionManager transactionManager) {
         this.salleRepository = salleRepository;
+        this.reservationRepository = reservationRepository;
+        this.reservationSerieRepository = reservationSerieRepository;
+        this.occupationSalles = occupationSalles;
+        this.eventPublisher = eventPublisher;
+        this.lecturePages = new TransactionTemplate(transactionManager);
+        this.lecturePages.setReadOnly(true);
     }
 
     /**
@@ -35,6 +90,38 @@ public class SalleService {
         return salleRepository.findAll();
     }
 
+    /**
+     * Récupère une page de salles, paginée par clé (keyset)
+     * Chaque page est lue par "WHERE (colonnes de tri) > (dernière ligne)" :
+     * le coût ne dépend pas de la profondeur, contrairement à un OFFSET
+     * 
+     * @param filtre Filtres facultatifs
+     * @param tri Clé de tri (nom, capacite, capacite_desc, id), "nom" si inconnue
+     * @param curseur Jeton de la page précédente (null pour la première page)
+     * @param taille Nombre d'éléments par page (borné entre 1 et {@value PageCurseur#TAILLE_MAX})
+     * @return La page et le jeton de la suivante
+     */
+    @Transactional(readOnly = true)
+    public PageCurseur<Salle> findPage(FiltreSalle filtre, String tri, String curseur, int taille) {
+        Sort sort = TRIS.getOrDefault(tri, TRIS.get("nom"));
+        return PageCurseur.of(salleRepository.findBy(SalleSpecifications.filtre(filtre),
+                requete -> requete.sortBy(sort)
+                        .limit(PageCurseur.borner(taille))
+                        .scroll(Curseur.decoder(curseur, sort))));
+    }
+
+    /**
+     * Récupère les salles correspondant à un ensemble d'ID (une seule requête)
+     * Les ID inconnus sont ignorés
+     * 
+     * @param ids ID recherchés
+     * @return Liste des salles trouvées
+     */
+    @Transactional(readOnly = true)
+    public List<Salle> findAllById(Collection<Long> ids) {
+        return salleRepository.findAllById(ids);
+    }
+
     /**
      * Récupère une salle par son ID
      * 
@@ -102,6 +189,88 @@ public class SalleService {
         return salleRepository.findSallesDisponiblesAvecCapaciteMin(true, capacite);
     }
 
+    /**
+     * Recherche les salles libres sur un créneau
+     * 
+     * Réservations : une anti-jointure en base (NOT EXISTS) ;
+     * séries récurrentes (occurrences non matérialisées) : les séries actives ce jour-là
+     * aux horaires chevauchants sont évaluées en mémoire, leurs salles sont écartées
+     * de la même requête. Deux requêtes au total, quel que soit le nombre de salles.
+     * 
+     * @param recherche Date, horaires et critères facultatifs
+     * @return Salles libres, de la plus petite capacité suffisante à la plus grande
+     * @throws IllegalArgumentException si le créneau est incomplet ou incohérent
+     */
+    @Transactional(readOnly = true)
+    public List<Salle> rechercherSallesLibres(RechercheDisponibilite recherche) {
+        recherche.verifierCreneau();
+        int capaciteMin = recherche.capaciteMin() != null ? recherche.capaciteMin() : 1;
+        int limite = recherche.limite() != null ? PageCurseur.borner(recherche.limite()) : PageCurseur.TAILLE_MAX;
+
+        int jourEpoch = (int) recherche.date().toEpochDay();
+        int minuteDebut = CreneauReservation.minuteDebut(recherche.heureDebut());
+        int minuteFin = CreneauReservation.minuteFin(recherche.heureDebut(), recherche.heureFin());
+        Set<Long> exclues = sallesOccupeesParUneSerie(recherche);
+        return exclues.isEmpty()
+                ? salleRepository.findSallesLibres(jourEpoch, minuteDebut, minuteFin,
+                        capaciteMin, localisation(recherche), Limit.of(limite))
+                : salleRepository.findSallesLibresHors(jourEpoch, minuteDebut, minuteFin,
+                        capaciteMin, localisation(recherche), exclues, Limit.of(limite));
+    }
+
+    /**
+     * Parcourt les salles libres sur un créneau page par page, chaque page lue
+     * dans une transaction courte ; le traitement s'exécute entre les pages
+     * Mêmes critères que rechercherSallesLibres, sans plafond de résultats :
+     * la limite n'est appliquée que si elle est renseignée
+     *
+     * @param recherche Date, horaires et critères facultatifs
+     * @param action Traitement de chaque salle libre, dans l'ordre des capacités
+     * @throws IllegalArgumentException si le créneau est incomplet ou incohérent
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void parcourirSallesLibres(RechercheDisponibilite recherche, Consumer<SalleInfo> action) {
+        recherche.verifierCreneau();
+        int capaciteMin = recherche.capaciteMin() != null ? recherche.capaciteMin() : 1;
+
+        int jourEpoch = (int) recherche.date().toEpochDay();
+        int minuteDebut = CreneauReservation.minuteDebut(recherche.heureDebut());
+        int minuteFin = CreneauReservation.minuteFin(recherche.heureDebut(), recherche.heureFin());
+        String localisation = localisation(recherche);
+        Set<Long> exclues = lecturePages.execute(status -> sallesOccupeesParUneSerie(recherche));
+        ParcoursParPages.parcourir(lecturePages, (SalleInfo apres, Integer taille) -> {
+            Integer apresCapacite = apres != null ? apres.capacite() : null;
+            String apresNom = apres != null ? apres.nom() : null;
+            Long apresId = apres != null ? apres.id() : null;
+            return exclues.isEmpty()
+                    ? salleRepository.findPageSallesLibres(jourEpoch, minuteDebut, minuteFin, capaciteMin,
+                            localisation, apresCapacite, apresNom, apresId, Limit.of(taille))
+                    : salleRepository.findPageSallesLibresHors(jourEpoch, minuteDebut, minuteFin, capaciteMin,
+                            localisation, exclues, apresCapacite, apresNom, apresId, Limit.of(taille));
+        }, recherche.limite() != null ? recherche.limite() : Long.MAX_VALUE, action);
+    }
+
+    /**
+     * Grilles d'occupation mensuelles de plusieurs salles (tranches de 15 minutes)
+     * Servies depuis les masques en mémoire (OccupationSalles), la base n'étant lue
+     * que pour les séries récurrentes et les mois non couverts
+     * 
+     * @param salleIds ID des salles (les ID inconnus sont ignorés)
+     * @param mois Mois demandé
+     * @return Une grille par salle trouvée
+     * @throws IllegalArgumentException si trop de salles sont demandées
+     */
+    @Transactional(readOnly = true)
+    public List<GrilleOccupation> findGrillesOccupation(Collection<Long> salleIds, YearMonth mois) {
+        if (salleIds.size() > SALLES_MAX_PAR_GRILLE) {
+            throw new IllegalArgumentException("Au plus " + SALLES_MAX_PAR_GRILLE + " salles par appel");
+        }
+        List<Long> existantes = salleRepository.findAllById(salleIds).stream().map(Salle::getId).sorted().toList();
+        return occupationSalles.grilles(existantes, mois.atDay(1), mois.atEndOfMonth()).entrySet().stream()
+                .map(grille -> GrilleOccupation.of(grille.getKey(), mois, grille.getValue()))
+                .toList();
+    }
+
     /**
      * Crée une nouvelle salle
      * 
@@ -114,7 +283,12 @@ public class SalleService {
             throw new IllegalArgumentException("La capacité doit être supérieure à 0");
         }
         
-        return salleRepository.save(salle);
+        Salle saved = salleRepository.save(salle);
+        eventPublisher.publishEvent(new StatistiqueEvent(Compteur.SALLES, 1));
+        if (saved.isDisponible()) {
+            eventPublisher.publishEvent(new StatistiqueEvent(Compteur.SALLES_DISPONIBLES, 1));
+        }
+        return saved;
     }
 
     /**
@@ -137,21 +311,35 @@ public class SalleService {
         salle.setNom(salleDetails.getNom());
         salle.setCapacite(salleDetails.getCapacite());
         salle.setLocalisation(salleDetails.getLocalisation());
-        salle.setDisponible(salleDetails.isDisponible());
+        changerDisponibilite(salle, salleDetails.isDisponible());
 
         return salleRepository.save(salle);
     }
 
     /**
      * Supprime une salle
-     * Note : Les réservations liées seront supprimées en cascade (orphanRemoval = true)
+     * Note : Les réservations liées sont supprimées en une requête, sans être chargées ;
+     * leurs créneaux encore en mémoire (index, grilles) en sont retirés après le commit
      * 
      * @param id ID de la salle à supprimer
      * @throws ResourceNotFoundException si la salle n'existe pas
      */
     public void delete(Long id) {
         Salle salle = findById(id);
+        List<CreneauReservation> creneaux = reservationRepository.findCreneauxBySalleAPartirDu(id,
+                ReservationsSupprimeesEvent.debutSuivi());
+        int reservations = reservationRepository.deleteBySalleId(id);
         salleRepository.delete(salle);
+        if (!creneaux.isEmpty()) {
+            eventPublisher.publishEvent(new ReservationsSupprimeesEvent(creneaux));
+        }
+        eventPublisher.publishEvent(new StatistiqueEvent(Compteur.SALLES, -1));
+        if (salle.isDisponible()) {
+            eventPublisher.publishEvent(new StatistiqueEvent(Compteur.SALLES_DISPONIBLES, -1));
+        }
+        if (reservations > 0) {
+            eventPublisher.publishEvent(new StatistiqueEvent(Compteur.RESERVATIONS, -reservations));
+        }
     }
 
     /**
@@ -164,7 +352,7 @@ public class SalleService {
      */
     public Salle toggleDisponibilite(Long id, boolean disponible) {
         Salle salle = findById(id);
-        salle.setDisponible(disponible);
+        changerDisponibilite(salle, disponible);
         return salleRepository.save(salle);
     }
 
@@ -177,4 +365,32 @@ public class SalleService {
     public long count() {
         return salleRepository.count();
     }
+
+    /**
+     * Modifie la disponibilité en signalant le changement au tableau de bord
+     */
+    private void changerDisponibilite(Salle salle, boolean disponible) {
+        if (salle.isDisponible() != disponible) {
+            eventPublisher.publishEvent(new StatistiqueEvent(Compteur.SALLES_DISPONIBLES, disponible ? 1 : -1));
+        }
+        salle.setDisponible(disponible);
+    }
+
+    /**
+     * Salles occupées ce jour-là par une série récurrente aux horaires chevauchants
+     * (occurrences non matérialisées, évaluées en mémoire)
+     */
+    private Set<Long> sallesOccupeesParUneSerie(RechercheDisponibilite recherche) {
+        return reservationSerieRepository
+                .findSeriesChevauchantesLe(recherche.date(), recherche.heureDebut(), recherche.heureFin())
+                .stream()
+                .filter(serie -> serie.seProduitLe(recherche.date()))
+                .map(serie -> serie.getSalle().getId())
+                .collect(Collectors.toSet());
+    }
+
+    private static String localisation(RechercheDisponibilite recherche) {
+        return recherche.localisation() == null || recherche.localisation().isBlank()
+                ? null : recherche.localisation().trim();
+    }
 }
@@ -0,0 +1,113 @@
+package com.reservationsalles.service;
+
+import com.reservationsalles.dto.TableauDeBord;
+import com.reservationsalles.event.ReservationEvent;
+import com.reservationsalles.event.StatistiqueEvent;
+import com.reservationsalles.repository.ReservationRepository;
+import com.reservationsalles.repository.SalleRepository;
+import com.reservationsalles.repository.UtilisateurRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compteurs du tableau de bord, tenus en mémoire
+ *
+ * Initialisés au démarrage par quatre requêtes COUNT, puis ajustés après chaque
+ * commit par les événements des services (ReservationEvent, StatistiqueEvent) :
+ * la page d'accueil ne coûte alors aucune requête.
+ * Une réconciliation périodique avec la base corrige les écarts
+ * (écritures hors services, autres instances de l'application).
+ * Tant que les compteurs ne sont pas initialisés, les valeurs sont lues en base.
+ */
+@Service
+public class StatistiquesService {
+
+    private static final Logger log = LoggerFactory.getLogger(StatistiquesService.class);
+
+    private final UtilisateurRepository utilisateurRepository;
+    private final SalleRepository salleRepository;
+    private final ReservationRepository reservationRepository;
+
+    private final AtomicLong utilisateurs = new AtomicLong();
+    private final AtomicLong salles = new AtomicLong();
+    private final AtomicLong sallesDisponibles = new AtomicLong();
+    private final AtomicLong reservations = new AtomicLong();
+    private volatile boolean pret;
+
+    @Autowired
+    public StatistiquesService(UtilisateurRepository utilisateurRepository,
+                               SalleRepository salleRepository,
+                               ReservationRepository reservationRepository) {
+        this.utilisateurRepository = utilisateurRepository;
+        this.salleRepository = salleRepository;
+        this.reservationRepository = reservationRepository;
+    }
+
+    /**
+     * Compteurs courants (sans requête une fois initialisés)
+     *
+     * @return Compteurs du tableau de bord
+     */
+    @Transactional(readOnly = true)
+    public TableauDeBord tableauDeBord() {
+        if (!pret) {
+            return compterEnBase();
+        }
+        return new TableauDeBord(utilisateurs.get(), salles.get(), sallesDisponibles.get(), reservations.get());
+    }
+
+    /**
+     * Recale les compteurs sur la base : au démarrage puis périodiquement
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${statistiques.reconciliation-ms:300000}",
+               initialDelayString = "${statistiques.reconciliation-ms:300000}")
+    @Transactional(readOnly = true)
+    public void reconcilier() {
+        TableauDeBord base = compterEnBase();
+        TableauDeBord memoire = new TableauDeBord(utilisateurs.getAndSet(base.utilisateurs()),
+                salles.getAndSet(base.salles()),
+                sallesDisponibles.getAndSet(base.sallesDisponibles()),
+                reservations.getAndSet(base.reservations()));
+        if (pret && !memoire.equals(base)) {
+            log.debug("Compteurs recalés sur la base : {} -> {}", memoire, base);
+        }
+        pret = true;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReservationEvent(ReservationEvent event) {
+        if (event.avant() == null) {
+            reservations.incrementAndGet();
+        } else if (event.apres() == null) {
+            reservations.decrementAndGet();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatistiqueEvent(StatistiqueEvent event) {
+        AtomicLong compteur = switch (event.compteur()) {
+            case UTILISATEURS -> utilisateurs;
+            case SALLES -> salles;
+            case SALLES_DISPONIBLES -> sallesDisponibles;
+            case RESERVATIONS -> reservations;
+        };
+        compteur.addAndGet(event.variation());
+    }
+
+    private TableauDeBord compterEnBase() {
+        return new TableauDeBord(utilisateurRepository.count(),
+                salleRepository.count(),
+                salleRepository.countByDisponible(true),
+                reservationRepository.count());
+    }
+}
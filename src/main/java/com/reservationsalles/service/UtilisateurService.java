@@ -1,13 +1,27 @@
 package com.reservationsalles.service;
 
+import com.reservationsalles.dto.FiltreUtilisateur;
+import com.reservationsalles.event.ReservationsSupprimeesEvent;
+import com.reservationsalles.event.StatistiqueEvent;
+import com.reservationsalles.event.StatistiqueEvent.Compteur;
 import com.reservationsalles.exception.ResourceNotFoundException;
+import com.reservationsalles.model.CreneauReservation;
 import com.reservationsalles.model.Utilisateur;
+import com.reservationsalles.pagination.Curseur;
+import com.reservationsalles.pagination.PageCurseur;
+import com.reservationsalles.repository.ReservationRepository;
 import com.reservationsalles.repository.UtilisateurRepository;
+import com.reservationsalles.repository.UtilisateurSpecifications;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service métier pour la gestion des Utilisateurs
@@ -16,13 +30,29 @@ import java.util.List;
  */
 @Service
 @Transactional
+@Timed(value = "service.utilisateurs", description = "Appels du service (méthode, exception)")
 public class UtilisateurService {
 
+    /**
+     * Tris proposés par la liste ; l'ID termine chaque tri pour rendre la clé unique
+     */
+    private static final Map<String, Sort> TRIS = Map.of(
+            "nom", Sort.by("nom", "id"),
+            "email", Sort.by("email", "id"),
+            "id", Sort.by("id")
+    );
+
     private final UtilisateurRepository utilisateurRepository;
+    private final ReservationRepository reservationRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public UtilisateurService(UtilisateurRepository utilisateurRepository) {
+    public UtilisateurService(UtilisateurRepository utilisateurRepository,
+                              ReservationRepository reservationRepository,
+                              ApplicationEventPublisher eventPublisher) {
         this.utilisateurRepository = utilisateurRepository;
+        this.reservationRepository = reservationRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -35,6 +65,38 @@ public class UtilisateurService {
         return utilisateurRepository.findAll();
     }
 
+    /**
+     * Récupère une page d'utilisateurs, paginée par clé (keyset)
+     * Chaque page est lue par "WHERE (colonnes de tri) > (dernière ligne)" :
+     * le coût ne dépend pas de la profondeur, contrairement à un OFFSET
+     * 
+     * @param filtre Filtres facultatifs
+     * @param tri Clé de tri (nom, email, id), "nom" si inconnue
+     * @param curseur Jeton de la page précédente (null pour la première page)
+     * @param taille Nombre d'éléments par page (borné entre 1 et {@value PageCurseur#TAILLE_MAX})
+     * @return La page et le jeton de la suivante
+     */
+    @Transactional(readOnly = true)
+    public PageCurseur<Utilisateur> findPage(FiltreUtilisateur filtre, String tri, String curseur, int taille) {
+        Sort sort = TRIS.getOrDefault(tri, TRIS.get("nom"));
+        return PageCurseur.of(utilisateurRepository.findBy(UtilisateurSpecifications.filtre(filtre),
+                requete -> requete.sortBy(sort)
+                        .limit(PageCurseur.borner(taille))
+                        .scroll(Curseur.decoder(curseur, sort))));
+    }
+
+    /**
+     * Récupère les utilisateurs correspondant à un ensemble d'ID (une seule requête)
+     * Les ID inconnus sont ignorés
+     * 
+     * @param ids ID recherchés
+     * @return Liste des utilisateurs trouvés
+     */
+    @Transactional(readOnly = true)
+    public List<Utilisateur> findAllById(Collection<Long> ids) {
+        return utilisateurRepository.findAllById(ids);
+    }
+
     /**
      * Récupère un utilisateur par son ID
      * 
@@ -93,11 +155,16 @@ public class UtilisateurService {
      */
     public Utilisateur save(Utilisateur utilisateur) {
         // Validation : email unique (lors de la création)
-        if (utilisateur.getId() == null && utilisateurRepository.existsByEmail(utilisateur.getEmail())) {
+        boolean creation = utilisateur.getId() == null;
+        if (creation && utilisateurRepository.existsByEmail(utilisateur.getEmail())) {
             throw new IllegalArgumentException("Un utilisateur avec cet email existe déjà : " + utilisateur.getEmail());
         }
         
-        return utilisateurRepository.save(utilisateur);
+        Utilisateur saved = utilisateurRepository.save(utilisateur);
+        if (creation) {
+            eventPublisher.publishEvent(new StatistiqueEvent(Compteur.UTILISATEURS, 1));
+        }
+        return saved;
     }
 
     /**
@@ -132,14 +199,25 @@ public class UtilisateurService {
 
     /**
      * Supprime un utilisateur
-     * Note : Les réservations liées seront supprimées en cascade (orphanRemoval = true)
+     * Note : Les réservations liées sont supprimées en une requête, sans être chargées ;
+     * leurs créneaux encore en mémoire (index, grilles) en sont retirés après le commit
      * 
      * @param id ID de l'utilisateur à supprimer
      * @throws ResourceNotFoundException si l'utilisateur n'existe pas
      */
     public void delete(Long id) {
         Utilisateur utilisateur = findById(id);
+        List<CreneauReservation> creneaux = reservationRepository.findCreneauxByUtilisateurAPartirDu(id,
+                ReservationsSupprimeesEvent.debutSuivi());
+        int reservations = reservationRepository.deleteByUtilisateurId(id);
         utilisateurRepository.delete(utilisateur);
+        if (!creneaux.isEmpty()) {
+            eventPublisher.publishEvent(new ReservationsSupprimeesEvent(creneaux));
+        }
+        eventPublisher.publishEvent(new StatistiqueEvent(Compteur.UTILISATEURS, -1));
+        if (reservations > 0) {
+            eventPublisher.publishEvent(new StatistiqueEvent(Compteur.RESERVATIONS, -reservations));
+        }
     }
 
     /**
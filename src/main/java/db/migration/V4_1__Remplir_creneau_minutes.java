@@ -0,0 +1,52 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * V4.1 : remplit l'encodage compact du créneau des réservations existantes
+ *
+ * Calcul en Java (même arrondi que CreneauReservation, recopié ici pour que
+ * la migration reste figée) : aucune fonction SQL de nombre de jours n'est
+ * commune à MySQL et à H2. Les réservations existantes ne passent pas minuit
+ * (règle antérieure à V4), la minute de fin reste donc dans la journée.
+ */
+public class V4_1__Remplir_creneau_minutes extends BaseJavaMigration {
+
+    private static final int TAILLE_LOT = 500;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connexion = context.getConnection();
+        try (Statement lecture = connexion.createStatement();
+             ResultSet lignes = lecture.executeQuery(
+                     "SELECT id, date_reservation, heure_debut, heure_fin FROM reservations");
+             PreparedStatement miseAJour = connexion.prepareStatement(
+                     "UPDATE reservations SET jour_epoch = ?, minute_debut = ?, minute_fin = ? WHERE id = ?")) {
+            int enAttente = 0;
+            while (lignes.next()) {
+                LocalTime heureDebut = lignes.getObject("heure_debut", LocalTime.class);
+                LocalTime heureFin = lignes.getObject("heure_fin", LocalTime.class);
+                miseAJour.setInt(1, (int) lignes.getObject("date_reservation", LocalDate.class).toEpochDay());
+                miseAJour.setShort(2, (short) (heureDebut.toSecondOfDay() / 60));
+                miseAJour.setShort(3, (short) ((heureFin.toSecondOfDay() + 59) / 60));
+                miseAJour.setLong(4, lignes.getLong("id"));
+                miseAJour.addBatch();
+                if (++enAttente == TAILLE_LOT) {
+                    miseAJour.executeBatch();
+                    enAttente = 0;
+                }
+            }
+            if (enAttente > 0) {
+                miseAJour.executeBatch();
+            }
+        }
+    }
+}
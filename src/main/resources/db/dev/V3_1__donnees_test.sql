@@ -0,0 +1,47 @@
+-- =====================================================
+-- V3.1 : données de test (profil dev uniquement, spring.flyway.locations)
+-- Insérées seulement dans des tables vides : une base de développement
+-- créée avant Flyway, qui les contient déjà, est laissée telle quelle
+-- =====================================================
+
+-- Utilisateurs de test
+INSERT INTO utilisateurs (nom, email, role)
+SELECT nom, email, role FROM (
+    SELECT 'Admin Système' AS nom, 'admin@sallesfete.fr' AS email, 'ADMIN' AS role
+    UNION ALL SELECT 'Jean Dupont', 'jean.dupont@example.com', 'CLIENT'
+    UNION ALL SELECT 'Marie Martin', 'marie.martin@example.com', 'GESTIONNAIRE'
+    UNION ALL SELECT 'Pierre Durand', 'pierre.durand@example.com', 'CLIENT'
+    UNION ALL SELECT 'Sophie Leblanc', 'sophie.leblanc@example.com', 'CLIENT'
+) donnees
+WHERE NOT EXISTS (SELECT 1 FROM utilisateurs);
+
+-- Salles de test
+INSERT INTO salles (nom, capacite, localisation, disponible)
+SELECT nom, capacite, localisation, disponible FROM (
+    SELECT 'Grande Salle des Fêtes' AS nom, 200 AS capacite,
+           'Paris 15ème - Avenue de la Bourdonnais' AS localisation, TRUE AS disponible
+    UNION ALL SELECT 'Salle Lumière', 50, 'Lyon Centre - Rue de la République', TRUE
+    UNION ALL SELECT 'Espace Mozart', 100, 'Bordeaux - Quai des Chartrons', TRUE
+    UNION ALL SELECT 'Salle Versailles', 300, 'Paris 8ème - Avenue Montaigne', FALSE
+    UNION ALL SELECT 'Petit Salon', 30, 'Paris 6ème - Boulevard Saint-Germain', TRUE
+    UNION ALL SELECT 'Salle Panorama', 150, 'Nice - Promenade des Anglais', TRUE
+    UNION ALL SELECT 'Espace Provence', 80, 'Marseille - Vieux Port', TRUE
+) donnees
+WHERE NOT EXISTS (SELECT 1 FROM salles);
+
+-- Réservations de test
+INSERT INTO reservations (date_reservation, heure_debut, heure_fin, utilisateur_id, salle_id)
+SELECT date_reservation, heure_debut, heure_fin, utilisateur_id, salle_id FROM (
+    SELECT DATE '2026-03-15' AS date_reservation, TIME '14:00:00' AS heure_debut,
+           TIME '18:00:00' AS heure_fin, 2 AS utilisateur_id, 1 AS salle_id
+    UNION ALL SELECT DATE '2026-03-15', TIME '19:00:00', TIME '23:00:00', 3, 1
+    UNION ALL SELECT DATE '2026-03-20', TIME '10:00:00', TIME '16:00:00', 4, 2
+    UNION ALL SELECT DATE '2026-04-05', TIME '18:00:00', TIME '22:00:00', 5, 3
+    UNION ALL SELECT DATE '2026-04-10', TIME '15:00:00', TIME '20:00:00', 2, 5
+) donnees
+WHERE NOT EXISTS (SELECT 1 FROM reservations);
+
+-- Séquences positionnées après les données de test
+UPDATE salles_seq SET next_val = (SELECT COALESCE(MAX(id), 0) + 50 FROM salles);
+UPDATE utilisateurs_seq SET next_val = (SELECT COALESCE(MAX(id), 0) + 50 FROM utilisateurs);
+UPDATE reservations_seq SET next_val = (SELECT COALESCE(MAX(id), 0) + 50 FROM reservations);
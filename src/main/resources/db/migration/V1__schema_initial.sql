@@ -0,0 +1,68 @@
+-- =====================================================
+-- V1 : schéma initial (identifiants AUTO_INCREMENT)
+-- Ligne de base des bases créées avant Flyway par database/init.sql :
+-- sur une base existante, cette version est considérée comme appliquée
+-- (spring.flyway.baseline-on-migrate) et seules les suivantes sont exécutées
+-- =====================================================
+
+CREATE TABLE utilisateurs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    nom VARCHAR(100) NOT NULL,
+    email VARCHAR(150) NOT NULL UNIQUE,
+    role VARCHAR(50) NOT NULL,
+    INDEX idx_email (email),
+    INDEX idx_role (role),
+    INDEX idx_nom (nom)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE salles (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    nom VARCHAR(100) NOT NULL,
+    capacite INT NOT NULL,
+    localisation VARCHAR(200) NOT NULL,
+    disponible BOOLEAN NOT NULL DEFAULT TRUE,
+    INDEX idx_disponible (disponible),
+    INDEX idx_localisation (localisation),
+    INDEX idx_salle_nom (nom),
+    INDEX idx_capacite (capacite)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE reservation_series (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    date_debut DATE NOT NULL,
+    date_fin DATE NOT NULL,
+    heure_debut TIME NOT NULL,
+    heure_fin TIME NOT NULL,
+    intervalle_semaines INT NOT NULL DEFAULT 1,
+    materialisee_jusqua DATE NOT NULL,
+    utilisateur_id BIGINT NOT NULL,
+    salle_id BIGINT NOT NULL,
+    FOREIGN KEY (utilisateur_id) REFERENCES utilisateurs(id) ON DELETE CASCADE,
+    FOREIGN KEY (salle_id) REFERENCES salles(id) ON DELETE CASCADE,
+    INDEX idx_serie_salle_periode (salle_id, date_debut, date_fin),
+    INDEX idx_serie_materialisation (materialisee_jusqua)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE reservation_serie_exceptions (
+    serie_id BIGINT NOT NULL,
+    date_exception DATE NOT NULL,
+    PRIMARY KEY (serie_id, date_exception),
+    FOREIGN KEY (serie_id) REFERENCES reservation_series(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE reservations (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    date_reservation DATE NOT NULL,
+    heure_debut TIME NOT NULL,
+    heure_fin TIME NOT NULL,
+    utilisateur_id BIGINT NOT NULL,
+    salle_id BIGINT NOT NULL,
+    serie_id BIGINT NULL,
+    FOREIGN KEY (utilisateur_id) REFERENCES utilisateurs(id) ON DELETE CASCADE,
+    FOREIGN KEY (salle_id) REFERENCES salles(id) ON DELETE CASCADE,
+    FOREIGN KEY (serie_id) REFERENCES reservation_series(id) ON DELETE SET NULL,
+    INDEX idx_date_heure (date_reservation, heure_debut),
+    INDEX idx_utilisateur (utilisateur_id),
+    INDEX idx_salle (salle_id),
+    INDEX idx_salle_date (salle_id, date_reservation)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,37 @@
+-- =====================================================
+-- V2 : identifiants par séquence (optimiseur pooled, blocs de 50)
+-- Séquences émulées par des tables sous MySQL : next_val est la borne
+-- haute du prochain bloc, placée après le plus grand identifiant existant.
+-- Les colonnes id gardent AUTO_INCREMENT (clés étrangères inchangées),
+-- l'application fournit désormais les identifiants.
+-- Rejouable : remplace les scripts database/migrations/001 et 002
+-- sur les bases où ils ont déjà été passés à la main
+-- =====================================================
+
+CREATE TABLE IF NOT EXISTS salles_seq (
+    next_val BIGINT NOT NULL
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS utilisateurs_seq (
+    next_val BIGINT NOT NULL
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS reservations_seq (
+    next_val BIGINT NOT NULL
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS reservation_series_seq (
+    next_val BIGINT NOT NULL
+) ENGINE=InnoDB;
+
+DELETE FROM salles_seq;
+INSERT INTO salles_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM salles;
+
+DELETE FROM utilisateurs_seq;
+INSERT INTO utilisateurs_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM utilisateurs;
+
+DELETE FROM reservations_seq;
+INSERT INTO reservations_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM reservations;
+
+DELETE FROM reservation_series_seq;
+INSERT INTO reservation_series_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM reservation_series;
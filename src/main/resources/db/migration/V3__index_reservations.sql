@@ -0,0 +1,22 @@
+-- =====================================================
+-- V3 : index des requêtes fréquentes sur les réservations
+--
+-- idx_reservation_chevauchement : détection de conflit
+--   (salle_id = ? AND date_reservation = ? AND heure_debut < ? AND heure_fin > ?)
+--   lue dans l'index seul, sans accès aux lignes
+-- idx_reservation_utilisateur_date : réservations à venir d'un utilisateur,
+--   déjà triées par date et heure de début
+--
+-- Remplacent idx_salle_date, idx_salle et idx_utilisateur, dont ils sont des
+-- préfixes (les clés étrangères restent couvertes)
+-- =====================================================
+
+CREATE INDEX idx_reservation_chevauchement
+    ON reservations (salle_id, date_reservation, heure_debut, heure_fin);
+
+CREATE INDEX idx_reservation_utilisateur_date
+    ON reservations (utilisateur_id, date_reservation, heure_debut);
+
+DROP INDEX idx_salle_date ON reservations;
+DROP INDEX idx_salle ON reservations;
+DROP INDEX idx_utilisateur ON reservations;
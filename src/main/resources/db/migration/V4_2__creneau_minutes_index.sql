@@ -0,0 +1,15 @@
+-- =====================================================
+-- V4.2 : créneau compact obligatoire et indexé
+--
+-- idx_reservation_creneau : détection de conflit et recherche de salles libres
+--   (salle_id = ? AND jour_epoch BETWEEN ? AND ? puis comparaison des minutes)
+--   lue dans l'index seul ; la veille est lue pour les réservations passant minuit
+-- idx_reservation_chevauchement (V3) reste utilisé par les lectures par date
+-- =====================================================
+
+ALTER TABLE reservations MODIFY jour_epoch INT NOT NULL;
+ALTER TABLE reservations MODIFY minute_debut SMALLINT NOT NULL;
+ALTER TABLE reservations MODIFY minute_fin SMALLINT NOT NULL;
+
+CREATE INDEX idx_reservation_creneau
+    ON reservations (salle_id, jour_epoch, minute_debut, minute_fin);
@@ -0,0 +1,14 @@
+-- =====================================================
+-- V4 : encodage compact du créneau des réservations
+--
+-- jour_epoch : jours depuis le 1970-01-01
+-- minute_debut, minute_fin : minutes depuis minuit de jour_epoch
+--   (minute_fin > 1440 : la réservation finit le lendemain)
+--
+-- Colonnes ajoutées facultatives, remplies par V4_1 (calcul en Java, sans
+-- fonction de date propre à un SGBD) puis rendues obligatoires par V4_2
+-- =====================================================
+
+ALTER TABLE reservations ADD COLUMN jour_epoch INT NULL;
+ALTER TABLE reservations ADD COLUMN minute_debut SMALLINT NULL;
+ALTER TABLE reservations ADD COLUMN minute_fin SMALLINT NULL;
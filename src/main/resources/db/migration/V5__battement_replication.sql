@@ -0,0 +1,12 @@
+-- =====================================================
+-- V5 : battement de réplication
+-- Horodatage écrit périodiquement sur la base principale et relu sur chaque
+-- réplique : la différence mesure son retard (routage des lectures, RoutageDataSource)
+-- =====================================================
+
+CREATE TABLE battement_replication (
+    id INT NOT NULL PRIMARY KEY,
+    horodatage BIGINT NOT NULL
+);
+
+INSERT INTO battement_replication (id, horodatage) VALUES (1, 0);
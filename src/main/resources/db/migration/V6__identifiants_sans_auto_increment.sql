@@ -0,0 +1,28 @@
+-- =====================================================
+-- V6 : identifiants fournis par les séquences uniquement
+-- Depuis V2, l'application tire les identifiants des tables *_seq par blocs
+-- de 50 ; l'AUTO_INCREMENT conservé sur les colonnes id donnait à un INSERT
+-- SQL sans id la valeur MAX(id) + 1, déjà réservée dans le bloc d'une instance
+-- (clé en double à l'insertion suivante de l'application).
+-- Sans AUTO_INCREMENT, un INSERT sans id est refusé : une insertion en SQL
+-- tire son identifiant de la séquence (voir README).
+-- Contrôle des clés étrangères suspendu le temps des ALTER : MySQL refuse de
+-- modifier une colonne référencée, même sans en changer le type
+-- =====================================================
+
+SET FOREIGN_KEY_CHECKS = 0;
+
+ALTER TABLE utilisateurs MODIFY id BIGINT NOT NULL;
+ALTER TABLE salles MODIFY id BIGINT NOT NULL;
+ALTER TABLE reservation_series MODIFY id BIGINT NOT NULL;
+ALTER TABLE reservations MODIFY id BIGINT NOT NULL;
+
+SET FOREIGN_KEY_CHECKS = 1;
+
+-- Séquences replacées après le plus grand identifiant : lignes insérées
+-- par AUTO_INCREMENT depuis V2 (jamais en arrière, pour les blocs déjà distribués)
+UPDATE salles_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 50 FROM salles));
+UPDATE utilisateurs_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 50 FROM utilisateurs));
+UPDATE reservations_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 50 FROM reservations));
+UPDATE reservation_series_seq SET next_val = GREATEST(next_val,
+    (SELECT COALESCE(MAX(id), 0) + 50 FROM reservation_series));
@@ -22,6 +22,26 @@
                 ${successMessage}<button type="button" class="btn-close" data-bs-dismiss="alert"></button>
             </div>
         </c:if>
+        <div class="card mb-3">
+            <div class="card-body">
+                <form action="${pageContext.request.contextPath}/reservations" method="get" class="row g-2">
+                    <div class="col-md-2"><input type="number" class="form-control" name="salleId" placeholder="ID salle" value="${filtre.salleId()}"></div>
+                    <div class="col-md-2"><input type="number" class="form-control" name="utilisateurId" placeholder="ID utilisateur" value="${filtre.utilisateurId()}"></div>
+                    <div class="col-md-2"><input type="date" class="form-control" name="du" title="Du" value="${filtre.du()}"></div>
+                    <div class="col-md-2"><input type="date" class="form-control" name="au" title="Au" value="${filtre.au()}"></div>
+                    <div class="col-md-2">
+                        <select name="tri" class="form-select">
+                            <option value="date" ${tri == 'date' ? 'selected' : ''}>Date croissante</option>
+                            <option value="date_desc" ${tri == 'date_desc' ? 'selected' : ''}>Date décroissante</option>
+                            <option value="id" ${tri == 'id' ? 'selected' : ''}>Création</option>
+                        </select>
+                    </div>
+                    <div class="col-md-2">
+                        <button type="submit" class="btn btn-warning w-100"><i class="bi bi-funnel"></i> Filtrer</button>
+                    </div>
+                </form>
+            </div>
+        </div>
         <div class="card">
             <div class="card-body">
                 <c:choose>
@@ -57,6 +77,25 @@
                 </c:choose>
             </div>
         </div>
+        <c:if test="${page.hasSuivante()}">
+            <c:url var="urlSuivante" value="/reservations">
+                <c:param name="salleId" value="${filtre.salleId()}"/>
+                <c:param name="utilisateurId" value="${filtre.utilisateurId()}"/>
+                <c:param name="du" value="${filtre.du()}"/>
+                <c:param name="au" value="${filtre.au()}"/>
+                <c:param name="tri" value="${tri}"/>
+                <c:param name="taille" value="${taille}"/>
+                <c:param name="curseur" value="${page.curseurSuivant()}"/>
+            </c:url>
+            <div class="d-flex justify-content-end mt-3">
+                <a href="${pageContext.request.contextPath}/reservations" class="btn btn-outline-secondary me-2">
+                    <i class="bi bi-chevron-double-left"></i> Première page
+                </a>
+                <a href="${urlSuivante}" class="btn btn-outline-primary">
+                    Page suivante <i class="bi bi-chevron-right"></i>
+                </a>
+            </div>
+        </c:if>
     </div>
     <script src="https://cdn.jsdelivr.net/npm/bootstrap@5.3.2/dist/js/bootstrap.bundle.min.js"></script>
 </body>
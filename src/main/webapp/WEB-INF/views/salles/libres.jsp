@@ -0,0 +1,74 @@
+<%@ page contentType="text/html;charset=UTF-8" language="java" %>
+<%@ taglib prefix="c" uri="http://java.sun.com/jsp/jstl/core" %>
+<!DOCTYPE html>
+<html lang="fr">
+<head>
+    <meta charset="UTF-8">
+    <title>Salles libres</title>
+    <link href="https://cdn.jsdelivr.net/npm/bootstrap@5.3.2/dist/css/bootstrap.min.css" rel="stylesheet">
+    <link href="https://cdn.jsdelivr.net/npm/bootstrap-icons@1.11.1/font/bootstrap-icons.css" rel="stylesheet">
+</head>
+<body>
+    <%@ include file="../common/navbar.jsp" %>
+    <div class="container mt-4">
+        <div class="d-flex justify-content-between mb-4">
+            <h2><i class="bi bi-search text-success"></i> Salles libres</h2>
+            <a href="${pageContext.request.contextPath}/salles" class="btn btn-outline-success">
+                <i class="bi bi-list"></i> Toutes les salles
+            </a>
+        </div>
+        <c:if test="${not empty errorMessage}">
+            <div class="alert alert-danger alert-dismissible fade show">
+                ${errorMessage}<button type="button" class="btn-close" data-bs-dismiss="alert"></button>
+            </div>
+        </c:if>
+        <div class="card mb-3">
+            <div class="card-body">
+                <form action="${pageContext.request.contextPath}/salles/libres" method="get" class="row g-2">
+                    <div class="col-md-2"><input type="date" class="form-control" name="date" required value="${recherche.date()}"></div>
+                    <div class="col-md-2"><input type="time" class="form-control" name="heureDebut" required value="${recherche.heureDebut()}"></div>
+                    <div class="col-md-2"><input type="time" class="form-control" name="heureFin" required value="${recherche.heureFin()}"></div>
+                    <div class="col-md-2"><input type="number" class="form-control" name="capaciteMin" min="1" placeholder="Capacité min." value="${recherche.capaciteMin()}"></div>
+                    <div class="col-md-2"><input type="text" class="form-control" name="localisation" placeholder="Localisation..." value="${recherche.localisation()}"></div>
+                    <div class="col-md-2">
+                        <button type="submit" class="btn btn-success w-100"><i class="bi bi-search"></i> Rechercher</button>
+                    </div>
+                </form>
+            </div>
+        </div>
+        <c:if test="${salles != null}">
+            <div class="card">
+                <div class="card-body">
+                    <c:choose>
+                        <c:when test="${empty salles}">
+                            <div class="alert alert-info">Aucune salle libre sur ce créneau</div>
+                        </c:when>
+                        <c:otherwise>
+                            <table class="table table-striped table-hover">
+                                <thead class="table-success">
+                                    <tr><th>ID</th><th>Nom</th><th>Capacité</th><th>Localisation</th><th>Actions</th></tr>
+                                </thead>
+                                <tbody>
+                                    <c:forEach var="salle" items="${salles}">
+                                        <tr>
+                                            <td>${salle.id}</td>
+                                            <td><strong>${salle.nom}</strong></td>
+                                            <td><i class="bi bi-people"></i> ${salle.capacite}</td>
+                                            <td><i class="bi bi-geo-alt"></i> ${salle.localisation}</td>
+                                            <td>
+                                                <a href="${pageContext.request.contextPath}/salles/${salle.id}" class="btn btn-sm btn-info"><i class="bi bi-eye"></i></a>
+                                                <a href="${pageContext.request.contextPath}/reservations/create" class="btn btn-sm btn-warning"><i class="bi bi-calendar-plus"></i></a>
+                                            </td>
+                                        </tr>
+                                    </c:forEach>
+                                </tbody>
+                            </table>
+                        </c:otherwise>
+                    </c:choose>
+                </div>
+            </div>
+        </c:if>
+    </div>
+    <script src="https://cdn.jsdelivr.net/npm/bootstrap@5.3.2/dist/js/bootstrap.bundle.min.js"></script>
+</body>
+</html>
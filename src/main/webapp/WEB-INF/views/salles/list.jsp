@@ -13,15 +13,40 @@
     <div class="container mt-4">
         <div class="d-flex justify-content-between mb-4">
             <h2><i class="bi bi-building text-success"></i> Liste des Salles</h2>
-            <a href="${pageContext.request.contextPath}/salles/create" class="btn btn-success">
-                <i class="bi bi-plus-circle"></i> Nouvelle Salle
-            </a>
+            <div>
+                <a href="${pageContext.request.contextPath}/salles/libres" class="btn btn-outline-success">
+                    <i class="bi bi-search"></i> Salles libres
+                </a>
+                <a href="${pageContext.request.contextPath}/salles/create" class="btn btn-success">
+                    <i class="bi bi-plus-circle"></i> Nouvelle Salle
+                </a>
+            </div>
         </div>
         <c:if test="${not empty successMessage}">
             <div class="alert alert-success alert-dismissible fade show">
                 ${successMessage}<button type="button" class="btn-close" data-bs-dismiss="alert"></button>
             </div>
         </c:if>
+        <div class="card mb-3">
+            <div class="card-body">
+                <form action="${pageContext.request.contextPath}/salles" method="get" class="row g-2">
+                    <div class="col-md-3"><input type="text" class="form-control" name="nom" placeholder="Nom..." value="${filtre.nom()}"></div>
+                    <div class="col-md-3"><input type="text" class="form-control" name="localisation" placeholder="Localisation..." value="${filtre.localisation()}"></div>
+                    <div class="col-md-2"><input type="number" class="form-control" name="capaciteMin" placeholder="Capacité min." value="${filtre.capaciteMin()}"></div>
+                    <div class="col-md-2">
+                        <select name="tri" class="form-select">
+                            <option value="nom" ${tri == 'nom' ? 'selected' : ''}>Nom</option>
+                            <option value="capacite" ${tri == 'capacite' ? 'selected' : ''}>Capacité croissante</option>
+                            <option value="capacite_desc" ${tri == 'capacite_desc' ? 'selected' : ''}>Capacité décroissante</option>
+                            <option value="id" ${tri == 'id' ? 'selected' : ''}>Création</option>
+                        </select>
+                    </div>
+                    <div class="col-md-2">
+                        <button type="submit" class="btn btn-success w-100"><i class="bi bi-funnel"></i> Filtrer</button>
+                    </div>
+                </form>
+            </div>
+        </div>
         <div class="card">
             <div class="card-body">
                 <c:choose>
@@ -65,6 +90,25 @@
                 </c:choose>
             </div>
         </div>
+        <c:if test="${page.hasSuivante()}">
+            <c:url var="urlSuivante" value="/salles">
+                <c:param name="nom" value="${filtre.nom()}"/>
+                <c:param name="localisation" value="${filtre.localisation()}"/>
+                <c:param name="capaciteMin" value="${filtre.capaciteMin()}"/>
+                <c:param name="disponible" value="${filtre.disponible()}"/>
+                <c:param name="tri" value="${tri}"/>
+                <c:param name="taille" value="${taille}"/>
+                <c:param name="curseur" value="${page.curseurSuivant()}"/>
+            </c:url>
+            <div class="d-flex justify-content-end mt-3">
+                <a href="${pageContext.request.contextPath}/salles" class="btn btn-outline-secondary me-2">
+                    <i class="bi bi-chevron-double-left"></i> Première page
+                </a>
+                <a href="${urlSuivante}" class="btn btn-outline-primary">
+                    Page suivante <i class="bi bi-chevron-right"></i>
+                </a>
+            </div>
+        </c:if>
     </div>
     <script src="https://cdn.jsdelivr.net/npm/bootstrap@5.3.2/dist/js/bootstrap.bundle.min.js"></script>
 </body>
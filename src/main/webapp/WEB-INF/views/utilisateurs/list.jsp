@@ -37,9 +37,19 @@
         <!-- Barre de recherche -->
         <div class="card mb-3">
             <div class="card-body">
-                <form action="${pageContext.request.contextPath}/utilisateurs/search" method="get" class="row g-3">
-                    <div class="col-md-10">
-                        <input type="text" class="form-control" name="nom" placeholder="Rechercher par nom..." value="${searchQuery}">
+                <form action="${pageContext.request.contextPath}/utilisateurs" method="get" class="row g-3">
+                    <div class="col-md-5">
+                        <input type="text" class="form-control" name="nom" placeholder="Rechercher par nom..." value="${not empty filtre.nom() ? filtre.nom() : searchQuery}">
+                    </div>
+                    <div class="col-md-3">
+                        <input type="text" class="form-control" name="role" placeholder="Rôle" value="${filtre.role()}">
+                    </div>
+                    <div class="col-md-2">
+                        <select name="tri" class="form-select">
+                            <option value="nom" ${tri == 'nom' ? 'selected' : ''}>Nom</option>
+                            <option value="email" ${tri == 'email' ? 'selected' : ''}>Email</option>
+                            <option value="id" ${tri == 'id' ? 'selected' : ''}>Création</option>
+                        </select>
                     </div>
                     <div class="col-md-2">
                         <button type="submit" class="btn btn-primary w-100">
@@ -103,12 +113,29 @@
                             </table>
                         </div>
                         <div class="mt-3">
-                            <p class="text-muted">Total : ${utilisateurs.size()} utilisateur(s)</p>
+                            <p class="text-muted">${utilisateurs.size()} utilisateur(s) affiché(s)</p>
                         </div>
                     </c:otherwise>
                 </c:choose>
             </div>
         </div>
+        <c:if test="${page.hasSuivante()}">
+            <c:url var="urlSuivante" value="/utilisateurs">
+                <c:param name="nom" value="${filtre.nom()}"/>
+                <c:param name="role" value="${filtre.role()}"/>
+                <c:param name="tri" value="${tri}"/>
+                <c:param name="taille" value="${taille}"/>
+                <c:param name="curseur" value="${page.curseurSuivant()}"/>
+            </c:url>
+            <div class="d-flex justify-content-end mt-3">
+                <a href="${pageContext.request.contextPath}/utilisateurs" class="btn btn-outline-secondary me-2">
+                    <i class="bi bi-chevron-double-left"></i> Première page
+                </a>
+                <a href="${urlSuivante}" class="btn btn-outline-primary">
+                    Page suivante <i class="bi bi-chevron-right"></i>
+                </a>
+            </div>
+        </c:if>
     </div>
 
     <script src="https://cdn.jsdelivr.net/npm/bootstrap@5.3.2/dist/js/bootstrap.bundle.min.js"></script>
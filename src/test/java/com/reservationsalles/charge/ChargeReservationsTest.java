@@ -0,0 +1,268 @@
+package com.reservationsalles.charge;
+
+import com.reservationsalles.charge.RapportCharge.Issue;
+import com.reservationsalles.model.Salle;
+import com.reservationsalles.model.Utilisateur;
+import com.reservationsalles.repository.ReservationRepository;
+import com.reservationsalles.repository.SalleRepository;
+import com.reservationsalles.repository.UtilisateurRepository;
+import com.reservationsalles.service.OccupationSalles;
+import com.reservationsalles.service.ReservationIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test de charge de bout en bout, sans réseau ni MySQL
+ *
+ * L'application démarre sur un port local contre une base H2 en mémoire (mode MySQL),
+ * alimentée par GenerateurDonnees, puis reçoit un mélange de lectures (listes des
+ * réservations, salles, utilisateurs, recherche de salles libres) et de demandes de
+ * réservation par le formulaire. Une part des demandes vise la même salle le même
+ * jour pour provoquer des conflits et de la contention sur les verrous.
+ *
+ * Vérifie qu'aucune double réservation n'existe en base et que chaque réservation
+ * acceptée y figure ; le rapport (débit, latences, conflits) est journalisé et écrit
+ * dans target/charge/ avec les distributions HdrHistogram.
+ *
+ * Exclu de "mvn test" ; lancement : mvn test -Pcharge [-Dcharge.threads=64 ...]
+ * Paramètres (propriétés système) : charge.threads, charge.requetes, charge.ecritures
+ * (part des demandes de réservation), charge.contention (part de ces demandes sur la
+ * salle disputée), charge.utilisateurs, charge.salles, charge.reservations, charge.jours,
+ * charge.graine
+ *
+ * Threads virtuels contre threads plateforme (Java 21) : relancer avec
+ * -Dspring.threads.virtual.enabled=true et comparer les deux rapports
+ */
+@Tag("charge")
+@ActiveProfiles("bench")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:charge;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "logging.level.com.reservationsalles=INFO"
+})
+class ChargeReservationsTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ChargeReservationsTest.class);
+
+    /** Deux réservations de la même salle, le même jour, aux créneaux qui se chevauchent */
+    private static final String CHEVAUCHEMENTS = "SELECT COUNT(*) FROM reservations a JOIN reservations b "
+            + "ON a.salle_id = b.salle_id AND a.date_reservation = b.date_reservation AND a.id < b.id "
+            + "AND a.heure_debut < b.heure_fin AND a.heure_fin > b.heure_debut";
+
+    private final int threads = Integer.getInteger("charge.threads", 16);
+    private final int requetes = Integer.getInteger("charge.requetes", 2000);
+    private final double ecritures = Double.parseDouble(System.getProperty("charge.ecritures", "0.5"));
+    private final double contention = Double.parseDouble(System.getProperty("charge.contention", "0.5"));
+    private final int nombreUtilisateurs = Integer.getInteger("charge.utilisateurs", 100);
+    private final int nombreSalles = Integer.getInteger("charge.salles", 50);
+    private final int nombreReservations = Integer.getInteger("charge.reservations", 2000);
+    private final int jours = Integer.getInteger("charge.jours", 30);
+    private final long graine = Long.getLong("charge.graine", 42L);
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean threadsVirtuels;
+
+    @Autowired
+    private UtilisateurRepository utilisateurRepository;
+
+    @Autowired
+    private SalleRepository salleRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ReservationIndex reservationIndex;
+
+    @Autowired
+    private OccupationSalles occupationSalles;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private record Operation(String nom, HttpRequest requete, boolean reservation, boolean salleDisputee) {
+    }
+
+    @Test
+    void testChargeReservationsConcurrentes() throws Exception {
+        LocalDate premierJour = LocalDate.now().plusDays(1);
+        GenerateurDonnees generateur = new GenerateurDonnees(utilisateurRepository, salleRepository,
+                reservationRepository, graine);
+        List<Utilisateur> utilisateurs = generateur.utilisateurs(nombreUtilisateurs);
+        List<Salle> salles = generateur.salles(nombreSalles);
+        generateur.reservations(nombreReservations, utilisateurs, salles, premierJour, jours);
+        // Préchauffés au démarrage, sur une base encore vide
+        reservationIndex.prechauffer();
+        occupationSalles.prechauffer();
+
+        List<Salle> disponibles = salles.stream().filter(Salle::isDisponible).toList();
+        List<Operation> operations = operations(new SplittableRandom(graine), utilisateurs, disponibles, premierJour);
+
+        // Échauffement (compilation des JSP, JIT) : lectures seules, non mesurées
+        executer(operations.stream().filter(operation -> !operation.reservation()).limit(200).toList(),
+                new RapportCharge());
+
+        long avant = reservationRepository.count();
+        RapportCharge rapport = new RapportCharge();
+        Duration duree = executer(operations, rapport);
+
+        long chevauchements = jdbcTemplate.queryForObject(CHEVAUCHEMENTS, Long.class);
+        String texte = rapport.formater(duree, threads, modeThreads(), chevauchements);
+        log.info(texte);
+        Path dossier = Path.of("target", "charge");
+        rapport.exporter(dossier);
+        Files.writeString(dossier.resolve("rapport.txt"), texte);
+
+        assertEquals(0, chevauchements, "Double réservation en base");
+        assertEquals(rapport.nombre(Issue.ACCEPTEE), reservationRepository.count() - avant,
+                "Réservations acceptées absentes de la base (ou créées sans être signalées)");
+        assertEquals(0, rapport.nombre(Issue.ERREUR), "Demandes de réservation en erreur");
+        assertEquals(0, rapport.erreursLecture(), "Lectures en erreur");
+    }
+
+    /**
+     * Mode d'exécution des requêtes côté serveur (threads virtuels ignorés avant Java 21)
+     */
+    private String modeThreads() {
+        return threadsVirtuels && Runtime.version().feature() >= 21 ? "threads virtuels" : "threads plateforme";
+    }
+
+    /**
+     * Mélange déterministe des opérations à partir de la graine
+     */
+    private List<Operation> operations(SplittableRandom aleatoire, List<Utilisateur> utilisateurs,
+                                       List<Salle> disponibles, LocalDate premierJour) {
+        Salle disputee = disponibles.get(0);
+        List<Operation> operations = new ArrayList<>(requetes);
+        for (int i = 0; i < requetes; i++) {
+            if (aleatoire.nextDouble() < ecritures) {
+                boolean surSalleDisputee = aleatoire.nextDouble() < contention;
+                Salle salle = surSalleDisputee ? disputee : disponibles.get(aleatoire.nextInt(1, disponibles.size()));
+                LocalDate date = surSalleDisputee ? premierJour : premierJour.plusDays(aleatoire.nextInt(jours));
+                LocalTime debut = LocalTime.of(aleatoire.nextInt(8, 20), 30 * aleatoire.nextInt(2));
+                LocalTime fin = debut.plusMinutes(30L * aleatoire.nextInt(1, 7));
+                Utilisateur utilisateur = utilisateurs.get(aleatoire.nextInt(utilisateurs.size()));
+                operations.add(new Operation("POST /reservations", post("/reservations", Map.of(
+                        "utilisateur.id", utilisateur.getId().toString(),
+                        "salle.id", salle.getId().toString(),
+                        "dateReservation", date.toString(),
+                        "heureDebut", debut.toString(),
+                        "heureFin", fin.toString())), true, surSalleDisputee));
+            } else {
+                operations.add(switch (aleatoire.nextInt(5)) {
+                    case 0 -> lecture("GET /reservations", "/reservations");
+                    case 1 -> lecture("GET /reservations?salleId", "/reservations?salleId=" + disputee.getId());
+                    case 2 -> lecture("GET /salles", "/salles");
+                    case 3 -> lecture("GET /utilisateurs", "/utilisateurs");
+                    default -> lecture("GET /salles/libres", "/salles/libres?date="
+                            + premierJour.plusDays(aleatoire.nextInt(jours)) + "&heureDebut=14:00&heureFin=18:00");
+                });
+            }
+        }
+        return operations;
+    }
+
+    private Duration executer(List<Operation> operations, RapportCharge rapport) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long debut = System.nanoTime();
+        operations.forEach(operation -> executor.execute(() -> executer(operation, rapport)));
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.MINUTES), "Test de charge interrompu (délai dépassé)");
+        return Duration.ofNanos(System.nanoTime() - debut);
+    }
+
+    private void executer(Operation operation, RapportCharge rapport) {
+        long debut = System.nanoTime();
+        try {
+            HttpResponse<String> reponse = client.send(operation.requete(), HttpResponse.BodyHandlers.ofString());
+            rapport.enregistrer(operation.nom(), System.nanoTime() - debut);
+            if (operation.reservation()) {
+                rapport.enregistrer(issue(reponse), operation.salleDisputee());
+            } else if (reponse.statusCode() != 200) {
+                rapport.erreurLecture();
+            }
+        } catch (Exception e) {
+            log.warn("{} en échec : {}", operation.nom(), e.toString());
+            if (operation.reservation()) {
+                rapport.enregistrer(Issue.ERREUR, operation.salleDisputee());
+            } else {
+                rapport.erreurLecture();
+            }
+        }
+    }
+
+    private static Issue issue(HttpResponse<String> reponse) {
+        if (reponse.statusCode() == 302) {
+            return Issue.ACCEPTEE;
+        }
+        if (reponse.statusCode() != 200) {
+            return Issue.ERREUR;
+        }
+        return reponse.body().contains("Conflit de réservation") ? Issue.CONFLIT : Issue.REFUSEE;
+    }
+
+    private Operation lecture(String nom, String chemin) {
+        return new Operation(nom, HttpRequest.newBuilder(uri(chemin)).GET().timeout(Duration.ofSeconds(30)).build(),
+                false, false);
+    }
+
+    private HttpRequest post(String chemin, Map<String, String> champs) {
+        String formulaire = champs.entrySet().stream()
+                .map(champ -> URLEncoder.encode(champ.getKey(), StandardCharsets.UTF_8) + "="
+                        + URLEncoder.encode(champ.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+        return HttpRequest.newBuilder(uri(chemin))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(formulaire))
+                .build();
+    }
+
+    private URI uri(String chemin) {
+        return URI.create("http://localhost:" + port + chemin);
+    }
+}
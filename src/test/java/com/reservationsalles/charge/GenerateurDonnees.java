@@ -0,0 +1,102 @@
+package com.reservationsalles.charge;
+
+import com.reservationsalles.model.Reservation;
+import com.reservationsalles.model.Salle;
+import com.reservationsalles.model.Utilisateur;
+import com.reservationsalles.repository.ReservationRepository;
+import com.reservationsalles.repository.SalleRepository;
+import com.reservationsalles.repository.UtilisateurRepository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Générateur de jeu de données dans l'esprit de database/init.sql, à taille réglable
+ *
+ * Mêmes rôles, mêmes villes, une salle sur sept indisponible, et des réservations
+ * futures sur les créneaux types du script (14h-18h, 19h-23h, 10h-16h...) sans
+ * chevauchement entre elles. Tirage déterministe à partir d'une graine.
+ */
+class GenerateurDonnees {
+
+    private static final String[] ROLES = {"CLIENT", "CLIENT", "CLIENT", "GESTIONNAIRE", "ADMIN"};
+    private static final String[] PRENOMS = {"Jean", "Marie", "Pierre", "Sophie", "Luc", "Claire", "Paul", "Julie"};
+    private static final String[] NOMS = {"Dupont", "Martin", "Durand", "Leblanc", "Bernard", "Petit", "Moreau"};
+    private static final String[] TYPES_SALLE = {"Grande Salle", "Salle", "Espace", "Petit Salon", "Salle Panorama"};
+    private static final String[] LOCALISATIONS = {
+            "Paris 15ème - Avenue de la Bourdonnais", "Lyon Centre - Rue de la République",
+            "Bordeaux - Quai des Chartrons", "Paris 8ème - Avenue Montaigne",
+            "Paris 6ème - Boulevard Saint-Germain", "Nice - Promenade des Anglais", "Marseille - Vieux Port"
+    };
+    /** Créneaux des réservations générées : deux à deux disjoints */
+    private static final LocalTime[][] CRENEAUX = {
+            {LocalTime.of(8, 0), LocalTime.of(10, 0)},
+            {LocalTime.of(10, 0), LocalTime.of(13, 0)},
+            {LocalTime.of(14, 0), LocalTime.of(18, 0)},
+            {LocalTime.of(19, 0), LocalTime.of(23, 0)}
+    };
+
+    private final UtilisateurRepository utilisateurRepository;
+    private final SalleRepository salleRepository;
+    private final ReservationRepository reservationRepository;
+    private final SplittableRandom aleatoire;
+
+    GenerateurDonnees(UtilisateurRepository utilisateurRepository, SalleRepository salleRepository,
+                      ReservationRepository reservationRepository, long graine) {
+        this.utilisateurRepository = utilisateurRepository;
+        this.salleRepository = salleRepository;
+        this.reservationRepository = reservationRepository;
+        this.aleatoire = new SplittableRandom(graine);
+    }
+
+    List<Utilisateur> utilisateurs(int nombre) {
+        List<Utilisateur> utilisateurs = new ArrayList<>(nombre);
+        for (int i = 0; i < nombre; i++) {
+            String prenom = PRENOMS[aleatoire.nextInt(PRENOMS.length)];
+            String nom = NOMS[aleatoire.nextInt(NOMS.length)];
+            utilisateurs.add(new Utilisateur(prenom + " " + nom,
+                    prenom.toLowerCase() + "." + nom.toLowerCase() + "." + i + "@example.com",
+                    ROLES[aleatoire.nextInt(ROLES.length)]));
+        }
+        return utilisateurRepository.saveAll(utilisateurs);
+    }
+
+    List<Salle> salles(int nombre) {
+        List<Salle> salles = new ArrayList<>(nombre);
+        for (int i = 0; i < nombre; i++) {
+            salles.add(new Salle(TYPES_SALLE[aleatoire.nextInt(TYPES_SALLE.length)] + " " + (i + 1),
+                    10 * aleatoire.nextInt(3, 31),
+                    LOCALISATIONS[aleatoire.nextInt(LOCALISATIONS.length)],
+                    i % 7 != 3));
+        }
+        return salleRepository.saveAll(salles);
+    }
+
+    /**
+     * Réservations futures réparties sur les salles disponibles,
+     * au plus une par (salle, jour, créneau type)
+     */
+    List<Reservation> reservations(int nombre, List<Utilisateur> utilisateurs, List<Salle> salles,
+                                   LocalDate premierJour, int jours) {
+        List<Salle> disponibles = salles.stream().filter(Salle::isDisponible).toList();
+        int places = disponibles.size() * jours * CRENEAUX.length;
+        Set<Integer> prises = new HashSet<>();
+        List<Reservation> reservations = new ArrayList<>(nombre);
+        while (reservations.size() < Math.min(nombre, places)) {
+            int place = aleatoire.nextInt(places);
+            if (prises.add(place)) {
+                LocalTime[] creneau = CRENEAUX[place % CRENEAUX.length];
+                int jour = place / CRENEAUX.length % jours;
+                Salle salle = disponibles.get(place / CRENEAUX.length / jours);
+                reservations.add(new Reservation(premierJour.plusDays(jour), creneau[0], creneau[1],
+                        utilisateurs.get(aleatoire.nextInt(utilisateurs.size())), salle));
+            }
+        }
+        return reservationRepository.saveAll(reservations);
+    }
+}
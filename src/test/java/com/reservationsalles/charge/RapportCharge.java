@@ -0,0 +1,123 @@
+package com.reservationsalles.charge;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mesures d'un test de charge : histogramme de latence par opération (HdrHistogram,
+ * en microsecondes) et issue des demandes de réservation, sur toutes les salles
+ * et sur la salle disputée
+ * Alimenté concurremment par les threads du test
+ */
+class RapportCharge {
+
+    enum Issue {
+        /** Redirection vers la liste : réservation créée */
+        ACCEPTEE,
+        /** Formulaire réaffiché avec un conflit de créneau */
+        CONFLIT,
+        /** Formulaire réaffiché pour une autre raison (verrou non obtenu, validation) */
+        REFUSEE,
+        /** Réponse inattendue ou erreur réseau */
+        ERREUR
+    }
+
+    private final Map<String, Histogram> latences = new ConcurrentHashMap<>();
+    private final Map<Issue, LongAdder> issues = new EnumMap<>(Issue.class);
+    private final Map<Issue, LongAdder> issuesSalleDisputee = new EnumMap<>(Issue.class);
+    private final LongAdder erreursLecture = new LongAdder();
+
+    RapportCharge() {
+        for (Issue issue : Issue.values()) {
+            issues.put(issue, new LongAdder());
+            issuesSalleDisputee.put(issue, new LongAdder());
+        }
+    }
+
+    void enregistrer(String operation, long dureeNanos) {
+        latences.computeIfAbsent(operation, cle -> new ConcurrentHistogram(3))
+                .recordValue(Math.max(1, dureeNanos / 1_000));
+    }
+
+    void enregistrer(Issue issue, boolean salleDisputee) {
+        issues.get(issue).increment();
+        if (salleDisputee) {
+            issuesSalleDisputee.get(issue).increment();
+        }
+    }
+
+    void erreurLecture() {
+        erreursLecture.increment();
+    }
+
+    long erreursLecture() {
+        return erreursLecture.sum();
+    }
+
+    long nombre(Issue issue) {
+        return issues.get(issue).sum();
+    }
+
+    /**
+     * Rapport lisible : débit global, latences par opération, taux de conflit
+     */
+    String formater(Duration duree, int threads, String modeThreads, long chevauchements) {
+        long total = latences.values().stream().mapToLong(Histogram::getTotalCount).sum();
+        double secondes = duree.toNanos() / 1e9;
+        StringBuilder rapport = new StringBuilder();
+        rapport.append(String.format(Locale.ROOT, "%n=== Test de charge (serveur en %s) : %d requêtes, %d threads, %.1f s, %.0f req/s ===%n",
+                modeThreads, total, threads, secondes, total / secondes));
+        rapport.append(String.format(Locale.ROOT, "%-28s %8s %9s %9s %9s %9s %9s %9s%n",
+                "Opération", "Nombre", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        new TreeMap<>(latences).forEach((operation, histogramme) -> rapport.append(String.format(Locale.ROOT,
+                "%-28s %8d %9.0f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                operation, histogramme.getTotalCount(), histogramme.getTotalCount() / secondes,
+                ms(histogramme.getValueAtPercentile(50)), ms(histogramme.getValueAtPercentile(90)),
+                ms(histogramme.getValueAtPercentile(99)), ms(histogramme.getValueAtPercentile(99.9)),
+                ms(histogramme.getMaxValue()))));
+        rapport.append(ligneIssues("Réservations", issues));
+        rapport.append(ligneIssues("Salle disputée", issuesSalleDisputee));
+        rapport.append(String.format("Erreurs de lecture : %d%n", erreursLecture.sum()));
+        rapport.append(String.format("Chevauchements en base après la charge : %d%n", chevauchements));
+        return rapport.toString();
+    }
+
+    /**
+     * Distributions complètes, une par opération (format .hgrm, lisible par HdrHistogram Plotter)
+     */
+    void exporter(Path dossier) throws IOException {
+        Files.createDirectories(dossier);
+        for (Map.Entry<String, Histogram> entree : latences.entrySet()) {
+            Path fichier = dossier.resolve(entree.getKey().replaceAll("[^A-Za-z0-9]+", "_") + ".hgrm");
+            try (PrintStream sortie = new PrintStream(Files.newOutputStream(fichier), true, "UTF-8")) {
+                entree.getValue().outputPercentileDistribution(sortie, 1000.0);
+            }
+        }
+    }
+
+    private static String ligneIssues(String libelle, Map<Issue, LongAdder> compteurs) {
+        long acceptees = compteurs.get(Issue.ACCEPTEE).sum();
+        long conflits = compteurs.get(Issue.CONFLIT).sum();
+        long refusees = compteurs.get(Issue.REFUSEE).sum();
+        long erreurs = compteurs.get(Issue.ERREUR).sum();
+        long total = acceptees + conflits + refusees + erreurs;
+        return String.format(Locale.ROOT, "%-15s : %d demandes, %d acceptées, %d conflits (%.1f %%), %d refusées, %d erreurs%n",
+                libelle, total, acceptees, conflits, total == 0 ? 0.0 : 100.0 * conflits / total, refusees, erreurs);
+    }
+
+    private static double ms(long microsecondes) {
+        return microsecondes / 1000.0;
+    }
+}
@@ -0,0 +1,83 @@
+package com.reservationsalles.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires du limiteur de requêtes simultanées (mode threads virtuels)
+ * Une seule place, 50 ms d'attente : une requête bloquée l'occupe
+ */
+class LimiteurRequetesFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LimiteurRequetesFilter filtre = new LimiteurRequetesFilter(meterRegistry, 1, 50);
+    private final CountDownLatch liberer = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        liberer.countDown();
+    }
+
+    @Test
+    void testRequeteRefuseeQuandLaLimiteEstAtteinte() throws Exception {
+        CompletableFuture<Void> premiere = occuperLaPlace();
+
+        MockHttpServletResponse refusee = executer("/salles");
+
+        assertEquals(503, refusee.getStatus());
+        assertEquals("1", refusee.getHeader("Retry-After"));
+        assertEquals(1.0, meterRegistry.counter("http.requetes.refusees").count());
+
+        // Place libérée : la requête suivante passe
+        liberer.countDown();
+        premiere.get(5, TimeUnit.SECONDS);
+        assertEquals(200, executer("/salles").getStatus());
+    }
+
+    @Test
+    void testActuatorNonLimite() throws Exception {
+        occuperLaPlace();
+
+        assertEquals(200, executer("/actuator/health").getStatus());
+    }
+
+    /**
+     * Lance une requête qui garde sa place jusqu'à la libération
+     */
+    private CompletableFuture<Void> occuperLaPlace() throws InterruptedException {
+        CountDownLatch enCours = new CountDownLatch(1);
+        CompletableFuture<Void> requete = CompletableFuture.runAsync(() -> {
+            try {
+                filtre.doFilter(new MockHttpServletRequest("GET", "/reservations"), new MockHttpServletResponse(),
+                        (request, response) -> {
+                            enCours.countDown();
+                            try {
+                                liberer.await();
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(enCours.await(5, TimeUnit.SECONDS));
+        return requete;
+    }
+
+    private MockHttpServletResponse executer(String uri) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filtre.doFilter(new MockHttpServletRequest("GET", uri), response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,74 @@
+package com.reservationsalles.config;
+
+import com.reservationsalles.model.Salle;
+import com.reservationsalles.repository.SalleRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests d'intégration (H2) des métriques du cache de second niveau
+ * Statistiques Hibernate désactivées, comme en prod
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=false"
+})
+@Import(MetriquesCacheSecondNiveau.class)
+class MetriquesCacheSecondNiveauTest {
+
+    @Autowired
+    private MetriquesCacheSecondNiveau metriques;
+
+    @Autowired
+    private SalleRepository salleRepository;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        metriques.bindTo(registry);
+    }
+
+    @Test
+    void testRegionsPubliees() {
+        assertNotNull(registry.find("cache.gets").tag("cache", "salles").functionCounter());
+        assertNotNull(registry.find("cache.gets").tag("cache", "utilisateurs").functionCounter());
+        assertNotNull(registry.find("cache.gets").tag("cache", "default-query-results-region").functionCounter());
+    }
+
+    /**
+     * Hors transaction de test : chaque appel valide la sienne, la salle entre en cache
+     * à la validation de son insertion
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testSuccesEtEchecsSansStatistiquesHibernate() {
+        double echecsAvant = gets("miss");
+        Long id = salleRepository.save(new Salle("Salle Métriques", 50, "Bâtiment A", true)).getId();
+        double succesAvant = gets("hit");
+
+        salleRepository.findById(id);
+        salleRepository.findById(id);
+        salleRepository.findById(-1L);
+
+        assertEquals(succesAvant + 2, gets("hit"));
+        assertTrue(gets("miss") > echecsAvant);
+    }
+
+    private double gets(String resultat) {
+        FunctionCounter compteur = registry.get("cache.gets").tag("cache", "salles").tag("result", resultat)
+                .functionCounter();
+        return compteur.count();
+    }
+}
@@ -0,0 +1,242 @@
+package com.reservationsalles.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.reservationsalles.model.Salle;
+import com.reservationsalles.repository.SalleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour RoutageDataSource
+ * Deux bases H2 en mémoire tiennent lieu de base principale et de réplique
+ * (sans réplication : le battement est recopié à la main)
+ */
+class RoutageDataSourceTest {
+
+    private static final long RETARD_MAX_MS = 60_000;
+
+    private JdbcTemplate primaire;
+    private JdbcTemplate replique;
+    private SimpleMeterRegistry meterRegistry;
+    private RoutageDataSource routage;
+    private LazyConnectionDataSourceProxy dataSource;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate lecture;
+    private TransactionTemplate ecriture;
+
+    @BeforeEach
+    void setUp() {
+        primaire = new JdbcTemplate(base("routage_primaire", "primaire"));
+        replique = new JdbcTemplate(base("routage_replique", "replique"));
+        meterRegistry = new SimpleMeterRegistry();
+        routage = new RoutageDataSource(primaire.getDataSource(), List.of(replique.getDataSource()),
+                RETARD_MAX_MS, meterRegistry);
+        routage.afterPropertiesSet();
+
+        dataSource = new LazyConnectionDataSourceProxy(routage);
+        jdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        lecture = new TransactionTemplate(transactionManager);
+        lecture.setReadOnly(true);
+        ecriture = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        primaire.execute("DROP ALL OBJECTS");
+        replique.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void testRoutage_LecturesSurRepliqueAJour() {
+        routage.mesurerRetards();
+
+        assertEquals("replique", lecture.execute(status -> instance()));
+        assertEquals("primaire", ecriture.execute(status -> instance()));
+        assertEquals("primaire", instance());
+        assertEquals(0.0, meterRegistry.get("reservation.replicas.retard").gauge().value());
+    }
+
+    @Test
+    void testRoutage_LecturesSurPrimaireAvantLaPremiereMesure() {
+        assertEquals("primaire", lecture.execute(status -> instance()));
+    }
+
+    @Test
+    void testRoutage_RepliqueEnRetardEcarteePuisReprise() {
+        routage.mesurerRetards();
+        // Battement écrit sur la base principale il y a deux minutes, jamais répliqué
+        long maintenant = System.currentTimeMillis();
+        primaire.update("UPDATE battement_replication SET horodatage = ?", maintenant);
+        replique.update("UPDATE battement_replication SET horodatage = ?", maintenant - 120_000);
+
+        routage.mesurerRetards();
+        assertEquals("primaire", lecture.execute(status -> instance()));
+        assertEquals(120_000.0, meterRegistry.get("reservation.replicas.retard").gauge().value());
+
+        // Réplication rattrapée
+        replique.update("UPDATE battement_replication SET horodatage = ?",
+                primaire.queryForObject("SELECT horodatage FROM battement_replication", Long.class));
+        routage.mesurerRetards();
+        assertEquals("replique", lecture.execute(status -> instance()));
+    }
+
+    @Test
+    void testRoutage_RepliqueInjoignableEcartee() {
+        replique.execute("DROP TABLE battement_replication");
+
+        routage.mesurerRetards();
+
+        assertEquals("primaire", lecture.execute(status -> instance()));
+        assertEquals(-1.0, meterRegistry.get("reservation.replicas.retard").gauge().value());
+    }
+
+    @Test
+    void testRoutage_LectureDeSesPropresEcritures() {
+        routage.mesurerRetards();
+        MockHttpServletRequest requete = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(requete));
+        assertEquals("replique", lecture.execute(status -> instance()));
+
+        ecriture.executeWithoutResult(status -> {
+            jdbc.update("UPDATE instance SET nom = nom");
+            // Écriture signalée comme au flush Hibernate, deux fois : un seul marquage
+            new SuiviEcritures().onPostUpdate(null);
+            new SuiviEcritures().onPostInsert(null);
+        });
+
+        // Même session, requête suivante : la lecture reste sur la base principale
+        MockHttpServletRequest suivante = new MockHttpServletRequest();
+        suivante.setSession(requete.getSession());
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(suivante));
+        assertEquals("primaire", lecture.execute(status -> instance()));
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertEquals("replique", lecture.execute(status -> instance()));
+    }
+
+    @Test
+    void testRoutage_TransactionEnEcritureSansModificationNeMarquePasLaSession() {
+        routage.mesurerRetards();
+        MockHttpServletRequest requete = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(requete));
+
+        // Transaction en écriture qui ne fait que lire (comme une méthode @Transactional par défaut)
+        assertEquals("primaire", ecriture.execute(status -> instance()));
+
+        assertNull(requete.getSession().getAttribute(RoutageDataSource.DERNIERE_ECRITURE));
+        assertEquals("replique", lecture.execute(status -> instance()));
+    }
+
+    @Test
+    void testRoutage_EcritureAnnuleeNeMarquePasLaSession() {
+        routage.mesurerRetards();
+        MockHttpServletRequest requete = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(requete));
+
+        ecriture.executeWithoutResult(status -> {
+            new SuiviEcritures().onPostInsert(null);
+            status.setRollbackOnly();
+        });
+
+        assertNull(requete.getSession().getAttribute(RoutageDataSource.DERNIERE_ECRITURE));
+    }
+
+    @Test
+    void testCache_EcritureVisibleParFindByDisponibleApresLeCommit() {
+        for (JdbcTemplate base : List.of(primaire, replique)) {
+            base.execute("CREATE TABLE salles (id BIGINT NOT NULL PRIMARY KEY, nom VARCHAR(100) NOT NULL, "
+                    + "capacite INT NOT NULL, localisation VARCHAR(200) NOT NULL, disponible BOOLEAN NOT NULL)");
+            base.execute("CREATE SEQUENCE salles_seq START WITH 1 INCREMENT BY 50");
+        }
+        LocalContainerEntityManagerFactoryBean fabrique = fabriqueJpa();
+        try {
+            EntityManagerFactory entityManagerFactory = fabrique.getObject();
+            new RepliquesConfig().suiviEcritures(entityManagerFactory);
+            SalleRepository salles = new JpaRepositoryFactory(
+                    SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory))
+                    .getRepository(SalleRepository.class);
+            JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+            TransactionTemplate lectureJpa = new TransactionTemplate(transactionManager);
+            lectureJpa.setReadOnly(true);
+            TransactionTemplate ecritureJpa = new TransactionTemplate(transactionManager);
+            routage.mesurerRetards();
+
+            MockHttpServletRequest requete = new MockHttpServletRequest();
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(requete));
+            ecritureJpa.executeWithoutResult(status ->
+                    salles.save(new Salle("Salle Opéra", 120, "Lyon", true)));
+
+            // Autre session, servie par la réplique (jamais répliquée ici) : la salle n'y est pas encore
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+            assertEquals(List.of(), lectureJpa.execute(status -> salles.findByDisponible(true)));
+
+            // Session de l'écriture : base principale, sans le résultat de la réplique mis en cache
+            MockHttpServletRequest suivante = new MockHttpServletRequest();
+            suivante.setSession(requete.getSession());
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(suivante));
+            assertEquals(List.of("Salle Opéra"), lectureJpa.execute(status ->
+                    salles.findByDisponible(true).stream().map(Salle::getNom).toList()));
+        } finally {
+            fabrique.destroy();
+        }
+    }
+
+    /**
+     * Hibernate sur la DataSource de routage, cache de second niveau et de requêtes
+     * comme l'application (gestionnaire de caches propre au test)
+     */
+    private LocalContainerEntityManagerFactoryBean fabriqueJpa() {
+        LocalContainerEntityManagerFactoryBean fabrique = new LocalContainerEntityManagerFactoryBean();
+        fabrique.setDataSource(dataSource);
+        fabrique.setPackagesToScan("com.reservationsalles.model");
+        fabrique.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        fabrique.setJpaPropertyMap(Map.of(
+                "hibernate.dialect", "org.hibernate.dialect.H2Dialect",
+                "hibernate.cache.use_second_level_cache", "true",
+                "hibernate.cache.use_query_cache", "true",
+                "hibernate.cache.region.factory_class", RegionsCachePrimaire.class.getName(),
+                "hibernate.javax.cache.provider", CaffeineCachingProvider.class.getName(),
+                "hibernate.javax.cache.uri", "application.conf",
+                "hibernate.javax.cache.missing_cache_strategy", "create"));
+        fabrique.afterPropertiesSet();
+        return fabrique;
+    }
+
+    private String instance() {
+        return jdbc.queryForObject("SELECT nom FROM instance", String.class);
+    }
+
+    private static DriverManagerDataSource base(String nom, String instance) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + nom + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE instance (nom VARCHAR(20))");
+        jdbc.update("INSERT INTO instance (nom) VALUES (?)", instance);
+        jdbc.execute("CREATE TABLE battement_replication (id INT NOT NULL PRIMARY KEY, horodatage BIGINT NOT NULL)");
+        jdbc.execute("INSERT INTO battement_replication (id, horodatage) VALUES (1, 0)");
+        return dataSource;
+    }
+}
@@ -0,0 +1,60 @@
+package com.reservationsalles.config;
+
+import com.reservationsalles.model.Salle;
+import com.reservationsalles.repository.SalleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests d'intégration (H2) de l'activation à chaud des statistiques Hibernate
+ * Statistiques désactivées au démarrage, comme en prod
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=false"
+})
+@Import(StatistiquesHibernateEndpoint.class)
+class StatistiquesHibernateEndpointTest {
+
+    @Autowired
+    private StatistiquesHibernateEndpoint endpoint;
+
+    @Autowired
+    private SalleRepository salleRepository;
+
+    @Test
+    void testStatistiquesInactivesParDefaut() {
+        Object requetesAvant = endpoint.statistiques().get("requetes");
+        salleRepository.save(new Salle("Salle A", 50, "Bâtiment A", true));
+        salleRepository.findByDisponible(true);
+
+        Map<String, Object> resume = endpoint.statistiques();
+
+        assertEquals(false, resume.get("actif"));
+        assertEquals(requetesAvant, resume.get("requetes"));
+    }
+
+    @Test
+    void testActivationPuisDesactivation() {
+        salleRepository.save(new Salle("Salle A", 50, "Bâtiment A", true));
+
+        assertEquals(true, endpoint.activer(true).get("actif"));
+        salleRepository.findByDisponible(true);
+        salleRepository.findByDisponible(false);
+        assertEquals(2L, endpoint.statistiques().get("requetes"));
+
+        Map<String, Object> resume = endpoint.activer(false);
+        salleRepository.findByDisponible(true);
+
+        assertEquals(false, resume.get("actif"));
+        assertEquals(2L, endpoint.statistiques().get("requetes"));
+    }
+}
@@ -0,0 +1,64 @@
+package com.reservationsalles.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.reservationsalles.dto.ReservationInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires de l'écriture de l'export des réservations (CSV et JSON)
+ */
+class ExportReservationsTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 6, 2);
+
+    private final List<ReservationInfo> reservations = List.of(
+            new ReservationInfo(1L, DATE, LocalTime.of(8, 0), LocalTime.of(10, 0), 3L, "Salle A", 7L, "Alice"),
+            new ReservationInfo(2L, DATE, LocalTime.of(14, 0), LocalTime.of(18, 0), 4L, "Salle \"B\"; annexe", 8L, "Bob")
+    );
+    private final Consumer<Consumer<ReservationInfo>> source = reservations::forEach;
+
+    @Test
+    void testCsv_EnTeteEtChampsEchappes() throws IOException {
+        List<String> lignes = ecrire(ExportReservations.csv(source)).lines().toList();
+
+        assertEquals(List.of(
+                ExportReservations.EN_TETE_CSV,
+                "1;2025-06-02;08:00;10:00;3;Salle A;7;Alice",
+                "2;2025-06-02;14:00;18:00;4;\"Salle \"\"B\"\"; annexe\";8;Bob"
+        ), lignes);
+    }
+
+    @Test
+    void testJson_TableauComplet() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+        JsonNode tableau = objectMapper.readTree(ecrire(ExportReservations.json(objectMapper, source)));
+
+        assertEquals(2, tableau.size());
+        assertEquals("Salle \"B\"; annexe", tableau.get(1).get("salleNom").asText());
+    }
+
+    @Test
+    void testCsv_PeriodeVide() throws IOException {
+        assertEquals(ExportReservations.EN_TETE_CSV + "\n", ecrire(ExportReservations.csv(action -> { })));
+    }
+
+    private static String ecrire(StreamingResponseBody corps) throws IOException {
+        ByteArrayOutputStream sortie = new ByteArrayOutputStream();
+        corps.writeTo(sortie);
+        return sortie.toString(StandardCharsets.UTF_8);
+    }
+}
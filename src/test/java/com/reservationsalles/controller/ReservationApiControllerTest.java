@@ -0,0 +1,125 @@
+package com.reservationsalles.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reservationsalles.dto.DemandeReservation;
+import com.reservationsalles.dto.RapportLot;
+import com.reservationsalles.dto.ResultatReservation;
+import com.reservationsalles.model.Reservation;
+import com.reservationsalles.service.ReservationSerieService;
+import com.reservationsalles.service.ReservationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires des lots de réservations de l'API (JSON et CSV)
+ */
+@ExtendWith(MockitoExtension.class)
+class ReservationApiControllerTest {
+
+    private static final int TAILLE_MAX = 3;
+    private static final LocalDate DATE = LocalDate.of(2025, 6, 2);
+
+    @Mock
+    private ReservationService reservationService;
+
+    @Mock
+    private ReservationSerieService reservationSerieService;
+
+    @Captor
+    private ArgumentCaptor<List<Reservation>> lot;
+
+    private ReservationApiController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new ReservationApiController(reservationService, reservationSerieService,
+                new ObjectMapper(), TAILLE_MAX);
+    }
+
+    @Test
+    void testCreateLot_DemandeNullRejeteeASaPosition() {
+        when(reservationService.saveAll(anyList())).thenAnswer(invocation -> acceptees(invocation.getArgument(0)));
+
+        RapportLot rapport = controller.createLot(Arrays.asList(demande(1L), null, demande(2L)));
+
+        verify(reservationService).saveAll(lot.capture());
+        assertEquals(List.of(1L, 2L), lot.getValue().stream().map(r -> r.getSalle().getId()).toList());
+        assertEquals(3, rapport.total());
+        assertEquals(2, rapport.acceptees());
+        assertFalse(rapport.resultats().get(1).acceptee());
+        assertEquals(List.of(0, 1, 2), rapport.resultats().stream().map(ResultatReservation::position).toList());
+    }
+
+    @Test
+    void testCreateLot_AuDelaDeLaTailleMax_ThrowsException() {
+        List<DemandeReservation> demandes = IntStream.range(0, TAILLE_MAX + 1).mapToObj(i -> demande(1L)).toList();
+
+        assertThrows(IllegalArgumentException.class, () -> controller.createLot(demandes));
+        verifyNoInteractions(reservationService);
+    }
+
+    @Test
+    void testCreateLotCsv_AuDelaDeLaTailleMax_ThrowsException() {
+        String csv = "utilisateurId;salleId;date;heureDebut;heureFin\n"
+                + "1;1;2025-06-02;08:00;09:00\n".repeat(TAILLE_MAX + 1);
+
+        assertThrows(IllegalArgumentException.class, () -> controller.createLotCsv(csv));
+        verifyNoInteractions(reservationService);
+    }
+
+    @Test
+    void testCreateLotCsv_EnTeteSeulNeCompteePasDansLaTailleMax() {
+        when(reservationService.saveAll(anyList())).thenAnswer(invocation -> acceptees(invocation.getArgument(0)));
+        String csv = "utilisateurId;salleId;date;heureDebut;heureFin\n"
+                + "1;1;2025-06-02;08:00;09:00\n".repeat(TAILLE_MAX);
+
+        assertEquals(TAILLE_MAX, controller.createLotCsv(csv).acceptees());
+    }
+
+    @Test
+    void testCreateLotCsv_BomAvantUneLigneDeDonnees_PremiereReservationConservee() {
+        when(reservationService.saveAll(anyList())).thenAnswer(invocation -> acceptees(invocation.getArgument(0)));
+
+        RapportLot rapport = controller.createLotCsv("\uFEFF1;5;2025-06-02;08:00;09:00\n1;6;2025-06-02;10:00;11:00\n");
+
+        verify(reservationService).saveAll(lot.capture());
+        assertEquals(List.of(5L, 6L), lot.getValue().stream().map(r -> r.getSalle().getId()).toList());
+        assertEquals(2, rapport.acceptees());
+    }
+
+    @Test
+    void testCreateLotCsv_BomAvantLEnTete_EnTeteIgnore() {
+        when(reservationService.saveAll(anyList())).thenAnswer(invocation -> acceptees(invocation.getArgument(0)));
+
+        RapportLot rapport = controller.createLotCsv(
+                "\uFEFFutilisateurId;salleId;date;heureDebut;heureFin\n1;5;2025-06-02;08:00;09:00\n");
+
+        assertEquals(1, rapport.total());
+        assertEquals(1, rapport.acceptees());
+    }
+
+    private static DemandeReservation demande(Long salleId) {
+        return new DemandeReservation(1L, salleId, DATE, LocalTime.of(8, 0), LocalTime.of(9, 0));
+    }
+
+    private static List<ResultatReservation> acceptees(List<Reservation> reservations) {
+        return IntStream.range(0, reservations.size())
+                .mapToObj(i -> ResultatReservation.acceptee(i, 100L + i))
+                .toList();
+    }
+}
@@ -0,0 +1,62 @@
+package com.reservationsalles.pagination;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour Curseur
+ * Focus sur l'aller-retour jeton / position keyset
+ */
+class CurseurTest {
+
+    @Test
+    void testEncoderDecoder_ConserveClesEtTypes() {
+        Map<String, Object> cles = new LinkedHashMap<>();
+        cles.put("dateReservation", LocalDate.of(2025, 3, 14));
+        cles.put("heureDebut", LocalTime.of(9, 30));
+        cles.put("nom", "Salle A&B=1:2");
+        cles.put("capacite", 12);
+        cles.put("id", 42L);
+
+        String jeton = Curseur.encoder(ScrollPosition.forward(cles));
+        KeysetScrollPosition position = Curseur.decoder(jeton,
+                Sort.by("dateReservation", "heureDebut", "nom", "capacite", "id"));
+
+        assertFalse(position.isInitial());
+        assertEquals(cles, position.getKeys());
+    }
+
+    @Test
+    void testDecoder_JetonAbsentOuInvalide_PremierePage() {
+        assertTrue(Curseur.decoder(null, Sort.by("id")).isInitial());
+        assertTrue(Curseur.decoder("", Sort.by("id")).isInitial());
+        assertTrue(Curseur.decoder("pas-un-jeton!", Sort.by("id")).isInitial());
+    }
+
+    @Test
+    void testDecoder_ClesDUnAutreTri_PremierePage() {
+        Map<String, Object> cles = new LinkedHashMap<>();
+        cles.put("nom", "Salle A");
+        cles.put("id", 42L);
+        String jeton = Curseur.encoder(ScrollPosition.forward(cles));
+
+        assertFalse(Curseur.decoder(jeton, Sort.by("nom", "id")).isInitial());
+        assertTrue(Curseur.decoder(jeton, Sort.by(Sort.Direction.DESC, "capacite", "id")).isInitial());
+        assertTrue(Curseur.decoder(jeton, Sort.by("id")).isInitial());
+        assertTrue(Curseur.decoder(jeton, Sort.by("nom", "capacite", "id")).isInitial());
+    }
+
+    @Test
+    void testEncoder_PositionInitiale_Null() {
+        assertNull(Curseur.encoder(ScrollPosition.keyset()));
+    }
+}
@@ -0,0 +1,99 @@
+package com.reservationsalles.repository;
+
+import com.reservationsalles.model.Salle;
+import com.reservationsalles.model.Utilisateur;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests d'intégration (H2) du cache de second niveau de Salle et Utilisateur
+ * Sans transaction de test : chaque appel de repository est validé,
+ * comme en production, pour que le cache soit alimenté et invalidé
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CacheSecondNiveauTest {
+
+    @Autowired
+    private SalleRepository salleRepository;
+
+    @Autowired
+    private UtilisateurRepository utilisateurRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Salle salle;
+    private Utilisateur utilisateur;
+
+    @BeforeEach
+    void setUp() {
+        salle = salleRepository.save(new Salle("Salle A", 50, "Bâtiment A", true));
+        salleRepository.save(new Salle("Salle B", 20, "Bâtiment B", true));
+        utilisateur = utilisateurRepository.save(new Utilisateur("Alice", "alice@test.com", "ORGANISATEUR"));
+
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        salleRepository.deleteAll();
+        utilisateurRepository.deleteAll();
+    }
+
+    @Test
+    void testFindById_DeuxiemeLectureSansRequete() {
+        salleRepository.findById(salle.getId());
+        utilisateurRepository.findById(utilisateur.getId());
+        long requetes = statistics.getPrepareStatementCount();
+
+        assertEquals("Salle A", salleRepository.findById(salle.getId()).orElseThrow().getNom());
+        assertEquals("Alice", utilisateurRepository.findById(utilisateur.getId()).orElseThrow().getNom());
+
+        assertEquals(requetes, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void testMiseAJour_CacheEcritEnMemeTemps() {
+        salleRepository.findById(salle.getId());
+
+        Salle modifiee = salleRepository.findById(salle.getId()).orElseThrow();
+        modifiee.setDisponible(false);
+        salleRepository.save(modifiee);
+
+        assertFalse(salleRepository.findById(salle.getId()).orElseThrow().isDisponible());
+    }
+
+    @Test
+    void testFindByDisponible_CacheDeRequetesInvalideParUneEcriture() {
+        salleRepository.findByDisponible(true);
+        assertEquals(2, salleRepository.findByDisponible(true).size());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+
+        Salle modifiee = salleRepository.findById(salle.getId()).orElseThrow();
+        modifiee.setDisponible(false);
+        salleRepository.save(modifiee);
+
+        assertEquals(1, salleRepository.findByDisponible(true).size());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+}
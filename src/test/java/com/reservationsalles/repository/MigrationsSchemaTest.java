@@ -0,0 +1,106 @@
+package com.reservationsalles.repository;
+
+import jakarta.persistence.PersistenceException;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests d'intégration (H2 en mode MySQL) des migrations Flyway
+ * Schéma créé par les migrations seules puis validé par Hibernate au démarrage ;
+ * plans d'exécution des requêtes fréquentes vérifiés sur les index de V3 et V4.2
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migrations;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.flyway.locations=classpath:db/migration,classpath:db/dev",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class MigrationsSchemaTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void testMigrations_ToutesAppliquees() {
+        assertEquals(0, flyway.info().pending().length);
+        assertEquals("6", flyway.info().current().getVersion().getVersion());
+    }
+
+    @Test
+    void testDonneesDeTest_SequencesApresLesDonnees() {
+        assertEquals(57L, ((Number) natif("SELECT next_val FROM salles_seq")).longValue());
+        assertEquals(55L, ((Number) natif("SELECT next_val FROM reservations_seq")).longValue());
+    }
+
+    @Test
+    void testIdentifiants_InsertionSansSequenceRefusee() {
+        assertThrows(PersistenceException.class, () -> entityManager.getEntityManager().createNativeQuery(
+                "INSERT INTO salles (nom, capacite, localisation, disponible) VALUES ('Sans id', 10, 'Lyon', TRUE)")
+                .executeUpdate());
+    }
+
+    @Test
+    void testCreneauMinutes_RempliPourLesReservationsExistantes() {
+        // 2026-03-15 14h00-18h00 (données de test)
+        Object[] creneau = (Object[]) natif("SELECT jour_epoch, minute_debut, minute_fin FROM reservations " +
+                "WHERE date_reservation = DATE '2026-03-15' AND heure_debut = TIME '14:00:00'");
+
+        assertEquals(20527, ((Number) creneau[0]).intValue());
+        assertEquals(14 * 60, ((Number) creneau[1]).intValue());
+        assertEquals(18 * 60, ((Number) creneau[2]).intValue());
+    }
+
+    @Test
+    void testPlanDetectionConflit_IndexCreneau() {
+        String plan = expliquer("SELECT r.id FROM reservations r WHERE r.salle_id = 1 " +
+                "AND r.jour_epoch BETWEEN 20526 AND 20528 " +
+                "AND (r.jour_epoch - 20527) * 1440 + r.minute_debut < 1200 " +
+                "AND (r.jour_epoch - 20527) * 1440 + r.minute_fin > 1020");
+
+        assertTrue(plan.contains("idx_reservation_creneau"), plan);
+    }
+
+    @Test
+    void testPlanAuditChevauchements_IndexCreneau() {
+        String plan = expliquer("SELECT r.id, r.jour_epoch, r.minute_debut, r.minute_fin FROM reservations r " +
+                "WHERE r.salle_id = 1 ORDER BY r.jour_epoch, r.minute_debut");
+
+        assertTrue(plan.contains("idx_reservation_creneau"), plan);
+    }
+
+    @Test
+    void testPlanLectureParDate_IndexChevauchement() {
+        String plan = expliquer("SELECT r.id, r.heure_debut, r.heure_fin FROM reservations r " +
+                "WHERE r.salle_id = 1 AND r.date_reservation BETWEEN DATE '2026-03-01' AND DATE '2026-03-31'");
+
+        assertTrue(plan.contains("idx_reservation_chevauchement"), plan);
+    }
+
+    @Test
+    void testPlanReservationsAVenirUtilisateur_IndexUtilisateurDate() {
+        String plan = expliquer("SELECT r.id FROM reservations r WHERE r.utilisateur_id = 2 " +
+                "AND r.date_reservation >= DATE '2026-01-01' ORDER BY r.date_reservation, r.heure_debut");
+
+        assertTrue(plan.contains("idx_reservation_utilisateur_date"), plan);
+    }
+
+    private String expliquer(String sql) {
+        return natif("EXPLAIN " + sql).toString().toLowerCase();
+    }
+
+    private Object natif(String sql) {
+        return entityManager.getEntityManager().createNativeQuery(sql).getSingleResult();
+    }
+}
@@ -0,0 +1,252 @@
+package com.reservationsalles.repository;
+
+import com.reservationsalles.dto.CreneauMinutes;
+import com.reservationsalles.dto.FiltreReservation;
+import com.reservationsalles.dto.ReservationInfo;
+import com.reservationsalles.model.CreneauReservation;
+import com.reservationsalles.model.Reservation;
+import com.reservationsalles.model.Salle;
+import com.reservationsalles.model.Utilisateur;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests d'intégration (H2) pour ReservationRepository
+ * Focus sur le nombre de requêtes des méthodes de liste : une seule requête,
+ * utilisateur et salle compris (pas de N+1 à l'affichage)
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ReservationRepositoryTest {
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Utilisateur utilisateur;
+    private Salle salle;
+
+    @BeforeEach
+    void setUp() {
+        LocalDate demain = LocalDate.now().plusDays(1);
+        Utilisateur autreUtilisateur = entityManager.persist(new Utilisateur("Bob", "bob@test.com", "ETUDIANT"));
+        utilisateur = entityManager.persist(new Utilisateur("Alice", "alice@test.com", "ORGANISATEUR"));
+        salle = entityManager.persist(new Salle("Salle A", 50, "Bâtiment A", true));
+        Salle autreSalle = entityManager.persist(new Salle("Salle B", 20, "Bâtiment B", true));
+        for (int i = 0; i < 5; i++) {
+            LocalTime debut = LocalTime.of(8 + 2 * i, 0);
+            entityManager.persist(new Reservation(demain, debut, debut.plusHours(1), utilisateur, autreSalle));
+            entityManager.persist(new Reservation(demain, debut, debut.plusHours(1), autreUtilisateur, salle));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testFindAll_UneSeuleRequete() {
+        List<Reservation> reservations = reservationRepository.findAll();
+
+        assertEquals(10, reservations.size());
+        assertUneSeuleRequete(reservations);
+    }
+
+    @Test
+    void testFindByUtilisateurEtSalle_UneSeuleRequeteChacune() {
+        assertUneSeuleRequete(reservationRepository.findByUtilisateur(utilisateur));
+        statistics.clear();
+        assertUneSeuleRequete(reservationRepository.findBySalle(salle));
+    }
+
+    @Test
+    void testFindFutureReservations_UneSeuleRequeteChacune() {
+        assertUneSeuleRequete(reservationRepository.findFutureReservationsByUtilisateur(utilisateur, LocalDate.now()));
+        statistics.clear();
+        assertUneSeuleRequete(reservationRepository.findFutureReservationsBySalle(salle, LocalDate.now()));
+    }
+
+    @Test
+    void testFindPageFutureReservations_ProjectionSansEntiteGeree() {
+        List<ReservationInfo> reservations = reservationRepository.findPageFutureReservationsBySalle(
+                salle.getId(), LocalDate.now(), null, null, null, Limit.of(10));
+
+        assertEquals(5, reservations.size());
+        assertEquals(LocalTime.of(8, 0), reservations.get(0).heureDebut());
+        assertEquals("Salle A", reservations.get(0).salleNom());
+        assertEquals("Bob", reservations.get(0).utilisateurNom());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        assertEquals(0, reservationRepository.findPageFutureReservationsByUtilisateur(
+                utilisateur.getId(), LocalDate.now().plusDays(2), null, null, null, Limit.of(10)).size());
+    }
+
+    @Test
+    void testFindPageReservations_PeriodeFacultative() {
+        LocalDate demain = LocalDate.now().plusDays(1);
+        assertEquals(10, reservationRepository.findPageReservations(null, null, null, null, null,
+                Limit.of(20)).size());
+        assertEquals(0, reservationRepository.findPageReservations(demain.plusDays(1), null, null, null, null,
+                Limit.of(20)).size());
+        List<LocalTime> debuts = reservationRepository.findPageReservations(demain, demain, null, null, null,
+                Limit.of(20)).stream().map(ReservationInfo::heureDebut).toList();
+        assertEquals(10, debuts.size());
+        assertEquals(debuts.stream().sorted().toList(), debuts);
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testFindPageReservations_RepriseApresLaDerniereLue() {
+        List<Long> tous = reservationRepository.findPageReservations(null, null, null, null, null,
+                Limit.of(20)).stream().map(ReservationInfo::id).toList();
+
+        List<Long> parPages = new ArrayList<>();
+        ReservationInfo derniere = null;
+        List<ReservationInfo> page;
+        do {
+            page = derniere == null
+                    ? reservationRepository.findPageReservations(null, null, null, null, null, Limit.of(3))
+                    : reservationRepository.findPageReservations(null, null, derniere.dateReservation(),
+                            derniere.heureDebut(), derniere.id(), Limit.of(3));
+            page.forEach(reservation -> parPages.add(reservation.id()));
+            derniere = page.isEmpty() ? derniere : page.get(page.size() - 1);
+        } while (page.size() == 3);
+
+        assertEquals(tous, parPages);
+    }
+
+    @Test
+    void testFindPremierConflit_ProjectionDuPremierCreneau() {
+        int demain = (int) LocalDate.now().plusDays(1).toEpochDay();
+
+        // 9h30-12h30 chevauche 10h-11h et 12h-13h : le plus tôt est renvoyé
+        CreneauReservation conflit = reservationRepository.findPremierConflit(salle.getId(), demain,
+                9 * 60 + 30, 12 * 60 + 30, null).orElseThrow();
+
+        assertEquals(LocalTime.of(10, 0), conflit.heureDebut());
+        assertEquals(LocalTime.of(11, 0), conflit.heureFin());
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        // Réservation en cours d'édition exclue, créneau libre
+        assertTrue(reservationRepository.findPremierConflit(salle.getId(), demain,
+                10 * 60, 11 * 60, conflit.reservationId()).isEmpty());
+        assertTrue(reservationRepository.findPremierConflit(salle.getId(), demain,
+                9 * 60, 10 * 60, null).isEmpty());
+    }
+
+    @Test
+    void testFindPremierConflit_ReservationPassantMinuit() {
+        LocalDate demain = LocalDate.now().plusDays(1);
+        Reservation nuit = entityManager.persist(new Reservation(demain, LocalTime.of(22, 0), LocalTime.of(1, 0),
+                utilisateur, salle));
+        entityManager.flush();
+        int lendemain = (int) demain.plusDays(1).toEpochDay();
+
+        // Débordement de la veille : 0h30-2h le lendemain chevauche 22h-1h, 1h-2h non
+        assertEquals(nuit.getId(), reservationRepository.findPremierConflit(salle.getId(), lendemain,
+                30, 2 * 60, null).orElseThrow().reservationId());
+        assertTrue(reservationRepository.findPremierConflit(salle.getId(), lendemain,
+                60, 2 * 60, null).isEmpty());
+
+        // Créneau demandé passant minuit (23h-0h30) : même réservation
+        assertEquals(nuit.getId(), reservationRepository.findPremierConflit(salle.getId(), (int) demain.toEpochDay(),
+                23 * 60, 24 * 60 + 30, null).orElseThrow().reservationId());
+        // Créneaux autour du lendemain : ceux de la veille compris, dont celui qui déborde
+        assertEquals(List.of(nuit.getId()), reservationRepository.findCreneauxAutourDu(salle.getId(), lendemain)
+                .stream().filter(CreneauReservation::finitLeLendemain).map(CreneauReservation::reservationId).toList());
+    }
+
+    @Test
+    void testStreamCreneauxMinutes_TriesParDebutSansEntite() {
+        LocalDate demain = LocalDate.now().plusDays(1);
+        entityManager.persist(new Reservation(demain.minusDays(1), LocalTime.of(23, 0), LocalTime.of(0, 30),
+                utilisateur, salle));
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<CreneauMinutes> creneaux;
+        try (Stream<CreneauMinutes> flux = reservationRepository.streamCreneauxMinutesBySalle(salle.getId())) {
+            creneaux = flux.toList();
+        }
+
+        assertEquals(6, creneaux.size());
+        CreneauMinutes veille = creneaux.get(0);
+        assertEquals((int) demain.toEpochDay() - 1, veille.jourEpoch());
+        assertEquals(23 * 60, veille.minuteDebut());
+        assertEquals(24 * 60 + 30, veille.minuteFin());
+        assertEquals(List.of(8 * 60, 10 * 60, 12 * 60, 14 * 60, 16 * 60), creneaux.subList(1, 6).stream()
+                .map(creneau -> (int) creneau.minuteDebut()).toList());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testDeleteBySalleId_SansChargerLesReservations() {
+        List<CreneauReservation> creneaux = reservationRepository.findCreneauxBySalleAPartirDu(salle.getId(),
+                LocalDate.now());
+        int supprimees = reservationRepository.deleteBySalleId(salle.getId());
+
+        assertEquals(5, creneaux.size());
+        assertEquals(5, supprimees);
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(5, reservationRepository.count());
+        assertEquals(5, reservationRepository.findCreneauxByUtilisateurAPartirDu(utilisateur.getId(),
+                LocalDate.now()).size());
+    }
+
+    @Test
+    void testPageKeyset_UneSeuleRequete() {
+        Window<Reservation> page = reservationRepository.findBy(
+                ReservationSpecifications.filtre(new FiltreReservation(null, null, null, null))
+                        .and(ReservationSpecifications.avecUtilisateurEtSalle()),
+                requete -> requete.sortBy(Sort.by("dateReservation", "heureDebut", "id"))
+                        .limit(4)
+                        .scroll(ScrollPosition.keyset()));
+
+        assertEquals(4, page.size());
+        assertUneSeuleRequete(page.getContent());
+    }
+
+    /**
+     * Parcourt la liste comme le fait la JSP, puis vérifie qu'aucune requête
+     * supplémentaire n'a été émise
+     */
+    private void assertUneSeuleRequete(List<Reservation> reservations) {
+        assertFalse(reservations.isEmpty());
+        reservations.forEach(reservation -> {
+            assertNotNull(reservation.getUtilisateur().getNom());
+            assertNotNull(reservation.getSalle().getNom());
+        });
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,130 @@
+package com.reservationsalles.repository;
+
+import com.reservationsalles.dto.FiltreSalle;
+import com.reservationsalles.dto.SalleInfo;
+import com.reservationsalles.model.Reservation;
+import com.reservationsalles.model.Salle;
+import com.reservationsalles.model.Utilisateur;
+import com.reservationsalles.pagination.Curseur;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests d'intégration (H2) pour SalleRepository
+ * Focus sur la recherche de salles libres par anti-jointure
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class SalleRepositoryTest {
+
+    @Autowired
+    private SalleRepository salleRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private LocalDate date;
+    private Salle petite;
+    private Salle moyenne;
+    private Salle grande;
+
+    @BeforeEach
+    void setUp() {
+        date = LocalDate.now().plusDays(2);
+        Utilisateur utilisateur = entityManager.persist(new Utilisateur("Alice", "alice@test.com", "ORGANISATEUR"));
+        petite = entityManager.persist(new Salle("Petite", 10, "Bâtiment A", true));
+        moyenne = entityManager.persist(new Salle("Moyenne", 50, "Bâtiment B", true));
+        grande = entityManager.persist(new Salle("Grande", 200, "Bâtiment A", true));
+        entityManager.persist(new Salle("Fermée", 300, "Bâtiment A", false));
+
+        // Moyenne occupée de 14h à 18h, Grande occupée la veille seulement
+        entityManager.persist(new Reservation(date, LocalTime.of(14, 0), LocalTime.of(18, 0), utilisateur, moyenne));
+        entityManager.persist(new Reservation(date.minusDays(1), LocalTime.of(14, 0), LocalTime.of(18, 0),
+                utilisateur, grande));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testScroll_JetonDUnAutreTri_RepartDeLaPremierePage() {
+        Sort parNom = Sort.by("nom", "id");
+        Sort parCapacite = Sort.by(Sort.Direction.DESC, "capacite", "id");
+        Window<Salle> premiere = salleRepository.findBy(SalleSpecifications.filtre(new FiltreSalle(null, null, null, null)),
+                requete -> requete.sortBy(parNom).limit(2).scroll(Curseur.decoder(null, parNom)));
+        String jeton = Curseur.encoder(premiere.positionAt(premiere.size() - 1));
+
+        // Jeton du tri par nom, présenté avec le tri par capacité : première page, sans erreur
+        Window<Salle> autreTri = salleRepository.findBy(SalleSpecifications.filtre(new FiltreSalle(null, null, null, null)),
+                requete -> requete.sortBy(parCapacite).limit(2).scroll(Curseur.decoder(jeton, parCapacite)));
+        Window<Salle> suivante = salleRepository.findBy(SalleSpecifications.filtre(new FiltreSalle(null, null, null, null)),
+                requete -> requete.sortBy(parNom).limit(2).scroll(Curseur.decoder(jeton, parNom)));
+
+        assertEquals(List.of("Fermée", "Grande"), autreTri.stream().map(Salle::getNom).toList());
+        assertEquals(List.of("Moyenne", "Petite"), suivante.stream().map(Salle::getNom).toList());
+    }
+
+    @Test
+    void testFindSallesLibres_ExclutSallesOccupeesEtIndisponibles() {
+        List<Salle> salles = salleRepository.findSallesLibres(jour(), 16 * 60, 20 * 60,
+                1, null, Limit.of(10));
+
+        assertEquals(List.of(petite.getId(), grande.getId()), salles.stream().map(Salle::getId).toList());
+    }
+
+    @Test
+    void testFindSallesLibres_CreneauAdjacentEtCriteres() {
+        // 18h-20h touche la réservation de Moyenne sans la chevaucher
+        List<Salle> salles = salleRepository.findSallesLibresHors(jour(), 18 * 60, 20 * 60,
+                20, "bâtiment", Set.of(grande.getId()), Limit.of(10));
+
+        assertEquals(List.of(moyenne.getId()), salles.stream().map(Salle::getId).toList());
+    }
+
+    @Test
+    void testFindSallesLibres_ReservationDeLaVeillePassantMinuit() {
+        // Petite réservée de la veille à 23h jusqu'à 16h30 le jour même
+        Utilisateur bob = entityManager.persist(new Utilisateur("Bob", "bob@test.com", "ORGANISATEUR"));
+        entityManager.persist(new Reservation(date.minusDays(1), LocalTime.of(23, 0), LocalTime.of(16, 30),
+                bob, petite));
+        entityManager.flush();
+
+        List<Salle> salles = salleRepository.findSallesLibres(jour(), 16 * 60, 20 * 60,
+                1, null, Limit.of(10));
+
+        assertEquals(List.of(grande.getId()), salles.stream().map(Salle::getId).toList());
+    }
+
+    @Test
+    void testFindPageSallesLibres_MemeFiltreQueLaRecherche() {
+        List<SalleInfo> premiere = salleRepository.findPageSallesLibres(jour(), 16 * 60, 20 * 60,
+                1, null, null, null, null, Limit.of(1));
+        SalleInfo apres = premiere.get(0);
+        List<SalleInfo> suivante = salleRepository.findPageSallesLibres(jour(), 16 * 60, 20 * 60,
+                1, null, apres.capacite(), apres.nom(), apres.id(), Limit.of(1));
+
+        assertEquals(List.of(petite.getId()), premiere.stream().map(SalleInfo::id).toList());
+        assertEquals(List.of(grande.getId()), suivante.stream().map(SalleInfo::id).toList());
+        assertTrue(salleRepository.findPageSallesLibresHors(jour(), 16 * 60, 20 * 60, 1, null,
+                List.of(grande.getId()), apres.capacite(), apres.nom(), apres.id(), Limit.of(1)).isEmpty());
+    }
+
+    private int jour() {
+        return (int) date.toEpochDay();
+    }
+}
@@ -0,0 +1,97 @@
+package com.reservationsalles.service;
+
+import com.reservationsalles.dto.ChevauchementDetecte;
+import com.reservationsalles.dto.CreneauMinutes;
+import com.reservationsalles.dto.RapportAudit;
+import com.reservationsalles.repository.ReservationRepository;
+import com.reservationsalles.repository.SalleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour AuditChevauchements
+ * Focus sur le balayage par salle, la fusion des résultats et le rapport
+ */
+@ExtendWith(MockitoExtension.class)
+class AuditChevauchementsTest {
+
+    private static final int JOUR = 20527;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private SalleRepository salleRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(salleRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L));
+        // Salle 1 : 10h-12h chevauchée par 11h-13h ; 22h-1h (lendemain) chevauchée par 0h30-2h
+        when(reservationRepository.streamCreneauxMinutesBySalle(1L)).thenAnswer(invocation -> Stream.of(
+                creneau(10L, JOUR, 10 * 60, 12 * 60),
+                creneau(11L, JOUR, 11 * 60, 13 * 60),
+                creneau(12L, JOUR, 13 * 60, 14 * 60),
+                creneau(13L, JOUR, 22 * 60, 25 * 60),
+                creneau(14L, JOUR + 1, 30, 2 * 60)));
+        when(reservationRepository.streamCreneauxMinutesBySalle(2L)).thenAnswer(invocation -> Stream.empty());
+        when(reservationRepository.streamCreneauxMinutesBySalle(3L)).thenAnswer(invocation -> Stream.of(
+                creneau(30L, JOUR, 8 * 60, 9 * 60),
+                creneau(31L, JOUR, 9 * 60, 10 * 60),
+                creneau(32L, JOUR, 9 * 60 + 30, 11 * 60)));
+    }
+
+    @Test
+    void testAuditer_ChevauchementsDeToutesLesSalles() {
+        AuditChevauchements audit = audit(1000);
+        assertTrue(audit.dernierRapport().isEmpty());
+
+        RapportAudit rapport = audit.auditer().orElseThrow();
+
+        assertEquals(3, rapport.salles());
+        assertEquals(8, rapport.reservations());
+        assertEquals(3, rapport.chevauchements());
+        assertEquals(List.of(
+                new ChevauchementDetecte(1L, 10L, 11L),
+                new ChevauchementDetecte(1L, 13L, 14L),
+                new ChevauchementDetecte(3L, 31L, 32L)), rapport.details());
+        assertEquals(rapport, audit.dernierRapport().orElseThrow());
+        assertEquals(3.0, meterRegistry.get("reservation.audit.chevauchements").gauge().value());
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void testAuditer_DetailsBornes() {
+        RapportAudit rapport = audit(2).auditer().orElseThrow();
+
+        assertEquals(3, rapport.chevauchements());
+        assertEquals(List.of(
+                new ChevauchementDetecte(1L, 10L, 11L),
+                new ChevauchementDetecte(1L, 13L, 14L)), rapport.details());
+    }
+
+    private AuditChevauchements audit(int maxDetails) {
+        return new AuditChevauchements(reservationRepository, salleRepository, transactionManager,
+                meterRegistry, 2, maxDetails);
+    }
+
+    private static CreneauMinutes creneau(long id, int jour, int minuteDebut, int minuteFin) {
+        return new CreneauMinutes(id, jour, (short) minuteDebut, (short) minuteFin);
+    }
+}
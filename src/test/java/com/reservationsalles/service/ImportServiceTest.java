@@ -0,0 +1,157 @@
+package com.reservationsalles.service;
+
+import com.reservationsalles.dto.LigneRejetee;
+import com.reservationsalles.dto.ProgressionImport;
+import com.reservationsalles.event.StatistiqueEvent;
+import com.reservationsalles.event.StatistiqueEvent.Compteur;
+import com.reservationsalles.model.Salle;
+import com.reservationsalles.repository.SalleRepository;
+import com.reservationsalles.repository.UtilisateurRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour ImportService
+ * Focus sur le découpage en lots, les rejets ligne à ligne et l'unicité des emails
+ */
+@ExtendWith(MockitoExtension.class)
+class ImportServiceTest {
+
+    @Mock
+    private SalleRepository salleRepository;
+
+    @Mock
+    private UtilisateurRepository utilisateurRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ValidatorFactory validatorFactory;
+    private ImportService importService;
+    private final List<ProgressionImport> progression = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        importService = new ImportService(salleRepository, utilisateurRepository, validatorFactory.getValidator(),
+                transactionTemplate, entityManager, eventPublisher, 2);
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void testImporterSalles_ParLotsAvecRejetsLigneALigne() {
+        String csv = """
+                nom;capacite;localisation;disponible
+                Salle A;10;Bâtiment A;oui
+                Salle B;douze;Bâtiment A
+
+                Salle C;0;Bâtiment B
+                Salle D;20;Bâtiment B;non
+                Salle E;30;Bâtiment C
+                """;
+
+        importService.importerSalles(new StringReader(csv), progression::add);
+
+        assertEquals(4, progression.size());
+        assertEquals(List.of(new LigneRejetee(3, "Capacité invalide : douze")), progression.get(0).rejets());
+        assertEquals(List.of(new LigneRejetee(5, "La capacité doit être au moins de 1 personne")),
+                progression.get(1).rejets());
+        assertEquals(new ProgressionImport(3, 5, 3, 2, List.of(), true), progression.get(3));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Salle>> lots = ArgumentCaptor.forClass(List.class);
+        verify(salleRepository, times(3)).saveAll(lots.capture());
+        assertEquals(List.of(1, 1, 1), lots.getAllValues().stream().map(List::size).toList());
+        assertFalse(lots.getAllValues().get(1).get(0).isDisponible());
+        verify(eventPublisher).publishEvent(new StatistiqueEvent(Compteur.SALLES_DISPONIBLES, 0));
+        verify(entityManager, times(3)).clear();
+    }
+
+    @Test
+    void testImporterUtilisateurs_EmailsExistantsEtDoublonsRejetes() {
+        String csv = """
+                Alice,alice@test.com,ORGANISATEUR
+                Bob,bob@test.com,ORGANISATEUR
+                Alice Bis,ALICE@test.com,ORGANISATEUR
+                """;
+        when(utilisateurRepository.findEmailsExistants(anyCollection()))
+                .thenReturn(List.of("bob@test.com"))
+                .thenReturn(List.of());
+
+        importService.importerUtilisateurs(new StringReader(csv), progression::add);
+
+        // Une seule requête d'unicité par lot
+        verify(utilisateurRepository, times(2)).findEmailsExistants(anyCollection());
+        assertEquals(List.of(new LigneRejetee(2, "Un utilisateur avec cet email existe déjà : bob@test.com")),
+                progression.get(0).rejets());
+        assertEquals(new ProgressionImport(2, 3, 2, 1, List.of(), true), progression.get(2));
+        verify(eventPublisher, times(2)).publishEvent(new StatistiqueEvent(Compteur.UTILISATEURS, 1));
+    }
+
+    @Test
+    void testImporterUtilisateurs_DoublonDansLeLot() {
+        String csv = """
+                Alice,alice@test.com,ORGANISATEUR
+                Alice Bis,Alice@Test.com,ORGANISATEUR
+                """;
+        when(utilisateurRepository.findEmailsExistants(anyCollection())).thenReturn(List.of());
+
+        importService.importerUtilisateurs(new StringReader(csv), progression::add);
+
+        assertEquals(List.of(new LigneRejetee(2, "Email en double dans le fichier : Alice@Test.com")),
+                progression.get(0).rejets());
+        assertEquals(1, progression.get(1).importees());
+    }
+
+    @Test
+    void testImporterSalles_LotRefuseParLaBaseSansArreterLImport() {
+        String csv = """
+                Salle A;10;Bâtiment A
+                Salle B;10;Bâtiment A
+                Salle C;10;Bâtiment A
+                """;
+        when(salleRepository.saveAll(anyList()))
+                .thenThrow(new DataIntegrityViolationException("contrainte"))
+                .thenReturn(List.of());
+
+        importService.importerSalles(new StringReader(csv), progression::add);
+
+        assertEquals(List.of(1L, 2L), progression.get(0).rejets().stream().map(LigneRejetee::ligne).toList());
+        assertEquals(new ProgressionImport(2, 3, 1, 2, List.of(), true), progression.get(2));
+    }
+}
@@ -0,0 +1,195 @@
+package com.reservationsalles.service;
+
+import com.reservationsalles.model.CreneauReservation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static com.reservationsalles.service.MoteurChevauchement.AUCUN;
+import static com.reservationsalles.service.MoteurChevauchement.minuteAbsolue;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour MoteurChevauchement
+ * Focus sur la sonde (bornes, exclusion, longs intervalles) et le balayage
+ */
+class MoteurChevauchementTest {
+
+    private static final int JOUR = 20527;
+
+    private MoteurChevauchement moteur;
+
+    @BeforeEach
+    void setUp() {
+        moteur = new MoteurChevauchement();
+        moteur.ajouter(1L, 10L, minute(14, 0), minute(18, 0));
+        moteur.ajouter(1L, 11L, minute(19, 0), minute(23, 0));
+    }
+
+    @Test
+    void testSonde_ChevauchementEtCreneauxAdjacents() {
+        assertEquals(10L, moteur.premierChevauchement(1L, minute(17, 0), minute(18, 30), AUCUN));
+        assertEquals(11L, moteur.premierChevauchement(1L, minute(8, 0), minute(23, 30), AUCUN));
+        assertEquals(AUCUN, moteur.premierChevauchement(1L, minute(18, 0), minute(19, 0), AUCUN));
+        assertEquals(AUCUN, moteur.premierChevauchement(1L, minute(10, 0), minute(14, 0), AUCUN));
+        assertEquals(AUCUN, moteur.premierChevauchement(2L, minute(15, 0), minute(16, 0), AUCUN));
+    }
+
+    @Test
+    void testSonde_ReferenceExclue() {
+        assertEquals(AUCUN, moteur.premierChevauchement(1L, minute(15, 0), minute(17, 0), 10L));
+        assertEquals(10L, moteur.premierChevauchement(1L, minute(15, 0), minute(17, 0), 11L));
+    }
+
+    @Test
+    void testSonde_LongIntervalleCommenceBienAvant() {
+        // Trois jours d'occupation : la fenêtre des débuts candidats suit la durée maximale
+        moteur.ajouter(1L, 12L, minute(-48 * 60), minute(-30));
+        moteur.ajouter(1L, 13L, minute(-2 * 60), minute(-60));
+
+        assertEquals(12L, moteur.premierChevauchement(1L, minute(-45), minute(-40), AUCUN));
+        assertEquals(AUCUN, moteur.premierChevauchement(1L, minute(-30), minute(0), AUCUN));
+    }
+
+    @Test
+    void testSonde_PassantMinuit() {
+        moteur.ajouter(1L, 12L, minuteAbsolue(JOUR, 23 * 60), minuteAbsolue(JOUR, 24 * 60 + 90));
+
+        assertEquals(12L, moteur.premierChevauchement(1L, minuteAbsolue(JOUR + 1, 60),
+                minuteAbsolue(JOUR + 1, 120), AUCUN));
+        assertEquals(AUCUN, moteur.premierChevauchement(1L, minuteAbsolue(JOUR + 1, 90),
+                minuteAbsolue(JOUR + 1, 120), AUCUN));
+    }
+
+    @Test
+    void testMinuteAbsolue_DebordementSignale() {
+        int dateMax = (int) CreneauReservation.DATE_MAX.toEpochDay();
+        assertEquals((long) dateMax * 1440 + 2 * 1440, minuteAbsolue(dateMax, 2 * 1440));
+        assertThrows(ArithmeticException.class, () -> minuteAbsolue(Integer.MAX_VALUE / 1440 + 1, 0));
+    }
+
+    @Test
+    void testAjout_ReferenceAucunRefusee() {
+        // AUCUN est le résultat "pas de chevauchement" de la sonde
+        assertThrows(IllegalArgumentException.class, () -> moteur.ajouter(1L, AUCUN, minute(8, 0), minute(9, 0)));
+        assertEquals(AUCUN, moteur.premierChevauchement(1L, minute(8, 0), minute(9, 0), AUCUN));
+    }
+
+    @Test
+    void testRetrait_ParReferenceEtDebut() {
+        assertFalse(moteur.retirer(1L, 10L, minute(15, 0)));
+        assertTrue(moteur.retirer(1L, 10L, minute(14, 0)));
+
+        assertEquals(AUCUN, moteur.premierChevauchement(1L, minute(15, 0), minute(17, 0), AUCUN));
+        assertEquals(1, moteur.taille());
+    }
+
+    @Test
+    void testAjout_MemeReferenceEtDebutRemplace() {
+        moteur.ajouter(1L, 10L, minute(14, 0), minute(15, 0));
+
+        assertEquals(2, moteur.taille());
+        assertEquals(AUCUN, moteur.premierChevauchement(1L, minute(16, 0), minute(17, 0), AUCUN));
+    }
+
+    @Test
+    void testRetirerTerminesAvant() {
+        moteur.retirerTerminesAvant(minute(18, 0));
+
+        assertEquals(1, moteur.taille());
+        assertEquals(11L, moteur.premierChevauchement(1L, minute(8, 0), minute(23, 30), AUCUN));
+    }
+
+    @Test
+    void testBalayage_ToutesLesPaires() {
+        moteur.ajouter(1L, 12L, minute(17, 0), minute(20, 0));
+        moteur.ajouter(1L, 13L, minute(19, 30), minute(19, 45));
+        List<String> paires = new ArrayList<>();
+
+        long nombre = moteur.paires(1L, (a, b) -> paires.add(a + "-" + b));
+
+        // Ordre des débuts : 10 (14h), 12 (17h), 11 (19h), 13 (19h30)
+        assertEquals(4, nombre);
+        assertEquals(List.of("10-12", "12-11", "12-13", "11-13"), paires);
+    }
+
+    @Test
+    void testBalayage_NonTrie_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> MoteurChevauchement.balayer(
+                new long[]{1, 2}, new int[]{100, 50}, new int[]{200, 150}, 2, (a, b) -> { }));
+    }
+
+    @Test
+    void testBalayageEnFlux_NonTrie_ThrowsException() {
+        MoteurChevauchement.Balayage balayage = new MoteurChevauchement.Balayage();
+        balayage.suivant(1L, 100, 200, (a, b) -> { });
+
+        assertThrows(IllegalArgumentException.class, () -> balayage.suivant(2L, 50, 150, (a, b) -> { }));
+    }
+
+    @Test
+    void testSondeEtBalayage_ConformesAuCalculExhaustif() {
+        Random aleatoire = new Random(42);
+        int taille = 2_000;
+        int[] debuts = new int[taille];
+        int[] fins = new int[taille];
+        MoteurChevauchement aleatoires = new MoteurChevauchement();
+        for (int i = 0; i < taille; i++) {
+            debuts[i] = aleatoire.nextInt(100_000);
+            fins[i] = debuts[i] + 1 + aleatoire.nextInt(aleatoire.nextInt(10) == 0 ? 2_000 : 120);
+            aleatoires.ajouter(1L, i, debuts[i], fins[i]);
+        }
+
+        long pairesAttendues = 0;
+        for (int i = 0; i < taille; i++) {
+            for (int j = i + 1; j < taille; j++) {
+                if (debuts[i] < fins[j] && debuts[j] < fins[i]) {
+                    pairesAttendues++;
+                }
+            }
+        }
+        assertEquals(pairesAttendues, aleatoires.paires(1L, (a, b) -> { }));
+
+        // Même résultat en flux, dans l'ordre des débuts
+        Integer[] ordre = new Integer[taille];
+        for (int i = 0; i < taille; i++) {
+            ordre[i] = i;
+        }
+        Arrays.sort(ordre, Comparator.comparingInt(i -> debuts[i]));
+        MoteurChevauchement.Balayage balayage = new MoteurChevauchement.Balayage();
+        for (int i : ordre) {
+            balayage.suivant(i, debuts[i], fins[i], (a, b) -> assertTrue(debuts[(int) a] < fins[(int) b]
+                    && debuts[(int) b] < fins[(int) a]));
+        }
+        assertEquals(taille, balayage.intervalles());
+        assertEquals(pairesAttendues, balayage.paires());
+
+        for (int k = 0; k < 1_000; k++) {
+            int debut = aleatoire.nextInt(100_000);
+            int fin = debut + 1 + aleatoire.nextInt(180);
+            boolean attendu = false;
+            for (int i = 0; i < taille && !attendu; i++) {
+                attendu = debuts[i] < fin && debut < fins[i];
+            }
+            long trouve = aleatoires.premierChevauchement(1L, debut, fin, AUCUN);
+            assertEquals(attendu, trouve != AUCUN);
+            if (trouve != AUCUN) {
+                int i = (int) trouve;
+                assertTrue(debuts[i] < fin && debut < fins[i]);
+            }
+        }
+    }
+
+    private static int minute(int heure, int minute) {
+        return minuteAbsolue(JOUR, heure * 60 + minute);
+    }
+
+    private static int minute(int minutes) {
+        return minuteAbsolue(JOUR, minutes);
+    }
+}
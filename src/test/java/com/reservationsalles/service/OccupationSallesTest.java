@@ -0,0 +1,222 @@
+package com.reservationsalles.service;
+
+import com.reservationsalles.dto.GrilleOccupation;
+import com.reservationsalles.event.ReservationEvent;
+import com.reservationsalles.event.ReservationsSupprimeesEvent;
+import com.reservationsalles.model.CreneauReservation;
+import com.reservationsalles.model.ReservationSerie;
+import com.reservationsalles.model.Salle;
+import com.reservationsalles.model.Utilisateur;
+import com.reservationsalles.repository.ReservationRepository;
+import com.reservationsalles.repository.ReservationSerieRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour OccupationSalles
+ * Focus sur les masques de tranches et leur mise à jour
+ */
+@ExtendWith(MockitoExtension.class)
+class OccupationSallesTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private ReservationSerieRepository reservationSerieRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OccupationSalles occupation;
+    private LocalDate date;
+
+    @BeforeEach
+    void setUp() {
+        date = LocalDate.now().plusDays(3);
+        when(reservationRepository.findCreneauxAPartirDu(any())).thenReturn(List.of(
+                new CreneauReservation(1L, 1L, date, LocalTime.of(10, 0), LocalTime.of(10, 5)),
+                new CreneauReservation(2L, 1L, date, LocalTime.of(10, 10), LocalTime.of(11, 0)),
+                new CreneauReservation(3L, 1L, date, LocalTime.of(22, 0), LocalTime.of(23, 59))
+        ));
+        occupation = new OccupationSalles(reservationRepository, reservationSerieRepository, transactionManager, true);
+        occupation.prechauffer();
+    }
+
+    @Test
+    void testMarquer_TranchesEntameesEtDeuxiemeMot() {
+        long[] grille = new long[2];
+        OccupationSalles.marquer(grille, 0, LocalTime.of(15, 50), LocalTime.of(16, 20));
+
+        // 15h45 = tranche 63 (dernière du premier long), 16h00 et 16h15 = tranches 64 et 65
+        assertEquals(1L << 63, grille[0]);
+        assertEquals(0b11L, grille[1]);
+    }
+
+    @Test
+    void testGrilles_DepuisLaMemoire() {
+        Map<Long, long[]> grilles = occupation.grilles(List.of(1L, 2L), date, date);
+
+        long[] salle1 = grilles.get(1L);
+        // 10h00-11h00 : tranches 40 à 43 ; 22h00-23h59 : tranches 88 à 95
+        assertEquals(0xFL << 40, salle1[0]);
+        assertEquals(0xFFL << 24, salle1[1]);
+        assertArrayEquals(new long[2], grilles.get(2L));
+        verify(reservationRepository, never()).findCreneauxSurPeriode(any(), any(), any());
+    }
+
+    @Test
+    void testGrilles_ReservationPassantMinuitSurDeuxJours() {
+        occupation.onReservationEvent(ReservationEvent.creation(
+                new CreneauReservation(4L, 2L, date, LocalTime.of(23, 0), LocalTime.of(1, 0))));
+
+        long[] salle2 = occupation.grilles(List.of(2L), date, date.plusDays(1)).get(2L);
+        // 23h00-24h00 : tranches 92 à 95 du jour ; 0h00-1h00 : tranches 0 à 3 du lendemain
+        assertArrayEquals(new long[] {0L, 0xFL << 28, 0xFL, 0L}, salle2);
+    }
+
+    @Test
+    void testSuppression_RecalculeLeJourDepuisLaBase() {
+        // La réservation 10h00-10h05 est supprimée ; 10h10-11h00 partage encore la tranche de 10h00
+        when(reservationRepository.findCreneauxAutourDu(1L, (int) date.toEpochDay())).thenReturn(List.of(
+                new CreneauReservation(2L, 1L, date, LocalTime.of(10, 10), LocalTime.of(11, 0))
+        ));
+
+        occupation.onReservationEvent(ReservationEvent.suppression(
+                new CreneauReservation(1L, 1L, date, LocalTime.of(10, 0), LocalTime.of(10, 5))));
+
+        long[] salle1 = occupation.grilles(List.of(1L), date, date).get(1L);
+        assertEquals(0xFL << 40, salle1[0]);
+        assertEquals(0L, salle1[1]);
+    }
+
+    @Test
+    void testSuppression_RelitLaBaseSiUneReservationEstValideePendantLeRecalcul() {
+        CreneauReservation quatorzeHeures = new CreneauReservation(5L, 1L, date, LocalTime.of(14, 0), LocalTime.of(15, 0));
+        CreneauReservation dixHeures = new CreneauReservation(2L, 1L, date, LocalTime.of(10, 10), LocalTime.of(11, 0));
+        CreneauReservation vingtDeuxHeures = new CreneauReservation(3L, 1L, date, LocalTime.of(22, 0), LocalTime.of(23, 59));
+        // Première lecture : 14h00-15h00 pas encore validée, mais ajoutée au masque avant la fin du recalcul
+        when(reservationRepository.findCreneauxAutourDu(1L, (int) date.toEpochDay()))
+                .thenAnswer(invocation -> {
+                    occupation.onReservationEvent(ReservationEvent.creation(quatorzeHeures));
+                    return List.of(dixHeures, vingtDeuxHeures);
+                })
+                .thenReturn(List.of(dixHeures, quatorzeHeures, vingtDeuxHeures));
+
+        occupation.onReservationEvent(ReservationEvent.suppression(
+                new CreneauReservation(1L, 1L, date, LocalTime.of(10, 0), LocalTime.of(10, 5))));
+
+        long[] salle1 = occupation.grilles(List.of(1L), date, date).get(1L);
+        // 10h00-11h00 : tranches 40 à 43 ; 14h00-15h00 : tranches 56 à 59
+        assertEquals(0xFL << 40 | 0xFL << 56, salle1[0]);
+        assertEquals(0xFFL << 24, salle1[1]);
+        verify(reservationRepository, times(2)).findCreneauxAutourDu(1L, (int) date.toEpochDay());
+    }
+
+    @Test
+    void testReservationEtSuppressionConcurrentesLeMemeJour() throws Exception {
+        // Base simulée : une suppression et une création validées en même temps sur un jour de la salle 3
+        List<CreneauReservation> base = new CopyOnWriteArrayList<>();
+        when(reservationRepository.findCreneauxAutourDu(anyLong(), anyInt())).thenAnswer(invocation -> {
+            int jour = invocation.getArgument(1);
+            return base.stream().filter(creneau -> creneau.jourEpoch() == jour).toList();
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int tour = 0; tour < 200; tour++) {
+                LocalDate jour = date.plusDays(tour);
+                CreneauReservation supprimee = new CreneauReservation(2L * tour, 3L, jour, LocalTime.of(9, 0), LocalTime.of(10, 0));
+                CreneauReservation creee = new CreneauReservation(2L * tour + 1, 3L, jour, LocalTime.of(14, 0), LocalTime.of(15, 0));
+                base.add(supprimee);
+                occupation.onReservationEvent(ReservationEvent.creation(supprimee));
+
+                CyclicBarrier depart = new CyclicBarrier(2);
+                List<Future<?>> commits = new ArrayList<>();
+                commits.add(executor.submit(() -> {
+                    depart.await();
+                    base.remove(supprimee);
+                    occupation.onReservationEvent(ReservationEvent.suppression(supprimee));
+                    return null;
+                }));
+                commits.add(executor.submit(() -> {
+                    depart.await();
+                    base.add(creee);
+                    occupation.onReservationEvent(ReservationEvent.creation(creee));
+                    return null;
+                }));
+                for (Future<?> commit : commits) {
+                    commit.get();
+                }
+
+                long[] salle3 = occupation.grilles(List.of(3L), jour, jour).get(3L);
+                assertArrayEquals(new long[] {0xFL << 56, 0L}, salle3, "jour " + jour);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testGrilles_MoisEnCoursDepuisLaMemoireMoisPasseDepuisLaBase() {
+        YearMonth moisEnCours = YearMonth.now();
+        occupation.grilles(List.of(1L), moisEnCours.atDay(1), moisEnCours.atEndOfMonth());
+        verify(reservationRepository, never()).findCreneauxSurPeriode(any(), any(), any());
+
+        YearMonth moisPasse = moisEnCours.minusMonths(1);
+        occupation.grilles(List.of(1L), moisPasse.atDay(1), moisPasse.atEndOfMonth());
+        verify(reservationRepository).findCreneauxSurPeriode(any(), eq(moisPasse.atDay(1).minusDays(1)), eq(moisPasse.atEndOfMonth()));
+    }
+
+    @Test
+    void testSuppressionEnMasse_UneLectureParSalle() {
+        // Réservations 10h-11h et 22h-23h59 de la salle 1 supprimées avec leur utilisateur ;
+        // il reste 10h10-11h00 le jour même
+        when(reservationRepository.findCreneauxSurPeriode(List.of(1L), date.minusDays(1), date)).thenReturn(List.of(
+                new CreneauReservation(2L, 1L, date, LocalTime.of(10, 10), LocalTime.of(11, 0))));
+
+        occupation.onReservationsSupprimees(new ReservationsSupprimeesEvent(List.of(
+                new CreneauReservation(1L, 1L, date, LocalTime.of(10, 0), LocalTime.of(10, 5)),
+                new CreneauReservation(3L, 1L, date, LocalTime.of(22, 0), LocalTime.of(23, 59)))));
+
+        long[] salle1 = occupation.grilles(List.of(1L), date, date).get(1L);
+        assertArrayEquals(new long[] {0xFL << 40, 0L}, salle1);
+        verify(reservationRepository, never()).findCreneauxAutourDu(any(), anyInt());
+    }
+
+    @Test
+    void testGrilles_AjouteLesOccurrencesDeSeries() {
+        Salle salle = new Salle("Salle A", 50, "Bâtiment A", true);
+        salle.setId(2L);
+        ReservationSerie serie = new ReservationSerie(date, date.plusWeeks(8), LocalTime.of(8, 0), LocalTime.of(9, 0),
+                1, new Utilisateur("Alice", "alice@test.com", "ORGANISATEUR"), salle);
+        when(reservationSerieRepository.findSeriesSurPeriode(any(), any(), any())).thenReturn(List.of(serie));
+
+        long[] salle2 = occupation.grilles(List.of(2L), date, date.plusDays(7)).get(2L);
+        GrilleOccupation grille = GrilleOccupation.of(2L, YearMonth.from(date), salle2);
+
+        assertEquals(0xFL << 32, salle2[0]);
+        assertEquals(0xFL << 32, salle2[14]);
+        assertEquals("00000000f000000000000000", grille.jours().get(0));
+        assertEquals("000000000000000000000000", grille.jours().get(1));
+    }
+}
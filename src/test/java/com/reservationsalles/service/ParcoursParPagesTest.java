@@ -0,0 +1,90 @@
+package com.reservationsalles.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour ParcoursParPages
+ */
+@ExtendWith(MockitoExtension.class)
+class ParcoursParPagesTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private Consumer<Integer> action;
+
+    private TransactionTemplate lecture;
+
+    @BeforeEach
+    void setUp() {
+        lecture = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void testParcourir_TraitementEntreLesTransactionsDesPages() {
+        int total = ParcoursParPages.TAILLE_PAGE + 2;
+
+        ParcoursParPages.parcourir(lecture, (Integer apres, Integer taille) -> page(apres, taille, total),
+                Long.MAX_VALUE, action);
+
+        InOrder ordre = inOrder(transactionManager, action);
+        ordre.verify(transactionManager).getTransaction(any());
+        ordre.verify(transactionManager).commit(any());
+        ordre.verify(action, times(ParcoursParPages.TAILLE_PAGE)).accept(anyInt());
+        ordre.verify(transactionManager).getTransaction(any());
+        ordre.verify(transactionManager).commit(any());
+        ordre.verify(action).accept(ParcoursParPages.TAILLE_PAGE);
+        ordre.verify(action).accept(ParcoursParPages.TAILLE_PAGE + 1);
+        ordre.verifyNoMoreInteractions();
+    }
+
+    @Test
+    void testParcourir_PageCompleteSuivieDUnePageVide() {
+        List<Integer> lus = new ArrayList<>();
+
+        ParcoursParPages.parcourir(lecture, (Integer apres, Integer taille) ->
+                page(apres, taille, ParcoursParPages.TAILLE_PAGE), Long.MAX_VALUE, lus::add);
+
+        assertEquals(ParcoursParPages.TAILLE_PAGE, lus.size());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void testParcourir_MaximumBorneLaDernierePage() {
+        List<Integer> tailles = new ArrayList<>();
+        List<Integer> lus = new ArrayList<>();
+
+        ParcoursParPages.parcourir(lecture, (Integer apres, Integer taille) -> {
+            tailles.add(taille);
+            return page(apres, taille, 10_000);
+        }, ParcoursParPages.TAILLE_PAGE + 7, lus::add);
+
+        assertEquals(List.of(ParcoursParPages.TAILLE_PAGE, 7), tailles);
+        assertEquals(IntStream.range(0, ParcoursParPages.TAILLE_PAGE + 7).boxed().toList(), lus);
+    }
+
+    /**
+     * Entiers de 0 à total - 1, suivant "apres"
+     */
+    private static List<Integer> page(Integer apres, int taille, int total) {
+        int debut = apres == null ? 0 : apres + 1;
+        return IntStream.range(debut, Math.min(total, debut + taille)).boxed().toList();
+    }
+}
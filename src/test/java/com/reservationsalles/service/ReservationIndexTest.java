@@ -0,0 +1,157 @@
+package com.reservationsalles.service;
+
+import com.reservationsalles.event.ReservationEvent;
+import com.reservationsalles.event.ReservationSerieEvent;
+import com.reservationsalles.event.ReservationsSupprimeesEvent;
+import com.reservationsalles.model.CreneauReservation;
+import com.reservationsalles.model.ReservationSerie;
+import com.reservationsalles.model.Salle;
+import com.reservationsalles.repository.ReservationRepository;
+import com.reservationsalles.repository.ReservationSerieRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitaires pour ReservationIndex
+ * Focus sur le test de chevauchement en mémoire et sa mise à jour
+ */
+@ExtendWith(MockitoExtension.class)
+class ReservationIndexTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private ReservationSerieRepository reservationSerieRepository;
+
+    private ReservationIndex index;
+    private LocalDate date;
+
+    @BeforeEach
+    void setUp() {
+        date = LocalDate.now().plusDays(3);
+        when(reservationRepository.findCreneauxAPartirDu(any())).thenReturn(List.of(
+                new CreneauReservation(1L, 1L, date, LocalTime.of(14, 0), LocalTime.of(18, 0)),
+                new CreneauReservation(2L, 1L, date, LocalTime.of(19, 0), LocalTime.of(23, 0))
+        ));
+        index = new ReservationIndex(reservationRepository, reservationSerieRepository, true);
+        index.prechauffer();
+    }
+
+    @Test
+    void testChevauchement_DetecteApresPrechauffage() {
+        assertTrue(index.isActif());
+        assertTrue(possible(1L, date, LocalTime.of(17, 0), LocalTime.of(20, 0), null));
+        assertTrue(possible(1L, date, LocalTime.of(8, 0), LocalTime.of(23, 30), null));
+    }
+
+    @Test
+    void testChevauchement_CreneauxAdjacentsOuAutreSalle_Libres() {
+        assertFalse(possible(1L, date, LocalTime.of(18, 0), LocalTime.of(19, 0), null));
+        assertFalse(possible(1L, date, LocalTime.of(10, 0), LocalTime.of(14, 0), null));
+        assertFalse(possible(2L, date, LocalTime.of(14, 0), LocalTime.of(18, 0), null));
+        assertFalse(possible(1L, date.plusDays(1), LocalTime.of(14, 0), LocalTime.of(18, 0), null));
+    }
+
+    @Test
+    void testChevauchement_ExclutLaReservationEnCoursDEdition() {
+        assertFalse(possible(1L, date, LocalTime.of(15, 0), LocalTime.of(17, 0), 1L));
+    }
+
+    @Test
+    void testEvenements_ModificationEtSuppression() {
+        CreneauReservation avant = new CreneauReservation(1L, 1L, date, LocalTime.of(14, 0), LocalTime.of(18, 0));
+        CreneauReservation apres = new CreneauReservation(1L, 1L, date, LocalTime.of(8, 0), LocalTime.of(10, 0));
+
+        index.onReservationEvent(ReservationEvent.modification(avant, apres));
+        assertFalse(possible(1L, date, LocalTime.of(15, 0), LocalTime.of(17, 0), null));
+        assertTrue(possible(1L, date, LocalTime.of(9, 0), LocalTime.of(11, 0), null));
+
+        index.onReservationEvent(ReservationEvent.suppression(apres));
+        assertFalse(possible(1L, date, LocalTime.of(9, 0), LocalTime.of(11, 0), null));
+    }
+
+    @Test
+    void testChevauchement_ReservationPassantMinuit() {
+        index.onReservationEvent(ReservationEvent.creation(
+                new CreneauReservation(3L, 1L, date, LocalTime.of(23, 30), LocalTime.of(1, 0))));
+
+        // Débordement sur le lendemain, lu depuis la veille
+        assertTrue(possible(1L, date.plusDays(1), LocalTime.of(0, 30), LocalTime.of(2, 0), null));
+        assertFalse(possible(1L, date.plusDays(1), LocalTime.of(1, 0), LocalTime.of(2, 0), null));
+        // Créneau demandé passant minuit : jour même puis lendemain
+        assertTrue(possible(1L, date, LocalTime.of(23, 0), LocalTime.of(0, 30), null));
+        assertTrue(possible(1L, date.minusDays(1), LocalTime.of(23, 0), LocalTime.of(14, 30), null));
+        assertFalse(possible(1L, date.minusDays(1), LocalTime.of(23, 0), LocalTime.of(14, 0), null));
+    }
+
+    @Test
+    void testSuppressionEnMasse_RetireLesCreneaux() {
+        index.onReservationsSupprimees(new ReservationsSupprimeesEvent(List.of(
+                new CreneauReservation(1L, 1L, date, LocalTime.of(14, 0), LocalTime.of(18, 0)),
+                new CreneauReservation(2L, 1L, date, LocalTime.of(19, 0), LocalTime.of(23, 0)))));
+
+        assertFalse(possible(1L, date, LocalTime.of(8, 0), LocalTime.of(23, 30), null));
+    }
+
+    @Test
+    void testSeries_RegleEvalueeSansMaterialisation() {
+        // Toutes les deux semaines de 10h à 12h, sur un an
+        Salle salle = new Salle();
+        salle.setId(1L);
+        ReservationSerie serie = new ReservationSerie(date, date.plusYears(1), LocalTime.of(10, 0),
+                LocalTime.of(12, 0), 2, null, salle);
+        serie.setId(7L);
+        index.onReservationSerieEvent(ReservationSerieEvent.creation(serie));
+
+        assertTrue(seriePossible(1L, date.plusWeeks(40), LocalTime.of(11, 0), LocalTime.of(13, 0), null));
+        assertFalse(seriePossible(1L, date.plusWeeks(41), LocalTime.of(11, 0), LocalTime.of(13, 0), null));
+        assertFalse(seriePossible(1L, date.plusWeeks(40), LocalTime.of(12, 0), LocalTime.of(13, 0), null));
+        assertFalse(seriePossible(2L, date, LocalTime.of(11, 0), LocalTime.of(13, 0), null));
+        // Occurrence de la série elle-même, en cours d'édition
+        assertFalse(seriePossible(1L, date, LocalTime.of(11, 0), LocalTime.of(13, 0), 7L));
+        // Soirée de la veille passant minuit jusqu'à 10h30
+        assertTrue(seriePossible(1L, date.minusDays(1), LocalTime.of(22, 0), LocalTime.of(10, 30), null));
+        assertFalse(seriePossible(1L, date.minusDays(1), LocalTime.of(22, 0), LocalTime.of(10, 0), null));
+
+        index.onReservationSerieEvent(ReservationSerieEvent.suppression(serie));
+        assertFalse(seriePossible(1L, date, LocalTime.of(11, 0), LocalTime.of(13, 0), null));
+    }
+
+    @Test
+    void testSeries_PrechaufferChargeLesSeriesEnCours() {
+        Salle salle = new Salle();
+        salle.setId(3L);
+        ReservationSerie serie = new ReservationSerie(date, date.plusWeeks(4), LocalTime.of(9, 0),
+                LocalTime.of(10, 0), 1, null, salle);
+        serie.setId(8L);
+        when(reservationSerieRepository.findEnCoursAPartirDu(any())).thenReturn(List.of(serie));
+
+        ReservationIndex prechauffe = new ReservationIndex(reservationRepository, reservationSerieRepository, true);
+        prechauffe.prechauffer();
+
+        assertTrue(prechauffe.chevauchementSeriePossible(3L, (int) date.plusWeeks(3).toEpochDay(),
+                9 * 60 + 30, 11 * 60, null));
+    }
+
+    private boolean seriePossible(Long salleId, LocalDate jour, LocalTime debut, LocalTime fin, Long exclue) {
+        return index.chevauchementSeriePossible(salleId, (int) jour.toEpochDay(),
+                CreneauReservation.minuteDebut(debut), CreneauReservation.minuteFin(debut, fin), exclue);
+    }
+
+    private boolean possible(Long salleId, LocalDate jour, LocalTime debut, LocalTime fin, Long exclue) {
+        return index.chevauchementPossible(salleId, (int) jour.toEpochDay(),
+                CreneauReservation.minuteDebut(debut), CreneauReservation.minuteFin(debut, fin), exclue);
+    }
+}
@@ -0,0 +1,109 @@
+package com.reservationsalles.service;
+
+import com.reservationsalles.exception.ReservationConflictException;
+import com.reservationsalles.repository.SalleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour ReservationLocks
+ * Focus sur la sérialisation par (salle, date) et la libération en fin de transaction
+ */
+@ExtendWith(MockitoExtension.class)
+class ReservationLocksTest {
+
+    @Mock
+    private SalleRepository salleRepository;
+
+    private ReservationLocks locks;
+    private LocalDate date;
+
+    @BeforeEach
+    void setUp() {
+        locks = new ReservationLocks(salleRepository, 1024, 100, false);
+        date = LocalDate.now().plusDays(1);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        terminerTransaction();
+    }
+
+    @Test
+    void testMemeSalleMemeJour_BloqueJusquALaFinDeTransaction() throws Exception {
+        locks.verrouiller(1L, date);
+
+        // Une autre transaction sur la même salle et le même jour attend puis abandonne
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> dansUneAutreTransaction(1L, date).join());
+        assertInstanceOf(ReservationConflictException.class, exception.getCause());
+
+        terminerTransaction();
+        assertTrue(dansUneAutreTransaction(1L, date).get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testSallesDifferentes_NeSeBloquentPas() throws Exception {
+        // Salles choisies sur des verrous distincts
+        long autreSalle = 2L;
+        while (locks.stripe(autreSalle, date) == locks.stripe(1L, date)) {
+            autreSalle++;
+        }
+        locks.verrouiller(1L, date);
+
+        assertTrue(dansUneAutreTransaction(autreSalle, date).get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testVerrouBase_VerrouilleLaLigneDeLaSalle() {
+        ReservationLocks locksBase = new ReservationLocks(salleRepository, 1024, 100, true);
+
+        locksBase.verrouiller(1L, date);
+
+        verify(salleRepository, times(1)).findByIdForUpdate(1L);
+    }
+
+    @Test
+    void testSansTransaction_Refuse() {
+        terminerTransaction();
+
+        assertThrows(IllegalStateException.class, () -> locks.verrouiller(1L, date));
+    }
+
+    private CompletableFuture<Boolean> dansUneAutreTransaction(Long salleId, LocalDate jour) {
+        return CompletableFuture.supplyAsync(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                locks.verrouiller(salleId, jour);
+                return true;
+            } finally {
+                terminerTransaction();
+            }
+        });
+    }
+
+    private static void terminerTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_COMMITTED);
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
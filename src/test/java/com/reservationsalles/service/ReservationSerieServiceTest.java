@@ -0,0 +1,174 @@
+package com.reservationsalles.service;
+
+import com.reservationsalles.exception.ReservationConflictException;
+import com.reservationsalles.model.CreneauReservation;
+import com.reservationsalles.model.Reservation;
+import com.reservationsalles.model.ReservationSerie;
+import com.reservationsalles.model.Salle;
+import com.reservationsalles.model.Utilisateur;
+import com.reservationsalles.repository.ReservationRepository;
+import com.reservationsalles.repository.ReservationSerieRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour ReservationSerieService
+ * Focus sur la détection de conflits par la règle de récurrence
+ */
+@ExtendWith(MockitoExtension.class)
+class ReservationSerieServiceTest {
+
+    @Mock
+    private ReservationSerieRepository reservationSerieRepository;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private UtilisateurService utilisateurService;
+
+    @Mock
+    private SalleService salleService;
+
+    @Mock
+    private ReservationLocks reservationLocks;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private ReservationSerieService reservationSerieService;
+    private Utilisateur utilisateur;
+    private Salle salle;
+    private LocalDate lundi;
+
+    @BeforeEach
+    void setUp() {
+        reservationSerieService = new ReservationSerieService(reservationSerieRepository, reservationRepository,
+                utilisateurService, salleService, reservationLocks, eventPublisher, transactionTemplate, 28, 731);
+
+        utilisateur = new Utilisateur("John Doe", "john@example.com", "CLIENT");
+        utilisateur.setId(1L);
+        salle = new Salle("Salle des Fêtes", 100, "Paris", true);
+        salle.setId(1L);
+        lundi = LocalDate.now().plusDays(1).with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+    }
+
+    @Test
+    void testSave_MaterialiseUniquementLHorizon() {
+        // Given : une série hebdomadaire sur un an
+        ReservationSerie serie = serie(lundi, lundi.plusWeeks(52), 1, 18, 20);
+        when(utilisateurService.findById(1L)).thenReturn(utilisateur);
+        when(salleService.findById(1L)).thenReturn(salle);
+        when(reservationSerieRepository.save(any(ReservationSerie.class))).thenAnswer(i -> i.getArgument(0));
+
+        // When
+        reservationSerieService.save(serie);
+
+        // Then : seules les occurrences des 28 prochains jours sont créées
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Reservation>> captor = ArgumentCaptor.forClass(List.class);
+        verify(reservationRepository).saveAll(captor.capture());
+        List<Reservation> occurrences = captor.getValue();
+        assertFalse(occurrences.isEmpty());
+        assertTrue(occurrences.size() <= 5);
+        assertTrue(occurrences.stream().allMatch(r -> r.getSerie() == serie));
+        assertEquals(LocalDate.now().plusDays(28), serie.getMaterialiseeJusqua());
+        assertTrue(occurrences.stream().noneMatch(r -> r.getDateReservation().isAfter(serie.getMaterialiseeJusqua())));
+    }
+
+    @Test
+    void testSave_ConflitAvecReservationExistanteSurUneOccurrence() {
+        // Given : réservation existante un lundi de la série, à un horaire chevauchant
+        ReservationSerie serie = serie(lundi, lundi.plusWeeks(20), 2, 18, 20);
+        when(utilisateurService.findById(1L)).thenReturn(utilisateur);
+        when(salleService.findById(1L)).thenReturn(salle);
+        when(reservationRepository.findCreneauxChevauchantsSurPeriode(anyLong(), anyInt(), anyInt(), anyInt(), anyInt()))
+                .thenReturn(List.of(
+                        // Semaine impaire : pas une occurrence (intervalle de 2 semaines)
+                        new CreneauReservation(5L, 1L, lundi.plusWeeks(3), LocalTime.of(19, 0), LocalTime.of(21, 0)),
+                        new CreneauReservation(6L, 1L, lundi.plusWeeks(4), LocalTime.of(19, 0), LocalTime.of(21, 0))
+                ));
+
+        // When & Then
+        ReservationConflictException exception = assertThrows(ReservationConflictException.class,
+                () -> reservationSerieService.save(serie));
+        assertTrue(exception.getMessage().contains(lundi.plusWeeks(4).toString()));
+        verify(reservationSerieRepository, never()).save(any());
+    }
+
+    @Test
+    void testSave_ConflitAvecReservationDeLaVeillePassantMinuit() {
+        // Given : réservation du dimanche 23h au lundi 19h, occurrence du lundi 18h-20h
+        ReservationSerie serie = serie(lundi, lundi.plusWeeks(20), 1, 18, 20);
+        when(utilisateurService.findById(1L)).thenReturn(utilisateur);
+        when(salleService.findById(1L)).thenReturn(salle);
+        when(reservationRepository.findCreneauxChevauchantsSurPeriode(1L, (int) lundi.toEpochDay(),
+                (int) lundi.plusWeeks(20).toEpochDay(), 18 * 60, 20 * 60))
+                .thenReturn(List.of(
+                        new CreneauReservation(7L, 1L, lundi.plusWeeks(2).minusDays(1), LocalTime.of(23, 0),
+                                LocalTime.of(19, 0))
+                ));
+
+        // When & Then
+        ReservationConflictException exception = assertThrows(ReservationConflictException.class,
+                () -> reservationSerieService.save(serie));
+        assertTrue(exception.getMessage().contains(lundi.plusWeeks(2).toString()));
+    }
+
+    @Test
+    void testPremiereOccurrenceCommune_SeriesDePeriodesDifferentes() {
+        // Toutes les 2 semaines à partir de S0, toutes les 3 semaines à partir de S1 : commun en S4
+        ReservationSerie a = serie(lundi, lundi.plusWeeks(30), 2, 18, 20);
+        ReservationSerie b = serie(lundi.plusWeeks(1), lundi.plusWeeks(30), 3, 18, 20);
+        assertEquals(Optional.of(lundi.plusWeeks(4)), a.premiereOccurrenceCommune(b));
+
+        // Une exception décale la première date commune d'un ppcm (6 semaines)
+        b.getExceptions().add(lundi.plusWeeks(4));
+        assertEquals(Optional.of(lundi.plusWeeks(10)), a.premiereOccurrenceCommune(b));
+
+        // Jours de semaine différents : jamais de date commune
+        ReservationSerie mardi = serie(lundi.plusDays(1), lundi.plusWeeks(30), 1, 18, 20);
+        assertEquals(Optional.empty(), a.premiereOccurrenceCommune(mardi));
+    }
+
+    @Test
+    void testSave_ConflitAvecAutreSerie() {
+        // Given
+        ReservationSerie serie = serie(lundi, lundi.plusWeeks(30), 2, 18, 20);
+        ReservationSerie existante = serie(lundi.plusWeeks(1), lundi.plusWeeks(30), 3, 19, 21);
+        when(utilisateurService.findById(1L)).thenReturn(utilisateur);
+        when(salleService.findById(1L)).thenReturn(salle);
+        when(reservationSerieRepository.findSeriesChevauchantes(anyLong(), any(), any(), any(), any()))
+                .thenReturn(List.of(existante));
+
+        // When & Then
+        ReservationConflictException exception = assertThrows(ReservationConflictException.class,
+                () -> reservationSerieService.save(serie));
+        assertTrue(exception.getMessage().contains(lundi.plusWeeks(4).toString()));
+    }
+
+    private ReservationSerie serie(LocalDate debut, LocalDate fin, int intervalle, int heureDebut, int heureFin) {
+        return new ReservationSerie(debut, fin, LocalTime.of(heureDebut, 0), LocalTime.of(heureFin, 0),
+                intervalle, utilisateur, salle);
+    }
+}
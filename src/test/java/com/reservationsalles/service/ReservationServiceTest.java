@@ -1,23 +1,32 @@
 package com.reservationsalles.service;
 
+import com.reservationsalles.dto.ResultatReservation;
 import com.reservationsalles.exception.ReservationConflictException;
 import com.reservationsalles.exception.ResourceNotFoundException;
+import com.reservationsalles.model.CreneauReservation;
 import com.reservationsalles.model.Reservation;
 import com.reservationsalles.model.Salle;
+import com.reservationsalles.model.SalleJour;
 import com.reservationsalles.model.Utilisateur;
 import com.reservationsalles.repository.ReservationRepository;
+import com.reservationsalles.repository.ReservationSerieRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -34,12 +43,27 @@ class ReservationServiceTest {
     @Mock
     private ReservationRepository reservationRepository;
 
+    @Mock
+    private ReservationSerieRepository reservationSerieRepository;
+
     @Mock
     private UtilisateurService utilisateurService;
 
     @Mock
     private SalleService salleService;
 
+    @Mock
+    private ReservationIndex reservationIndex;
+
+    @Mock
+    private ReservationLocks reservationLocks;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private ReservationService reservationService;
 
@@ -70,8 +94,8 @@ class ReservationServiceTest {
         // Given
         when(utilisateurService.findById(1L)).thenReturn(utilisateur);
         when(salleService.findById(1L)).thenReturn(salle);
-        when(reservationRepository.findConflictingReservations(anyLong(), any(), any(), any(), any()))
-                .thenReturn(new ArrayList<>());
+        when(reservationRepository.findPremierConflit(anyLong(), anyInt(), anyInt(), anyInt(), any()))
+                .thenReturn(Optional.empty());
         when(reservationRepository.save(any(Reservation.class))).thenReturn(reservation);
 
         // When
@@ -80,11 +104,11 @@ class ReservationServiceTest {
         // Then
         assertNotNull(saved);
         verify(reservationRepository, times(1)).save(reservation);
-        verify(reservationRepository, times(1)).findConflictingReservations(
+        verify(reservationRepository, times(1)).findPremierConflit(
                 eq(salle.getId()),
-                eq(reservation.getDateReservation()),
-                eq(reservation.getHeureDebut()),
-                eq(reservation.getHeureFin()),
+                eq((int) reservation.getDateReservation().toEpochDay()),
+                eq(14 * 60),
+                eq(18 * 60),
                 isNull()
         );
     }
@@ -102,8 +126,8 @@ class ReservationServiceTest {
 
         when(utilisateurService.findById(1L)).thenReturn(utilisateur);
         when(salleService.findById(1L)).thenReturn(salle);
-        when(reservationRepository.findConflictingReservations(anyLong(), any(), any(), any(), any()))
-                .thenReturn(List.of(existingReservation));
+        when(reservationRepository.findPremierConflit(anyLong(), anyInt(), anyInt(), anyInt(), any()))
+                .thenReturn(Optional.of(CreneauReservation.of(existingReservation)));
 
         // When & Then
         assertThrows(ReservationConflictException.class, () -> {
@@ -111,6 +135,10 @@ class ReservationServiceTest {
         });
 
         verify(reservationRepository, never()).save(any());
+        assertEquals(1, meterRegistry.get("reservation.rejets")
+                .tags("operation", "creation", "cause", "conflit").counter().count());
+        assertEquals(1, meterRegistry.get("reservation.conflits.verification")
+                .tags("etape", "base", "issue", "conflit").timer().count());
     }
 
     @Test
@@ -127,6 +155,8 @@ class ReservationServiceTest {
 
         assertTrue(exception.getMessage().contains("n'est pas disponible"));
         verify(reservationRepository, never()).save(any());
+        assertEquals(1, meterRegistry.get("reservation.rejets")
+                .tags("operation", "creation", "cause", "validation").counter().count());
     }
 
     @Test
@@ -146,10 +176,26 @@ class ReservationServiceTest {
     }
 
     @Test
-    void testSaveReservation_HeureFinAvantHeureDebut_ThrowsException() {
+    void testSaveReservation_DateAuDelaDeDateMax_ThrowsException() {
+        // Given : les minutes absolues de l'index ne doivent pas déborder
+        reservation.setDateReservation(CreneauReservation.DATE_MAX.plusDays(1));
+        when(utilisateurService.findById(1L)).thenReturn(utilisateur);
+        when(salleService.findById(1L)).thenReturn(salle);
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> reservationService.save(reservation));
+
+        assertTrue(exception.getMessage().contains("ne peut pas dépasser"));
+        verify(reservationIndex, never()).chevauchementPossible(any(), anyInt(), anyInt(), anyInt(), any());
+        verify(reservationRepository, never()).save(any());
+    }
+
+    @Test
+    void testSaveReservation_HeuresIdentiques_ThrowsException() {
         // Given
-        reservation.setHeureDebut(LocalTime.of(18, 0));
-        reservation.setHeureFin(LocalTime.of(14, 0)); // Fin avant début !
+        reservation.setHeureDebut(LocalTime.of(14, 0));
+        reservation.setHeureFin(LocalTime.of(14, 0)); // Durée nulle !
 
         when(utilisateurService.findById(1L)).thenReturn(utilisateur);
         when(salleService.findById(1L)).thenReturn(salle);
@@ -159,8 +205,181 @@ class ReservationServiceTest {
             reservationService.save(reservation);
         });
 
-        assertTrue(exception.getMessage().contains("doit être après l'heure de début"));
+        assertTrue(exception.getMessage().contains("doit être différente de l'heure de début"));
+        verify(reservationRepository, never()).save(any());
+    }
+
+    @Test
+    void testSaveReservation_PassantMinuit_VerrouilleEtVerifieLesDeuxJours() {
+        // Given : 22h-2h, fin le lendemain
+        reservation.setHeureDebut(LocalTime.of(22, 0));
+        reservation.setHeureFin(LocalTime.of(2, 0));
+        LocalDate date = reservation.getDateReservation();
+
+        when(utilisateurService.findById(1L)).thenReturn(utilisateur);
+        when(salleService.findById(1L)).thenReturn(salle);
+        when(reservationRepository.findPremierConflit(anyLong(), anyInt(), anyInt(), anyInt(), any()))
+                .thenReturn(Optional.empty());
+        when(reservationRepository.save(any(Reservation.class))).thenReturn(reservation);
+
+        // When
+        reservationService.save(reservation);
+
+        // Then
+        verify(reservationLocks).verrouillerTous(List.of(new SalleJour(1L, date), new SalleJour(1L, date.plusDays(1))));
+        verify(reservationSerieRepository).findSeriesChevauchantes(1L, date, date, LocalTime.of(22, 0), LocalTime.MAX);
+        verify(reservationSerieRepository).findSeriesChevauchantes(1L, date.plusDays(1), date.plusDays(1),
+                LocalTime.MIN, LocalTime.of(2, 0));
+        verify(reservationRepository).findPremierConflit(1L, (int) date.toEpochDay(), 22 * 60, 26 * 60, null);
+        verify(reservationRepository, times(1)).save(reservation);
+    }
+
+    @Test
+    void testSaveReservation_VerrouilleAvantDeVerifierLesConflits() {
+        // Given
+        when(utilisateurService.findById(1L)).thenReturn(utilisateur);
+        when(salleService.findById(1L)).thenReturn(salle);
+        when(reservationRepository.findPremierConflit(anyLong(), anyInt(), anyInt(), anyInt(), any()))
+                .thenReturn(Optional.empty());
+        when(reservationRepository.save(any(Reservation.class))).thenReturn(reservation);
+
+        // When
+        reservationService.save(reservation);
+
+        // Then
+        InOrder inOrder = inOrder(reservationLocks, reservationRepository);
+        inOrder.verify(reservationLocks).verrouiller(salle.getId(), reservation.getDateReservation());
+        inOrder.verify(reservationRepository).findPremierConflit(any(), anyInt(), anyInt(), anyInt(), any());
+        inOrder.verify(reservationRepository).save(reservation);
+    }
+
+    @Test
+    void testSaveReservation_IndexSansChevauchement_NeConsultePasLaBase() {
+        // Given
+        when(utilisateurService.findById(1L)).thenReturn(utilisateur);
+        when(salleService.findById(1L)).thenReturn(salle);
+        when(reservationIndex.isActif()).thenReturn(true);
+        when(reservationIndex.chevauchementPossible(anyLong(), anyInt(), anyInt(), anyInt(), any())).thenReturn(false);
+        when(reservationRepository.save(any(Reservation.class))).thenReturn(reservation);
+
+        // When
+        reservationService.save(reservation);
+
+        // Then
+        verify(reservationRepository, never()).findPremierConflit(any(), anyInt(), anyInt(), anyInt(), any());
+        verify(reservationSerieRepository, never()).findSeriesChevauchantes(any(), any(), any(), any(), any());
+        verify(reservationRepository, times(1)).save(reservation);
+        verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+        assertEquals(1, meterRegistry.get("reservation.conflits.verification")
+                .tags("etape", "index", "issue", "libre").timer().count());
+    }
+
+    @Test
+    void testSaveReservation_IndexSignaleUneSerie_ConfirmeLaSerieEnBaseSeulement() {
+        // Given
+        LocalDate date = reservation.getDateReservation();
+        when(utilisateurService.findById(1L)).thenReturn(utilisateur);
+        when(salleService.findById(1L)).thenReturn(salle);
+        when(reservationIndex.isActif()).thenReturn(true);
+        when(reservationIndex.chevauchementSeriePossible(anyLong(), anyInt(), anyInt(), anyInt(), any()))
+                .thenReturn(true);
+        when(reservationIndex.chevauchementPossible(anyLong(), anyInt(), anyInt(), anyInt(), any())).thenReturn(false);
+        when(reservationRepository.save(any(Reservation.class))).thenReturn(reservation);
+
+        // When
+        reservationService.save(reservation);
+
+        // Then : règle en mémoire sans les exceptions, la base tranche
+        verify(reservationSerieRepository).findSeriesChevauchantes(1L, date, date,
+                LocalTime.of(14, 0), LocalTime.of(18, 0));
+        verify(reservationRepository, never()).findPremierConflit(any(), anyInt(), anyInt(), anyInt(), any());
+        assertEquals(1, meterRegistry.get("reservation.conflits.verification")
+                .tags("etape", "series", "issue", "libre").timer().count());
+    }
+
+    @Test
+    void testSaveReservation_IndexAvecChevauchement_ConfirmeEnBase() {
+        // Given
+        Reservation existingReservation = new Reservation(
+                LocalDate.now().plusDays(7),
+                LocalTime.of(15, 0),
+                LocalTime.of(17, 0),
+                utilisateur,
+                salle
+        );
+
+        when(utilisateurService.findById(1L)).thenReturn(utilisateur);
+        when(salleService.findById(1L)).thenReturn(salle);
+        when(reservationIndex.isActif()).thenReturn(true);
+        when(reservationIndex.chevauchementPossible(anyLong(), anyInt(), anyInt(), anyInt(), any())).thenReturn(true);
+        when(reservationRepository.findPremierConflit(anyLong(), anyInt(), anyInt(), anyInt(), any()))
+                .thenReturn(Optional.of(CreneauReservation.of(existingReservation)));
+
+        // When & Then
+        assertThrows(ReservationConflictException.class, () -> reservationService.save(reservation));
         verify(reservationRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void testSaveAll_AccepteEtRejetteParElement() {
+        // Given : un lot sur le même jour, dont un chevauchement interne,
+        // un conflit avec l'existant et une salle inconnue
+        LocalDate date = LocalDate.now().plusDays(7);
+        Salle salleInconnue = new Salle();
+        salleInconnue.setId(99L);
+        List<Reservation> lot = List.of(
+                new Reservation(date, LocalTime.of(8, 0), LocalTime.of(10, 0), utilisateur, salle),
+                new Reservation(date, LocalTime.of(9, 0), LocalTime.of(11, 0), utilisateur, salle),
+                new Reservation(date, LocalTime.of(14, 0), LocalTime.of(16, 0), utilisateur, salle),
+                new Reservation(date, LocalTime.of(8, 0), LocalTime.of(10, 0), utilisateur, salleInconnue)
+        );
+
+        when(utilisateurService.findAllById(any())).thenReturn(List.of(utilisateur));
+        when(salleService.findAllById(any())).thenReturn(List.of(salle));
+        when(reservationRepository.findCreneauxAutourDu(1L, (int) date.toEpochDay())).thenReturn(List.of(
+                new CreneauReservation(10L, 1L, date, LocalTime.of(15, 0), LocalTime.of(17, 0))
+        ));
+
+        // When
+        List<ResultatReservation> resultats = reservationService.saveAll(lot);
+
+        // Then
+        assertEquals(4, resultats.size());
+        assertTrue(resultats.get(0).acceptee());
+        assertFalse(resultats.get(1).acceptee(), "Chevauche la première réservation du lot");
+        assertFalse(resultats.get(2).acceptee(), "Chevauche une réservation existante");
+        assertTrue(resultats.get(2).message().contains("15:00"));
+        assertFalse(resultats.get(3).acceptee(), "Salle inconnue");
+        verify(reservationRepository, times(1)).findCreneauxAutourDu(1L, (int) date.toEpochDay());
+        verify(reservationRepository, times(1)).saveAll(List.of(lot.get(0)));
+        verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void testSaveAll_ChevauchementDUnJourALAutreDansLeLot() {
+        // Given : 22h-2h puis 1h-3h le lendemain, dans deux groupes (salle, jour) différents
+        LocalDate date = LocalDate.now().plusDays(7);
+        List<Reservation> lot = List.of(
+                new Reservation(date, LocalTime.of(22, 0), LocalTime.of(2, 0), utilisateur, salle),
+                new Reservation(date.plusDays(1), LocalTime.of(1, 0), LocalTime.of(3, 0), utilisateur, salle),
+                new Reservation(date.plusDays(1), LocalTime.of(2, 0), LocalTime.of(4, 0), utilisateur, salle)
+        );
+
+        when(utilisateurService.findAllById(any())).thenReturn(List.of(utilisateur));
+        when(salleService.findAllById(any())).thenReturn(List.of(salle));
+
+        // When
+        List<ResultatReservation> resultats = reservationService.saveAll(lot);
+
+        // Then
+        assertTrue(resultats.get(0).acceptee());
+        assertFalse(resultats.get(1).acceptee(), "Chevauche la fin de la réservation de la veille");
+        assertTrue(resultats.get(2).acceptee(), "Commence à la fin de la réservation de la veille");
+        verify(reservationLocks).verrouillerTous(Set.of(new SalleJour(1L, date), new SalleJour(1L, date.plusDays(1))));
+        // Séries du lendemain lues pour le débordement de 22h-2h, puis pour le groupe du lendemain
+        verify(reservationSerieRepository, times(2)).findSeriesActivesLe(1L, date.plusDays(1));
+        verify(reservationRepository).saveAll(List.of(lot.get(0), lot.get(2)));
     }
 
     @Test
@@ -215,8 +434,8 @@ class ReservationServiceTest {
         when(reservationRepository.findById(1L)).thenReturn(Optional.of(reservation));
         when(utilisateurService.findById(1L)).thenReturn(utilisateur);
         when(salleService.findById(1L)).thenReturn(salle);
-        when(reservationRepository.findConflictingReservations(anyLong(), any(), any(), any(), any()))
-                .thenReturn(new ArrayList<>());
+        when(reservationRepository.findPremierConflit(anyLong(), anyInt(), anyInt(), anyInt(), any()))
+                .thenReturn(Optional.empty());
         when(reservationRepository.save(any(Reservation.class))).thenReturn(reservation);
 
         // When
@@ -0,0 +1,137 @@
+package com.reservationsalles.service;
+
+import com.reservationsalles.dto.RechercheDisponibilite;
+import com.reservationsalles.event.ReservationsSupprimeesEvent;
+import com.reservationsalles.event.StatistiqueEvent;
+import com.reservationsalles.event.StatistiqueEvent.Compteur;
+import com.reservationsalles.model.CreneauReservation;
+import com.reservationsalles.model.ReservationSerie;
+import com.reservationsalles.model.Salle;
+import com.reservationsalles.model.Utilisateur;
+import com.reservationsalles.repository.ReservationRepository;
+import com.reservationsalles.repository.ReservationSerieRepository;
+import com.reservationsalles.repository.SalleRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour SalleService
+ * Focus sur la recherche de salles libres et les compteurs du tableau de bord
+ */
+@ExtendWith(MockitoExtension.class)
+class SalleServiceTest {
+
+    @Mock
+    private SalleRepository salleRepository;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private ReservationSerieRepository reservationSerieRepository;
+
+    @Mock
+    private OccupationSalles occupationSalles;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private SalleService salleService;
+
+    @Test
+    void testRechercherSallesLibres_ExclutSallesDesSeriesSeProduisantCeJour() {
+        LocalDate date = LocalDate.now().plusDays(7);
+        Utilisateur utilisateur = new Utilisateur("Alice", "alice@test.com", "ORGANISATEUR");
+        Salle occupee = new Salle("Occupée", 50, "Bâtiment A", true);
+        occupee.setId(1L);
+        Salle autreSemaine = new Salle("Autre semaine", 50, "Bâtiment A", true);
+        autreSemaine.setId(2L);
+        // Série toutes les 2 semaines démarrant une semaine plus tôt : pas d'occurrence à cette date
+        ReservationSerie serieCeJour = new ReservationSerie(date, date.plusWeeks(4),
+                LocalTime.of(9, 0), LocalTime.of(12, 0), 1, utilisateur, occupee);
+        ReservationSerie serieDecalee = new ReservationSerie(date.minusWeeks(1), date.plusWeeks(4),
+                LocalTime.of(9, 0), LocalTime.of(12, 0), 2, utilisateur, autreSemaine);
+        when(reservationSerieRepository.findSeriesChevauchantesLe(date, LocalTime.of(10, 0), LocalTime.of(11, 0)))
+                .thenReturn(List.of(serieCeJour, serieDecalee));
+
+        salleService.rechercherSallesLibres(new RechercheDisponibilite(date, LocalTime.of(10, 0),
+                LocalTime.of(11, 0), 30, "  ", null));
+
+        verify(salleRepository).findSallesLibresHors(eq((int) date.toEpochDay()), eq(10 * 60), eq(11 * 60),
+                eq(30), isNull(), eq(Set.of(1L)), any(Limit.class));
+    }
+
+    @Test
+    void testRechercherSallesLibres_SansSerieSansExclusion() {
+        LocalDate date = LocalDate.now().plusDays(7);
+        when(reservationSerieRepository.findSeriesChevauchantesLe(date, LocalTime.of(10, 0), LocalTime.of(11, 0)))
+                .thenReturn(List.of());
+
+        salleService.rechercherSallesLibres(new RechercheDisponibilite(date, LocalTime.of(10, 0),
+                LocalTime.of(11, 0), null, null, null));
+
+        verify(salleRepository).findSallesLibres(eq((int) date.toEpochDay()), eq(10 * 60), eq(11 * 60),
+                eq(1), isNull(), any(Limit.class));
+        verify(salleRepository, never()).findSallesLibresHors(anyInt(), anyInt(), anyInt(), anyInt(),
+                any(), any(), any());
+    }
+
+    @Test
+    void testRechercherSallesLibres_CreneauIncoherent() {
+        RechercheDisponibilite recherche = new RechercheDisponibilite(LocalDate.now(), LocalTime.of(12, 0),
+                LocalTime.of(10, 0), null, null, null);
+
+        assertThrows(IllegalArgumentException.class, () -> salleService.rechercherSallesLibres(recherche));
+        verifyNoInteractions(salleRepository);
+    }
+
+    @Test
+    void testDelete_ReservationsSupprimeesEnMasseEtRetireesDeLaMemoire() {
+        Salle salle = new Salle("Salle A", 20, "Bâtiment A", false);
+        salle.setId(1L);
+        CreneauReservation creneau = new CreneauReservation(7L, 1L, LocalDate.now().plusDays(2),
+                LocalTime.of(10, 0), LocalTime.of(12, 0));
+        when(salleRepository.findById(1L)).thenReturn(Optional.of(salle));
+        when(reservationRepository.findCreneauxBySalleAPartirDu(1L, ReservationsSupprimeesEvent.debutSuivi()))
+                .thenReturn(List.of(creneau));
+        when(reservationRepository.deleteBySalleId(1L)).thenReturn(1200);
+
+        salleService.delete(1L);
+
+        verify(salleRepository).delete(salle);
+        verify(eventPublisher).publishEvent(new ReservationsSupprimeesEvent(List.of(creneau)));
+        verify(eventPublisher).publishEvent(new StatistiqueEvent(Compteur.SALLES, -1));
+        verify(eventPublisher).publishEvent(new StatistiqueEvent(Compteur.RESERVATIONS, -1200));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    void testToggleDisponibilite_PublieLaVariationSeulementSiElleChange() {
+        Salle salle = new Salle("Salle A", 20, "Bâtiment A", true);
+        salle.setId(1L);
+        when(salleRepository.findById(1L)).thenReturn(Optional.of(salle));
+
+        salleService.toggleDisponibilite(1L, true);
+        verifyNoInteractions(eventPublisher);
+
+        salleService.toggleDisponibilite(1L, false);
+        verify(eventPublisher).publishEvent(new StatistiqueEvent(Compteur.SALLES_DISPONIBLES, -1));
+        assertFalse(salle.isDisponible());
+    }
+}
@@ -0,0 +1,82 @@
+package com.reservationsalles.service;
+
+import com.reservationsalles.dto.TableauDeBord;
+import com.reservationsalles.event.ReservationEvent;
+import com.reservationsalles.event.StatistiqueEvent;
+import com.reservationsalles.event.StatistiqueEvent.Compteur;
+import com.reservationsalles.model.CreneauReservation;
+import com.reservationsalles.repository.ReservationRepository;
+import com.reservationsalles.repository.SalleRepository;
+import com.reservationsalles.repository.UtilisateurRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour StatistiquesService
+ * Focus sur la tenue des compteurs en mémoire et leur réconciliation
+ */
+@ExtendWith(MockitoExtension.class)
+class StatistiquesServiceTest {
+
+    @Mock
+    private UtilisateurRepository utilisateurRepository;
+
+    @Mock
+    private SalleRepository salleRepository;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    private StatistiquesService statistiquesService;
+
+    @BeforeEach
+    void setUp() {
+        when(utilisateurRepository.count()).thenReturn(3L);
+        when(salleRepository.count()).thenReturn(5L);
+        when(salleRepository.countByDisponible(true)).thenReturn(4L);
+        when(reservationRepository.count()).thenReturn(10L);
+        statistiquesService = new StatistiquesService(utilisateurRepository, salleRepository, reservationRepository);
+    }
+
+    @Test
+    void testTableauDeBord_LuEnBaseAvantInitialisation() {
+        assertEquals(new TableauDeBord(3, 5, 4, 10), statistiquesService.tableauDeBord());
+        verify(reservationRepository).count();
+    }
+
+    @Test
+    void testTableauDeBord_SansRequeteApresInitialisation() {
+        statistiquesService.reconcilier();
+        clearInvocations(utilisateurRepository, salleRepository, reservationRepository);
+
+        CreneauReservation creneau = new CreneauReservation(1L, 1L, LocalDate.now(),
+                LocalTime.of(9, 0), LocalTime.of(10, 0));
+        statistiquesService.onReservationEvent(ReservationEvent.creation(creneau));
+        statistiquesService.onReservationEvent(ReservationEvent.creation(creneau));
+        statistiquesService.onReservationEvent(ReservationEvent.suppression(creneau));
+        statistiquesService.onStatistiqueEvent(new StatistiqueEvent(Compteur.SALLES_DISPONIBLES, -1));
+        statistiquesService.onStatistiqueEvent(new StatistiqueEvent(Compteur.UTILISATEURS, 1));
+
+        assertEquals(new TableauDeBord(4, 5, 3, 11), statistiquesService.tableauDeBord());
+        verifyNoInteractions(utilisateurRepository, salleRepository, reservationRepository);
+    }
+
+    @Test
+    void testReconcilier_CorrigeLesEcarts() {
+        statistiquesService.reconcilier();
+        statistiquesService.onStatistiqueEvent(new StatistiqueEvent(Compteur.SALLES, 7));
+
+        statistiquesService.reconcilier();
+
+        assertEquals(new TableauDeBord(3, 5, 4, 10), statistiquesService.tableauDeBord());
+    }
+}